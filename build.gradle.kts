@@ -5,6 +5,7 @@ plugins {
     pmd
     alias(libs.plugins.bnd)
     alias(libs.plugins.javadocLinks)
+    alias(libs.plugins.jmh) apply false
     alias(libs.plugins.mavenCentralPublishing)
     alias(libs.plugins.metadata)
     alias(libs.plugins.oci)
@@ -92,7 +93,7 @@ dependencies {
 
 /* ******************** optional dependencies ******************** */
 
-for (feature in listOf("websocket", "proxy", "epoll")) {
+for (feature in listOf("websocket", "proxy", "epoll", "ioUring")) {
     java.registerFeature(feature) {
         usingSourceSet(sourceSets["main"])
     }
@@ -102,6 +103,7 @@ dependencies {
     "websocketImplementation"(libs.netty.codec.http)
     "proxyImplementation"(libs.netty.handler.proxy)
     "epollImplementation"(variantOf(libs.netty.transport.native.epoll) { classifier("linux-x86_64") })
+    "ioUringImplementation"(variantOf(libs.netty.incubator.transport.native.ioUring) { classifier("linux-x86_64") })
 }
 
 /* ******************** test ******************** */
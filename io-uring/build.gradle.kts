@@ -0,0 +1,24 @@
+plugins {
+    id("java-platform")
+    id("io.github.sgtsilvio.gradle.maven-central-publishing")
+}
+
+/* ******************** metadata ******************** */
+
+description = "Adds dependencies for the HiveMQ MQTT Client io_uring module"
+
+metadata {
+    moduleName.set("com.hivemq.client.mqtt.io_uring")
+    readableName.set("HiveMQ MQTT Client io_uring module")
+}
+
+/* ******************** dependencies ******************** */
+
+javaPlatform {
+    allowDependencies()
+}
+
+dependencies {
+    api(rootProject)
+    "runtime"(variantOf(libs.netty.incubator.transport.native.ioUring) { classifier("linux-x86_64") })
+}
@@ -0,0 +1,33 @@
+plugins {
+    id("java")
+    id("me.champeau.jmh")
+}
+
+/* ******************** metadata ******************** */
+
+description = "Benchmarks for the HiveMQ MQTT Client"
+
+metadata {
+    moduleName.set("com.hivemq.client.mqtt.jmh")
+    readableName.set("HiveMQ MQTT Client benchmarks")
+}
+
+/* ******************** dependencies ******************** */
+
+dependencies {
+    jmhImplementation(rootProject)
+    jmhImplementation(libs.netty.buffer)
+    jmhImplementation(libs.netty.codec)
+    jmhImplementation(libs.netty.common)
+    jmhImplementation(libs.netty.transport)
+    jmhCompileOnly(libs.jetbrains.annotations)
+}
+
+/* ******************** jmh ******************** */
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // Netty uses sun.misc.Unsafe and native libraries; silence the Java 24+ warnings.
+    // See https://netty.io/wiki/java-24-and-sun.misc.unsafe.html
+    jvmArgsAppend.addAll("--sun-misc-unsafe-memory-access=allow", "--enable-native-access=ALL-UNNAMED")
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttVersion;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class of benchmarks for the {@link MqttDecoder} in combination with individual {@link MqttMessageDecoder}s.
+ * {@link MqttDecoder#decode(ChannelHandlerContext, ByteBuf, List)} is called directly, so the fixed header parsing and
+ * the dispatch to the message decoder is measured without the cumulation of {@link
+ * io.netty.handler.codec.ByteToMessageDecoder}.
+ *
+ * @author Silvio Giebl
+ */
+public abstract class AbstractMqttDecoderBenchmark {
+
+    private final @NotNull MqttMessageDecoders decoders;
+    private final @NotNull List<Object> out = new ArrayList<>(1);
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private EmbeddedChannel channel;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttDecoder decoder;
+    @SuppressWarnings("NullabilityAnnotations")
+    private ChannelHandlerContext ctx;
+
+    protected AbstractMqttDecoderBenchmark(final @NotNull MqttMessageDecoders decoders) {
+        this.decoders = decoders;
+    }
+
+    @Setup
+    public void setupDecoder() {
+        final MqttClientConfig clientConfig = new MqttClientConfig(
+                MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("benchmark"), MqttClientTransportConfigImpl.DEFAULT,
+                MqttClientExecutorConfigImpl.DEFAULT, advancedConfig(),
+                MqttClientConfig.ConnectDefaults.of(null, null, null), ImmutableList.of(), ImmutableList.of());
+        decoder = new MqttDecoder(decoders, clientConfig, MqttConnect.DEFAULT);
+        channel = new EmbeddedChannel(decoder);
+        ctx = channel.pipeline().context(decoder);
+    }
+
+    protected @NotNull MqttClientAdvancedConfig advancedConfig() {
+        return MqttClientAdvancedConfig.DEFAULT;
+    }
+
+    @TearDown
+    public void tearDownDecoder() {
+        channel.close();
+    }
+
+    protected @NotNull Object decode(final @NotNull ByteBuf in) {
+        decoder.decode(ctx, in, out);
+        final Object message = out.get(0);
+        out.clear();
+        return message;
+    }
+}
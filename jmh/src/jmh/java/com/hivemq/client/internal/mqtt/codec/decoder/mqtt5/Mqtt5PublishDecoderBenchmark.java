@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.codec.decoder.AbstractMqttDecoderBenchmark;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoders;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishProperty;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Silvio Giebl
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Mqtt5PublishDecoderBenchmark extends AbstractMqttDecoderBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int payloadSize;
+    @Param({"0", "4", "16"})
+    public int userPropertyCount;
+    @Param({"2", "8"})
+    public int topicLevels;
+    @Param({"AT_MOST_ONCE", "AT_LEAST_ONCE"})
+    @SuppressWarnings("NullabilityAnnotations")
+    public MqttQos qos;
+    @Param({"0", "64"})
+    public int topicCacheSize;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private ByteBuf in;
+
+    public Mqtt5PublishDecoderBenchmark() {
+        super(new MqttMessageDecoders() {{
+            decoders[Mqtt5MessageType.PUBLISH.getCode()] = new Mqtt5PublishDecoder();
+        }});
+    }
+
+    @Override
+    protected @NotNull MqttClientAdvancedConfig advancedConfig() {
+        return new MqttClientAdvancedConfigBuilder.Default().incomingTopicCacheSize(topicCacheSize).build();
+    }
+
+    @Setup
+    public void setup() {
+        final StringBuilder topicBuilder = new StringBuilder("benchmark");
+        for (int i = 1; i < topicLevels; i++) {
+            topicBuilder.append("/level").append(i);
+        }
+        final MqttTopicImpl topic = MqttTopicImpl.of(topicBuilder.toString());
+
+        final ByteBuf properties = Unpooled.buffer();
+        for (int i = 0; i < userPropertyCount; i++) {
+            properties.writeByte(MqttPublishProperty.USER_PROPERTY);
+            MqttUtf8StringImpl.of("key" + i).encode(properties);
+            MqttUtf8StringImpl.of("value" + i).encode(properties);
+        }
+        final int propertyLength = properties.readableBytes();
+
+        final int remainingLength = topic.encodedLength() + ((qos == MqttQos.AT_MOST_ONCE) ? 0 : 2) +
+                MqttVariableByteInteger.encodedLength(propertyLength) + propertyLength + payloadSize;
+        in = Unpooled.directBuffer();
+        in.writeByte((Mqtt5MessageType.PUBLISH.getCode() << 4) | (qos.getCode() << 1));
+        MqttVariableByteInteger.encode(remainingLength, in);
+        topic.encode(in);
+        if (qos != MqttQos.AT_MOST_ONCE) {
+            in.writeShort(1);
+        }
+        MqttVariableByteInteger.encode(propertyLength, in);
+        in.writeBytes(properties);
+        in.writeZero(payloadSize);
+        properties.release();
+    }
+
+    @TearDown
+    public void tearDown() {
+        in.release();
+    }
+
+    @Benchmark
+    public Object decode() {
+        in.readerIndex(0);
+        return decode(in);
+    }
+}
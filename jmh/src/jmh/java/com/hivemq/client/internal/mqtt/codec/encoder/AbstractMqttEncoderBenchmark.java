@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder;
+
+import com.hivemq.client.internal.mqtt.message.MqttMessage;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Base class of benchmarks for the individual {@link MqttMessageEncoder}s. The encoders are called directly with a
+ * pooled allocator (as used on a real channel), without the overhead of a channel pipeline.
+ *
+ * @author Silvio Giebl
+ */
+public abstract class AbstractMqttEncoderBenchmark {
+
+    private final @NotNull MqttMessageEncoders encoders;
+    private final @NotNull MqttEncoderContext context = new MqttEncoderContext(PooledByteBufAllocator.DEFAULT);
+
+    protected AbstractMqttEncoderBenchmark(final @NotNull MqttMessageEncoders encoders) {
+        this.encoders = encoders;
+    }
+
+    protected int encodeAndRelease(final @NotNull MqttMessage message) {
+        final MqttMessageEncoder<?> encoder = encoders.get(message.getType().getCode());
+        assert encoder != null;
+        final ByteBuf out = encoder.castAndEncode(message, context);
+        final int encodedLength = out.readableBytes();
+        out.release();
+        return encodedLength;
+    }
+}
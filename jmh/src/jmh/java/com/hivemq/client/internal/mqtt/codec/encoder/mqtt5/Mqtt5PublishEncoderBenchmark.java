@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.codec.encoder.AbstractMqttEncoderBenchmark;
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoders;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Silvio Giebl
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Mqtt5PublishEncoderBenchmark extends AbstractMqttEncoderBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int payloadSize;
+    @Param({"0", "4", "16"})
+    public int userPropertyCount;
+    @Param({"AT_MOST_ONCE", "AT_LEAST_ONCE"})
+    @SuppressWarnings("NullabilityAnnotations")
+    public MqttQos qos;
+    @Param({"false", "true"})
+    public boolean directPayload;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttStatefulPublish publish;
+
+    public Mqtt5PublishEncoderBenchmark() {
+        super(new MqttMessageEncoders() {{
+            encoders[Mqtt5MessageType.PUBLISH.getCode()] = new Mqtt5PublishEncoder();
+        }});
+    }
+
+    @Setup
+    public void setup() {
+        final ByteBuffer payload =
+                directPayload ? ByteBuffer.allocateDirect(payloadSize) : ByteBuffer.allocate(payloadSize);
+        final MqttPublishBuilder.Default builder =
+                new MqttPublishBuilder.Default().topic("benchmark/device/1234/telemetry").qos(qos).payload(payload);
+        for (int i = 0; i < userPropertyCount; i++) {
+            builder.userProperties().add("key" + i, "value" + i).applyUserProperties();
+        }
+        final int packetIdentifier = (qos == MqttQos.AT_MOST_ONCE) ? MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0 : 1;
+        publish = builder.build()
+                .createStateful(packetIdentifier, false, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS,
+                        MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    @Benchmark
+    public int encode() {
+        return encodeAndRelease(publish);
+    }
+}
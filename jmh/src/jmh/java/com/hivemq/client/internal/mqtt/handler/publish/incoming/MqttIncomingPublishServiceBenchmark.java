@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAckReasonCode;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link MqttIncomingPublishService} with mixed fast and slow flows.
+ * <p>
+ * A slow flow subscribed to <code>#</code> never requests Publish messages, so it keeps a backlog of
+ * <code>slowBacklog</code> queued QoS 0 messages (the buffer of incoming QoS 0 messages drops the oldest ones). Fast
+ * flows subscribed to <code>fast/#</code> lag behind by up to {@value #REQUEST_INTERVAL} Publish messages: they request
+ * {@value #REQUEST_INTERVAL} Publish messages at a time after that many were queued for them and are then drained,
+ * like a subscriber that consumes on another thread. The cost per Publish message should not depend on the backlog of
+ * the slow flow.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MqttIncomingPublishServiceBenchmark {
+
+    private static final int BATCH_SIZE = 1024;
+    private static final int REQUEST_INTERVAL = 16; // power of 2
+
+    @Param({"0", "1000", "10000"})
+    public int slowBacklog;
+    @Param({"1", "4"})
+    public int fastFlowCount;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private DefaultEventLoopGroup eventLoopGroup;
+    @SuppressWarnings("NullabilityAnnotations")
+    private EventLoop eventLoop;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingPublishService incomingPublishService;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttSubscribedPublishFlow @NotNull [] fastFlows;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttStatefulPublish fastPublish;
+
+    @Setup
+    public void setup() throws Exception {
+        eventLoopGroup = new DefaultEventLoopGroup(1);
+        eventLoop = eventLoopGroup.next();
+        final MqttClientConfig clientConfig = (MqttClientConfig) MqttClient.builder()
+                .identifier("benchmark")
+                .executorConfig()
+                .nettyExecutor(eventLoopGroup)
+                .applyExecutorConfig()
+                .useMqttVersion5()
+                .advancedConfig()
+                .incomingQos0BufferMaxMessages(slowBacklog + BATCH_SIZE)
+                .applyAdvancedConfig()
+                .buildAsync()
+                .getConfig();
+        final MqttIncomingQosHandler incomingQosHandler = clientConfig.getClientComponent().incomingQosHandler();
+        incomingPublishService = incomingQosHandler.incomingPublishService;
+        fastPublish = publish("fast/device");
+        final MqttStatefulPublish slowPublish = publish("slow/device");
+
+        eventLoop.submit(() -> {
+            subscribe(new MqttSubscribedPublishFlow(new BenchmarkSubscriber(), clientConfig, incomingQosHandler,
+                    false, false), "#", 1);
+            fastFlows = new MqttSubscribedPublishFlow[fastFlowCount];
+            for (int i = 0; i < fastFlowCount; i++) {
+                final MqttSubscribedPublishFlow flow = new MqttSubscribedPublishFlow(new BenchmarkSubscriber(),
+                        clientConfig, incomingQosHandler, false, false);
+                subscribe(flow, "fast/#", i + 2);
+                fastFlows[i] = flow;
+            }
+            for (int i = 0; i < slowBacklog; i++) {
+                incomingPublishService.onPublishQos0(new MqttStatefulPublishWithFlows(slowPublish));
+            }
+        }).sync();
+    }
+
+    private void subscribe(
+            final @NotNull MqttSubscribedPublishFlow flow, final @NotNull String topicFilter, final int identifier) {
+
+        final MqttSubscribe subscribe = new MqttSubscribeBuilder.Default().topicFilter(topicFilter).build();
+        incomingPublishService.incomingPublishFlows.subscribe(subscribe, identifier, flow);
+        incomingPublishService.incomingPublishFlows.subAck(
+                subscribe, identifier, ImmutableList.of(Mqtt5SubAckReasonCode.GRANTED_QOS_0));
+    }
+
+    private static @NotNull MqttStatefulPublish publish(final @NotNull String topic) {
+        return new MqttPublishBuilder.Default().topic(topic)
+                .qos(MqttQos.AT_MOST_ONCE)
+                .payload(new byte[16])
+                .build()
+                .createStateful(MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0, false,
+                        MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS,
+                        MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void onPublishQos0() throws Exception {
+        eventLoop.submit(() -> {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                incomingPublishService.onPublishQos0(new MqttStatefulPublishWithFlows(fastPublish));
+                if ((i & (REQUEST_INTERVAL - 1)) == (REQUEST_INTERVAL - 1)) {
+                    for (final MqttSubscribedPublishFlow flow : fastFlows) {
+                        flow.request(REQUEST_INTERVAL);
+                        flow.run();
+                    }
+                }
+            }
+        }).sync();
+    }
+
+    private static class BenchmarkSubscriber implements Subscriber<Mqtt5Publish> {
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {}
+
+        @Override
+        public void onNext(final @NotNull Mqtt5Publish publish) {}
+
+        @Override
+        public void onError(final @NotNull Throwable throwable) {}
+
+        @Override
+        public void onComplete() {}
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscriptionBuilder;
+import com.hivemq.client.internal.util.collections.ImmutableIntList;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link MqttSubscribedPublishFlowTree#findMatching(MqttStatefulPublishWithFlows)}.
+ * <p>
+ * Subscriptions have the form <code>device/&lt;i&gt;/level2/.../levelN</code>, where the level of every
+ * <code>wildcardInterval</code>-th subscription is replaced with a single level wildcard (<code>+</code>) at a random
+ * level. Publishes are sent to randomly chosen topics of the same form. If <code>subscriptionIdentifiers</code> is
+ * enabled, the publishes carry the subscription identifier of the matching subscription like a broker would send it.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MqttSubscribedPublishFlowTreeBenchmark {
+
+    private static final int PUBLISH_COUNT = 1024; // power of 2
+
+    @Param({"10", "1000", "50000"})
+    public int subscriptionCount;
+    @Param({"3", "7"})
+    public int topicLevels;
+    @Param({"0", "10"})
+    public int wildcardInterval;
+    @Param({"false", "true"})
+    public boolean subscriptionIdentifiers;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttSubscribedPublishFlowTree tree;
+    private final @NotNull MqttStatefulPublish @NotNull [] publishes = new MqttStatefulPublish[PUBLISH_COUNT];
+    private int index;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        tree = new MqttSubscribedPublishFlowTree();
+        for (int i = 0; i < subscriptionCount; i++) {
+            final int wildcardLevel =
+                    ((wildcardInterval > 0) && ((i % wildcardInterval) == 0)) ? random.nextInt(topicLevels) : -1;
+            final MqttSubscription subscription =
+                    new MqttSubscriptionBuilder.Default().topicFilter(topic(i, wildcardLevel)).build();
+            tree.subscribe(subscription, i + 1, null);
+            tree.suback(subscription.getTopicFilter(), i + 1, false);
+        }
+        for (int i = 0; i < PUBLISH_COUNT; i++) {
+            final int device = random.nextInt(subscriptionCount);
+            publishes[i] = new MqttPublishBuilder.Default().topic(topic(device, -1))
+                    .build()
+                    .createStateful(1, false, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS,
+                            subscriptionIdentifiers ? ImmutableIntList.of(device + 1) :
+                                    MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        }
+    }
+
+    private @NotNull String topic(final int device, final int wildcardLevel) {
+        final StringBuilder builder = new StringBuilder();
+        for (int level = 0; level < topicLevels; level++) {
+            if (level > 0) {
+                builder.append('/');
+            }
+            if (level == wildcardLevel) {
+                builder.append('+');
+            } else if (level == 0) {
+                builder.append("device");
+            } else if (level == 1) {
+                builder.append(device);
+            } else {
+                builder.append("level").append(level);
+            }
+        }
+        return builder.toString();
+    }
+
+    @Benchmark
+    public boolean findMatching() {
+        final MqttStatefulPublishWithFlows publishWithFlows =
+                new MqttStatefulPublishWithFlows(publishes[index++ & (PUBLISH_COUNT - 1)]);
+        tree.findMatching(publishWithFlows);
+        return publishWithFlows.subscriptionFound;
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubComp;
+import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
+import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import org.jetbrains.annotations.NotNull;
+
+import static com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl.NO_USER_PROPERTIES;
+
+/**
+ * In-process stand-in for a broker that acknowledges PUBLISH and PUBREL messages immediately.
+ * <p>
+ * It is added to the server side of a {@link io.netty.channel.local.LocalChannel LocalChannel} pair, so the MQTT
+ * message objects written by the client pipeline are received as is, without encoding and decoding.
+ *
+ * @author Silvio Giebl
+ */
+class MqttLoopbackBroker extends ChannelInboundHandlerAdapter {
+
+    private boolean pendingFlush;
+
+    @Override
+    public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+        if (msg instanceof MqttStatefulPublish) {
+            readPublish(ctx, (MqttStatefulPublish) msg);
+        } else if (msg instanceof MqttPubRel) {
+            final MqttPubRel pubRel = (MqttPubRel) msg;
+            write(ctx, new MqttPubComp(
+                    pubRel.getPacketIdentifier(), MqttPubComp.DEFAULT_REASON_CODE, null, NO_USER_PROPERTIES));
+        }
+    }
+
+    private void readPublish(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
+        final MqttPublish stateless = publish.stateless();
+        if (stateless.getQos() == MqttQos.AT_LEAST_ONCE) {
+            write(ctx, new MqttPubAck(
+                    publish.getPacketIdentifier(), MqttPubAck.DEFAULT_REASON_CODE, null, NO_USER_PROPERTIES));
+        } else if (stateless.getQos() == MqttQos.EXACTLY_ONCE) {
+            write(ctx, new MqttPubRec(
+                    publish.getPacketIdentifier(), MqttPubRec.DEFAULT_REASON_CODE, null, NO_USER_PROPERTIES));
+        }
+    }
+
+    private void write(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+        ctx.write(msg, ctx.voidPromise());
+        pendingFlush = true;
+    }
+
+    @Override
+    public void channelReadComplete(final @NotNull ChannelHandlerContext ctx) {
+        if (pendingFlush) {
+            pendingFlush = false;
+            ctx.flush();
+        }
+    }
+}
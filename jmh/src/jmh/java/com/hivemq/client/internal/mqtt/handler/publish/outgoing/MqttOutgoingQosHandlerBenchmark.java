@@ -0,0 +1,175 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishStreamMergeMode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBatchResult;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.reactivex.Flowable;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmark of the outgoing publish path from the client API through the {@link MqttOutgoingQosHandler} to
+ * a {@link MqttLoopbackBroker} and back (PUBLISH -&gt; PUBACK, or PUBLISH -&gt; PUBREC -&gt; PUBREL -&gt; PUBCOMP).
+ * <p>
+ * The client and the loopback broker are connected via a {@link LocalChannel} pair on the same single threaded event
+ * loop that is also used as the Netty executor of the client, so no network and no codec is involved. Each operation
+ * publishes a batch of {@value #BATCH_SIZE} messages and waits until all of them are acknowledged.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MqttOutgoingQosHandlerBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"AT_MOST_ONCE", "AT_LEAST_ONCE", "EXACTLY_ONCE"})
+    @SuppressWarnings("NullabilityAnnotations")
+    public MqttQos qos;
+    @Param({"16", "1024"})
+    public int payloadSize;
+    @Param({"65535"})
+    public int sendMaximum;
+    @Param({"FIFO", "ROUND_ROBIN"})
+    @SuppressWarnings("NullabilityAnnotations")
+    public Mqtt5PublishStreamMergeMode mergeMode;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private DefaultEventLoopGroup eventLoopGroup;
+    @SuppressWarnings("NullabilityAnnotations")
+    private Channel serverChannel;
+    @SuppressWarnings("NullabilityAnnotations")
+    private Channel channel;
+    @SuppressWarnings("NullabilityAnnotations")
+    private Mqtt5AsyncClient client;
+    private final @NotNull Mqtt5Publish @NotNull [] publishes = new Mqtt5Publish[BATCH_SIZE];
+    private final @NotNull List<@NotNull Mqtt5Publish> publishList = Arrays.asList(publishes);
+
+    @Setup
+    public void setup() throws Exception {
+        eventLoopGroup = new DefaultEventLoopGroup(1);
+        client = MqttClient.builder()
+                .identifier("benchmark")
+                .executorConfig()
+                .nettyExecutor(eventLoopGroup)
+                .applyExecutorConfig()
+                .useMqttVersion5()
+                .advancedConfig()
+                .publishStreamMergeMode(mergeMode)
+                .applyAdvancedConfig()
+                .buildAsync();
+        final MqttClientConfig clientConfig = (MqttClientConfig) client.getConfig();
+        final MqttOutgoingQosHandler outgoingQosHandler = clientConfig.getClientComponent().outgoingQosHandler();
+
+        final LocalAddress address = new LocalAddress(MqttOutgoingQosHandlerBenchmark.class);
+        serverChannel = new ServerBootstrap().group(eventLoopGroup)
+                .channel(LocalServerChannel.class)
+                .childHandler(new MqttLoopbackBroker())
+                .bind(address)
+                .sync()
+                .channel();
+        channel = new Bootstrap().group(eventLoopGroup)
+                .channel(LocalChannel.class)
+                .handler(new ChannelInitializer<Channel>() {
+                    @Override
+                    protected void initChannel(final @NotNull Channel channel) {
+                        channel.pipeline().addLast(MqttOutgoingQosHandler.NAME, outgoingQosHandler);
+                    }
+                })
+                .connect(address)
+                .sync()
+                .channel();
+
+        final MqttClientConnectionConfig connectionConfig = new MqttClientConnectionConfig(
+                MqttClientTransportConfigImpl.DEFAULT, 0, true, true, 0, false, false, null, 65_535,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, false, false, sendMaximum,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true, true,
+                channel);
+        channel.eventLoop().submit(() -> {
+            clientConfig.setConnectionConfig(connectionConfig);
+            clientConfig.getRawState().set(MqttClientState.CONNECTED);
+            outgoingQosHandler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+        }).sync();
+
+        final byte[] payload = new byte[payloadSize];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            publishes[i] = Mqtt5Publish.builder().topic("benchmark/device/" + i).qos(qos).payload(payload).build();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        channel.close().sync();
+        serverChannel.close().sync();
+        eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void publishAsync() {
+        final CompletableFuture<?>[] futures = new CompletableFuture[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            futures[i] = client.publish(publishes[i]);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public @NotNull Mqtt5PublishBatchResult publishAll() {
+        return client.publishAll(publishList).join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public long publishFlowable() {
+        return client.toRx().publish(Flowable.fromArray(publishes)).count().blockingGet();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void publishUnacknowledged() {
+        client.toRx().publishUnacknowledged(Flowable.fromArray(publishes)).blockingAwait();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link MqttTopicAliasAutoMapping#onPublish(MqttTopicImpl)} for a random sequence of topics. If the
+ * count of distinct topics exceeds the topic alias maximum, topic aliases are continuously overwritten.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MqttTopicAliasAutoMappingBenchmark {
+
+    private static final int SEQUENCE_LENGTH = 4096; // power of 2
+
+    @Param({"16", "256"})
+    public int topicAliasMaximum;
+    @Param({"8", "256", "4096"})
+    public int topicCount;
+
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttTopicAliasAutoMapping mapping;
+    private final @NotNull MqttTopicImpl @NotNull [] sequence = new MqttTopicImpl[SEQUENCE_LENGTH];
+    private int index;
+
+    @Setup
+    public void setup() {
+        final MqttTopicImpl[] topics = new MqttTopicImpl[topicCount];
+        for (int i = 0; i < topicCount; i++) {
+            topics[i] = MqttTopicImpl.of("benchmark/device/" + i + "/telemetry");
+        }
+        final Random random = new Random(0);
+        for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+            sequence[i] = topics[random.nextInt(topicCount)];
+        }
+        mapping = new MqttTopicAliasAutoMapping(topicAliasMaximum);
+    }
+
+    @Benchmark
+    public int onPublish() {
+        return mapping.onPublish(sequence[index++ & (SEQUENCE_LENGTH - 1)]);
+    }
+}
@@ -1,6 +1,6 @@
 rootProject.name = "hivemq-mqtt-client"
 
-for (module in listOf("websocket", "proxy", "epoll", "reactor", "examples")) {
+for (module in listOf("websocket", "proxy", "epoll", "io-uring", "reactor", "examples", "jmh")) {
     include("${rootProject.name}-$module")
     project(":${rootProject.name}-$module").projectDir = file(module)
 }
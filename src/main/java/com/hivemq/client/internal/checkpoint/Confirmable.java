@@ -24,4 +24,9 @@ public interface Confirmable {
     long getId();
 
     boolean confirm();
+
+    /**
+     * Confirms this and all previous not yet confirmed confirmables of the same source.
+     */
+    void confirmCumulatively();
 }
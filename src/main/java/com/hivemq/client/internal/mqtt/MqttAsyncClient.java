@@ -35,6 +35,7 @@ import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBatchResult;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
@@ -46,9 +47,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * @author Silvio Giebl
@@ -153,7 +157,7 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
         Checks.notNull(callback, "Callback");
 
-        return handleSubAck(delegate.subscribePublishes(mqttSubscribe, manualAcknowledgement)
+        return handleSubAck(delegate.subscribePublishes(mqttSubscribe, manualAcknowledgement, false)
                 .subscribeSingleFuture(new CallbackSubscriber(callback)), mqttSubscribe);
     }
 
@@ -168,11 +172,40 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         Checks.notNull(callback, "Callback");
         Checks.notNull(executor, "Executor");
 
-        return handleSubAck(delegate.subscribePublishesUnsafe(mqttSubscribe, manualAcknowledgement)
+        return handleSubAck(delegate.subscribePublishesUnsafe(mqttSubscribe, manualAcknowledgement, false)
                 .observeOnBoth(Schedulers.from(executor), true)
                 .subscribeSingleFuture(new CallbackSubscriber(callback)), mqttSubscribe);
     }
 
+    @Override
+    public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeBatched(
+            final @Nullable Mqtt5Subscribe subscribe,
+            final @Nullable Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback,
+            final int maxBatchSize) {
+
+        final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
+        Checks.notNull(callback, "Callback");
+
+        return handleSubAck(delegate.subscribePublishesBatched(mqttSubscribe, maxBatchSize, false)
+                .subscribeSingleFuture(new BatchCallbackSubscriber(callback)), mqttSubscribe);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeBatched(
+            final @Nullable Mqtt5Subscribe subscribe,
+            final @Nullable Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback,
+            final int maxBatchSize,
+            final @Nullable Executor executor) {
+
+        final MqttSubscribe mqttSubscribe = MqttChecks.subscribe(subscribe);
+        Checks.notNull(callback, "Callback");
+        Checks.notNull(executor, "Executor");
+
+        return handleSubAck(delegate.subscribePublishesBatchedUnsafe(mqttSubscribe, maxBatchSize, false)
+                .observeOnBoth(Schedulers.from(executor), true)
+                .subscribeSingleFuture(new BatchCallbackSubscriber(callback)), mqttSubscribe);
+    }
+
     @Override
     public @NotNull MqttSubscribeAndCallbackBuilder subscribeWith() {
         return new MqttSubscribeAndCallbackBuilder();
@@ -248,6 +281,22 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         return new MqttPublishBuilder.Send<>(this::publish);
     }
 
+    @Override
+    public @NotNull CompletableFuture<@NotNull Mqtt5PublishBatchResult> publishAll(
+            final @Nullable Collection<@Nullable ? extends Mqtt5Publish> publishes) {
+
+        final MqttPublish[] mqttPublishes = MqttChecks.publishes(publishes);
+
+        return RxFutureConverter.toFuture(delegate.publishAll(mqttPublishes));
+    }
+
+    @Override
+    public void publishUnacknowledged(final @Nullable Mqtt5Publish publish) {
+        final MqttPublish mqttPublish = MqttChecks.publish(publish);
+
+        delegate.publishUnacknowledged(mqttPublish);
+    }
+
     @Override
     public @NotNull CompletableFuture<Void> reauth() {
         return RxFutureConverter.toFuture(delegate.reauth());
@@ -300,7 +349,42 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
 
         @Override
         public void onNext(final @NotNull Mqtt5Publish publish) {
-            callback.accept(publish);
+            try {
+                callback.accept(publish);
+            } finally {
+                publish.release();
+            }
+        }
+
+        @Override
+        public void onComplete() {}
+
+        @Override
+        public void onError(final @NotNull Throwable t) {}
+    }
+
+    private static class BatchCallbackSubscriber implements FlowableSubscriber<List<Mqtt5Publish>> {
+
+        private final @NotNull Consumer<List<Mqtt5Publish>> callback;
+
+        private BatchCallbackSubscriber(final @NotNull Consumer<List<Mqtt5Publish>> callback) {
+            this.callback = callback;
+        }
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription s) {
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(final @NotNull List<Mqtt5Publish> publishes) {
+            try {
+                callback.accept(publishes);
+            } finally {
+                for (int i = 0; i < publishes.size(); i++) {
+                    publishes.get(i).release();
+                }
+            }
         }
 
         @Override
@@ -316,6 +400,8 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         private @Nullable Consumer<Mqtt5Publish> callback;
         private @Nullable Executor executor;
         private boolean manualAcknowledgement;
+        private int parallelism = 1;
+        private @NotNull Function<? super Mqtt5Publish, ?> keyExtractor = Mqtt5Publish::getTopic;
 
         @Override
         protected @NotNull MqttSubscribeAndCallbackBuilder self() {
@@ -340,18 +426,47 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
             return this;
         }
 
+        @Override
+        public @NotNull MqttSubscribeAndCallbackBuilder parallelism(final int parallelism) {
+            this.parallelism =
+                    (int) Checks.range(parallelism, 1, MqttKeyOrderedCallbackSubscriber.MAX_PARALLELISM, "Parallelism");
+            return this;
+        }
+
+        @Override
+        public @NotNull MqttSubscribeAndCallbackBuilder orderingKey(
+                final @Nullable Function<? super Mqtt5Publish, ?> keyExtractor) {
+
+            this.keyExtractor = Checks.notNull(keyExtractor, "Key extractor");
+            return this;
+        }
+
+        @Override
+        public @NotNull MqttSubscribeAndCallbackBuilder orderingKeyTopicLevels(final int levels) {
+            Checks.range(levels, 1, Integer.MAX_VALUE, "Topic levels");
+            keyExtractor = MqttKeyOrderedCallbackSubscriber.topicLevelsKey(levels);
+            return this;
+        }
+
         @Override
         public @NotNull CompletableFuture<Mqtt5SubAck> send() {
-            final Mqtt5Subscribe subscribe = build();
+            final MqttSubscribe subscribe = build();
             if (callback == null) {
                 Checks.state(executor == null, "Executor must not be given if callback is null.");
                 Checks.state(!manualAcknowledgement, "Manual acknowledgement must not be true if callback is null.");
+                Checks.state(parallelism == 1, "Parallelism must not be given if callback is null.");
                 return subscribe(subscribe);
             }
             if (executor == null) {
+                Checks.state(parallelism == 1, "Executor must be given if parallelism is greater than 1.");
                 return subscribe(subscribe, callback, manualAcknowledgement);
             }
-            return subscribe(subscribe, callback, executor, manualAcknowledgement);
+            if (parallelism == 1) {
+                return subscribe(subscribe, callback, executor, manualAcknowledgement);
+            }
+            return handleSubAck(delegate.subscribePublishesUnsafe(subscribe, manualAcknowledgement, false)
+                    .subscribeSingleFuture(new MqttKeyOrderedCallbackSubscriber(callback, executor, parallelism,
+                            keyExtractor)), subscribe);
         }
     }
 }
@@ -30,7 +30,6 @@ import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribeBuilde
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.util.AsyncRuntimeException;
 import com.hivemq.client.internal.util.Checks;
-import com.hivemq.client.internal.util.collections.NodeList;
 import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5SubAckException;
@@ -40,6 +39,7 @@ import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBatchResult;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
@@ -52,11 +52,13 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
-import java.util.Optional;
+import java.util.*;
 import java.util.concurrent.CancellationException;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * @author Silvio Giebl
@@ -136,7 +138,18 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
 
         Checks.notNull(filter, "Global publish filter");
 
-        return new MqttPublishes(delegate.publishesUnsafe(filter, manualAcknowledgement));
+        return publishes(filter, manualAcknowledgement, 1);
+    }
+
+    @Override
+    public @NotNull Mqtt5Publishes publishes(
+            final @Nullable MqttGlobalPublishFilter filter, final boolean manualAcknowledgement, final int prefetch) {
+
+        Checks.notNull(filter, "Global publish filter");
+        Checks.range(prefetch, 1, Integer.MAX_VALUE, "Prefetch");
+
+        return new MqttPublishes(
+                delegate.publishesUnsafe(filter, manualAcknowledgement), manualAcknowledgement, prefetch);
     }
 
     @Override
@@ -172,6 +185,18 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
         return new MqttPublishBuilder.Send<>(this::publish);
     }
 
+    @Override
+    public @NotNull Mqtt5PublishBatchResult publishAll(
+            final @Nullable Collection<@Nullable ? extends Mqtt5Publish> publishes) {
+
+        final MqttPublish[] mqttPublishes = MqttChecks.publishes(publishes);
+        try {
+            return delegate.publishAllUnsafe(mqttPublishes).blockingGet();
+        } catch (final RuntimeException e) {
+            throw AsyncRuntimeException.fillInStackTrace(e);
+        }
+    }
+
     @Override
     public void reauth() {
         try {
@@ -216,47 +241,55 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
         return delegate.toAsync();
     }
 
-    private static class MqttPublishes implements Mqtt5Publishes, FlowableSubscriber<Mqtt5Publish> {
+    static class MqttPublishes implements Mqtt5Publishes, FlowableSubscriber<Mqtt5Publish> {
 
         private final @NotNull AtomicReference<@Nullable Subscription> subscription = new AtomicReference<>();
-        private final @NotNull NodeList<Entry> entries = new NodeList<>();
-        private @Nullable Mqtt5Publish queuedPublish;
-        private @Nullable Throwable error;
-
-        MqttPublishes(final @NotNull Flowable<Mqtt5Publish> publishes) {
+        private final boolean manualAcknowledgement;
+        private final int prefetch;
+        private final int replenishLimit;
+        // bounded by prefetch as only as many publishes are requested as were taken out of the queue
+        private final @NotNull ConcurrentLinkedQueue<Mqtt5Publish> queue = new ConcurrentLinkedQueue<>();
+        private final @NotNull ConcurrentLinkedQueue<Thread> waiters = new ConcurrentLinkedQueue<>();
+        private final @NotNull AtomicInteger consumed = new AtomicInteger();
+        // request may be called by several receiving threads, only the thread that increments requesting from 0
+        // requests, so that calls to request are serialized
+        private final @NotNull AtomicInteger requesting = new AtomicInteger();
+        private volatile @Nullable Throwable error;
+
+        MqttPublishes(
+                final @NotNull Flowable<Mqtt5Publish> publishes,
+                final boolean manualAcknowledgement,
+                final int prefetch) {
+
+            this.manualAcknowledgement = manualAcknowledgement;
+            this.prefetch = prefetch;
+            replenishLimit = prefetch - (prefetch >> 2);
             publishes.subscribe(this);
         }
 
         @Override
         public void onSubscribe(final @NotNull Subscription subscription) {
             if (this.subscription.compareAndSet(null, subscription)) {
-                subscription.request(1);
+                consumed(prefetch);
             } else {
                 subscription.cancel();
             }
         }
 
-        private void request() {
-            final Subscription subscription = this.subscription.get();
-            assert subscription != null;
-            subscription.request(1);
-        }
-
         @Override
         public void onNext(final @NotNull Mqtt5Publish publish) {
-            synchronized (entries) {
-                if (error != null) {
-                    return;
-                }
-                final Entry entry = entries.getFirst();
-                if (entry == null) {
-                    queuedPublish = publish;
-                } else {
-                    entries.remove(entry);
-                    entry.result = publish;
-                    entry.latch.countDown();
-                    request();
-                }
+            if (error != null) {
+                discard(publish);
+                return;
+            }
+            queue.offer(publish);
+            if (error != null) { // the queue may already have been discarded by a concurrent onError or close
+                discardQueue();
+                return;
+            }
+            final Thread waiter = waiters.poll();
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
             }
         }
 
@@ -267,52 +300,41 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
 
         @Override
         public void onError(final @NotNull Throwable t) {
-            synchronized (entries) {
-                if (error != null) {
-                    return;
-                }
-                error = t;
-                for (Entry entry = entries.getFirst(); entry != null; entry = entry.getNext()) {
-                    entries.remove(entry);
-                    entry.result = t;
-                    entry.latch.countDown();
-                }
+            if (error != null) {
+                return;
+            }
+            error = t;
+            discardQueue();
+            Thread waiter;
+            while ((waiter = waiters.poll()) != null) {
+                LockSupport.unpark(waiter);
             }
         }
 
-        @Override
-        public @NotNull Mqtt5Publish receive() throws InterruptedException {
-            final Entry entry;
-            synchronized (entries) {
-                if (error != null) {
-                    throw handleError(error);
-                }
-                final Mqtt5Publish publish = receiveNowUnsafe();
-                if (publish != null) {
-                    return publish;
-                }
-                entry = new Entry();
-                entries.add(entry);
+        /**
+         * Releases the publishes that were prefetched or arrive after closing but will not be received anymore. With
+         * manual acknowledgement they are also acknowledged, as they were never handed to the application and would
+         * otherwise hold back the acknowledgements of following publishes.
+         */
+        private void discardQueue() {
+            Mqtt5Publish publish;
+            while ((publish = queue.poll()) != null) {
+                discard(publish);
             }
+        }
 
-            Object result;
-            try {
-                entry.latch.await();
-                result = entry.result;
-                assert (result instanceof Mqtt5Publish) || (result instanceof Throwable);
-            } catch (final InterruptedException e) {
-                result = tryCancel(entry, e);
+        private void discard(final @NotNull Mqtt5Publish publish) {
+            if (manualAcknowledgement) {
+                publish.acknowledge();
             }
-            if (result instanceof Mqtt5Publish) {
-                return (Mqtt5Publish) result;
-            }
-            if (result instanceof Throwable) {
-                if (result instanceof InterruptedException) {
-                    throw (InterruptedException) result;
-                }
-                throw handleError((Throwable) result);
-            }
-            throw new IllegalStateException("This must not happen and is a bug.");
+            publish.release();
+        }
+
+        @Override
+        public @NotNull Mqtt5Publish receive() throws InterruptedException {
+            final Mqtt5Publish publish = await(0);
+            assert publish != null;
+            return publish;
         }
 
         @Override
@@ -324,93 +346,152 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
             }
             Checks.notNull(timeUnit, "Time unit");
 
-            final Entry entry;
-            synchronized (entries) {
-                if (error != null) {
-                    throw handleError(error);
-                }
-                final Mqtt5Publish publish = receiveNowUnsafe();
-                if (publish != null) {
-                    return Optional.of(publish);
-                }
-                entry = new Entry();
-                entries.add(entry);
-            }
+            return Optional.ofNullable(await(deadline(timeout, timeUnit)));
+        }
 
-            Object result;
-            try {
-                if (entry.latch.await(timeout, timeUnit)) {
-                    result = entry.result;
-                    assert (result instanceof Mqtt5Publish) || (result instanceof Throwable);
-                } else {
-                    result = tryCancel(entry, null);
-                }
-            } catch (final InterruptedException e) {
-                result = tryCancel(entry, e);
-            }
-            if (result instanceof Mqtt5Publish) {
-                return Optional.of((Mqtt5Publish) result);
+        @Override
+        public @NotNull List<Mqtt5Publish> receive(
+                final int maxPublishes, final long timeout, final @Nullable TimeUnit timeUnit)
+                throws InterruptedException {
+
+            Checks.range(maxPublishes, 1, Integer.MAX_VALUE, "Max publishes");
+            if (timeout < 0) {
+                throw new IllegalArgumentException("Timeout must be greater than 0.");
             }
-            if (result instanceof Throwable) {
-                if (result instanceof InterruptedException) {
-                    throw (InterruptedException) result;
-                }
-                throw handleError((Throwable) result);
+            Checks.notNull(timeUnit, "Time unit");
+
+            final Mqtt5Publish first = await(deadline(timeout, timeUnit));
+            if (first == null) {
+                return Collections.emptyList();
             }
-            return Optional.empty();
+            final ArrayList<Mqtt5Publish> publishes = new ArrayList<>(Math.min(maxPublishes, prefetch));
+            publishes.add(first);
+            drain(publishes, maxPublishes - 1);
+            return publishes;
         }
 
         @Override
         public @NotNull Optional<Mqtt5Publish> receiveNow() {
-            final Mqtt5Publish publish;
-            synchronized (entries) {
-                if (error != null) {
-                    throw handleError(error);
-                }
-                publish = receiveNowUnsafe();
+            checkError();
+            final Mqtt5Publish publish = queue.poll();
+            if (publish != null) {
+                consumed(1);
             }
             return Optional.ofNullable(publish);
         }
 
-        private @Nullable Mqtt5Publish receiveNowUnsafe() {
-            final Mqtt5Publish queuedPublish = this.queuedPublish;
-            if (queuedPublish != null) {
-                this.queuedPublish = null;
-                request();
+        @Override
+        public int drainTo(final @Nullable Collection<? super Mqtt5Publish> publishes) {
+            Checks.notNull(publishes, "Publishes");
+            checkError();
+            return drain(publishes, Integer.MAX_VALUE);
+        }
+
+        private int drain(final @NotNull Collection<? super Mqtt5Publish> publishes, final int maxPublishes) {
+            int count = 0;
+            Mqtt5Publish publish;
+            while ((count < maxPublishes) && ((publish = queue.poll()) != null)) {
+                publishes.add(publish);
+                count++;
             }
-            return queuedPublish;
+            if (count > 0) {
+                consumed(count);
+            }
+            return count;
+        }
+
+        private static long deadline(final long timeout, final @NotNull TimeUnit timeUnit) {
+            final long deadline = System.nanoTime() + timeUnit.toNanos(timeout);
+            return (deadline == 0) ? 1 : deadline; // 0 means no deadline
         }
 
-        private @Nullable Object tryCancel(final @NotNull Entry entry, final @Nullable Object resultOnCancel) {
-            synchronized (entries) {
-                final Object result = entry.result;
-                if (result == null) {
-                    entries.remove(entry);
-                    return resultOnCancel;
+        /**
+         * Takes the next publish, parking the calling thread until a publish is available. Parking instead of waiting
+         * on a monitor or latch does not pin virtual threads to their carrier thread.
+         *
+         * @param deadline the {@link System#nanoTime()} until which to wait, 0 for no deadline.
+         * @return the next publish or <code>null</code> if the deadline passed.
+         * @throws InterruptedException if the calling thread was interrupted while waiting.
+         */
+        private @Nullable Mqtt5Publish await(final long deadline) throws InterruptedException {
+            final Thread thread = Thread.currentThread();
+            while (true) {
+                checkError();
+                Mqtt5Publish publish = queue.poll();
+                if (publish != null) {
+                    consumed(1);
+                    return publish;
+                }
+                waiters.offer(thread);
+                // checked again after registering so that a concurrent onNext or onError can not be missed
+                if ((publish = queue.poll()) != null) {
+                    waiters.remove(thread);
+                    consumed(1);
+                    return publish;
+                }
+                if (error != null) {
+                    waiters.remove(thread);
+                    continue;
+                }
+                if (deadline == 0) {
+                    LockSupport.park(this);
                 } else {
-                    assert (result instanceof Mqtt5Publish) || (result instanceof Throwable);
-                    return result;
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        leave(thread);
+                        return null;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                }
+                if (Thread.interrupted()) {
+                    leave(thread);
+                    throw new InterruptedException();
+                }
+                waiters.remove(thread);
+            }
+        }
+
+        private void leave(final @NotNull Thread thread) {
+            // if this thread was already woken up for a publish, another waiter has to take over
+            if (!waiters.remove(thread) && !queue.isEmpty()) {
+                final Thread waiter = waiters.poll();
+                if (waiter != null) {
+                    LockSupport.unpark(waiter);
                 }
             }
         }
 
+        private void consumed(final int count) {
+            if ((this.consumed.addAndGet(count) < replenishLimit) || (requesting.getAndIncrement() != 0)) {
+                return;
+            }
+            int missed = 1;
+            do {
+                final int consumed = this.consumed.get();
+                if (consumed >= replenishLimit) {
+                    this.consumed.addAndGet(-consumed);
+                    final Subscription subscription = this.subscription.get();
+                    assert subscription != null;
+                    subscription.request(consumed);
+                }
+                missed = requesting.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void checkError() {
+            final Throwable error = this.error;
+            if (error != null) {
+                throw handleError(error);
+            }
+        }
+
         @Override
         public void close() {
             final Subscription subscription = this.subscription.getAndSet(SubscriptionHelper.CANCELLED);
             if (subscription != null) {
                 subscription.cancel();
             }
-            synchronized (entries) {
-                if (error != null) {
-                    return;
-                }
-                error = new CancellationException();
-                for (Entry entry = entries.getFirst(); entry != null; entry = entry.getNext()) {
-                    entries.remove(entry);
-                    entry.result = error;
-                    entry.latch.countDown();
-                }
-            }
+            onError(new CancellationException());
         }
 
         private @NotNull RuntimeException handleError(final @NotNull Throwable t) {
@@ -419,11 +500,5 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
             }
             throw new RuntimeException(t);
         }
-
-        private static class Entry extends NodeList.Node<Entry> {
-
-            final @NotNull CountDownLatch latch = new CountDownLatch(1);
-            @Nullable Object result = null;
-        }
     }
 }
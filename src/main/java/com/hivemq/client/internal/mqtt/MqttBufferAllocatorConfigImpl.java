@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttBufferAllocatorConfig;
+import com.hivemq.client.mqtt.MqttBufferAllocatorType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.OptionalInt;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttBufferAllocatorConfigImpl implements MqttBufferAllocatorConfig {
+
+    static final int DEFAULT = -1;
+
+    private final @NotNull MqttBufferAllocatorType type;
+    private final boolean preferDirect;
+    private final int heapArenas;
+    private final int directArenas;
+    private final int pageSize;
+    private final int maxOrder;
+
+    MqttBufferAllocatorConfigImpl(
+            final @NotNull MqttBufferAllocatorType type,
+            final boolean preferDirect,
+            final int heapArenas,
+            final int directArenas,
+            final int pageSize,
+            final int maxOrder) {
+
+        this.type = type;
+        this.preferDirect = preferDirect;
+        this.heapArenas = heapArenas;
+        this.directArenas = directArenas;
+        this.pageSize = pageSize;
+        this.maxOrder = maxOrder;
+    }
+
+    @Override
+    public @NotNull MqttBufferAllocatorType getType() {
+        return type;
+    }
+
+    @Override
+    public boolean isPreferDirect() {
+        return preferDirect;
+    }
+
+    @Override
+    public @NotNull OptionalInt getHeapArenas() {
+        return optional(heapArenas);
+    }
+
+    public int getRawHeapArenas() {
+        return heapArenas;
+    }
+
+    @Override
+    public @NotNull OptionalInt getDirectArenas() {
+        return optional(directArenas);
+    }
+
+    public int getRawDirectArenas() {
+        return directArenas;
+    }
+
+    @Override
+    public @NotNull OptionalInt getPageSize() {
+        return optional(pageSize);
+    }
+
+    public int getRawPageSize() {
+        return pageSize;
+    }
+
+    @Override
+    public @NotNull OptionalInt getMaxOrder() {
+        return optional(maxOrder);
+    }
+
+    public int getRawMaxOrder() {
+        return maxOrder;
+    }
+
+    private static @NotNull OptionalInt optional(final int value) {
+        return (value == DEFAULT) ? OptionalInt.empty() : OptionalInt.of(value);
+    }
+
+    @Override
+    public MqttBufferAllocatorConfigImplBuilder.@NotNull Default extend() {
+        return new MqttBufferAllocatorConfigImplBuilder.Default(this);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttBufferAllocatorConfigImpl)) {
+            return false;
+        }
+        final MqttBufferAllocatorConfigImpl that = (MqttBufferAllocatorConfigImpl) o;
+
+        return (type == that.type) && (preferDirect == that.preferDirect) && (heapArenas == that.heapArenas) &&
+                (directArenas == that.directArenas) && (pageSize == that.pageSize) && (maxOrder == that.maxOrder);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = type.hashCode();
+        result = 31 * result + Boolean.hashCode(preferDirect);
+        result = 31 * result + heapArenas;
+        result = 31 * result + directArenas;
+        result = 31 * result + pageSize;
+        result = 31 * result + maxOrder;
+        return result;
+    }
+}
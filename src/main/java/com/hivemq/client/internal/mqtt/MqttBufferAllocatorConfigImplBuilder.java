@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.MqttBufferAllocatorConfig;
+import com.hivemq.client.mqtt.MqttBufferAllocatorConfigBuilder;
+import com.hivemq.client.mqtt.MqttBufferAllocatorType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * @author Silvio Giebl
+ */
+public abstract class MqttBufferAllocatorConfigImplBuilder<B extends MqttBufferAllocatorConfigImplBuilder<B>> {
+
+    private static final int MIN_PAGE_SIZE = 4096;
+    private static final int MAX_MAX_ORDER = 14;
+
+    private @NotNull MqttBufferAllocatorType type = MqttBufferAllocatorConfig.DEFAULT_TYPE;
+    private boolean preferDirect = MqttBufferAllocatorConfig.DEFAULT_PREFER_DIRECT;
+    private int heapArenas = MqttBufferAllocatorConfigImpl.DEFAULT;
+    private int directArenas = MqttBufferAllocatorConfigImpl.DEFAULT;
+    private int pageSize = MqttBufferAllocatorConfigImpl.DEFAULT;
+    private int maxOrder = MqttBufferAllocatorConfigImpl.DEFAULT;
+
+    MqttBufferAllocatorConfigImplBuilder() {}
+
+    MqttBufferAllocatorConfigImplBuilder(final @Nullable MqttBufferAllocatorConfigImpl bufferAllocatorConfig) {
+        if (bufferAllocatorConfig != null) {
+            type = bufferAllocatorConfig.getType();
+            preferDirect = bufferAllocatorConfig.isPreferDirect();
+            heapArenas = bufferAllocatorConfig.getRawHeapArenas();
+            directArenas = bufferAllocatorConfig.getRawDirectArenas();
+            pageSize = bufferAllocatorConfig.getRawPageSize();
+            maxOrder = bufferAllocatorConfig.getRawMaxOrder();
+        }
+    }
+
+    abstract @NotNull B self();
+
+    public @NotNull B type(final @Nullable MqttBufferAllocatorType type) {
+        this.type = Checks.notNull(type, "Buffer allocator type");
+        return self();
+    }
+
+    public @NotNull B preferDirect(final boolean preferDirect) {
+        this.preferDirect = preferDirect;
+        return self();
+    }
+
+    public @NotNull B heapArenas(final int heapArenas) {
+        this.heapArenas = (int) Checks.range(heapArenas, 0, Integer.MAX_VALUE, "Heap arenas");
+        return self();
+    }
+
+    public @NotNull B directArenas(final int directArenas) {
+        this.directArenas = (int) Checks.range(directArenas, 0, Integer.MAX_VALUE, "Direct arenas");
+        return self();
+    }
+
+    public @NotNull B pageSize(final int pageSize) {
+        if ((pageSize < MIN_PAGE_SIZE) || ((pageSize & (pageSize - 1)) != 0)) {
+            throw new IllegalArgumentException(
+                    "Page size must be a power of 2 and at least " + MIN_PAGE_SIZE + ". Found: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        return self();
+    }
+
+    public @NotNull B maxOrder(final int maxOrder) {
+        this.maxOrder = (int) Checks.range(maxOrder, 0, MAX_MAX_ORDER, "Max order");
+        return self();
+    }
+
+    public @NotNull MqttBufferAllocatorConfigImpl build() {
+        return new MqttBufferAllocatorConfigImpl(type, preferDirect, heapArenas, directArenas, pageSize, maxOrder);
+    }
+
+    public static class Default extends MqttBufferAllocatorConfigImplBuilder<Default>
+            implements MqttBufferAllocatorConfigBuilder {
+
+        public Default() {}
+
+        Default(final @Nullable MqttBufferAllocatorConfigImpl bufferAllocatorConfig) {
+            super(bufferAllocatorConfig);
+        }
+
+        @Override
+        @NotNull Default self() {
+            return this;
+        }
+    }
+
+    public static class Nested<P> extends MqttBufferAllocatorConfigImplBuilder<Nested<P>>
+            implements MqttBufferAllocatorConfigBuilder.Nested<P> {
+
+        private final @NotNull Function<? super MqttBufferAllocatorConfigImpl, P> parentConsumer;
+
+        Nested(
+                final @Nullable MqttBufferAllocatorConfigImpl bufferAllocatorConfig,
+                final @NotNull Function<? super MqttBufferAllocatorConfigImpl, P> parentConsumer) {
+
+            super(bufferAllocatorConfig);
+            this.parentConsumer = parentConsumer;
+        }
+
+        @Override
+        @NotNull Nested<P> self() {
+            return this;
+        }
+
+        @Override
+        public @NotNull P applyBufferAllocatorConfig() {
+            return parentConsumer.apply(build());
+        }
+    }
+}
@@ -53,12 +53,14 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
     private volatile @NotNull MqttClientIdentifierImpl clientIdentifier;
     private final @NotNull MqttClientTransportConfigImpl transportConfig;
     private final @NotNull MqttClientExecutorConfigImpl executorConfig;
+    private final @NotNull NettyEventLoopProvider eventLoopProvider;
     private final @NotNull MqttClientAdvancedConfig advancedConfig;
     private final @NotNull ConnectDefaults connectDefaults;
     private final @NotNull ImmutableList<MqttClientConnectedListener> connectedListeners;
     private final @NotNull ImmutableList<MqttClientDisconnectedListener> disconnectedListeners;
 
     private final @NotNull ClientComponent clientComponent;
+    private final @NotNull MqttClientStatisticsImpl statistics = new MqttClientStatisticsImpl();
 
     private volatile @Nullable EventLoop eventLoop;
     private int eventLoopAcquires;
@@ -86,6 +88,8 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         this.clientIdentifier = clientIdentifier;
         this.transportConfig = transportConfig;
         this.executorConfig = executorConfig;
+        eventLoopProvider = NettyEventLoopProvider.of(executorConfig.getRawNettyTransport(),
+                transportConfig.getRawDomainSocketPath() != null);
         this.advancedConfig = advancedConfig;
         this.connectDefaults = connectDefaults;
         this.connectedListeners = connectedListeners;
@@ -126,6 +130,10 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         return executorConfig;
     }
 
+    public @NotNull NettyEventLoopProvider getEventLoopProvider() {
+        return eventLoopProvider;
+    }
+
     @Override
     public @NotNull MqttClientAdvancedConfig getAdvancedConfig() {
         return advancedConfig;
@@ -181,8 +189,8 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
             EventLoop eventLoop = this.eventLoop;
             if (eventLoop == null) {
                 this.eventLoop = eventLoop =
-                        NettyEventLoopProvider.INSTANCE.acquireEventLoop(executorConfig.getRawNettyExecutor(),
-                                executorConfig.getRawNettyThreads());
+                        eventLoopProvider.acquireEventLoop(executorConfig.getRawNettyExecutor(),
+                                executorConfig.getRawNettyThreads(), executorConfig.getRawNettyEventLoopIndex());
             }
             return eventLoop;
         }
@@ -199,7 +207,7 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
                         if (eventLoopAcquireCount == this.eventLoopAcquireCount) { // eventLoop has not been reacquired
                             this.eventLoop = null;
                             // releaseEventLoop must be the last statement so everything is cleaned up even if it throws
-                            NettyEventLoopProvider.INSTANCE.releaseEventLoop(executorConfig.getRawNettyExecutor());
+                            eventLoopProvider.releaseEventLoop(executorConfig.getRawNettyExecutor(), eventLoop);
                         }
                     }
                 });
@@ -237,6 +245,11 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
         this.connectionConfig = connectionConfig;
     }
 
+    @Override
+    public @NotNull MqttClientStatisticsImpl getStatistics() {
+        return statistics;
+    }
+
     public @NotNull MqttClientTransportConfigImpl getCurrentTransportConfig() {
         return currentTransportConfig;
     }
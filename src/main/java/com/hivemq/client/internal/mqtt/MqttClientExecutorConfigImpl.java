@@ -16,7 +16,9 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.mqtt.MqttBufferAllocatorConfig;
 import com.hivemq.client.mqtt.MqttClientExecutorConfig;
+import com.hivemq.client.mqtt.MqttNettyTransport;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -32,21 +34,32 @@ import java.util.concurrent.Executor;
 public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
 
     public static final int DEFAULT_NETTY_THREADS = 0;
+    public static final int DEFAULT_NETTY_EVENT_LOOP_INDEX = -1;
     public static final @NotNull MqttClientExecutorConfigImpl DEFAULT =
-            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, DEFAULT_APPLICATION_SCHEDULER);
+            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, null, DEFAULT_NETTY_EVENT_LOOP_INDEX,
+                    DEFAULT_APPLICATION_SCHEDULER, null);
 
     private final @Nullable Executor nettyExecutor;
     private final int nettyThreads;
+    private final @Nullable MqttNettyTransport nettyTransport;
+    private final int nettyEventLoopIndex;
     private final @NotNull Scheduler applicationScheduler;
+    private final @Nullable MqttBufferAllocatorConfigImpl bufferAllocatorConfig;
 
     MqttClientExecutorConfigImpl(
             final @Nullable Executor nettyExecutor,
             final int nettyThreads,
-            final @NotNull Scheduler applicationScheduler) {
+            final @Nullable MqttNettyTransport nettyTransport,
+            final int nettyEventLoopIndex,
+            final @NotNull Scheduler applicationScheduler,
+            final @Nullable MqttBufferAllocatorConfigImpl bufferAllocatorConfig) {
 
         this.nettyExecutor = nettyExecutor;
         this.nettyThreads = nettyThreads;
+        this.nettyTransport = nettyTransport;
+        this.nettyEventLoopIndex = nettyEventLoopIndex;
         this.applicationScheduler = applicationScheduler;
+        this.bufferAllocatorConfig = bufferAllocatorConfig;
     }
 
     @Override
@@ -67,11 +80,39 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         return nettyThreads;
     }
 
+    @Override
+    public @NotNull Optional<MqttNettyTransport> getNettyTransport() {
+        return Optional.ofNullable(nettyTransport);
+    }
+
+    public @Nullable MqttNettyTransport getRawNettyTransport() {
+        return nettyTransport;
+    }
+
+    @Override
+    public @NotNull OptionalInt getNettyEventLoopIndex() {
+        return (nettyEventLoopIndex == DEFAULT_NETTY_EVENT_LOOP_INDEX) ? OptionalInt.empty() :
+                OptionalInt.of(nettyEventLoopIndex);
+    }
+
+    public int getRawNettyEventLoopIndex() {
+        return nettyEventLoopIndex;
+    }
+
     @Override
     public @NotNull Scheduler getApplicationScheduler() {
         return applicationScheduler;
     }
 
+    @Override
+    public @NotNull Optional<MqttBufferAllocatorConfig> getBufferAllocatorConfig() {
+        return Optional.ofNullable(bufferAllocatorConfig);
+    }
+
+    public @Nullable MqttBufferAllocatorConfigImpl getRawBufferAllocatorConfig() {
+        return bufferAllocatorConfig;
+    }
+
     @Override
     public MqttClientExecutorConfigImplBuilder.@NotNull Default extend() {
         return new MqttClientExecutorConfigImplBuilder.Default(this);
@@ -88,14 +129,19 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         final MqttClientExecutorConfigImpl that = (MqttClientExecutorConfigImpl) o;
 
         return Objects.equals(nettyExecutor, that.nettyExecutor) && (nettyThreads == that.nettyThreads) &&
-                applicationScheduler.equals(that.applicationScheduler);
+                (nettyTransport == that.nettyTransport) && (nettyEventLoopIndex == that.nettyEventLoopIndex) &&
+                applicationScheduler.equals(that.applicationScheduler) &&
+                Objects.equals(bufferAllocatorConfig, that.bufferAllocatorConfig);
     }
 
     @Override
     public int hashCode() {
         int result = Objects.hashCode(nettyExecutor);
         result = 31 * result + nettyThreads;
+        result = 31 * result + Objects.hashCode(nettyTransport);
+        result = 31 * result + nettyEventLoopIndex;
         result = 31 * result + applicationScheduler.hashCode();
+        result = 31 * result + Objects.hashCode(bufferAllocatorConfig);
         return result;
     }
 }
@@ -17,7 +17,9 @@
 package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.MqttBufferAllocatorConfig;
 import com.hivemq.client.mqtt.MqttClientExecutorConfigBuilder;
+import com.hivemq.client.mqtt.MqttNettyTransport;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -32,14 +34,20 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
 
     private @Nullable Executor nettyExecutor;
     private int nettyThreads = MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS;
+    private @Nullable MqttNettyTransport nettyTransport;
+    private int nettyEventLoopIndex = MqttClientExecutorConfigImpl.DEFAULT_NETTY_EVENT_LOOP_INDEX;
     private @NotNull Scheduler applicationScheduler = MqttClientExecutorConfigImpl.DEFAULT_APPLICATION_SCHEDULER;
+    private @Nullable MqttBufferAllocatorConfigImpl bufferAllocatorConfig;
 
     MqttClientExecutorConfigImplBuilder() {}
 
     MqttClientExecutorConfigImplBuilder(final @NotNull MqttClientExecutorConfigImpl executorConfig) {
         nettyExecutor = executorConfig.getRawNettyExecutor();
         nettyThreads = executorConfig.getRawNettyThreads();
+        nettyTransport = executorConfig.getRawNettyTransport();
+        nettyEventLoopIndex = executorConfig.getRawNettyEventLoopIndex();
         applicationScheduler = executorConfig.getApplicationScheduler();
+        bufferAllocatorConfig = executorConfig.getRawBufferAllocatorConfig();
     }
 
     abstract @NotNull B self();
@@ -58,13 +66,35 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
         return self();
     }
 
+    public @NotNull B nettyTransport(final @Nullable MqttNettyTransport nettyTransport) {
+        this.nettyTransport = nettyTransport;
+        return self();
+    }
+
+    public @NotNull B nettyEventLoopIndex(final int nettyEventLoopIndex) {
+        this.nettyEventLoopIndex =
+                (int) Checks.range(nettyEventLoopIndex, 0, Integer.MAX_VALUE, "Netty event loop index");
+        return self();
+    }
+
     public @NotNull B applicationScheduler(final @Nullable Scheduler applicationScheduler) {
         this.applicationScheduler = Checks.notNull(applicationScheduler, "Application scheduler");
         return self();
     }
 
+    public @NotNull B bufferAllocatorConfig(final @Nullable MqttBufferAllocatorConfig bufferAllocatorConfig) {
+        this.bufferAllocatorConfig = Checks.notImplementedOrNull(bufferAllocatorConfig,
+                MqttBufferAllocatorConfigImpl.class, "Buffer allocator config");
+        return self();
+    }
+
+    public MqttBufferAllocatorConfigImplBuilder.@NotNull Nested<B> bufferAllocatorConfig() {
+        return new MqttBufferAllocatorConfigImplBuilder.Nested<>(bufferAllocatorConfig, this::bufferAllocatorConfig);
+    }
+
     public @NotNull MqttClientExecutorConfigImpl build() {
-        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, applicationScheduler);
+        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, nettyTransport,
+                nettyEventLoopIndex, applicationScheduler, bufferAllocatorConfig);
     }
 
     public static class Default extends MqttClientExecutorConfigImplBuilder<Default>
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttClientStatistics;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttClientStatisticsImpl implements MqttClientStatistics {
+
+    private final @NotNull AtomicLong unacknowledgedPublishes = new AtomicLong();
+    private final @NotNull AtomicLong unacknowledgedPublishFailures = new AtomicLong();
+    private final @NotNull AtomicInteger bufferedPublishes = new AtomicInteger();
+    private final @NotNull AtomicLong bufferedPublishBytes = new AtomicLong();
+    private final @NotNull AtomicLong droppedPublishes = new AtomicLong();
+    private final @NotNull AtomicLong rejectedPublishes = new AtomicLong();
+    private final @NotNull AtomicLong conflatedIncomingPublishes = new AtomicLong();
+    private final @NotNull AtomicLong droppedIncomingQos0Publishes = new AtomicLong();
+    private final @NotNull AtomicLong expiredIncomingPublishes = new AtomicLong();
+    private final @NotNull AtomicLong expiredOutgoingPublishes = new AtomicLong();
+
+    @Override
+    public long getUnacknowledgedPublishCount() {
+        return unacknowledgedPublishes.get();
+    }
+
+    public void addUnacknowledgedPublishes(final long count) {
+        unacknowledgedPublishes.addAndGet(count);
+    }
+
+    @Override
+    public long getUnacknowledgedPublishFailureCount() {
+        return unacknowledgedPublishFailures.get();
+    }
+
+    public void addUnacknowledgedPublishFailures(final long count) {
+        unacknowledgedPublishFailures.addAndGet(count);
+    }
+
+    @Override
+    public int getBufferedPublishCount() {
+        return bufferedPublishes.get();
+    }
+
+    @Override
+    public long getBufferedPublishBytes() {
+        return bufferedPublishBytes.get();
+    }
+
+    /**
+     * Adds a buffered Publish message if it does not exceed the given limits.
+     *
+     * @param bytes       the payload size of the Publish message.
+     * @param maxMessages the maximum count of buffered Publish messages.
+     * @param maxBytes    the maximum amount of payload bytes of buffered Publish messages.
+     * @return whether the Publish message was added.
+     */
+    public boolean tryAddBufferedPublish(final long bytes, final int maxMessages, final long maxBytes) {
+        while (true) {
+            final int count = bufferedPublishes.get();
+            if (count >= maxMessages) {
+                return false;
+            }
+            if (bufferedPublishes.compareAndSet(count, count + 1)) {
+                break;
+            }
+        }
+        while (true) {
+            final long currentBytes = bufferedPublishBytes.get();
+            if (currentBytes + bytes > maxBytes) {
+                bufferedPublishes.decrementAndGet();
+                return false;
+            }
+            if (bufferedPublishBytes.compareAndSet(currentBytes, currentBytes + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    public void addBufferedPublish(final long bytes) {
+        bufferedPublishes.incrementAndGet();
+        bufferedPublishBytes.addAndGet(bytes);
+    }
+
+    public void removeBufferedPublish(final long bytes) {
+        bufferedPublishes.decrementAndGet();
+        bufferedPublishBytes.addAndGet(-bytes);
+    }
+
+    @Override
+    public long getDroppedPublishCount() {
+        return droppedPublishes.get();
+    }
+
+    public void addDroppedPublishes(final long count) {
+        droppedPublishes.addAndGet(count);
+    }
+
+    @Override
+    public long getRejectedPublishCount() {
+        return rejectedPublishes.get();
+    }
+
+    public void addRejectedPublishes(final long count) {
+        rejectedPublishes.addAndGet(count);
+    }
+
+    @Override
+    public long getConflatedIncomingPublishCount() {
+        return conflatedIncomingPublishes.get();
+    }
+
+    public void addConflatedIncomingPublishes(final long count) {
+        conflatedIncomingPublishes.addAndGet(count);
+    }
+
+    @Override
+    public long getDroppedIncomingQos0PublishCount() {
+        return droppedIncomingQos0Publishes.get();
+    }
+
+    public void addDroppedIncomingQos0Publishes(final long count) {
+        droppedIncomingQos0Publishes.addAndGet(count);
+    }
+
+    @Override
+    public long getExpiredIncomingPublishCount() {
+        return expiredIncomingPublishes.get();
+    }
+
+    public void addExpiredIncomingPublishes(final long count) {
+        expiredIncomingPublishes.addAndGet(count);
+    }
+
+    @Override
+    public long getExpiredOutgoingPublishCount() {
+        return expiredOutgoingPublishes.get();
+    }
+
+    public void addExpiredOutgoingPublishes(final long count) {
+        expiredOutgoingPublishes.addAndGet(count);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "MqttClientStatistics{" + "unacknowledgedPublishes=" + unacknowledgedPublishes +
+                ", unacknowledgedPublishFailures=" + unacknowledgedPublishFailures + ", bufferedPublishes=" +
+                bufferedPublishes + ", bufferedPublishBytes=" + bufferedPublishBytes + ", droppedPublishes=" +
+                droppedPublishes + ", rejectedPublishes=" + rejectedPublishes + ", conflatedIncomingPublishes=" +
+                conflatedIncomingPublishes + ", droppedIncomingQos0Publishes=" + droppedIncomingQos0Publishes +
+                ", expiredIncomingPublishes=" + expiredIncomingPublishes + ", expiredOutgoingPublishes=" +
+                expiredOutgoingPublishes + '}';
+    }
+}
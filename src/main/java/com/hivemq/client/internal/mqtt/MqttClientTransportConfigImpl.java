@@ -32,30 +32,40 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
 
     public static final @NotNull MqttClientTransportConfigImpl DEFAULT = new MqttClientTransportConfigImpl(
             InetSocketAddressUtil.create(MqttClient.DEFAULT_SERVER_HOST, MqttClient.DEFAULT_SERVER_PORT), null, null,
-            null, null, DEFAULT_SOCKET_CONNECT_TIMEOUT_MS, DEFAULT_MQTT_CONNECT_TIMEOUT_MS);
+            null, null, null, null, MqttSocketConfigImpl.DEFAULT, DEFAULT_SOCKET_CONNECT_TIMEOUT_MS,
+            DEFAULT_MQTT_CONNECT_TIMEOUT_MS);
 
     private final @NotNull InetSocketAddress serverAddress;
     private final @Nullable InetSocketAddress localAddress;
+    private final @Nullable String domainSocketPath;
+    private final @Nullable String localChannelId;
     private final @Nullable MqttClientSslConfigImpl sslConfig;
     private final @Nullable MqttWebSocketConfigImpl webSocketConfig;
     private final @Nullable MqttProxyConfigImpl proxyConfig;
+    private final @NotNull MqttSocketConfigImpl socketConfig;
     private final int socketConnectTimeoutMs;
     private final int mqttConnectTimeoutMs;
 
     MqttClientTransportConfigImpl(
             final @NotNull InetSocketAddress serverAddress,
             final @Nullable InetSocketAddress localAddress,
+            final @Nullable String domainSocketPath,
+            final @Nullable String localChannelId,
             final @Nullable MqttClientSslConfigImpl sslConfig,
             final @Nullable MqttWebSocketConfigImpl webSocketConfig,
             final @Nullable MqttProxyConfigImpl proxyConfig,
+            final @NotNull MqttSocketConfigImpl socketConfig,
             final int socketConnectTimeoutMs,
             final int mqttConnectTimeoutMs) {
 
         this.serverAddress = serverAddress;
         this.localAddress = localAddress;
+        this.domainSocketPath = domainSocketPath;
+        this.localChannelId = localChannelId;
         this.sslConfig = sslConfig;
         this.webSocketConfig = webSocketConfig;
         this.proxyConfig = proxyConfig;
+        this.socketConfig = socketConfig;
         this.socketConnectTimeoutMs = socketConnectTimeoutMs;
         this.mqttConnectTimeoutMs = mqttConnectTimeoutMs;
     }
@@ -78,6 +88,24 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         return localAddress;
     }
 
+    @Override
+    public @NotNull Optional<String> getDomainSocketPath() {
+        return Optional.ofNullable(domainSocketPath);
+    }
+
+    public @Nullable String getRawDomainSocketPath() {
+        return domainSocketPath;
+    }
+
+    @Override
+    public @NotNull Optional<String> getLocalChannelId() {
+        return Optional.ofNullable(localChannelId);
+    }
+
+    public @Nullable String getRawLocalChannelId() {
+        return localChannelId;
+    }
+
     @Override
     public @NotNull Optional<MqttClientSslConfig> getSslConfig() {
         return Optional.ofNullable(sslConfig);
@@ -105,6 +133,11 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         return proxyConfig;
     }
 
+    @Override
+    public @NotNull MqttSocketConfigImpl getSocketConfig() {
+        return socketConfig;
+    }
+
     @Override
     public int getSocketConnectTimeoutMs() {
         return socketConnectTimeoutMs;
@@ -131,8 +164,10 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         final MqttClientTransportConfigImpl that = (MqttClientTransportConfigImpl) o;
 
         return serverAddress.equals(that.serverAddress) && Objects.equals(localAddress, that.localAddress) &&
+                Objects.equals(domainSocketPath, that.domainSocketPath) &&
+                Objects.equals(localChannelId, that.localChannelId) &&
                 Objects.equals(sslConfig, that.sslConfig) && Objects.equals(webSocketConfig, that.webSocketConfig) &&
-                Objects.equals(proxyConfig, that.proxyConfig) &&
+                Objects.equals(proxyConfig, that.proxyConfig) && socketConfig.equals(that.socketConfig) &&
                 (socketConnectTimeoutMs == that.socketConnectTimeoutMs) &&
                 (mqttConnectTimeoutMs == that.mqttConnectTimeoutMs);
     }
@@ -141,9 +176,12 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
     public int hashCode() {
         int result = serverAddress.hashCode();
         result = 31 * result + Objects.hashCode(localAddress);
+        result = 31 * result + Objects.hashCode(domainSocketPath);
+        result = 31 * result + Objects.hashCode(localChannelId);
         result = 31 * result + Objects.hashCode(sslConfig);
         result = 31 * result + Objects.hashCode(webSocketConfig);
         result = 31 * result + Objects.hashCode(proxyConfig);
+        result = 31 * result + socketConfig.hashCode();
         result = 31 * result + Integer.hashCode(socketConnectTimeoutMs);
         result = 31 * result + Integer.hashCode(mqttConnectTimeoutMs);
         return result;
@@ -21,6 +21,7 @@ import com.hivemq.client.internal.util.InetSocketAddressUtil;
 import com.hivemq.client.mqtt.MqttClientSslConfig;
 import com.hivemq.client.mqtt.MqttClientTransportConfigBuilder;
 import com.hivemq.client.mqtt.MqttProxyConfig;
+import com.hivemq.client.mqtt.MqttSocketConfig;
 import com.hivemq.client.mqtt.MqttWebSocketConfig;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -41,9 +42,12 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
     private @NotNull Object serverHost = DEFAULT_SERVER_HOST; // String or InetAddress
     private int serverPort = -1;
     private @Nullable InetSocketAddress localAddress;
+    private @Nullable String domainSocketPath;
+    private @Nullable String localChannelId;
     private @Nullable MqttClientSslConfigImpl sslConfig;
     private @Nullable MqttWebSocketConfigImpl webSocketConfig;
     private @Nullable MqttProxyConfigImpl proxyConfig;
+    private @NotNull MqttSocketConfigImpl socketConfig = MqttSocketConfigImpl.DEFAULT;
     private int socketConnectTimeoutMs = MqttClientTransportConfigImpl.DEFAULT_SOCKET_CONNECT_TIMEOUT_MS;
     private int mqttConnectTimeoutMs = MqttClientTransportConfigImpl.DEFAULT_MQTT_CONNECT_TIMEOUT_MS;
 
@@ -58,9 +62,12 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         serverHost = builder.serverHost;
         serverPort = builder.serverPort;
         localAddress = builder.localAddress;
+        domainSocketPath = builder.domainSocketPath;
+        localChannelId = builder.localChannelId;
         sslConfig = builder.sslConfig;
         webSocketConfig = builder.webSocketConfig;
         proxyConfig = builder.proxyConfig;
+        socketConfig = builder.socketConfig;
         socketConnectTimeoutMs = builder.socketConnectTimeoutMs;
         mqttConnectTimeoutMs = builder.mqttConnectTimeoutMs;
     }
@@ -68,9 +75,12 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
     void set(final @NotNull MqttClientTransportConfigImpl transportConfig) {
         serverAddress = transportConfig.getServerAddress();
         localAddress = transportConfig.getRawLocalAddress();
+        domainSocketPath = transportConfig.getRawDomainSocketPath();
+        localChannelId = transportConfig.getRawLocalChannelId();
         sslConfig = transportConfig.getRawSslConfig();
         webSocketConfig = transportConfig.getRawWebSocketConfig();
         proxyConfig = transportConfig.getRawProxyConfig();
+        socketConfig = transportConfig.getSocketConfig();
         socketConnectTimeoutMs = transportConfig.getSocketConnectTimeoutMs();
         mqttConnectTimeoutMs = transportConfig.getMqttConnectTimeoutMs();
     }
@@ -177,6 +187,26 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         return self();
     }
 
+    public @NotNull B domainSocketPath(final @Nullable String path) {
+        if (path == null) {
+            domainSocketPath = null;
+        } else {
+            domainSocketPath = Checks.notEmpty(path, "Domain socket path");
+            localChannelId = null;
+        }
+        return self();
+    }
+
+    public @NotNull B localChannelId(final @Nullable String id) {
+        if (id == null) {
+            localChannelId = null;
+        } else {
+            localChannelId = Checks.notEmpty(id, "Local channel id");
+            domainSocketPath = null;
+        }
+        return self();
+    }
+
     public @NotNull B sslWithDefaultConfig() {
         this.sslConfig = MqttClientSslConfigImpl.DEFAULT;
         return self();
@@ -215,6 +245,15 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         return new MqttProxyConfigImplBuilder.Nested<>(proxyConfig, this::proxyConfig);
     }
 
+    public @NotNull B socketConfig(final @Nullable MqttSocketConfig socketConfig) {
+        this.socketConfig = Checks.notImplemented(socketConfig, MqttSocketConfigImpl.class, "Socket config");
+        return self();
+    }
+
+    public MqttSocketConfigImplBuilder.@NotNull Nested<B> socketConfig() {
+        return new MqttSocketConfigImplBuilder.Nested<>(socketConfig, this::socketConfig);
+    }
+
     public @NotNull B socketConnectTimeout(final long timeout, final @Nullable TimeUnit timeUnit) {
         Checks.notNull(timeUnit, "Time unit");
         this.socketConnectTimeoutMs = (int) Checks.range(timeUnit.toMillis(timeout), 0, Integer.MAX_VALUE,
@@ -256,8 +295,9 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
     }
 
     @NotNull MqttClientTransportConfigImpl buildTransportConfig() {
-        return new MqttClientTransportConfigImpl(getServerAddress(), localAddress, sslConfig, webSocketConfig,
-                proxyConfig, socketConnectTimeoutMs, mqttConnectTimeoutMs);
+        return new MqttClientTransportConfigImpl(getServerAddress(), localAddress, domainSocketPath,
+                localChannelId, sslConfig, webSocketConfig, proxyConfig, socketConfig, socketConnectTimeoutMs,
+                mqttConnectTimeoutMs);
     }
 
     public static class Default extends MqttClientTransportConfigImplBuilder<Default>
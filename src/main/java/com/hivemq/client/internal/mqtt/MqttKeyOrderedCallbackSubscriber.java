@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.plugins.RxJavaPlugins;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Dispatches incoming Publish messages to a callback on an executor with a given parallelism.
+ * <p>
+ * Publish messages are assigned to lanes by the hash of their key. Each lane executes the callback sequentially, so
+ * Publish messages with the same key are consumed in order while different lanes are processed concurrently.
+ * Acknowledgements are still ordered by the incoming publish service, regardless of the order in which the callbacks
+ * complete. The amounts consumed by the lanes are requested from the subscription by only one lane at a time.
+ *
+ * @author Silvio Giebl
+ */
+class MqttKeyOrderedCallbackSubscriber implements FlowableSubscriber<Mqtt5Publish> {
+
+    static final int MAX_PARALLELISM = 4096;
+    static final int LANE_PREFETCH = 64;
+
+    static @NotNull Function<Mqtt5Publish, Object> topicLevelsKey(final int levels) {
+        return publish -> {
+            final String topic = publish.getTopic().toString();
+            int index = -1;
+            for (int i = 0; i < levels; i++) {
+                index = topic.indexOf('/', index + 1);
+                if (index == -1) {
+                    return topic;
+                }
+            }
+            return topic.substring(0, index);
+        };
+    }
+
+    private final @NotNull Consumer<Mqtt5Publish> callback;
+    private final @NotNull Executor executor;
+    private final @NotNull Function<? super Mqtt5Publish, ?> keyExtractor;
+    private final @NotNull Lane @NotNull [] lanes;
+    private @Nullable Subscription subscription;
+    private final @NotNull AtomicLong consumed = new AtomicLong();
+    private final @NotNull AtomicInteger requesting = new AtomicInteger();
+
+    MqttKeyOrderedCallbackSubscriber(
+            final @NotNull Consumer<Mqtt5Publish> callback,
+            final @NotNull Executor executor,
+            final int parallelism,
+            final @NotNull Function<? super Mqtt5Publish, ?> keyExtractor) {
+
+        this.callback = callback;
+        this.executor = executor;
+        this.keyExtractor = keyExtractor;
+        lanes = new Lane[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    @Override
+    public void onSubscribe(final @NotNull Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request((long) lanes.length * LANE_PREFETCH);
+    }
+
+    @Override
+    public void onNext(final @NotNull Mqtt5Publish publish) {
+        final Object key = keyExtractor.apply(publish);
+        final int hash = (key == null) ? 0 : key.hashCode();
+        lanes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % lanes.length].offer(publish);
+    }
+
+    private void replenish(final int count) {
+        consumed.addAndGet(count);
+        if (requesting.getAndIncrement() != 0) {
+            return;
+        }
+        assert subscription != null;
+        int missed = 1;
+        do {
+            final long consumed = this.consumed.getAndSet(0);
+            if (consumed > 0) {
+                subscription.request(consumed);
+            }
+            missed = requesting.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    @Override
+    public void onComplete() {}
+
+    @Override
+    public void onError(final @NotNull Throwable t) {}
+
+    private class Lane implements Runnable {
+
+        private final @NotNull ConcurrentLinkedQueue<Mqtt5Publish> queue = new ConcurrentLinkedQueue<>();
+        private final @NotNull AtomicInteger wip = new AtomicInteger();
+
+        void offer(final @NotNull Mqtt5Publish publish) {
+            queue.offer(publish);
+            if (wip.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                int consumed = 0;
+                Mqtt5Publish publish;
+                while ((publish = queue.poll()) != null) {
+                    try {
+                        callback.accept(publish);
+                    } catch (final Throwable t) {
+                        RxJavaPlugins.onError(t);
+                    } finally {
+                        publish.release();
+                    }
+                    consumed++;
+                }
+                if (consumed > 0) {
+                    replenish(consumed);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -20,10 +20,13 @@ import com.hivemq.client.internal.mqtt.handler.auth.MqttReAuthCompletable;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckSingle;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectCompletable;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttGlobalIncomingPublishFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscribedPublishBatchFlowable;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscribedPublishFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckBatchSingle;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckFlowable;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckSingle;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckSingleFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttUnacknowledgedCompletable;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubAckSingle;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttUnsubAckSingle;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
@@ -43,6 +46,7 @@ import com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5Connect;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBatchResult;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
@@ -58,6 +62,8 @@ import io.reactivex.internal.fuseable.ScalarCallable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 /**
  * @author Silvio Giebl
  */
@@ -135,20 +141,48 @@ public class MqttRxClient implements Mqtt5RxClient {
     public @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribePublishes(
             final @Nullable Mqtt5Subscribe subscribe, final boolean manualAcknowledgement) {
 
-        return subscribePublishes(MqttChecks.subscribe(subscribe), manualAcknowledgement);
+        return subscribePublishes(MqttChecks.subscribe(subscribe), manualAcknowledgement, false);
     }
 
     @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribePublishes(
-            final @NotNull MqttSubscribe subscribe, final boolean manualAcknowledgement) {
+            final @NotNull MqttSubscribe subscribe, final boolean manualAcknowledgement, final boolean conflate) {
 
-        return subscribePublishesUnsafe(subscribe, manualAcknowledgement).observeOnBoth(
+        return subscribePublishesUnsafe(subscribe, manualAcknowledgement, conflate).observeOnBoth(
                 clientConfig.getExecutorConfig().getApplicationScheduler(), true);
     }
 
     @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> subscribePublishesUnsafe(
-            final @NotNull MqttSubscribe subscribe, final boolean manualAcknowledgement) {
+            final @NotNull MqttSubscribe subscribe, final boolean manualAcknowledgement, final boolean conflate) {
+
+        return new MqttSubscribedPublishFlowable(subscribe, clientConfig, manualAcknowledgement, conflate);
+    }
+
+    @Override
+    public @NotNull FlowableWithSingle<List<Mqtt5Publish>, Mqtt5SubAck> subscribePublishesBatched(
+            final @Nullable Mqtt5Subscribe subscribe, final int maxBatchSize) {
+
+        return subscribePublishesBatched(subscribe, maxBatchSize, false);
+    }
+
+    @Override
+    public @NotNull FlowableWithSingle<List<Mqtt5Publish>, Mqtt5SubAck> subscribePublishesBatched(
+            final @Nullable Mqtt5Subscribe subscribe, final int maxBatchSize, final boolean manualAcknowledgement) {
+
+        return subscribePublishesBatched(MqttChecks.subscribe(subscribe), maxBatchSize, manualAcknowledgement);
+    }
+
+    @NotNull FlowableWithSingle<List<Mqtt5Publish>, Mqtt5SubAck> subscribePublishesBatched(
+            final @NotNull MqttSubscribe subscribe, final int maxBatchSize, final boolean manualAcknowledgement) {
+
+        return subscribePublishesBatchedUnsafe(subscribe, maxBatchSize, manualAcknowledgement).observeOnBoth(
+                clientConfig.getExecutorConfig().getApplicationScheduler(), true);
+    }
+
+    @NotNull FlowableWithSingle<List<Mqtt5Publish>, Mqtt5SubAck> subscribePublishesBatchedUnsafe(
+            final @NotNull MqttSubscribe subscribe, final int maxBatchSize, final boolean manualAcknowledgement) {
 
-        return new MqttSubscribedPublishFlowable(subscribe, clientConfig, manualAcknowledgement);
+        Checks.range(maxBatchSize, 1, Integer.MAX_VALUE, "Max batch size");
+        return new MqttSubscribedPublishBatchFlowable(subscribe, clientConfig, maxBatchSize, manualAcknowledgement);
     }
 
     @Override
@@ -203,6 +237,14 @@ public class MqttRxClient implements Mqtt5RxClient {
         return new MqttAckSingle(clientConfig, publish);
     }
 
+    @NotNull Single<Mqtt5PublishBatchResult> publishAll(final @NotNull MqttPublish @NotNull [] publishes) {
+        return publishAllUnsafe(publishes).observeOn(clientConfig.getExecutorConfig().getApplicationScheduler());
+    }
+
+    @NotNull Single<Mqtt5PublishBatchResult> publishAllUnsafe(final @NotNull MqttPublish @NotNull [] publishes) {
+        return new MqttAckBatchSingle(clientConfig, publishes);
+    }
+
     @Override
     public @NotNull Flowable<Mqtt5PublishResult> publish(final @Nullable Flowable<Mqtt5Publish> publishFlowable) {
         Checks.notNull(publishFlowable, "Publish flowable");
@@ -210,6 +252,20 @@ public class MqttRxClient implements Mqtt5RxClient {
         return publish(publishFlowable, PUBLISH_MAPPER);
     }
 
+    @Override
+    public @NotNull Completable publishUnacknowledged(final @Nullable Flowable<Mqtt5Publish> publishFlowable) {
+        Checks.notNull(publishFlowable, "Publish flowable");
+
+        final Scheduler applicationScheduler = clientConfig.getExecutorConfig().getApplicationScheduler();
+        return new MqttUnacknowledgedCompletable(
+                clientConfig, publishFlowable.subscribeOn(applicationScheduler).map(PUBLISH_MAPPER)).observeOn(
+                applicationScheduler);
+    }
+
+    void publishUnacknowledged(final @NotNull MqttPublish publish) {
+        MqttUnacknowledgedCompletable.publish(clientConfig, publish);
+    }
+
     public <P> @NotNull Flowable<Mqtt5PublishResult> publish(
             final @NotNull Flowable<P> publishFlowable, final @NotNull Function<P, MqttPublish> publishMapper) {
 
@@ -285,7 +341,7 @@ public class MqttRxClient implements Mqtt5RxClient {
 
         @Override
         public @NotNull FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck> applySubscribe() {
-            return subscribePublishes(build(), manualAcknowledgement);
+            return subscribePublishes(build(), manualAcknowledgement, conflate);
         }
     }
 }
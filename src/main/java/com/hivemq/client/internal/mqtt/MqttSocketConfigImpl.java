@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttSocketConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.OptionalInt;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttSocketConfigImpl implements MqttSocketConfig {
+
+    static final int UNSET = -1;
+    static final @NotNull MqttSocketConfigImpl DEFAULT =
+            new MqttSocketConfigImpl(DEFAULT_TCP_NO_DELAY, DEFAULT_KEEP_ALIVE, UNSET, UNSET, UNSET, UNSET, false,
+                    UNSET, UNSET, UNSET, false);
+
+    private final boolean tcpNoDelay;
+    private final boolean keepAlive;
+    private final int sendBufferSize;
+    private final int receiveBufferSize;
+    private final int writeBufferLowWaterMark;
+    private final int writeBufferHighWaterMark;
+    private final boolean tcpQuickAck;
+    private final int tcpNotSentLowAt;
+    private final int busyPollMicros;
+    private final int tcpUserTimeoutMs;
+    private final boolean tcpFastOpenConnect;
+
+    MqttSocketConfigImpl(
+            final boolean tcpNoDelay,
+            final boolean keepAlive,
+            final int sendBufferSize,
+            final int receiveBufferSize,
+            final int writeBufferLowWaterMark,
+            final int writeBufferHighWaterMark,
+            final boolean tcpQuickAck,
+            final int tcpNotSentLowAt,
+            final int busyPollMicros,
+            final int tcpUserTimeoutMs,
+            final boolean tcpFastOpenConnect) {
+
+        this.tcpNoDelay = tcpNoDelay;
+        this.keepAlive = keepAlive;
+        this.sendBufferSize = sendBufferSize;
+        this.receiveBufferSize = receiveBufferSize;
+        this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+        this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+        this.tcpQuickAck = tcpQuickAck;
+        this.tcpNotSentLowAt = tcpNotSentLowAt;
+        this.busyPollMicros = busyPollMicros;
+        this.tcpUserTimeoutMs = tcpUserTimeoutMs;
+        this.tcpFastOpenConnect = tcpFastOpenConnect;
+    }
+
+    @Override
+    public boolean isTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    @Override
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    @Override
+    public @NotNull OptionalInt getSendBufferSize() {
+        return optional(sendBufferSize);
+    }
+
+    public int getRawSendBufferSize() {
+        return sendBufferSize;
+    }
+
+    @Override
+    public @NotNull OptionalInt getReceiveBufferSize() {
+        return optional(receiveBufferSize);
+    }
+
+    public int getRawReceiveBufferSize() {
+        return receiveBufferSize;
+    }
+
+    @Override
+    public @NotNull OptionalInt getWriteBufferLowWaterMark() {
+        return optional(writeBufferLowWaterMark);
+    }
+
+    public int getRawWriteBufferLowWaterMark() {
+        return writeBufferLowWaterMark;
+    }
+
+    @Override
+    public @NotNull OptionalInt getWriteBufferHighWaterMark() {
+        return optional(writeBufferHighWaterMark);
+    }
+
+    public int getRawWriteBufferHighWaterMark() {
+        return writeBufferHighWaterMark;
+    }
+
+    @Override
+    public boolean isTcpQuickAck() {
+        return tcpQuickAck;
+    }
+
+    @Override
+    public @NotNull OptionalInt getTcpNotSentLowAt() {
+        return optional(tcpNotSentLowAt);
+    }
+
+    public int getRawTcpNotSentLowAt() {
+        return tcpNotSentLowAt;
+    }
+
+    @Override
+    public @NotNull OptionalInt getBusyPollMicros() {
+        return optional(busyPollMicros);
+    }
+
+    public int getRawBusyPollMicros() {
+        return busyPollMicros;
+    }
+
+    @Override
+    public @NotNull OptionalInt getTcpUserTimeoutMs() {
+        return optional(tcpUserTimeoutMs);
+    }
+
+    public int getRawTcpUserTimeoutMs() {
+        return tcpUserTimeoutMs;
+    }
+
+    @Override
+    public boolean isTcpFastOpenConnect() {
+        return tcpFastOpenConnect;
+    }
+
+    private static @NotNull OptionalInt optional(final int value) {
+        return (value == UNSET) ? OptionalInt.empty() : OptionalInt.of(value);
+    }
+
+    @Override
+    public MqttSocketConfigImplBuilder.@NotNull Default extend() {
+        return new MqttSocketConfigImplBuilder.Default(this);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttSocketConfigImpl)) {
+            return false;
+        }
+        final MqttSocketConfigImpl that = (MqttSocketConfigImpl) o;
+
+        return (tcpNoDelay == that.tcpNoDelay) && (keepAlive == that.keepAlive) &&
+                (sendBufferSize == that.sendBufferSize) && (receiveBufferSize == that.receiveBufferSize) &&
+                (writeBufferLowWaterMark == that.writeBufferLowWaterMark) &&
+                (writeBufferHighWaterMark == that.writeBufferHighWaterMark) && (tcpQuickAck == that.tcpQuickAck) &&
+                (tcpNotSentLowAt == that.tcpNotSentLowAt) && (busyPollMicros == that.busyPollMicros) &&
+                (tcpUserTimeoutMs == that.tcpUserTimeoutMs) && (tcpFastOpenConnect == that.tcpFastOpenConnect);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Boolean.hashCode(tcpNoDelay);
+        result = 31 * result + Boolean.hashCode(keepAlive);
+        result = 31 * result + sendBufferSize;
+        result = 31 * result + receiveBufferSize;
+        result = 31 * result + writeBufferLowWaterMark;
+        result = 31 * result + writeBufferHighWaterMark;
+        result = 31 * result + Boolean.hashCode(tcpQuickAck);
+        result = 31 * result + tcpNotSentLowAt;
+        result = 31 * result + busyPollMicros;
+        result = 31 * result + tcpUserTimeoutMs;
+        result = 31 * result + Boolean.hashCode(tcpFastOpenConnect);
+        return result;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.MqttSocketConfig;
+import com.hivemq.client.mqtt.MqttSocketConfigBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * @author Silvio Giebl
+ */
+public abstract class MqttSocketConfigImplBuilder<B extends MqttSocketConfigImplBuilder<B>> {
+
+    private boolean tcpNoDelay = MqttSocketConfig.DEFAULT_TCP_NO_DELAY;
+    private boolean keepAlive = MqttSocketConfig.DEFAULT_KEEP_ALIVE;
+    private int sendBufferSize = MqttSocketConfigImpl.UNSET;
+    private int receiveBufferSize = MqttSocketConfigImpl.UNSET;
+    private int writeBufferLowWaterMark = MqttSocketConfigImpl.UNSET;
+    private int writeBufferHighWaterMark = MqttSocketConfigImpl.UNSET;
+    private boolean tcpQuickAck;
+    private int tcpNotSentLowAt = MqttSocketConfigImpl.UNSET;
+    private int busyPollMicros = MqttSocketConfigImpl.UNSET;
+    private int tcpUserTimeoutMs = MqttSocketConfigImpl.UNSET;
+    private boolean tcpFastOpenConnect;
+
+    MqttSocketConfigImplBuilder() {}
+
+    MqttSocketConfigImplBuilder(final @NotNull MqttSocketConfigImpl socketConfig) {
+        tcpNoDelay = socketConfig.isTcpNoDelay();
+        keepAlive = socketConfig.isKeepAlive();
+        sendBufferSize = socketConfig.getRawSendBufferSize();
+        receiveBufferSize = socketConfig.getRawReceiveBufferSize();
+        writeBufferLowWaterMark = socketConfig.getRawWriteBufferLowWaterMark();
+        writeBufferHighWaterMark = socketConfig.getRawWriteBufferHighWaterMark();
+        tcpQuickAck = socketConfig.isTcpQuickAck();
+        tcpNotSentLowAt = socketConfig.getRawTcpNotSentLowAt();
+        busyPollMicros = socketConfig.getRawBusyPollMicros();
+        tcpUserTimeoutMs = socketConfig.getRawTcpUserTimeoutMs();
+        tcpFastOpenConnect = socketConfig.isTcpFastOpenConnect();
+    }
+
+    abstract @NotNull B self();
+
+    public @NotNull B tcpNoDelay(final boolean tcpNoDelay) {
+        this.tcpNoDelay = tcpNoDelay;
+        return self();
+    }
+
+    public @NotNull B keepAlive(final boolean keepAlive) {
+        this.keepAlive = keepAlive;
+        return self();
+    }
+
+    public @NotNull B sendBufferSize(final int sendBufferSize) {
+        this.sendBufferSize = (int) Checks.range(sendBufferSize, 1, Integer.MAX_VALUE, "Send buffer size");
+        return self();
+    }
+
+    public @NotNull B receiveBufferSize(final int receiveBufferSize) {
+        this.receiveBufferSize = (int) Checks.range(receiveBufferSize, 1, Integer.MAX_VALUE, "Receive buffer size");
+        return self();
+    }
+
+    public @NotNull B writeBufferWaterMark(final int low, final int high) {
+        if ((low < 0) || (low > high)) {
+            throw new IllegalArgumentException(
+                    "Write buffer low water mark must not be negative and must not be greater than the high water " +
+                            "mark. Found: low: " + low + ", high: " + high);
+        }
+        writeBufferLowWaterMark = low;
+        writeBufferHighWaterMark = high;
+        return self();
+    }
+
+    public @NotNull B tcpQuickAck(final boolean tcpQuickAck) {
+        this.tcpQuickAck = tcpQuickAck;
+        return self();
+    }
+
+    public @NotNull B tcpNotSentLowAt(final int tcpNotSentLowAt) {
+        this.tcpNotSentLowAt = (int) Checks.range(tcpNotSentLowAt, 0, Integer.MAX_VALUE, "TCP not sent low at");
+        return self();
+    }
+
+    public @NotNull B busyPoll(final long time, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        this.busyPollMicros =
+                (int) Checks.range(timeUnit.toMicros(time), 0, Integer.MAX_VALUE, "Busy poll time in microseconds");
+        return self();
+    }
+
+    public @NotNull B tcpUserTimeout(final long timeout, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        this.tcpUserTimeoutMs = (int) Checks.range(timeUnit.toMillis(timeout), 0, Integer.MAX_VALUE,
+                "TCP user timeout in milliseconds");
+        return self();
+    }
+
+    public @NotNull B tcpFastOpenConnect(final boolean tcpFastOpenConnect) {
+        this.tcpFastOpenConnect = tcpFastOpenConnect;
+        return self();
+    }
+
+    public @NotNull MqttSocketConfigImpl build() {
+        return new MqttSocketConfigImpl(tcpNoDelay, keepAlive, sendBufferSize, receiveBufferSize,
+                writeBufferLowWaterMark, writeBufferHighWaterMark, tcpQuickAck, tcpNotSentLowAt, busyPollMicros,
+                tcpUserTimeoutMs, tcpFastOpenConnect);
+    }
+
+    public static class Default extends MqttSocketConfigImplBuilder<Default> implements MqttSocketConfigBuilder {
+
+        public Default() {}
+
+        Default(final @NotNull MqttSocketConfigImpl socketConfig) {
+            super(socketConfig);
+        }
+
+        @Override
+        @NotNull Default self() {
+            return this;
+        }
+    }
+
+    public static class Nested<P> extends MqttSocketConfigImplBuilder<Nested<P>>
+            implements MqttSocketConfigBuilder.Nested<P> {
+
+        private final @NotNull Function<? super MqttSocketConfigImpl, P> parentConsumer;
+
+        Nested(
+                final @NotNull MqttSocketConfigImpl socketConfig,
+                final @NotNull Function<? super MqttSocketConfigImpl, P> parentConsumer) {
+
+            super(socketConfig);
+            this.parentConsumer = parentConsumer;
+        }
+
+        @Override
+        @NotNull Nested<P> self() {
+            return this;
+        }
+
+        @Override
+        public @NotNull P applySocketConfig() {
+            return parentConsumer.apply(build());
+        }
+    }
+}
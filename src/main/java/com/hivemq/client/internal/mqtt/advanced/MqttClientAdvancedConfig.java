@@ -18,6 +18,9 @@ package com.hivemq.client.internal.mqtt.advanced;
 
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0BufferOverflowPolicy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishBufferOverflowPolicy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishStreamMergeMode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -28,20 +31,73 @@ import java.util.Objects;
  */
 public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
 
-    public static final @NotNull MqttClientAdvancedConfig DEFAULT = new MqttClientAdvancedConfig(false, false, null);
+    public static final @NotNull MqttClientAdvancedConfig DEFAULT =
+            new MqttClientAdvancedConfig(false, false, null, DEFAULT_MAX_CONCURRENT_PUBLISH_STREAMS,
+                    DEFAULT_PUBLISH_STREAM_PREFETCH, Mqtt5PublishStreamMergeMode.FIFO,
+                    DEFAULT_WRITE_COALESCING_THRESHOLD, DEFAULT_WRITE_COALESCING_MAX_SIZE, false,
+                    DEFAULT_PUBLISH_BUFFER_MAX_MESSAGES, DEFAULT_PUBLISH_BUFFER_MAX_BYTES,
+                    Mqtt5PublishBufferOverflowPolicy.FAIL, DEFAULT_PUBLISH_BUFFER_BLOCK_TIMEOUT_MS,
+                    DEFAULT_INCOMING_TOPIC_CACHE_SIZE,
+                    DEFAULT_INCOMING_QOS_0_BUFFER_MAX_MESSAGES, DEFAULT_INCOMING_QOS_0_BUFFER_MAX_BYTES,
+                    Mqtt5IncomingQos0BufferOverflowPolicy.DROP_OLDEST, false);
 
     private final boolean allowServerReAuth;
     private final boolean validatePayloadFormat;
     private final @Nullable MqttClientInterceptors interceptors;
+    private final int maxConcurrentPublishStreams;
+    private final int publishStreamPrefetch;
+    private final @NotNull Mqtt5PublishStreamMergeMode publishStreamMergeMode;
+    private final int writeCoalescingThreshold;
+    private final int writeCoalescingMaxSize;
+    private final boolean zeroCopyIncomingPayload;
+    private final int publishBufferMaxMessages;
+    private final long publishBufferMaxBytes;
+    private final @NotNull Mqtt5PublishBufferOverflowPolicy publishBufferOverflowPolicy;
+    private final long publishBufferBlockTimeoutMs;
+    private final int incomingTopicCacheSize;
+    private final int incomingQos0BufferMaxMessages;
+    private final long incomingQos0BufferMaxBytes;
+    private final @NotNull Mqtt5IncomingQos0BufferOverflowPolicy incomingQos0BufferOverflowPolicy;
+    private final boolean enforceMessageExpiry;
 
     MqttClientAdvancedConfig(
             final boolean allowServerReAuth,
             final boolean validatePayloadFormat,
-            final @Nullable MqttClientInterceptors interceptors) {
+            final @Nullable MqttClientInterceptors interceptors,
+            final int maxConcurrentPublishStreams,
+            final int publishStreamPrefetch,
+            final @NotNull Mqtt5PublishStreamMergeMode publishStreamMergeMode,
+            final int writeCoalescingThreshold,
+            final int writeCoalescingMaxSize,
+            final boolean zeroCopyIncomingPayload,
+            final int publishBufferMaxMessages,
+            final long publishBufferMaxBytes,
+            final @NotNull Mqtt5PublishBufferOverflowPolicy publishBufferOverflowPolicy,
+            final long publishBufferBlockTimeoutMs,
+            final int incomingTopicCacheSize,
+            final int incomingQos0BufferMaxMessages,
+            final long incomingQos0BufferMaxBytes,
+            final @NotNull Mqtt5IncomingQos0BufferOverflowPolicy incomingQos0BufferOverflowPolicy,
+            final boolean enforceMessageExpiry) {
 
         this.allowServerReAuth = allowServerReAuth;
         this.validatePayloadFormat = validatePayloadFormat;
         this.interceptors = interceptors;
+        this.maxConcurrentPublishStreams = maxConcurrentPublishStreams;
+        this.publishStreamPrefetch = publishStreamPrefetch;
+        this.publishStreamMergeMode = publishStreamMergeMode;
+        this.writeCoalescingThreshold = writeCoalescingThreshold;
+        this.writeCoalescingMaxSize = writeCoalescingMaxSize;
+        this.zeroCopyIncomingPayload = zeroCopyIncomingPayload;
+        this.publishBufferMaxMessages = publishBufferMaxMessages;
+        this.publishBufferMaxBytes = publishBufferMaxBytes;
+        this.publishBufferOverflowPolicy = publishBufferOverflowPolicy;
+        this.publishBufferBlockTimeoutMs = publishBufferBlockTimeoutMs;
+        this.incomingTopicCacheSize = incomingTopicCacheSize;
+        this.incomingQos0BufferMaxMessages = incomingQos0BufferMaxMessages;
+        this.incomingQos0BufferMaxBytes = incomingQos0BufferMaxBytes;
+        this.incomingQos0BufferOverflowPolicy = incomingQos0BufferOverflowPolicy;
+        this.enforceMessageExpiry = enforceMessageExpiry;
     }
 
     @Override
@@ -59,6 +115,89 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         return interceptors;
     }
 
+    @Override
+    public int getMaxConcurrentPublishStreams() {
+        return maxConcurrentPublishStreams;
+    }
+
+    @Override
+    public int getPublishStreamPrefetch() {
+        return publishStreamPrefetch;
+    }
+
+    @Override
+    public @NotNull Mqtt5PublishStreamMergeMode getPublishStreamMergeMode() {
+        return publishStreamMergeMode;
+    }
+
+    @Override
+    public int getWriteCoalescingThreshold() {
+        return writeCoalescingThreshold;
+    }
+
+    @Override
+    public int getWriteCoalescingMaxSize() {
+        return writeCoalescingMaxSize;
+    }
+
+    @Override
+    public boolean isZeroCopyIncomingPayload() {
+        return zeroCopyIncomingPayload;
+    }
+
+    @Override
+    public int getPublishBufferMaxMessages() {
+        return publishBufferMaxMessages;
+    }
+
+    @Override
+    public long getPublishBufferMaxBytes() {
+        return publishBufferMaxBytes;
+    }
+
+    @Override
+    public @NotNull Mqtt5PublishBufferOverflowPolicy getPublishBufferOverflowPolicy() {
+        return publishBufferOverflowPolicy;
+    }
+
+    @Override
+    public long getPublishBufferBlockTimeoutMs() {
+        return publishBufferBlockTimeoutMs;
+    }
+
+    @Override
+    public int getIncomingTopicCacheSize() {
+        return incomingTopicCacheSize;
+    }
+
+    @Override
+    public int getIncomingQos0BufferMaxMessages() {
+        return incomingQos0BufferMaxMessages;
+    }
+
+    @Override
+    public long getIncomingQos0BufferMaxBytes() {
+        return incomingQos0BufferMaxBytes;
+    }
+
+    @Override
+    public @NotNull Mqtt5IncomingQos0BufferOverflowPolicy getIncomingQos0BufferOverflowPolicy() {
+        return incomingQos0BufferOverflowPolicy;
+    }
+
+    @Override
+    public boolean isEnforceMessageExpiry() {
+        return enforceMessageExpiry;
+    }
+
+    /**
+     * @return whether the buffer of Publish messages that are waiting to be sent is limited.
+     */
+    public boolean isPublishBufferLimited() {
+        return (publishBufferMaxMessages != DEFAULT_PUBLISH_BUFFER_MAX_MESSAGES) ||
+                (publishBufferMaxBytes != DEFAULT_PUBLISH_BUFFER_MAX_BYTES);
+    }
+
     @Override
     public MqttClientAdvancedConfigBuilder.@NotNull Default extend() {
         return new MqttClientAdvancedConfigBuilder.Default(this);
@@ -75,7 +214,22 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         final MqttClientAdvancedConfig that = (MqttClientAdvancedConfig) o;
 
         return (allowServerReAuth == that.allowServerReAuth) && (validatePayloadFormat == that.validatePayloadFormat) &&
-                Objects.equals(interceptors, that.interceptors);
+                Objects.equals(interceptors, that.interceptors) &&
+                (maxConcurrentPublishStreams == that.maxConcurrentPublishStreams) &&
+                (publishStreamPrefetch == that.publishStreamPrefetch) &&
+                (publishStreamMergeMode == that.publishStreamMergeMode) &&
+                (writeCoalescingThreshold == that.writeCoalescingThreshold) &&
+                (writeCoalescingMaxSize == that.writeCoalescingMaxSize) &&
+                (zeroCopyIncomingPayload == that.zeroCopyIncomingPayload) &&
+                (publishBufferMaxMessages == that.publishBufferMaxMessages) &&
+                (publishBufferMaxBytes == that.publishBufferMaxBytes) &&
+                (publishBufferOverflowPolicy == that.publishBufferOverflowPolicy) &&
+                (publishBufferBlockTimeoutMs == that.publishBufferBlockTimeoutMs) &&
+                (incomingTopicCacheSize == that.incomingTopicCacheSize) &&
+                (incomingQos0BufferMaxMessages == that.incomingQos0BufferMaxMessages) &&
+                (incomingQos0BufferMaxBytes == that.incomingQos0BufferMaxBytes) &&
+                (incomingQos0BufferOverflowPolicy == that.incomingQos0BufferOverflowPolicy) &&
+                (enforceMessageExpiry == that.enforceMessageExpiry);
     }
 
     @Override
@@ -83,6 +237,21 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         int result = Boolean.hashCode(allowServerReAuth);
         result = 31 * result + Boolean.hashCode(validatePayloadFormat);
         result = 31 * result + Objects.hashCode(interceptors);
+        result = 31 * result + maxConcurrentPublishStreams;
+        result = 31 * result + publishStreamPrefetch;
+        result = 31 * result + publishStreamMergeMode.hashCode();
+        result = 31 * result + writeCoalescingThreshold;
+        result = 31 * result + writeCoalescingMaxSize;
+        result = 31 * result + Boolean.hashCode(zeroCopyIncomingPayload);
+        result = 31 * result + publishBufferMaxMessages;
+        result = 31 * result + Long.hashCode(publishBufferMaxBytes);
+        result = 31 * result + publishBufferOverflowPolicy.hashCode();
+        result = 31 * result + Long.hashCode(publishBufferBlockTimeoutMs);
+        result = 31 * result + incomingTopicCacheSize;
+        result = 31 * result + incomingQos0BufferMaxMessages;
+        result = 31 * result + Long.hashCode(incomingQos0BufferMaxBytes);
+        result = 31 * result + incomingQos0BufferOverflowPolicy.hashCode();
+        result = 31 * result + Boolean.hashCode(enforceMessageExpiry);
         return result;
     }
 }
@@ -19,11 +19,16 @@ package com.hivemq.client.internal.mqtt.advanced;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptorsBuilder;
 import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0BufferOverflowPolicy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishBufferOverflowPolicy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishStreamMergeMode;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
@@ -34,6 +39,23 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
     private boolean allowServerReAuth;
     private boolean validatePayloadFormat;
     private @Nullable MqttClientInterceptors interceptors;
+    private int maxConcurrentPublishStreams = Mqtt5ClientAdvancedConfig.DEFAULT_MAX_CONCURRENT_PUBLISH_STREAMS;
+    private int publishStreamPrefetch = Mqtt5ClientAdvancedConfig.DEFAULT_PUBLISH_STREAM_PREFETCH;
+    private @NotNull Mqtt5PublishStreamMergeMode publishStreamMergeMode = Mqtt5PublishStreamMergeMode.FIFO;
+    private int writeCoalescingThreshold = Mqtt5ClientAdvancedConfig.DEFAULT_WRITE_COALESCING_THRESHOLD;
+    private int writeCoalescingMaxSize = Mqtt5ClientAdvancedConfig.DEFAULT_WRITE_COALESCING_MAX_SIZE;
+    private boolean zeroCopyIncomingPayload;
+    private int publishBufferMaxMessages = Mqtt5ClientAdvancedConfig.DEFAULT_PUBLISH_BUFFER_MAX_MESSAGES;
+    private long publishBufferMaxBytes = Mqtt5ClientAdvancedConfig.DEFAULT_PUBLISH_BUFFER_MAX_BYTES;
+    private @NotNull Mqtt5PublishBufferOverflowPolicy publishBufferOverflowPolicy =
+            Mqtt5PublishBufferOverflowPolicy.FAIL;
+    private long publishBufferBlockTimeoutMs = Mqtt5ClientAdvancedConfig.DEFAULT_PUBLISH_BUFFER_BLOCK_TIMEOUT_MS;
+    private int incomingTopicCacheSize = Mqtt5ClientAdvancedConfig.DEFAULT_INCOMING_TOPIC_CACHE_SIZE;
+    private int incomingQos0BufferMaxMessages = Mqtt5ClientAdvancedConfig.DEFAULT_INCOMING_QOS_0_BUFFER_MAX_MESSAGES;
+    private long incomingQos0BufferMaxBytes = Mqtt5ClientAdvancedConfig.DEFAULT_INCOMING_QOS_0_BUFFER_MAX_BYTES;
+    private @NotNull Mqtt5IncomingQos0BufferOverflowPolicy incomingQos0BufferOverflowPolicy =
+            Mqtt5IncomingQos0BufferOverflowPolicy.DROP_OLDEST;
+    private boolean enforceMessageExpiry;
 
     MqttClientAdvancedConfigBuilder() {}
 
@@ -41,6 +63,21 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         allowServerReAuth = advancedConfig.isAllowServerReAuth();
         validatePayloadFormat = advancedConfig.isValidatePayloadFormat();
         interceptors = advancedConfig.getInterceptors();
+        maxConcurrentPublishStreams = advancedConfig.getMaxConcurrentPublishStreams();
+        publishStreamPrefetch = advancedConfig.getPublishStreamPrefetch();
+        publishStreamMergeMode = advancedConfig.getPublishStreamMergeMode();
+        writeCoalescingThreshold = advancedConfig.getWriteCoalescingThreshold();
+        writeCoalescingMaxSize = advancedConfig.getWriteCoalescingMaxSize();
+        zeroCopyIncomingPayload = advancedConfig.isZeroCopyIncomingPayload();
+        publishBufferMaxMessages = advancedConfig.getPublishBufferMaxMessages();
+        publishBufferMaxBytes = advancedConfig.getPublishBufferMaxBytes();
+        publishBufferOverflowPolicy = advancedConfig.getPublishBufferOverflowPolicy();
+        publishBufferBlockTimeoutMs = advancedConfig.getPublishBufferBlockTimeoutMs();
+        incomingTopicCacheSize = advancedConfig.getIncomingTopicCacheSize();
+        incomingQos0BufferMaxMessages = advancedConfig.getIncomingQos0BufferMaxMessages();
+        incomingQos0BufferMaxBytes = advancedConfig.getIncomingQos0BufferMaxBytes();
+        incomingQos0BufferOverflowPolicy = advancedConfig.getIncomingQos0BufferOverflowPolicy();
+        enforceMessageExpiry = advancedConfig.isEnforceMessageExpiry();
     }
 
     abstract @NotNull B self();
@@ -64,8 +101,133 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         return new MqttClientInterceptorsBuilder.Nested<>(interceptors, this::interceptors);
     }
 
+    public @NotNull B maxConcurrentPublishStreams(final int maxConcurrentPublishStreams) {
+        if (maxConcurrentPublishStreams <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum concurrent publish streams must be greater than 0. Found: " + maxConcurrentPublishStreams);
+        }
+        this.maxConcurrentPublishStreams = maxConcurrentPublishStreams;
+        return self();
+    }
+
+    public @NotNull B publishStreamPrefetch(final int publishStreamPrefetch) {
+        if (publishStreamPrefetch <= 0) {
+            throw new IllegalArgumentException(
+                    "Publish stream prefetch must be greater than 0. Found: " + publishStreamPrefetch);
+        }
+        this.publishStreamPrefetch = publishStreamPrefetch;
+        return self();
+    }
+
+    public @NotNull B publishStreamMergeMode(final @Nullable Mqtt5PublishStreamMergeMode publishStreamMergeMode) {
+        this.publishStreamMergeMode = Checks.notNull(publishStreamMergeMode, "Publish stream merge mode");
+        return self();
+    }
+
+    public @NotNull B writeCoalescingThreshold(final int writeCoalescingThreshold) {
+        if (writeCoalescingThreshold < 0) {
+            throw new IllegalArgumentException(
+                    "Write coalescing threshold must not be negative. Found: " + writeCoalescingThreshold);
+        }
+        this.writeCoalescingThreshold = writeCoalescingThreshold;
+        return self();
+    }
+
+    public @NotNull B writeCoalescingMaxSize(final int writeCoalescingMaxSize) {
+        if (writeCoalescingMaxSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Write coalescing max size must be greater than 0. Found: " + writeCoalescingMaxSize);
+        }
+        this.writeCoalescingMaxSize = writeCoalescingMaxSize;
+        return self();
+    }
+
+    public @NotNull B zeroCopyIncomingPayload(final boolean zeroCopyIncomingPayload) {
+        this.zeroCopyIncomingPayload = zeroCopyIncomingPayload;
+        return self();
+    }
+
+    public @NotNull B publishBufferMaxMessages(final int publishBufferMaxMessages) {
+        if (publishBufferMaxMessages <= 0) {
+            throw new IllegalArgumentException(
+                    "Publish buffer max messages must be greater than 0. Found: " + publishBufferMaxMessages);
+        }
+        this.publishBufferMaxMessages = publishBufferMaxMessages;
+        return self();
+    }
+
+    public @NotNull B publishBufferMaxBytes(final long publishBufferMaxBytes) {
+        if (publishBufferMaxBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "Publish buffer max bytes must be greater than 0. Found: " + publishBufferMaxBytes);
+        }
+        this.publishBufferMaxBytes = publishBufferMaxBytes;
+        return self();
+    }
+
+    public @NotNull B publishBufferOverflowPolicy(
+            final @Nullable Mqtt5PublishBufferOverflowPolicy publishBufferOverflowPolicy) {
+
+        this.publishBufferOverflowPolicy =
+                Checks.notNull(publishBufferOverflowPolicy, "Publish buffer overflow policy");
+        return self();
+    }
+
+    public @NotNull B publishBufferBlockTimeout(final long timeout, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        this.publishBufferBlockTimeoutMs = Checks.range(timeUnit.toMillis(timeout), 0, Long.MAX_VALUE,
+                "Publish buffer block timeout in milliseconds");
+        return self();
+    }
+
+    public @NotNull B incomingTopicCacheSize(final int incomingTopicCacheSize) {
+        if (incomingTopicCacheSize < 0) {
+            throw new IllegalArgumentException(
+                    "Incoming topic cache size must not be negative. Found: " + incomingTopicCacheSize);
+        }
+        this.incomingTopicCacheSize = incomingTopicCacheSize;
+        return self();
+    }
+
+    public @NotNull B incomingQos0BufferMaxMessages(final int incomingQos0BufferMaxMessages) {
+        if (incomingQos0BufferMaxMessages <= 0) {
+            throw new IllegalArgumentException(
+                    "Incoming QoS 0 buffer max messages must be greater than 0. Found: " +
+                            incomingQos0BufferMaxMessages);
+        }
+        this.incomingQos0BufferMaxMessages = incomingQos0BufferMaxMessages;
+        return self();
+    }
+
+    public @NotNull B incomingQos0BufferMaxBytes(final long incomingQos0BufferMaxBytes) {
+        if (incomingQos0BufferMaxBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "Incoming QoS 0 buffer max bytes must be greater than 0. Found: " + incomingQos0BufferMaxBytes);
+        }
+        this.incomingQos0BufferMaxBytes = incomingQos0BufferMaxBytes;
+        return self();
+    }
+
+    public @NotNull B incomingQos0BufferOverflowPolicy(
+            final @Nullable Mqtt5IncomingQos0BufferOverflowPolicy incomingQos0BufferOverflowPolicy) {
+
+        this.incomingQos0BufferOverflowPolicy =
+                Checks.notNull(incomingQos0BufferOverflowPolicy, "Incoming QoS 0 buffer overflow policy");
+        return self();
+    }
+
+    public @NotNull B enforceMessageExpiry(final boolean enforceMessageExpiry) {
+        this.enforceMessageExpiry = enforceMessageExpiry;
+        return self();
+    }
+
     public @NotNull MqttClientAdvancedConfig build() {
-        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors);
+        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors,
+                maxConcurrentPublishStreams, publishStreamPrefetch, publishStreamMergeMode, writeCoalescingThreshold,
+                writeCoalescingMaxSize, zeroCopyIncomingPayload, publishBufferMaxMessages, publishBufferMaxBytes,
+                publishBufferOverflowPolicy, publishBufferBlockTimeoutMs, incomingTopicCacheSize,
+                incomingQos0BufferMaxMessages, incomingQos0BufferMaxBytes, incomingQos0BufferOverflowPolicy,
+                enforceMessageExpiry);
     }
 
     public static class Default extends MqttClientAdvancedConfigBuilder<Default>
@@ -17,6 +17,7 @@
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
@@ -56,9 +57,11 @@ public class MqttDecoder extends ByteToMessageDecoder {
 
         this.decoders = decoders;
         final MqttConnectRestrictions restrictions = connect.getRestrictions();
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
         context = new MqttDecoderContext(restrictions.getMaximumPacketSize(), restrictions.getTopicAliasMaximum(),
                 restrictions.isRequestProblemInformation(), restrictions.isRequestResponseInformation(),
-                clientConfig.getAdvancedConfig().isValidatePayloadFormat(), false, false, false);
+                advancedConfig.isValidatePayloadFormat(), false, false, false,
+                advancedConfig.isZeroCopyIncomingPayload(), advancedConfig.getIncomingTopicCacheSize());
     }
 
     @Override
@@ -32,6 +32,8 @@ public class MqttDecoderContext {
     private final boolean directBufferPayload;
     private final boolean directBufferAuth;
     private final boolean directBufferCorrelationData;
+    private final boolean zeroCopyPayload;
+    private final @Nullable MqttTopicCache topicCache;
 
     MqttDecoderContext(
             final int maximumPacketSize,
@@ -41,7 +43,9 @@ public class MqttDecoderContext {
             final boolean validatePayloadFormat,
             final boolean directBufferPayload,
             final boolean directBufferAuth,
-            final boolean directBufferCorrelationData) {
+            final boolean directBufferCorrelationData,
+            final boolean zeroCopyPayload,
+            final int topicCacheSize) {
 
         this.maximumPacketSize = maximumPacketSize;
         this.topicAliasMapping = (topicAliasMaximum == 0) ? null : new MqttTopicImpl[topicAliasMaximum];
@@ -51,6 +55,8 @@ public class MqttDecoderContext {
         this.directBufferPayload = directBufferPayload;
         this.directBufferAuth = directBufferAuth;
         this.directBufferCorrelationData = directBufferCorrelationData;
+        this.zeroCopyPayload = zeroCopyPayload;
+        this.topicCache = (topicCacheSize == 0) ? null : new MqttTopicCache(topicCacheSize);
     }
 
     public int getMaximumPacketSize() {
@@ -84,4 +90,12 @@ public class MqttDecoderContext {
     public boolean useDirectBufferCorrelationData() {
         return directBufferCorrelationData;
     }
+
+    public boolean useZeroCopyPayload() {
+        return zeroCopyPayload;
+    }
+
+    public @Nullable MqttTopicCache getTopicCache() {
+        return topicCache;
+    }
 }
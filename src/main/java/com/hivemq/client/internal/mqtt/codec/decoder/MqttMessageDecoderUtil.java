@@ -16,10 +16,12 @@
 
 package com.hivemq.client.internal.mqtt.codec.decoder;
 
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
 
@@ -54,6 +56,27 @@ public final class MqttMessageDecoderUtil {
         return new MqttDecoderException(Mqtt5DisconnectReasonCode.TOPIC_NAME_INVALID, "malformed topic");
     }
 
+    /**
+     * Decodes a Topic Name of the given length from the given byte buffer at the current reader index, using the topic
+     * cache of the given decoder context if it is enabled.
+     *
+     * @param length  the length of the UTF-8 encoded data, the byte buffer must contain at least this amount of bytes.
+     * @param in      the byte buffer with the UTF-8 encoded data to decode from.
+     * @param context the decoder context.
+     * @return the decoded Topic Name or <code>null</code> if the byte buffer does not contain a valid Topic Name.
+     */
+    public static @Nullable MqttTopicImpl decodeTopic(
+            final int length, final @NotNull ByteBuf in, final @NotNull MqttDecoderContext context) {
+
+        final MqttTopicCache topicCache = context.getTopicCache();
+        if (topicCache != null) {
+            return topicCache.decode(in, length);
+        }
+        final byte[] binary = new byte[length];
+        in.readBytes(binary);
+        return MqttTopicImpl.of(binary);
+    }
+
     public static @NotNull MqttQos decodePublishQos(final int flags, final boolean dup) throws MqttDecoderException {
         final MqttQos qos = MqttQos.fromCode((flags & 0b0110) >> 1);
         if (qos == null) {
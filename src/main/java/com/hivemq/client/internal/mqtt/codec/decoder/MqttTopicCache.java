@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import io.netty.buffer.ByteBuf;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bounded cache of the Topic Names of incoming Publish messages of a connection.
+ * <p>
+ * The cache is keyed by the UTF-8 encoded bytes of the Topic Name, so a cached Topic Name is found directly in the
+ * byte buffer without allocating or validating it again. The entries are organized in sets of {@link #WAYS} entries,
+ * a set is chosen by the hash of the bytes. If a set is full, an entry that was not used since the last eviction in
+ * the set is replaced (CLOCK eviction).
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class MqttTopicCache {
+
+    private static final int WAYS = 4;
+    private static final int MAX_CAPACITY = 1 << 16;
+
+    private final byte @Nullable [] @NotNull [] binaries;
+    private final @Nullable MqttTopicImpl @NotNull [] topics;
+    private final int @NotNull [] hashes;
+    private final boolean @NotNull [] referenced;
+    private final byte @NotNull [] hands;
+    private final int ways;
+    private final int setMask;
+
+    /**
+     * Creates a topic cache.
+     *
+     * @param size the maximum amount of cached Topic Names, rounded up to the next power of 2, must be greater than 0.
+     */
+    public MqttTopicCache(final int size) {
+        final int capacity = (size <= 1) ? 1 : Integer.highestOneBit(Math.min(size, MAX_CAPACITY) - 1) << 1;
+        binaries = new byte[capacity][];
+        topics = new MqttTopicImpl[capacity];
+        hashes = new int[capacity];
+        referenced = new boolean[capacity];
+        ways = Math.min(capacity, WAYS);
+        hands = new byte[capacity / ways];
+        setMask = hands.length - 1;
+    }
+
+    /**
+     * Decodes a Topic Name of the given length from the given byte buffer at the current reader index.
+     * <p>
+     * A Topic Name that is already cached is returned without validating and allocating it again. The reader index of
+     * the byte buffer is advanced by the length in any case.
+     *
+     * @param byteBuf the byte buffer with the UTF-8 encoded data to decode from.
+     * @param length  the length of the UTF-8 encoded data, the byte buffer must contain at least this amount of bytes.
+     * @return the cached or created Topic Name or <code>null</code> if the byte buffer does not contain a valid Topic
+     *         Name.
+     */
+    public @Nullable MqttTopicImpl decode(final @NotNull ByteBuf byteBuf, final int length) {
+        final int start = byteBuf.readerIndex();
+        final int hash = hash(byteBuf, start, length);
+        final int set = (hash ^ (hash >>> 16)) & setMask;
+        final int first = set * ways;
+        final int end = first + ways;
+        for (int i = first; i < end; i++) {
+            final byte[] binary = binaries[i];
+            if ((binary != null) && (hashes[i] == hash) && equals(byteBuf, start, binary, length)) {
+                referenced[i] = true;
+                byteBuf.skipBytes(length);
+                return topics[i];
+            }
+        }
+
+        final byte[] binary = new byte[length];
+        byteBuf.readBytes(binary);
+        final MqttTopicImpl topic = MqttTopicImpl.of(binary);
+        if (topic != null) {
+            final int index = evict(set, first);
+            binaries[index] = binary;
+            topics[index] = topic;
+            hashes[index] = hash;
+            referenced[index] = false;
+        }
+        return topic;
+    }
+
+    private int evict(final int set, final int first) {
+        int hand = hands[set];
+        while (true) {
+            final int index = first + hand;
+            hand = (hand + 1) & (ways - 1);
+            if ((binaries[index] == null) || !referenced[index]) {
+                hands[set] = (byte) hand;
+                return index;
+            }
+            referenced[index] = false;
+        }
+    }
+
+    private static int hash(final @NotNull ByteBuf byteBuf, final int start, final int length) {
+        int hash = length;
+        for (int i = start, end = start + length; i < end; i++) {
+            hash = 31 * hash + byteBuf.getByte(i);
+        }
+        return hash;
+    }
+
+    private static boolean equals(
+            final @NotNull ByteBuf byteBuf, final int start, final byte @NotNull [] binary, final int length) {
+
+        if (binary.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (byteBuf.getByte(start + i) != binary[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
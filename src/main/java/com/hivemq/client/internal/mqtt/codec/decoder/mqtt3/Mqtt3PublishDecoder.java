@@ -59,7 +59,11 @@ public class Mqtt3PublishDecoder implements MqttMessageDecoder {
             throw remainingLengthTooShort();
         }
 
-        final MqttTopicImpl topic = MqttTopicImpl.decode(in);
+        final int topicLength = in.readUnsignedShort();
+        if (in.readableBytes() < topicLength) {
+            throw malformedTopic();
+        }
+        final MqttTopicImpl topic = decodeTopic(topicLength, in, context);
         if (topic == null) {
             throw malformedTopic();
         }
@@ -68,13 +72,19 @@ public class Mqtt3PublishDecoder implements MqttMessageDecoder {
 
         final int payloadLength = in.readableBytes();
         ByteBuffer payload = null;
+        ByteBuf payloadBuffer = null;
         if (payloadLength > 0) {
-            payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
-            in.readBytes(payload);
-            payload.position(0);
+            if (context.useZeroCopyPayload()) {
+                payloadBuffer = in.readRetainedSlice(payloadLength);
+                payload = payloadBuffer.nioBuffer();
+            } else {
+                payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
+                in.readBytes(payload);
+                payload.position(0);
+            }
         }
 
-        final MqttPublish publish = Mqtt3PublishView.delegate(topic, payload, qos, retain);
+        final MqttPublish publish = Mqtt3PublishView.delegate(topic, payload, payloadBuffer, qos, retain);
 
         return Mqtt3PublishView.statefulDelegate(publish, packetIdentifier, dup);
     }
@@ -66,13 +66,13 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
             throw remainingLengthTooShort();
         }
 
-        final byte[] topicBinary = MqttBinaryData.decode(in);
-        if (topicBinary == null) {
+        final int topicLength = in.readUnsignedShort();
+        if (in.readableBytes() < topicLength) {
             throw malformedTopic();
         }
         MqttTopicImpl topic = null;
-        if (topicBinary.length != 0) {
-            topic = MqttTopicImpl.of(topicBinary);
+        if (topicLength != 0) {
+            topic = decodeTopic(topicLength, in, context);
             if (topic == null) {
                 throw malformedTopic();
             }
@@ -192,13 +192,22 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
 
         final int payloadLength = in.readableBytes();
         ByteBuffer payload = null;
+        ByteBuf payloadBuffer = null;
         if (payloadLength > 0) {
-            payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
-            in.readBytes(payload);
-            payload.position(0);
+            if (context.useZeroCopyPayload()) {
+                payloadBuffer = in.readRetainedSlice(payloadLength);
+                payload = payloadBuffer.nioBuffer();
+            } else {
+                payload = ByteBufferUtil.allocate(payloadLength, context.useDirectBufferPayload());
+                in.readBytes(payload);
+                payload.position(0);
+            }
 
             if ((payloadFormatIndicator == Mqtt5PayloadFormatIndicator.UTF_8) && context.validatePayloadFormat() &&
                     (Utf8Util.isWellFormed(ByteBufferUtil.getBytes(payload)) != 0)) {
+                if (payloadBuffer != null) {
+                    payloadBuffer.release();
+                }
                 throw new MqttDecoderException(Mqtt5DisconnectReasonCode.PAYLOAD_FORMAT_INVALID,
                         "payload is not valid UTF-8");
             }
@@ -208,7 +217,7 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
 
         final MqttPublish publish =
                 new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
-                        responseTopic, correlationData, userProperties, null);
+                        responseTopic, correlationData, userProperties, null, payloadBuffer, null);
 
         final ImmutableIntList subscriptionIdentifiers =
                 (subscriptionIdentifiersBuilder == null) ? DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS :
@@ -16,20 +16,42 @@
 
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.MqttMessage;
+import com.hivemq.client.internal.mqtt.message.publish.MqttFilePayload;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.netty.NettyByteBufAllocatorProvider;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.stream.ChunkedWriteHandler;
+import io.netty.util.concurrent.PromiseNotifier;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
 
 /**
  * Main encoder for MQTT messages which delegates to the individual {@link MqttMessageEncoder}s.
+ * <p>
+ * If write coalescing is enabled, consecutive small MQTT packets are encoded into a shared buffer which is written
+ * before the next flush or the next packet that is not coalesced. The promises of the coalesced packets are completed
+ * with the result of the write of the shared buffer.
+ * <p>
+ * The payload of a Publish message that is streamed from a file is written after the encoded header, either as a file
+ * region on a plain TCP connection of the NIO or epoll transport or in chunks by a {@link ChunkedWriteHandler} that is
+ * added on demand.
  *
  * @author Silvio Giebl
  */
@@ -37,17 +59,54 @@ import javax.inject.Inject;
 public class MqttEncoder extends ChannelDuplexHandler {
 
     public static final @NotNull String NAME = "encoder";
+    public static final @NotNull String CHUNKED_WRITE_HANDLER_NAME = "encoder.chunked";
+    private static final @NotNull String EPOLL_SOCKET_CHANNEL_CLASS_NAME = "io.netty.channel.epoll.EpollSocketChannel";
 
     private final @NotNull MqttMessageEncoders encoders;
     private final @NotNull MqttEncoderContext context;
+    private final boolean plainTransport;
+    private boolean fileRegionSupported;
+    private boolean chunkedWriteHandlerAdded;
 
     private boolean inRead = false;
     private boolean pendingFlush = false;
 
+    private final @NotNull ArrayList<ChannelPromise> coalescedPromises = new ArrayList<>();
+    private boolean coalescedOnlyVoidPromises = true;
+
     @Inject
-    MqttEncoder(final @NotNull MqttMessageEncoders encoders) {
+    MqttEncoder(final @NotNull MqttMessageEncoders encoders, final @NotNull MqttClientConfig clientConfig) {
+        this(encoders, clientConfig.getAdvancedConfig(), NettyByteBufAllocatorProvider.INSTANCE.getAllocator(
+                clientConfig.getExecutorConfig().getRawBufferAllocatorConfig()),
+                isPlainTransport(clientConfig.getCurrentTransportConfig()));
+    }
+
+    MqttEncoder(
+            final @NotNull MqttMessageEncoders encoders,
+            final @NotNull MqttClientAdvancedConfig advancedConfig,
+            final @NotNull ByteBufAllocator allocator,
+            final boolean plainTransport) {
+
         this.encoders = encoders;
-        context = new MqttEncoderContext(ByteBufAllocator.DEFAULT);
+        context = new MqttEncoderContext(allocator, advancedConfig.getWriteCoalescingThreshold(),
+                advancedConfig.getWriteCoalescingMaxSize());
+        this.plainTransport = plainTransport;
+    }
+
+    private static boolean isPlainTransport(final @NotNull MqttClientTransportConfigImpl transportConfig) {
+        return (transportConfig.getRawSslConfig() == null) && (transportConfig.getRawWebSocketConfig() == null);
+    }
+
+    @Override
+    public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
+        fileRegionSupported = plainTransport && isFileRegionSupported(ctx.channel());
+    }
+
+    private static boolean isFileRegionSupported(final @NotNull Channel channel) {
+        // other socket channels, for example of the io_uring transport, only support writing byte buffers
+        // the epoll channel is compared by name, as the epoll transport is an optional dependency
+        return (channel instanceof NioSocketChannel) ||
+                channel.getClass().getName().equals(EPOLL_SOCKET_CHANNEL_CLASS_NAME);
     }
 
     public void onConnected(final @NotNull MqttClientConnectionConfig connectionConfig) {
@@ -66,18 +125,117 @@ public class MqttEncoder extends ChannelDuplexHandler {
             if (messageEncoder == null) {
                 throw new UnsupportedOperationException();
             }
-            final ByteBuf out = messageEncoder.castAndEncode(message, context);
-            ctx.write(out, promise);
+            if (message instanceof MqttStatefulPublish) {
+                final MqttFilePayload filePayload = ((MqttStatefulPublish) message).stateless().getRawFilePayload();
+                if (filePayload != null) {
+                    writeWithFilePayload(ctx, message, messageEncoder, filePayload, promise);
+                    return;
+                }
+            }
+            if (context.isCoalescing()) {
+                writeCoalescing(ctx, message, messageEncoder, promise);
+            } else {
+                final ByteBuf out = messageEncoder.castAndEncode(message, context);
+                ctx.write(out, promise);
+            }
         } else {
+            writeCoalesced(ctx, context.pollCoalescingBuffer());
             ctx.write(msg, promise);
         }
     }
 
+    private void writeWithFilePayload(
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttMessage message,
+            final @NotNull MqttMessageEncoder<?> messageEncoder,
+            final @NotNull MqttFilePayload filePayload,
+            final @NotNull ChannelPromise promise) {
+
+        final ByteBuf header = messageEncoder.castAndEncode(message, context);
+        writeCoalesced(ctx, context.pollCoalescingBuffer());
+        final Object payload;
+        if (fileRegionSupported) {
+            payload = new MqttFilePayloadRegion(filePayload);
+        } else {
+            if (!chunkedWriteHandlerAdded) {
+                ctx.pipeline().addBefore(ctx.name(), CHUNKED_WRITE_HANDLER_NAME, new ChunkedWriteHandler());
+                chunkedWriteHandlerAdded = true;
+            }
+            payload = new MqttFilePayloadChunkedInput(filePayload);
+        }
+        ctx.write(header, ctx.voidPromise());
+        // the header is already written, so the connection is unusable if the payload can not be written completely
+        final ChannelPromise payloadPromise = ctx.newPromise();
+        payloadPromise.addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+        if (!promise.isVoid()) {
+            payloadPromise.addListener(new PromiseNotifier<>(false, promise));
+        }
+        ctx.write(payload, payloadPromise);
+    }
+
+    private void writeCoalescing(
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttMessage message,
+            final @NotNull MqttMessageEncoder<?> messageEncoder,
+            final @NotNull ChannelPromise promise) {
+
+        context.markCoalescingBuffer();
+        final ByteBuf out;
+        try {
+            out = messageEncoder.castAndEncode(message, context);
+        } catch (final Throwable t) {
+            context.resetCoalescingBuffer();
+            writeCoalesced(ctx, context.pollFullCoalescingBuffer());
+            throw t;
+        }
+        writeCoalesced(ctx, context.pollFullCoalescingBuffer());
+        if (context.isCoalescingBuffer(out)) {
+            coalescedPromises.add(promise);
+            coalescedOnlyVoidPromises &= promise.isVoid();
+        } else {
+            writeCoalesced(ctx, context.pollCoalescingBuffer());
+            ctx.write(out, promise);
+        }
+    }
+
+    private void writeCoalesced(final @NotNull ChannelHandlerContext ctx, final @Nullable ByteBuf buffer) {
+        if (buffer == null) {
+            return;
+        }
+        final ChannelPromise promise;
+        if (coalescedPromises.size() == 1) {
+            promise = coalescedPromises.get(0);
+        } else if (coalescedOnlyVoidPromises) {
+            promise = ctx.voidPromise();
+        } else {
+            promise = ctx.newPromise();
+            promise.addListener(
+                    new PromiseNotifier<>(false, coalescedPromises.toArray(new ChannelPromise[0])));
+        }
+        coalescedPromises.clear();
+        coalescedOnlyVoidPromises = true;
+        ctx.write(buffer, promise);
+    }
+
+    private void releaseCoalesced() {
+        final ByteBuf buffer = context.pollCoalescingBuffer();
+        if (buffer != null) {
+            buffer.release();
+            final ClosedChannelException cause = new ClosedChannelException();
+            for (int i = 0; i < coalescedPromises.size(); i++) {
+                coalescedPromises.get(i).tryFailure(cause);
+            }
+            coalescedPromises.clear();
+            coalescedOnlyVoidPromises = true;
+        }
+    }
+
     @Override
     public void flush(final @NotNull ChannelHandlerContext ctx) {
         if (inRead) {
             pendingFlush = true;
         } else {
+            writeCoalesced(ctx, context.pollCoalescingBuffer());
             ctx.flush();
         }
     }
@@ -94,10 +252,28 @@ public class MqttEncoder extends ChannelDuplexHandler {
         inRead = false;
         if (pendingFlush) {
             pendingFlush = false;
+            writeCoalesced(ctx, context.pollCoalescingBuffer());
             ctx.flush();
         }
     }
 
+    @Override
+    public void close(final @NotNull ChannelHandlerContext ctx, final @NotNull ChannelPromise promise) {
+        releaseCoalesced();
+        ctx.close(promise);
+    }
+
+    @Override
+    public void channelInactive(final @NotNull ChannelHandlerContext ctx) {
+        releaseCoalesced();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public void handlerRemoved(final @NotNull ChannelHandlerContext ctx) {
+        releaseCoalesced();
+    }
+
     @Override
     public boolean isSharable() {
         return false;
@@ -17,8 +17,10 @@
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Silvio Giebl
@@ -28,14 +30,89 @@ public class MqttEncoderContext {
     private final @NotNull ByteBufAllocator allocator;
     private int maximumPacketSize = MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT;
 
+    private final int coalescingThreshold;
+    private final int coalescingMaxSize;
+    private @Nullable ByteBuf coalescingBuffer;
+    private @Nullable ByteBuf fullCoalescingBuffer;
+    private int coalescingWriterIndex;
+
     MqttEncoderContext(final @NotNull ByteBufAllocator allocator) {
+        this(allocator, 0, 0);
+    }
+
+    MqttEncoderContext(
+            final @NotNull ByteBufAllocator allocator, final int coalescingThreshold, final int coalescingMaxSize) {
+
         this.allocator = allocator;
+        this.coalescingThreshold = Math.min(coalescingThreshold, coalescingMaxSize);
+        this.coalescingMaxSize = coalescingMaxSize;
     }
 
     public @NotNull ByteBufAllocator getAllocator() {
         return allocator;
     }
 
+    /**
+     * Allocates a buffer for an MQTT packet with the given encoded length.
+     * <p>
+     * If the encoded length does not exceed the coalescing threshold, the shared coalescing buffer is returned, so the
+     * packet is appended to the previously encoded packets. Otherwise a new buffer with the exact encoded length is
+     * allocated.
+     *
+     * @param encodedLength the encoded length of the MQTT packet.
+     * @return the buffer the MQTT packet must be encoded to.
+     */
+    public @NotNull ByteBuf allocateBuffer(final int encodedLength) {
+        if (encodedLength > coalescingThreshold) {
+            return allocator.ioBuffer(encodedLength, encodedLength);
+        }
+        final ByteBuf coalescingBuffer = this.coalescingBuffer;
+        if (coalescingBuffer != null) {
+            if (coalescingBuffer.writableBytes() >= encodedLength) {
+                return coalescingBuffer;
+            }
+            fullCoalescingBuffer = coalescingBuffer;
+        }
+        coalescingWriterIndex = 0;
+        return this.coalescingBuffer = allocator.ioBuffer(coalescingMaxSize, coalescingMaxSize);
+    }
+
+    boolean isCoalescing() {
+        return coalescingThreshold > 0;
+    }
+
+    boolean isCoalescingBuffer(final @NotNull ByteBuf buffer) {
+        return buffer == coalescingBuffer;
+    }
+
+    void markCoalescingBuffer() {
+        final ByteBuf coalescingBuffer = this.coalescingBuffer;
+        coalescingWriterIndex = (coalescingBuffer == null) ? 0 : coalescingBuffer.writerIndex();
+    }
+
+    void resetCoalescingBuffer() {
+        final ByteBuf coalescingBuffer = this.coalescingBuffer;
+        if (coalescingBuffer != null) {
+            coalescingBuffer.writerIndex(coalescingWriterIndex);
+        }
+    }
+
+    @Nullable ByteBuf pollFullCoalescingBuffer() {
+        final ByteBuf fullCoalescingBuffer = this.fullCoalescingBuffer;
+        this.fullCoalescingBuffer = null;
+        return fullCoalescingBuffer;
+    }
+
+    @Nullable ByteBuf pollCoalescingBuffer() {
+        final ByteBuf coalescingBuffer = this.coalescingBuffer;
+        this.coalescingBuffer = null;
+        if ((coalescingBuffer != null) && !coalescingBuffer.isReadable()) {
+            coalescingBuffer.release();
+            return null;
+        }
+        return coalescingBuffer;
+    }
+
     public int getMaximumPacketSize() {
         return maximumPacketSize;
     }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttFilePayload;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.stream.ChunkedInput;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Reads a {@link MqttFilePayload} in chunks, used if the payload can not be transferred as a file region, for example
+ * because it has to be encrypted or framed.
+ * <p>
+ * The file is read with absolute positions and the file channel is not closed, as the file channel is owned by the
+ * user and the payload may have to be sent again.
+ *
+ * @author Silvio Giebl
+ */
+class MqttFilePayloadChunkedInput implements ChunkedInput<ByteBuf> {
+
+    static final int CHUNK_SIZE = 8192;
+
+    private final @NotNull MqttFilePayload filePayload;
+    private int offset;
+
+    MqttFilePayloadChunkedInput(final @NotNull MqttFilePayload filePayload) {
+        this.filePayload = filePayload;
+    }
+
+    @Override
+    public boolean isEndOfInput() {
+        return offset >= filePayload.getLength();
+    }
+
+    @Override
+    public void close() {}
+
+    @Deprecated
+    @Override
+    public @Nullable ByteBuf readChunk(final @NotNull ChannelHandlerContext ctx) throws IOException {
+        return readChunk(ctx.alloc());
+    }
+
+    @Override
+    public @Nullable ByteBuf readChunk(final @NotNull ByteBufAllocator allocator) throws IOException {
+        if (isEndOfInput()) {
+            return null;
+        }
+        final int chunkSize = Math.min(CHUNK_SIZE, filePayload.getLength() - offset);
+        final long position = filePayload.getPosition() + offset;
+        final ByteBuf chunk = allocator.ioBuffer(chunkSize, chunkSize);
+        try {
+            while (chunk.isWritable()) {
+                final int read = chunk.writeBytes(filePayload.getFileChannel(), position + chunk.writerIndex(),
+                        chunk.writableBytes());
+                if (read < 0) {
+                    throw new EOFException("End of file reached before the end of the payload");
+                }
+            }
+        } catch (final Throwable t) {
+            chunk.release();
+            throw t;
+        }
+        offset += chunkSize;
+        return chunk;
+    }
+
+    @Override
+    public long length() {
+        return filePayload.getLength();
+    }
+
+    @Override
+    public long progress() {
+        return offset;
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttFilePayload;
+import io.netty.channel.DefaultFileRegion;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * File region of a {@link MqttFilePayload}.
+ * <p>
+ * Unlike {@link DefaultFileRegion} it does not close the file channel when it is released, as the file channel is
+ * owned by the user and the payload may have to be sent again.
+ *
+ * @author Silvio Giebl
+ */
+class MqttFilePayloadRegion extends DefaultFileRegion {
+
+    MqttFilePayloadRegion(final @NotNull MqttFilePayload filePayload) {
+        super(filePayload.getFileChannel(), filePayload.getPosition(), filePayload.getLength());
+    }
+
+    @Override
+    protected void deallocate() {}
+}
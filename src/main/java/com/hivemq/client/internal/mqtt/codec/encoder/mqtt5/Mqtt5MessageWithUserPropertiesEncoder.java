@@ -76,7 +76,7 @@ abstract class Mqtt5MessageWithUserPropertiesEncoder<M extends MqttMessage.WithU
             final int propertyLength,
             final int omittedProperties) {
 
-        final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
+        final ByteBuf out = context.allocateBuffer(encodedLength);
         encode(message, out, remainingLength, propertyLength, omittedProperties);
         return out;
     }
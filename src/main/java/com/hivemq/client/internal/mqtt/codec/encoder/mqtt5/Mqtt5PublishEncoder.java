@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoderContext;
 import com.hivemq.client.internal.mqtt.datatypes.MqttBinaryData;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttFilePayload;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
@@ -68,6 +69,10 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
         if (payload != null) {
             remainingLength += payload.remaining();
         }
+        final MqttFilePayload filePayload = stateless.getRawFilePayload();
+        if (filePayload != null) {
+            remainingLength += filePayload.getLength();
+        }
 
         return remainingLength;
     }
@@ -118,7 +123,15 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
             encode(message, out, remainingLength, propertyLength, omittedProperties);
             return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
         }
-        final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
+        final MqttFilePayload filePayload = message.stateless().getRawFilePayload();
+        if (filePayload != null) {
+            final int encodedLengthWithoutPayload = encodedLength - filePayload.getLength();
+            final ByteBuf out =
+                    context.getAllocator().ioBuffer(encodedLengthWithoutPayload, encodedLengthWithoutPayload);
+            encode(message, out, remainingLength, propertyLength, omittedProperties);
+            return out; // the payload is written separately by the MqttEncoder
+        }
+        final ByteBuf out = context.allocateBuffer(encodedLength);
         encode(message, out, remainingLength, propertyLength, omittedProperties);
         return out;
     }
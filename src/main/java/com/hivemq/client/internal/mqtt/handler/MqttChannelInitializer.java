@@ -18,6 +18,7 @@ package com.hivemq.client.internal.mqtt.handler;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.MqttProxyConfigImpl;
 import com.hivemq.client.internal.mqtt.MqttWebSocketConfigImpl;
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoder;
@@ -31,13 +32,13 @@ import com.hivemq.client.internal.mqtt.handler.ssl.MqttSslInitializer;
 import com.hivemq.client.internal.mqtt.handler.websocket.MqttWebSocketInitializer;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.internal.netty.NettySocketOptions;
 import com.hivemq.client.mqtt.exceptions.ConnectionFailedException;
 import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
 import dagger.Lazy;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
-import io.netty.channel.socket.SocketChannel;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
@@ -93,13 +94,14 @@ public class MqttChannelInitializer extends ChannelInboundHandlerAdapter {
     public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
         ctx.pipeline().remove(this);
 
-        ((SocketChannel) ctx.channel()).config()
+        final Channel channel = ctx.channel();
+        final MqttClientTransportConfigImpl transportConfig = clientConfig.getCurrentTransportConfig();
+        channel.config()
                 // close not on write error (concurrent write while remote closes the connection), only on read
                 // this ensures that always all bytes are read, e.g. of the DISCONNECT sent before the close
                 .setAutoClose(false)
-                .setKeepAlive(true)
-                .setTcpNoDelay(true)
-                .setConnectTimeoutMillis(clientConfig.getCurrentTransportConfig().getSocketConnectTimeoutMs());
+                .setConnectTimeoutMillis(transportConfig.getSocketConnectTimeoutMs());
+        NettySocketOptions.apply(channel, transportConfig.getSocketConfig());
 
         initProxy(ctx.channel());
     }
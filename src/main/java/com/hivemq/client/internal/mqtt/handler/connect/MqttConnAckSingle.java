@@ -37,6 +37,8 @@ import io.reactivex.internal.disposables.EmptyDisposable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.util.concurrent.TimeUnit;
 
 import static com.hivemq.client.mqtt.MqttClientState.*;
@@ -78,6 +80,20 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             clientConfig.releaseEventLoop();
             clientConfig.getRawState().set(DISCONNECTED);
         } else {
+            final MqttClientTransportConfigImpl transportConfig = clientConfig.getCurrentTransportConfig();
+            final SocketAddress remoteAddress = clientConfig.getEventLoopProvider().getRemoteAddress(transportConfig);
+            if (remoteAddress == null) {
+                // the transport configuration can not be used on this platform, so reconnecting would fail forever
+                if (flow.setDone()) {
+                    final String message = "Unix domain sockets are only supported by the epoll transport.";
+                    LOGGER.error(message);
+                    clientConfig.getRawState().set(DISCONNECTED);
+                    clientConfig.releaseEventLoop();
+                    flow.onError(new ConnectionFailedException(new UnsupportedOperationException(message)));
+                }
+                return;
+            }
+
             final Bootstrap bootstrap = clientConfig.getClientComponent()
                     .connectionComponentBuilder()
                     .connect(connect)
@@ -85,23 +101,21 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
                     .build()
                     .bootstrap();
 
-            final MqttClientTransportConfigImpl transportConfig = clientConfig.getCurrentTransportConfig();
-
-            bootstrap.group(eventLoop)
-                    .connect(transportConfig.getRemoteAddress(), transportConfig.getRawLocalAddress())
-                    .addListener(future -> {
-                        final Throwable cause = future.cause();
-                        if (cause != null) {
-                            final ConnectionFailedException e = new ConnectionFailedException(cause);
-                            if (eventLoop.inEventLoop()) {
-                                reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow, eventLoop);
-                            } else {
-                                eventLoop.execute(
-                                        () -> reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow,
-                                                eventLoop));
-                            }
-                        }
-                    });
+            final SocketAddress localAddress =
+                    (remoteAddress instanceof InetSocketAddress) ? transportConfig.getRawLocalAddress() : null;
+            bootstrap.group(eventLoop).connect(remoteAddress, localAddress).addListener(f -> {
+                final Throwable cause = f.cause();
+                if (cause != null) {
+                    final ConnectionFailedException e = new ConnectionFailedException(cause);
+                    if (eventLoop.inEventLoop()) {
+                        reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow, eventLoop);
+                    } else {
+                        eventLoop.execute(
+                                () -> reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow,
+                                        eventLoop));
+                    }
+                }
+            });
         }
     }
 
@@ -138,7 +152,8 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             final @NotNull EventLoop eventLoop) {
 
         final MqttClientReconnector reconnector =
-                new MqttClientReconnector(eventLoop, attempts, connect, clientConfig.getCurrentTransportConfig());
+                new MqttClientReconnector(eventLoop, attempts, connect, clientConfig.getCurrentTransportConfig(),
+                        clientConfig.getEventLoopProvider().isDomainSocketSupported());
         final MqttClientDisconnectedContext context =
                 MqttClientDisconnectedContextImpl.of(clientConfig, source, cause, reconnector);
 
@@ -183,7 +183,14 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
             if (disconnectEvent instanceof MqttDisconnectEvent.ByUser) {
                 final MqttDisconnectEvent.ByUser disconnectEventByUser = (MqttDisconnectEvent.ByUser) disconnectEvent;
                 ctx.writeAndFlush(disconnect).addListener(f -> {
-                    if (f.isSuccess()) {
+                    if (!f.isSuccess()) {
+                        disconnected(channel, disconnectEvent);
+                        disconnectEventByUser.getFlow().onError(new ConnectionClosedException(f.cause()));
+                    } else if (!(channel instanceof DuplexChannel)) {
+                        // channels without half-close support (for example local channels) are closed directly
+                        state = new DisconnectingState(channel, disconnectEventByUser);
+                        channel.close();
+                    } else {
                         ((DuplexChannel) channel).shutdownOutput().addListener(cf -> {
                             if (cf.isSuccess()) {
                                 state = new DisconnectingState(channel, disconnectEventByUser);
@@ -192,9 +199,6 @@ public class MqttDisconnectHandler extends MqttConnectionAwareHandler {
                                 disconnectEventByUser.getFlow().onError(new ConnectionClosedException(cf.cause()));
                             }
                         });
-                    } else {
-                        disconnected(channel, disconnectEvent);
-                        disconnectEventByUser.getFlow().onError(new ConnectionClosedException(f.cause()));
                     }
                 });
 
@@ -39,7 +39,7 @@ public class MqttGlobalIncomingPublishFlow extends MqttIncomingPublishFlow {
             final @NotNull MqttGlobalPublishFilter filter,
             final boolean manualAcknowledgement) {
 
-        super(subscriber, clientConfig, incomingQosHandler, manualAcknowledgement);
+        super(subscriber, clientConfig, incomingQosHandler, manualAcknowledgement, false);
         this.filter = filter;
     }
 
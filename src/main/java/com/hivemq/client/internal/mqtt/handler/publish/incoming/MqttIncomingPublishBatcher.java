@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.rx.FlowableWithSingleSubscriber;
+import com.hivemq.client.rx.reactivestreams.WithSingleSubscriber;
+import io.netty.channel.EventLoop;
+import io.reactivex.internal.util.BackpressureHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the Publish messages emitted by an incoming publish flow into batches.
+ * <p>
+ * A batch is emitted as soon as it is full or, otherwise, after the event loop finished the current read cycle, so
+ * that all Publish messages of a flow that were read at once are handed off together. At most one batch of Publish
+ * messages is requested from the flow at once, so a batch never exceeds the maximum batch size.
+ *
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishBatcher
+        implements FlowableWithSingleSubscriber<Mqtt5Publish, Mqtt5SubAck>, Subscription, Runnable {
+
+    private final @NotNull Subscriber<? super List<Mqtt5Publish>> subscriber;
+    private final int maxBatchSize;
+    private @Nullable MqttIncomingPublishFlow flow;
+    private @Nullable EventLoop eventLoop;
+
+    private final @NotNull AtomicLong newRequested = new AtomicLong();
+    private long requested;
+    private long upstreamRequested;
+    private @NotNull ArrayList<Mqtt5Publish> batch;
+    private boolean flushScheduled;
+
+    private boolean done;
+    private @Nullable Throwable error;
+    private boolean terminated;
+    private volatile boolean cancelled;
+
+    MqttIncomingPublishBatcher(
+            final @NotNull Subscriber<? super List<Mqtt5Publish>> subscriber, final int maxBatchSize) {
+
+        this.subscriber = subscriber;
+        this.maxBatchSize = maxBatchSize;
+        batch = new ArrayList<>();
+    }
+
+    @Override
+    public void onSubscribe(final @NotNull Subscription subscription) {
+        final MqttIncomingPublishFlow flow = (MqttIncomingPublishFlow) subscription;
+        this.flow = flow;
+        eventLoop = flow.getEventLoop();
+        subscriber.onSubscribe(this);
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onSingle(final @NotNull Mqtt5SubAck subAck) {
+        if (subscriber instanceof WithSingleSubscriber) {
+            //noinspection unchecked
+            ((WithSingleSubscriber<? super List<Mqtt5Publish>, ? super Mqtt5SubAck>) subscriber).onSingle(subAck);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onNext(final @NotNull Mqtt5Publish publish) {
+        upstreamRequested--;
+        batch.add(publish);
+        if (batch.size() >= maxBatchSize) {
+            emit();
+        } else if (!flushScheduled) {
+            flushScheduled = true;
+            assert eventLoop != null;
+            eventLoop.execute(this);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onComplete() {
+        done = true;
+        emit();
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void onError(final @NotNull Throwable error) {
+        this.error = error;
+        done = true;
+        emit();
+    }
+
+    @Override
+    public void request(final long n) {
+        if ((n > 0) && !cancelled && (BackpressureHelper.add(newRequested, n) == 0)) {
+            assert eventLoop != null;
+            eventLoop.execute(this);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        assert flow != null;
+        flow.cancel();
+        assert eventLoop != null;
+        eventLoop.execute(this);
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    public void run() {
+        flushScheduled = false;
+        final long newRequested = this.newRequested.getAndSet(0);
+        if (newRequested > 0) {
+            requested = BackpressureHelper.addCap(requested, newRequested);
+        }
+        emit();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void emit() {
+        if (terminated) {
+            return;
+        }
+        if (cancelled) {
+            terminated = true;
+            release();
+            return;
+        }
+        if (!batch.isEmpty() && (requested > 0)) {
+            final ArrayList<Mqtt5Publish> batch = this.batch;
+            this.batch = new ArrayList<>(batch.size());
+            if (requested != Long.MAX_VALUE) {
+                requested--;
+            }
+            subscriber.onNext(batch);
+        }
+        if (done) {
+            if (batch.isEmpty()) {
+                terminated = true;
+                if (error == null) {
+                    subscriber.onComplete();
+                } else {
+                    subscriber.onError(error);
+                }
+            }
+        } else if (requested > 0) {
+            final long n = maxBatchSize - batch.size() - upstreamRequested;
+            if (n > 0) {
+                upstreamRequested += n;
+                assert flow != null;
+                flow.request(n);
+            }
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void release() {
+        for (final Mqtt5Publish publish : batch) {
+            publish.release();
+        }
+        batch.clear();
+    }
+}
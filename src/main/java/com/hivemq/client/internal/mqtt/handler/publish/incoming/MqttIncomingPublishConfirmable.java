@@ -18,56 +18,86 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.hivemq.client.internal.checkpoint.Confirmable;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author Silvio Giebl
  */
-class MqttIncomingPublishConfirmable implements Confirmable, Runnable {
+public class MqttIncomingPublishConfirmable implements Confirmable, Runnable {
 
-    private final @NotNull MqttIncomingPublishFlow flow;
-    private final @NotNull MqttStatefulPublishWithFlows publishWithFlows;
+    /**
+     * Confirms the given confirmables and acknowledges them with one task per flow, so that the resulting
+     * acknowledgements are written and flushed together.
+     *
+     * @param confirmables the confirmables to confirm.
+     * @return whether none of the confirmables was already confirmed.
+     */
+    public static boolean confirmBatch(final @NotNull Collection<? extends Confirmable> confirmables) {
+        boolean allConfirmed = true;
+        final HashMap<MqttIncomingPublishFlow, ArrayList<MqttIncomingPublishConfirmable>> batches = new HashMap<>();
+        for (final Confirmable confirmable : confirmables) {
+            final MqttIncomingPublishConfirmable incomingConfirmable = (MqttIncomingPublishConfirmable) confirmable;
+            if (!incomingConfirmable.tryConfirm()) {
+                allConfirmed = false;
+            } else if (incomingConfirmable.publishWithFlows != null) {
+                batches.computeIfAbsent(incomingConfirmable.flow, flow -> new ArrayList<>()).add(incomingConfirmable);
+            }
+        }
+        batches.forEach((flow, batch) -> flow.getEventLoop().execute(() -> flow.acknowledge(batch)));
+        return allConfirmed;
+    }
+
+    final @NotNull MqttIncomingPublishFlow flow;
+    final @Nullable MqttStatefulPublishWithFlows publishWithFlows; // null for QoS 0 as it is not acknowledged
+    final long sequence;
     private final @NotNull AtomicBoolean confirmed = new AtomicBoolean(false);
 
     MqttIncomingPublishConfirmable(
-            final @NotNull MqttIncomingPublishFlow flow, final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+            final @NotNull MqttIncomingPublishFlow flow,
+            final @Nullable MqttStatefulPublishWithFlows publishWithFlows,
+            final long sequence) {
 
         this.flow = flow;
         this.publishWithFlows = publishWithFlows;
+        this.sequence = sequence;
     }
 
     @Override
     public long getId() {
-        return publishWithFlows.id;
+        return (publishWithFlows == null) ? 0 : publishWithFlows.id;
     }
 
     @Override
     public boolean confirm() {
-        if (confirmed.compareAndSet(false, true)) {
-            flow.getEventLoop().execute(this);
+        if (tryConfirm()) {
+            if (publishWithFlows != null) {
+                flow.getEventLoop().execute(this);
+            }
             return true;
         }
         return false;
     }
 
     @Override
-    public void run() {
-        publishWithFlows.acknowledge(flow);
+    public void confirmCumulatively() {
+        flow.getEventLoop().execute(() -> flow.acknowledgeUpTo(sequence));
     }
 
-    static class Qos0 implements Confirmable {
-
-        private final @NotNull AtomicBoolean confirmed = new AtomicBoolean(false);
+    @Override
+    public void run() {
+        flow.acknowledge(this);
+    }
 
-        @Override
-        public long getId() {
-            return 0;
-        }
+    boolean tryConfirm() {
+        return confirmed.compareAndSet(false, true);
+    }
 
-        @Override
-        public boolean confirm() {
-            return confirmed.compareAndSet(false, true);
-        }
+    boolean isConfirmed() {
+        return confirmed.get();
     }
 }
@@ -18,7 +18,12 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttStatefulPublishWithFlows.FlowHandle;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttStatefulPublishWithFlows.PendingList;
 import com.hivemq.client.internal.mqtt.handler.util.FlowWithEventLoop;
+import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import io.reactivex.Emitter;
 import io.reactivex.internal.util.BackpressureHelper;
@@ -28,6 +33,8 @@ import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -44,6 +51,10 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     final @NotNull Subscriber<? super Mqtt5Publish> subscriber;
     final @NotNull MqttIncomingPublishService incomingPublishService;
     final boolean manualAcknowledgement;
+    private final @Nullable HashMap<MqttTopicImpl, MqttStatefulPublishWithFlows> conflationIndex;
+    // contains the queued QoS 0 publishes for this flow by their topic if this flow conflates
+    private final @NotNull PendingList pendingQos1Or2 = new PendingList();
+    private final @NotNull PendingList pendingQos0 = new PendingList();
 
     private long requested;
     private final @NotNull AtomicLong newRequested = new AtomicLong();
@@ -54,6 +65,8 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
 
     private int referenced;
     private int missingAcknowledgements;
+    private long confirmableSequence;
+    private final @NotNull ChunkedArrayQueue<MqttIncomingPublishConfirmable> unconfirmed = new ChunkedArrayQueue<>(8);
     private long blockedIndex;
     private boolean blocking;
 
@@ -61,12 +74,14 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
             final @NotNull Subscriber<? super Mqtt5Publish> subscriber,
             final @NotNull MqttClientConfig clientConfig,
             final @NotNull MqttIncomingQosHandler incomingQosHandler,
-            final boolean manualAcknowledgement) {
+            final boolean manualAcknowledgement,
+            final boolean conflate) {
 
         super(clientConfig);
         this.subscriber = subscriber;
         incomingPublishService = incomingQosHandler.incomingPublishService;
         this.manualAcknowledgement = manualAcknowledgement;
+        conflationIndex = conflate ? new HashMap<>() : null;
     }
 
     @CallByThread("Netty EventLoop")
@@ -88,7 +103,7 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
         if (setDone()) {
             subscriber.onComplete();
         } else {
-            incomingPublishService.drain();
+            incomingPublishService.drain(this);
         }
     }
 
@@ -107,7 +122,7 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
         if (setDone()) {
             subscriber.onError(error);
         } else {
-            incomingPublishService.drain();
+            incomingPublishService.drain(this);
         }
     }
 
@@ -144,7 +159,7 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     @Override
     public void run() { // only executed if was blocking
         if (referenced > 0) { // is blocking
-            incomingPublishService.drain();
+            incomingPublishService.drain(this);
         }
     }
 
@@ -186,7 +201,7 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     @CallByThread("Netty EventLoop")
     void runCancel() { // always executed if cancelled
         if (referenced > 0) { // is blocking
-            incomingPublishService.drain();
+            incomingPublishService.drain(this);
         }
     }
 
@@ -195,16 +210,148 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
         missingAcknowledgements++;
     }
 
+    /**
+     * Creates the confirmable for a publish that is emitted to this flow with manual acknowledgement. Confirmables of
+     * QoS 1 and 2 publishes are queued in emission order until they are confirmed, so that they can be acknowledged
+     * cumulatively.
+     *
+     * @param publishWithFlows the publish that is emitted.
+     * @return the confirmable for the publish.
+     */
+    @CallByThread("Netty EventLoop")
+    @NotNull MqttIncomingPublishConfirmable newConfirmable(
+            final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+
+        final long sequence = ++confirmableSequence;
+        if (publishWithFlows.publish.stateless().getQos() == MqttQos.AT_MOST_ONCE) {
+            return new MqttIncomingPublishConfirmable(this, null, sequence);
+        }
+        final MqttIncomingPublishConfirmable confirmable =
+                new MqttIncomingPublishConfirmable(this, publishWithFlows, sequence);
+        unconfirmed.offer(confirmable);
+        return confirmable;
+    }
+
+    @CallByThread("Netty EventLoop")
+    void acknowledge(final @NotNull MqttIncomingPublishConfirmable confirmable) {
+        final boolean drain = acknowledgeWithoutDrain(confirmable);
+        removeConfirmed();
+        finishAcknowledge(drain);
+    }
+
     @CallByThread("Netty EventLoop")
-    void acknowledge(final boolean drain) {
+    void acknowledge(final @NotNull List<MqttIncomingPublishConfirmable> confirmables) {
+        boolean drain = false;
+        for (int i = 0; i < confirmables.size(); i++) {
+            drain |= acknowledgeWithoutDrain(confirmables.get(i));
+        }
+        removeConfirmed();
+        finishAcknowledge(drain);
+    }
+
+    /**
+     * Acknowledges all QoS 1 and 2 publishes that were emitted to this flow up to the given sequence and are not
+     * confirmed yet.
+     *
+     * @param sequence the sequence of the confirmable that was confirmed cumulatively.
+     */
+    @CallByThread("Netty EventLoop")
+    void acknowledgeUpTo(final long sequence) {
+        boolean drain = false;
+        MqttIncomingPublishConfirmable confirmable;
+        while (((confirmable = unconfirmed.peek()) != null) && (confirmable.sequence <= sequence)) {
+            unconfirmed.poll();
+            if (confirmable.tryConfirm()) { // otherwise confirmed individually and acknowledged by its own task
+                drain |= acknowledgeWithoutDrain(confirmable);
+            }
+        }
+        removeConfirmed();
+        finishAcknowledge(drain);
+    }
+
+    /**
+     * Acknowledges the given publish on behalf of this flow if it is not emitted to this flow, for example because it
+     * expired. Completion is checked when this flow is dereferenced.
+     *
+     * @param publishWithFlows the publish that is not emitted to this flow.
+     */
+    @CallByThread("Netty EventLoop")
+    void skipAcknowledgement(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        if (manualAcknowledgement && (publishWithFlows.publish.stateless().getQos() != MqttQos.AT_MOST_ONCE)) {
+            publishWithFlows.acknowledge();
+            missingAcknowledgements--;
+        }
+    }
+
+    private boolean acknowledgeWithoutDrain(final @NotNull MqttIncomingPublishConfirmable confirmable) {
+        assert confirmable.publishWithFlows != null;
+        missingAcknowledgements--;
+        return confirmable.publishWithFlows.acknowledge();
+    }
+
+    private void removeConfirmed() {
+        MqttIncomingPublishConfirmable confirmable;
+        while (((confirmable = unconfirmed.peek()) != null) && confirmable.isConfirmed()) {
+            unconfirmed.poll();
+        }
+    }
+
+    private void finishAcknowledge(final boolean drain) {
         if (drain) {
             incomingPublishService.drain();
         }
-        if (--missingAcknowledgements == 0) {
+        if (missingAcknowledgements == 0) {
             checkDone();
         }
     }
 
+    /**
+     * Indexes the given queued QoS 0 publish by its topic if this flow conflates.
+     *
+     * @param publishWithFlows the queued QoS 0 publish that references this flow.
+     * @return the previously indexed publish with the same topic or <code>null</code> if there is none or this flow
+     *         does not conflate.
+     */
+    @CallByThread("Netty EventLoop")
+    @Nullable MqttStatefulPublishWithFlows conflate(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        if (conflationIndex == null) {
+            return null;
+        }
+        return conflationIndex.put(publishWithFlows.publish.stateless().getTopic(), publishWithFlows);
+    }
+
+    @CallByThread("Netty EventLoop")
+    void unconflate(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        if (conflationIndex != null) {
+            conflationIndex.remove(publishWithFlows.publish.stateless().getTopic(), publishWithFlows);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void addPending(final @NotNull FlowHandle handle) {
+        getPendingList(handle).add(handle);
+    }
+
+    @CallByThread("Netty EventLoop")
+    void removePending(final @NotNull FlowHandle handle) {
+        getPendingList(handle).remove(handle);
+    }
+
+    /**
+     * @return the oldest pending QoS 1 or 2 publish of this flow if there is any, otherwise the oldest pending QoS 0
+     *         publish or <code>null</code> if no publish is pending for this flow.
+     */
+    @CallByThread("Netty EventLoop")
+    @Nullable FlowHandle getFirstPending() {
+        final FlowHandle first = pendingQos1Or2.getFirst();
+        return (first == null) ? pendingQos0.getFirst() : first;
+    }
+
+    private @NotNull PendingList getPendingList(final @NotNull FlowHandle handle) {
+        return (handle.publishWithFlows.publish.stateless().getQos() == MqttQos.AT_MOST_ONCE) ? pendingQos0 :
+                pendingQos1Or2;
+    }
+
     @CallByThread("Netty EventLoop")
     int reference() {
         return ++referenced;
@@ -17,16 +17,22 @@
 package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.hivemq.client.internal.annotations.CallByThread;
-import com.hivemq.client.internal.checkpoint.Confirmable;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttStatefulPublishWithFlows.FlowHandle;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
 import com.hivemq.client.internal.util.collections.HandleList.Handle;
-import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0BufferOverflowPolicy;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author Silvio Giebl
  */
@@ -35,50 +41,138 @@ class MqttIncomingPublishService {
 
     private static final @NotNull InternalLogger LOGGER =
             InternalLoggerFactory.getLogger(MqttIncomingPublishService.class);
-    private static final boolean QOS_0_DROP_OLDEST = true; // TODO configurable
 
     private final @NotNull MqttIncomingQosHandler incomingQosHandler;
     final @NotNull MqttIncomingPublishFlows incomingPublishFlows;
+    private final @NotNull MqttClientStatisticsImpl statistics;
+    private final int qos0BufferMaxMessages;
+    private final long qos0BufferMaxBytes;
+    private final @NotNull Mqtt5IncomingQos0BufferOverflowPolicy qos0BufferOverflowPolicy;
+    private final boolean enforceMessageExpiry;
 
     private final @NotNull ChunkedArrayQueue<MqttStatefulPublishWithFlows> qos0Queue = new ChunkedArrayQueue<>(32);
-    private final ChunkedArrayQueue<MqttStatefulPublishWithFlows>.@NotNull Iterator qos0It = qos0Queue.iterator();
     private final @NotNull ChunkedArrayQueue<MqttStatefulPublishWithFlows> qos1Or2Queue = new ChunkedArrayQueue<>(32);
-    private final ChunkedArrayQueue<MqttStatefulPublishWithFlows>.@NotNull Iterator qos1Or2It = qos1Or2Queue.iterator();
+    // the queues keep the publishes in the order they were received, the pending publishes per flow are linked via
+    // their flow handles, so emitting only visits flows that are affected
 
+    private long qos0QueueBytes;
+    private boolean qos0BufferOverflow;
     private long nextQoS1Or2PublishId = 1;
 
-    private int referencedFlowCount;
     private int runIndex;
-    private int blockingFlowCount;
 
     MqttIncomingPublishService(
             final @NotNull MqttIncomingQosHandler incomingQosHandler,
-            final @NotNull MqttIncomingPublishFlows incomingPublishFlows) {
+            final @NotNull MqttIncomingPublishFlows incomingPublishFlows,
+            final @NotNull MqttClientConfig clientConfig) {
 
         this.incomingQosHandler = incomingQosHandler;
         this.incomingPublishFlows = incomingPublishFlows;
+        statistics = clientConfig.getStatistics();
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        qos0BufferMaxMessages = advancedConfig.getIncomingQos0BufferMaxMessages();
+        qos0BufferMaxBytes = advancedConfig.getIncomingQos0BufferMaxBytes();
+        qos0BufferOverflowPolicy = advancedConfig.getIncomingQos0BufferOverflowPolicy();
+        enforceMessageExpiry = advancedConfig.isEnforceMessageExpiry();
     }
 
     @CallByThread("Netty EventLoop")
-    void onPublishQos0(final @NotNull MqttStatefulPublishWithFlows publishWithFlows, final int receiveMaximum) {
-        if (qos0Queue.size() >= receiveMaximum) { // TODO receiveMaximum
-            LOGGER.warn("QoS 0 publish message dropped.");
-            if (QOS_0_DROP_OLDEST) {
-                qos0It.reset();
-                final MqttStatefulPublishWithFlows flows = qos0It.next();
-                qos0It.remove();
-                for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
-                    if (h.getElement().dereference() == 0) {
-                        referencedFlowCount--;
-                    }
-                }
-            } else {
-                return;
+    boolean onPublishQos0(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        onPublish(publishWithFlows);
+        drain();
+        if (publishWithFlows.isEmpty()) {
+            publishWithFlows.publish.stateless().release();
+            return true;
+        }
+        if (enforceMessageExpiry) {
+            expireQos0();
+        }
+        final long bytes = getPayloadBytes(publishWithFlows);
+        if ((qos0Queue.size() >= qos0BufferMaxMessages) || (bytes > qos0BufferMaxBytes - qos0QueueBytes)) {
+            if (!qos0BufferOverflow) {
+                qos0BufferOverflow = true;
+                LOGGER.warn("Buffer of incoming QoS 0 PUBLISH messages overflowed, applying policy {}. " +
+                        "Dropped messages are counted in the client statistics.", qos0BufferOverflowPolicy);
             }
+            if ((qos0BufferOverflowPolicy != Mqtt5IncomingQos0BufferOverflowPolicy.DROP_OLDEST) ||
+                    (bytes > qos0BufferMaxBytes)) {
+                dropQos0(publishWithFlows);
+                return qos0BufferOverflowPolicy != Mqtt5IncomingQos0BufferOverflowPolicy.DISCONNECT;
+            }
+            do {
+                final MqttStatefulPublishWithFlows oldest = qos0Queue.poll();
+                assert oldest != null;
+                qos0QueueBytes -= getPayloadBytes(oldest);
+                dropQos0(oldest);
+            } while ((qos0Queue.size() >= qos0BufferMaxMessages) || (bytes > qos0BufferMaxBytes - qos0QueueBytes));
+        } else {
+            qos0BufferOverflow = false;
         }
-        onPublish(publishWithFlows);
-        if (!publishWithFlows.isEmpty()) {
-            qos0Queue.offer(publishWithFlows);
+        conflate(publishWithFlows);
+        qos0Queue.offer(publishWithFlows);
+        qos0QueueBytes += bytes;
+        return true;
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void dropQos0(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        if (!publishWithFlows.isEmpty()) { // empty if all flows received a newer conflated publish
+            statistics.addDroppedIncomingQos0Publishes(1);
+        }
+        removeFlows(publishWithFlows);
+        publishWithFlows.publish.stateless().release();
+    }
+
+    /**
+     * Removes the expired QoS 0 publishes from the head of the queue, so that they do not occupy the buffer until all
+     * flows without demand would skip them.
+     */
+    @CallByThread("Netty EventLoop")
+    private void expireQos0() {
+        final long nowNanos = System.nanoTime();
+        MqttStatefulPublishWithFlows publishWithFlows;
+        while (((publishWithFlows = qos0Queue.peek()) != null) && isExpired(publishWithFlows, nowNanos)) {
+            qos0Queue.poll();
+            qos0QueueBytes -= getPayloadBytes(publishWithFlows);
+            if (!publishWithFlows.isEmpty()) {
+                countExpired(publishWithFlows);
+            }
+            removeFlows(publishWithFlows);
+            publishWithFlows.publish.stateless().release();
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private static void removeFlows(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
+            final MqttIncomingPublishFlow flow = h.getElement();
+            publishWithFlows.remove(h);
+            flow.removePending((FlowHandle) h);
+            flow.unconflate(publishWithFlows);
+            if (flow.dereference() == 0) {
+                flow.checkDone();
+            }
+        }
+    }
+
+    /**
+     * Removes the conflating flows of the given QoS 0 publish from the publish with the same topic that is still queued
+     * for them, so that these flows only receive the latest publish per topic.
+     *
+     * @param publishWithFlows the QoS 0 publish that is queued because the referenced flows have no demand.
+     */
+    @CallByThread("Netty EventLoop")
+    private void conflate(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
+            final MqttIncomingPublishFlow flow = h.getElement();
+            final MqttStatefulPublishWithFlows conflated = flow.conflate(publishWithFlows);
+            if ((conflated != null) && conflated.remove(flow)) {
+                flow.dereference(); // can not reach 0 as the flow is also referenced by the new publish
+                statistics.addConflatedIncomingPublishes(1);
+                if (conflated.isEmpty()) {
+                    conflated.publish.stateless().release(); // removed from the queue when it is drained
+                }
+            }
         }
     }
 
@@ -89,93 +183,142 @@ class MqttIncomingPublishService {
         }
         publishWithFlows.id = nextQoS1Or2PublishId++;
         onPublish(publishWithFlows);
+        drain();
         if (qos1Or2Queue.isEmpty() && publishWithFlows.isEmpty() && publishWithFlows.areAcknowledged()) {
             incomingQosHandler.ack(publishWithFlows);
+            incomingQosHandler.flushAcks();
+            publishWithFlows.publish.stateless().release();
         } else {
             qos1Or2Queue.offer(publishWithFlows);
         }
         return true;
     }
 
+    /**
+     * Appends the given publish to the pending publishes of all matching flows and emits to the flows that have
+     * demand. Only the matching flows are visited, so the cost does not depend on the amount of queued publishes.
+     *
+     * @param publishWithFlows the incoming publish.
+     */
     @CallByThread("Netty EventLoop")
     private void onPublish(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
         incomingPublishFlows.findMatching(publishWithFlows);
         if (publishWithFlows.isEmpty()) {
             LOGGER.warn("No publish flow registered for {}.", publishWithFlows.publish);
         }
-        drain();
-        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
-            if (h.getElement().reference() == 1) {
-                referencedFlowCount++;
-            }
+        if (enforceMessageExpiry &&
+                (publishWithFlows.publish.stateless().getRawMessageExpiryInterval() != MqttPublish.NO_MESSAGE_EXPIRY)) {
+            publishWithFlows.receivedNanos = System.nanoTime();
+        }
+        runIndex++;
+        Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst();
+        while (h != null) {
+            final Handle<MqttIncomingPublishFlow> next = h.getNext(); // h is removed if it is emitted
+            final MqttIncomingPublishFlow flow = h.getElement();
+            flow.reference();
+            flow.addPending((FlowHandle) h);
+            emit(flow);
+            h = next;
         }
-        emit(publishWithFlows);
     }
 
+    /**
+     * Emits the pending publishes of the given flow as far as it has demand or drops them if the flow is cancelled.
+     *
+     * @param flow the flow that has new demand, was cancelled or completed.
+     */
     @CallByThread("Netty EventLoop")
-    void drain() {
+    void drain(final @NotNull MqttIncomingPublishFlow flow) {
         runIndex++;
-        blockingFlowCount = 0;
-
-        qos1Or2It.reset();
-        while (qos1Or2It.hasNext()) {
-            final MqttStatefulPublishWithFlows publishWithFlows = qos1Or2It.next();
-            emit(publishWithFlows);
-            if ((qos1Or2It.getIterated() == 1) && publishWithFlows.isEmpty() && publishWithFlows.areAcknowledged()) {
-                qos1Or2It.remove();
-                incomingQosHandler.ack(publishWithFlows);
-            } else if (blockingFlowCount == referencedFlowCount) {
-                return;
-            }
+        emit(flow);
+        drain();
+    }
+
+    /**
+     * Removes the publishes that were emitted to all flows from the heads of the queues. QoS 1 and 2 publishes are
+     * only removed (and acknowledged) if they are additionally acknowledged by all flows, so that acknowledgements are
+     * sent in the order the publishes were received. The acknowledgements of all removed publishes are flushed
+     * together.
+     */
+    @CallByThread("Netty EventLoop")
+    void drain() {
+        MqttStatefulPublishWithFlows publishWithFlows;
+        while (((publishWithFlows = qos1Or2Queue.peek()) != null) && publishWithFlows.isEmpty() &&
+                publishWithFlows.areAcknowledged()) {
+            qos1Or2Queue.poll();
+            incomingQosHandler.ack(publishWithFlows);
+            publishWithFlows.publish.stateless().release();
         }
-        qos0It.reset();
-        while (qos0It.hasNext()) {
-            final MqttStatefulPublishWithFlows publishWithFlows = qos0It.next();
-            emit(publishWithFlows);
-            if ((qos0It.getIterated() == 1) && publishWithFlows.isEmpty()) {
-                qos0It.remove();
-            } else if (blockingFlowCount == referencedFlowCount) {
-                return;
-            }
+        incomingQosHandler.flushAcks();
+        while (((publishWithFlows = qos0Queue.peek()) != null) && publishWithFlows.isEmpty()) {
+            qos0Queue.poll();
+            qos0QueueBytes -= getPayloadBytes(publishWithFlows);
+            publishWithFlows.publish.stateless().release();
         }
     }
 
     @CallByThread("Netty EventLoop")
-    private void emit(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
-        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
-            final MqttIncomingPublishFlow flow = h.getElement();
-
-            if (flow.isCancelled()) {
+    private void emit(final @NotNull MqttIncomingPublishFlow flow) {
+        FlowHandle h;
+        if (flow.isCancelled()) {
+            while ((h = flow.getFirstPending()) != null) {
+                final MqttStatefulPublishWithFlows publishWithFlows = h.publishWithFlows;
+                publishWithFlows.remove(h);
+                flow.removePending(h);
+                flow.unconflate(publishWithFlows);
+                flow.dereference();
+            }
+            return;
+        }
+        final long nowNanos = enforceMessageExpiry ? System.nanoTime() : 0;
+        while (((h = flow.getFirstPending()) != null) && (flow.requested(runIndex) > 0)) {
+            final MqttStatefulPublishWithFlows publishWithFlows = h.publishWithFlows;
+            if (enforceMessageExpiry && isExpired(publishWithFlows, nowNanos)) {
+                countExpired(publishWithFlows);
                 publishWithFlows.remove(h);
+                flow.removePending(h);
+                flow.unconflate(publishWithFlows);
+                flow.skipAcknowledgement(publishWithFlows);
                 if (flow.dereference() == 0) {
-                    referencedFlowCount--;
-                }
-            } else {
-                final long requested = flow.requested(runIndex);
-                if (requested > 0) {
-                    MqttPublish publish = publishWithFlows.publish.stateless();
-                    if (flow.manualAcknowledgement) {
-                        final Confirmable confirmable;
-                        if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
-                            confirmable = new MqttIncomingPublishConfirmable.Qos0();
-                        } else {
-                            confirmable = new MqttIncomingPublishConfirmable(flow, publishWithFlows);
-                        }
-                        publish = publish.withConfirmable(confirmable);
-                    }
-                    flow.onNext(publish);
-                    publishWithFlows.remove(h);
-                    if (flow.dereference() == 0) {
-                        referencedFlowCount--;
-                        flow.checkDone();
-                    }
-                } else if (requested == 0) {
-                    blockingFlowCount++;
-                    if (blockingFlowCount == referencedFlowCount) {
-                        break;
-                    }
+                    flow.checkDone();
                 }
+                continue;
+            }
+            MqttPublish publish = publishWithFlows.publish.stateless();
+            if (flow.manualAcknowledgement) {
+                publish = publish.withConfirmable(flow.newConfirmable(publishWithFlows));
+            } else if (publish.hasPayloadBuffer()) {
+                publish = publish.withRetainedPayloadBuffer();
+            }
+            flow.onNext(publish);
+            publishWithFlows.remove(h);
+            flow.removePending(h);
+            flow.unconflate(publishWithFlows);
+            if (flow.dereference() == 0) {
+                flow.checkDone();
             }
         }
     }
+
+    private static boolean isExpired(
+            final @NotNull MqttStatefulPublishWithFlows publishWithFlows, final long nowNanos) {
+
+        // an interval of 0 means less than one second, so such a publish only expires after it waited one second
+        final long messageExpiryInterval = publishWithFlows.publish.stateless().getRawMessageExpiryInterval();
+        return (messageExpiryInterval != MqttPublish.NO_MESSAGE_EXPIRY) &&
+                (nowNanos - publishWithFlows.receivedNanos >
+                        TimeUnit.SECONDS.toNanos(Math.max(messageExpiryInterval, 1)));
+    }
+
+    private void countExpired(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        if (!publishWithFlows.expired) {
+            publishWithFlows.expired = true;
+            statistics.addExpiredIncomingPublishes(1);
+        }
+    }
+
+    private static long getPayloadBytes(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        final ByteBuffer payload = publishWithFlows.publish.stateless().getRawPayload();
+        return (payload == null) ? 0 : payload.remaining();
+    }
 }
@@ -73,6 +73,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     // valid for connection
     private int receiveMaximum;
     private long connectionIndex;
+    private boolean ackFlushPending;
 
     @Inject
     MqttIncomingQosHandler(
@@ -80,7 +81,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
             final @NotNull MqttIncomingPublishFlows incomingPublishFlows) {
 
         this.clientConfig = clientConfig;
-        incomingPublishService = new MqttIncomingPublishService(this, incomingPublishFlows);
+        incomingPublishService = new MqttIncomingPublishService(this, incomingPublishFlows, clientConfig);
     }
 
     @Override
@@ -104,25 +105,37 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     }
 
     private void readPublish(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
+        final MqttStatefulPublishWithFlows publishWithFlows = new MqttStatefulPublishWithFlows(publish);
         switch (publish.stateless().getQos()) {
             case AT_MOST_ONCE:
-                readPublishQos0(publish);
-                break;
+                readPublishQos0(ctx, publishWithFlows);
+                return;
             case AT_LEAST_ONCE:
-                readPublishQos1(ctx, publish);
+                readPublishQos1(ctx, publishWithFlows);
                 break;
             case EXACTLY_ONCE:
-                readPublishQos2(ctx, publish);
+                readPublishQos2(ctx, publishWithFlows);
                 break;
         }
+        if (publishWithFlows.id == 0) { // not passed to the incoming publish service
+            publish.stateless().release();
+        }
     }
 
-    private void readPublishQos0(final @NotNull MqttStatefulPublish publish) {
-        incomingPublishService.onPublishQos0(new MqttStatefulPublishWithFlows(publish), receiveMaximum);
+    private void readPublishQos0(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+
+        if (!incomingPublishService.onPublishQos0(publishWithFlows)) {
+            LOGGER.error("Buffer of incoming QoS 0 PUBLISH messages overflowed ({})", publishWithFlows.publish);
+            MqttDisconnectUtil.disconnect(ctx.channel(), Mqtt5DisconnectReasonCode.QUOTA_EXCEEDED,
+                    "Buffer of incoming QoS 0 PUBLISH messages overflowed");
+        }
     }
 
-    private void readPublishQos1(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
-        final MqttStatefulPublishWithFlows publishWithFlows = new MqttStatefulPublishWithFlows(publish);
+    private void readPublishQos1(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+
+        final MqttStatefulPublish publish = publishWithFlows.publish;
         publishWithFlows.connectionIndex = connectionIndex;
         final Object prevMessage = messages.putIfAbsent(publishWithFlows);
         if (prevMessage == null) { // new message
@@ -161,8 +174,10 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
         }
     }
 
-    private void readPublishQos2(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
-        final MqttStatefulPublishWithFlows publishWithFlows = new MqttStatefulPublishWithFlows(publish);
+    private void readPublishQos2(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+
+        final MqttStatefulPublish publish = publishWithFlows.publish;
         publishWithFlows.connectionIndex = connectionIndex;
         final Object prevMessage = messages.putIfAbsent(publishWithFlows);
         if (prevMessage == null) { // new message
@@ -238,7 +253,8 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
                 final MqttPubAck pubAck = buildPubAck(new MqttPubAckBuilder(publishWithFlows.publish));
                 final Object prevMessage = messages.remove(pubAck.getPacketIdentifier());
                 if (ack(prevMessage, publishWithFlows) && (ctx != null)) {
-                    writePubAck(ctx, pubAck);
+                    ctx.write(pubAck, ctx.voidPromise());
+                    ackFlushPending = true;
                 }
                 break;
             }
@@ -247,13 +263,28 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
                 final Object prevMessage = !pubRec.getReasonCode().isError() ? messages.put(pubRec) :
                         messages.remove(pubRec.getPacketIdentifier());
                 if (ack(prevMessage, publishWithFlows) && (ctx != null)) {
-                    writePubRec(ctx, pubRec);
+                    ctx.write(pubRec, ctx.voidPromise());
+                    ackFlushPending = true;
                 }
                 break;
             }
         }
     }
 
+    /**
+     * Flushes the PUBACK and PUBREC messages that were written by {@link #ack(MqttStatefulPublishWithFlows)} since the
+     * last flush.
+     */
+    @CallByThread("Netty EventLoop")
+    void flushAcks() {
+        if (ackFlushPending) {
+            ackFlushPending = false;
+            if (ctx != null) {
+                ctx.flush();
+            }
+        }
+    }
+
     private boolean ack(
             final @Nullable Object prevMessage, final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
 
@@ -270,10 +301,6 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
         return publishWithFlows.connectionIndex == connectionIndex;
     }
 
-    private void writePubAck(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubAck pubAck) {
-        ctx.writeAndFlush(pubAck, ctx.voidPromise());
-    }
-
     private void writePubRec(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRec pubRec) {
         ctx.writeAndFlush(pubRec, ctx.voidPromise());
     }
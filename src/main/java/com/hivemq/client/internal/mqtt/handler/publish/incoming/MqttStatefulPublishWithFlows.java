@@ -21,6 +21,7 @@ import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.collections.HandleList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Silvio Giebl
@@ -32,6 +33,8 @@ class MqttStatefulPublishWithFlows extends HandleList<MqttIncomingPublishFlow> {
     long id;
     long connectionIndex;
     boolean subscriptionFound;
+    long receivedNanos; // only recorded if message expiry is enforced and the publish has a message expiry interval
+    boolean expired;
     private int missingAcknowledgements;
 
     MqttStatefulPublishWithFlows(final @NotNull MqttStatefulPublish publish) {
@@ -44,14 +47,95 @@ class MqttStatefulPublishWithFlows extends HandleList<MqttIncomingPublishFlow> {
             missingAcknowledgements++;
             flow.increaseMissingAcknowledgements();
         }
-        return super.add(flow);
+        final FlowHandle handle = new FlowHandle(flow, this);
+        add(handle);
+        return handle;
+    }
+
+    /**
+     * Removes the given flow from this publish and from the pending publishes of the flow.
+     *
+     * @param flow the flow to remove.
+     * @return whether this publish referenced the flow.
+     */
+    boolean remove(final @NotNull MqttIncomingPublishFlow flow) {
+        for (Handle<MqttIncomingPublishFlow> h = getFirst(); h != null; h = h.getNext()) {
+            if (h.getElement() == flow) {
+                remove(h);
+                flow.removePending((FlowHandle) h);
+                return true;
+            }
+        }
+        return false;
     }
 
     boolean areAcknowledged() {
         return missingAcknowledgements == 0;
     }
 
-    void acknowledge(final @NotNull MqttIncomingPublishFlow flow) {
-        flow.acknowledge(--missingAcknowledgements == 0);
+    /**
+     * @return whether this publish is now acknowledged by all flows.
+     */
+    boolean acknowledge() {
+        return --missingAcknowledgements == 0;
+    }
+
+    /**
+     * Handle of a flow in the list of flows of a publish that is also linked into the pending publishes of the flow.
+     */
+    static class FlowHandle extends Handle<MqttIncomingPublishFlow> {
+
+        final @NotNull MqttStatefulPublishWithFlows publishWithFlows;
+        @Nullable FlowHandle pendingPrev, pendingNext;
+
+        FlowHandle(
+                final @NotNull MqttIncomingPublishFlow flow,
+                final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+
+            super(flow);
+            this.publishWithFlows = publishWithFlows;
+        }
+    }
+
+    /**
+     * Pending publishes of a flow in the order they were received.
+     */
+    @NotThreadSafe
+    static class PendingList {
+
+        private @Nullable FlowHandle first, last;
+
+        void add(final @NotNull FlowHandle handle) {
+            final FlowHandle last = this.last;
+            handle.pendingPrev = last;
+            handle.pendingNext = null;
+            if (last == null) {
+                first = handle;
+            } else {
+                last.pendingNext = handle;
+            }
+            this.last = handle;
+        }
+
+        void remove(final @NotNull FlowHandle handle) {
+            final FlowHandle prev = handle.pendingPrev;
+            final FlowHandle next = handle.pendingNext;
+            if (prev == null) {
+                first = next;
+            } else {
+                prev.pendingNext = next;
+            }
+            if (next == null) {
+                last = prev;
+            } else {
+                next.pendingPrev = prev;
+            }
+            handle.pendingPrev = null;
+            handle.pendingNext = null;
+        }
+
+        @Nullable FlowHandle getFirst() {
+            return first;
+        }
     }
 }
@@ -38,9 +38,10 @@ public class MqttSubscribedPublishFlow extends MqttIncomingPublishFlow implement
             final @NotNull Subscriber<? super Mqtt5Publish> subscriber,
             final @NotNull MqttClientConfig clientConfig,
             final @NotNull MqttIncomingQosHandler incomingQosHandler,
-            final boolean manualAcknowledgement) {
+            final boolean manualAcknowledgement,
+            final boolean conflate) {
 
-        super(subscriber, clientConfig, incomingQosHandler, manualAcknowledgement);
+        super(subscriber, clientConfig, incomingQosHandler, manualAcknowledgement, conflate);
         topicFilters = new HandleList<>();
     }
 
@@ -18,12 +18,16 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.hivemq.client.internal.annotations.NotThreadSafe;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicIterator;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicLevel;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicLevels;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
 import com.hivemq.client.internal.util.collections.HandleList.Handle;
+import com.hivemq.client.internal.util.collections.ImmutableIntList;
 import com.hivemq.client.internal.util.collections.Index;
+import com.hivemq.client.internal.util.collections.IntIndex;
 import com.hivemq.client.internal.util.collections.NodeList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5RetainHandling;
@@ -33,12 +37,28 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 
 /**
+ * Topic tree of subscribed publish flows.
+ * <p>
+ * Additionally, the entries are indexed by their subscription identifier. If an incoming Publish message contains
+ * subscription identifiers that are all known, the matching flows are resolved from this index without walking the
+ * topic tree. The index resolves the entries of the same tree nodes as the tree walk, so both deliver to the same
+ * flows as long as the broker names all matching subscriptions.
+ *
  * @author Silvio Giebl
  */
 @NotThreadSafe
 public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows {
 
+    private static final IntIndex.@NotNull Spec<IdentifiedEntries> IDENTIFIER_INDEX_SPEC =
+            new IntIndex.Spec<>(entries -> entries.subscriptionIdentifier);
+    // subscriptions with more topic filters are resolved via the topic tree, as matching each of their topic filters
+    // against the topic would be slower than walking the tree
+    private static final int MAX_IDENTIFIED_TOPIC_FILTERS = 8;
+
     private @Nullable TopicTreeNode rootNode;
+    private final @NotNull IntIndex<IdentifiedEntries> identifierIndex = new IntIndex<>(IDENTIFIER_INDEX_SPEC);
+    // the broker can not name subscriptions without identifier, so their flows can only be found via the topic tree
+    private int unidentifiedEntries;
 
     MqttSubscribedPublishFlowTree() {}
 
@@ -57,6 +77,7 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
         while (node != null) {
             node = node.subscribe(topicIterator, entry);
         }
+        addToIdentifierIndex(entry);
     }
 
     @Override
@@ -66,7 +87,7 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
         final MqttTopicIterator topicIterator = MqttTopicIterator.of(topicFilter);
         TopicTreeNode node = rootNode;
         while (node != null) {
-            node = node.suback(topicIterator, topicFilter, subscriptionIdentifier, error);
+            node = node.suback(topicIterator, topicFilter, subscriptionIdentifier, error, this);
         }
         compact();
     }
@@ -76,7 +97,7 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
         final MqttTopicIterator topicIterator = MqttTopicIterator.of(topicFilter);
         TopicTreeNode node = rootNode;
         while (node != null) {
-            node = node.unsubscribe(topicIterator, topicFilter);
+            node = node.unsubscribe(topicIterator, topicFilter, this);
         }
         compact();
     }
@@ -94,13 +115,94 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
 
     @Override
     public void findMatching(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
-        final MqttTopicIterator topicIterator = MqttTopicIterator.of(publishWithFlows.publish.stateless().getTopic());
+        final MqttTopicImpl topic = publishWithFlows.publish.stateless().getTopic();
+        final ImmutableIntList subscriptionIdentifiers = publishWithFlows.publish.getSubscriptionIdentifiers();
+        if (!subscriptionIdentifiers.isEmpty() &&
+                findMatchingByIdentifiers(topic, subscriptionIdentifiers, publishWithFlows)) {
+            return;
+        }
+        final MqttTopicIterator topicIterator = MqttTopicIterator.of(topic);
         TopicTreeNode node = rootNode;
         while (node != null) {
             node = node.findMatching(topicIterator, publishWithFlows);
         }
     }
 
+    private boolean findMatchingByIdentifiers(
+            final @NotNull MqttTopicImpl topic,
+            final @NotNull ImmutableIntList subscriptionIdentifiers,
+            final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+
+        // fall back to the topic tree if any subscription identifier is unknown or has too many topic filters
+        if (unidentifiedEntries > 0) {
+            return false;
+        }
+        for (int i = 0; i < subscriptionIdentifiers.size(); i++) {
+            final IdentifiedEntries identified = identifierIndex.get(subscriptionIdentifiers.get(i));
+            if ((identified == null) || (identified.size > MAX_IDENTIFIED_TOPIC_FILTERS)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < subscriptionIdentifiers.size(); i++) {
+            final TopicTreeEntry entry = findMatchingEntry(subscriptionIdentifiers.get(i), topic);
+            if (entry == null) {
+                continue;
+            }
+            assert entry.entries != null : "entry is in the tree -> entry.entries != null";
+            // add all entries of the tree node like the tree walk, but only once if several identifiers name them
+            boolean added = false;
+            for (int j = 0; (j < i) && !added; j++) {
+                final TopicTreeEntry other = findMatchingEntry(subscriptionIdentifiers.get(j), topic);
+                added = (other != null) && (other.entries == entry.entries);
+            }
+            if (!added) {
+                TopicTreeNode.add(publishWithFlows, entry.entries);
+            }
+        }
+        return true;
+    }
+
+    private @Nullable TopicTreeEntry findMatchingEntry(
+            final int subscriptionIdentifier, final @NotNull MqttTopicImpl topic) {
+
+        final IdentifiedEntries identified = identifierIndex.get(subscriptionIdentifier);
+        assert identified != null : "checked before";
+        for (TopicTreeEntry entry = identified.first; entry != null; entry = entry.nextWithIdentifier) {
+            if (entry.topicFilter.matches(topic)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private void addToIdentifierIndex(final @NotNull TopicTreeEntry entry) {
+        final int subscriptionIdentifier = entry.subscriptionIdentifier;
+        if (subscriptionIdentifier == MqttStatefulSubscribe.DEFAULT_NO_SUBSCRIPTION_IDENTIFIER) {
+            unidentifiedEntries++;
+            return;
+        }
+        IdentifiedEntries identified = identifierIndex.get(subscriptionIdentifier);
+        if (identified == null) {
+            identified = new IdentifiedEntries(subscriptionIdentifier);
+            identifierIndex.put(identified);
+        }
+        identified.add(entry);
+    }
+
+    private void removeFromIdentifierIndex(final @NotNull TopicTreeEntry entry) {
+        final int subscriptionIdentifier = entry.subscriptionIdentifier;
+        if (subscriptionIdentifier == MqttStatefulSubscribe.DEFAULT_NO_SUBSCRIPTION_IDENTIFIER) {
+            unidentifiedEntries--;
+            return;
+        }
+        final IdentifiedEntries identified = identifierIndex.get(subscriptionIdentifier);
+        assert identified != null : "entry is in the index -> identified != null";
+        identified.remove(entry);
+        if (identified.first == null) {
+            identifierIndex.remove(subscriptionIdentifier);
+        }
+    }
+
     @Override
     public void clear(final @NotNull Throwable cause) {
         TopicTreeNode node = rootNode;
@@ -108,6 +210,8 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
             node = node.clear(cause);
         }
         rootNode = null;
+        identifierIndex.clear();
+        unidentifiedEntries = 0;
     }
 
     @Override
@@ -135,10 +239,13 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
 
         final int subscriptionIdentifier;
         final byte subscriptionOptions;
+        final @NotNull MqttTopicFilterImpl topicFilter;
         final byte @Nullable [] topicFilterPrefix;
         @Nullable MqttSubscribedPublishFlow flow;
         @Nullable Handle<MqttTopicFilterImpl> handle;
         boolean acknowledged;
+        @Nullable NodeList<TopicTreeEntry> entries; // the entries of the tree node that contain this entry
+        @Nullable TopicTreeEntry prevWithIdentifier, nextWithIdentifier;
 
         TopicTreeEntry(
                 final @NotNull MqttSubscription subscription,
@@ -147,13 +254,53 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
 
             this.subscriptionIdentifier = subscriptionIdentifier;
             subscriptionOptions = subscription.encodeSubscriptionOptions();
-            final MqttTopicFilterImpl topicFilter = subscription.getTopicFilter();
+            topicFilter = subscription.getTopicFilter();
             this.topicFilterPrefix = topicFilter.getPrefix();
             this.flow = flow;
             handle = (flow == null) ? null : flow.getTopicFilters().add(topicFilter);
         }
     }
 
+    /**
+     * Entries with the same subscription identifier, these are the topic filters of the same Subscribe message.
+     */
+    private static class IdentifiedEntries {
+
+        final int subscriptionIdentifier;
+        @Nullable TopicTreeEntry first;
+        int size;
+
+        IdentifiedEntries(final int subscriptionIdentifier) {
+            this.subscriptionIdentifier = subscriptionIdentifier;
+        }
+
+        void add(final @NotNull TopicTreeEntry entry) {
+            final TopicTreeEntry first = this.first;
+            entry.nextWithIdentifier = first;
+            if (first != null) {
+                first.prevWithIdentifier = entry;
+            }
+            this.first = entry;
+            size++;
+        }
+
+        void remove(final @NotNull TopicTreeEntry entry) {
+            final TopicTreeEntry prev = entry.prevWithIdentifier;
+            final TopicTreeEntry next = entry.nextWithIdentifier;
+            if (prev == null) {
+                first = next;
+            } else {
+                prev.nextWithIdentifier = next;
+            }
+            if (next != null) {
+                next.prevWithIdentifier = prev;
+            }
+            entry.prevWithIdentifier = null;
+            entry.nextWithIdentifier = null;
+            size--;
+        }
+    }
+
     private static class TopicTreeNode {
 
         private static final Index.@NotNull Spec<TopicTreeNode, MqttTopicLevel> INDEX_SPEC =
@@ -201,11 +348,13 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
                     multiLevelEntries = new NodeList<>();
                 }
                 multiLevelEntries.add(entry);
+                entry.entries = multiLevelEntries;
             } else {
                 if (entries == null) {
                     entries = new NodeList<>();
                 }
                 entries.add(entry);
+                entry.entries = entries;
             }
             return null;
         }
@@ -214,17 +363,18 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
                 final @NotNull MqttTopicIterator topicIterator,
                 final @NotNull MqttTopicFilterImpl topicFilter,
                 final int subscriptionIdentifier,
-                final boolean error) {
+                final boolean error,
+                final @NotNull MqttSubscribedPublishFlowTree tree) {
 
             if (topicIterator.hasNext()) {
                 return traverseNext(topicIterator);
             }
             if (topicIterator.hasMultiLevelWildcard()) {
-                if (suback(multiLevelEntries, topicFilter, subscriptionIdentifier, error)) {
+                if (suback(multiLevelEntries, topicFilter, subscriptionIdentifier, error, tree)) {
                     multiLevelEntries = null;
                 }
             } else {
-                if (suback(entries, topicFilter, subscriptionIdentifier, error)) {
+                if (suback(entries, topicFilter, subscriptionIdentifier, error, tree)) {
                     entries = null;
                 }
             }
@@ -236,7 +386,8 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
                 final @Nullable NodeList<TopicTreeEntry> entries,
                 final @NotNull MqttTopicFilterImpl topicFilter,
                 final int subscriptionIdentifier,
-                final boolean error) {
+                final boolean error,
+                final @NotNull MqttSubscribedPublishFlowTree tree) {
 
             if (entries != null) {
                 final byte[] topicFilterPrefix = topicFilter.getPrefix();
@@ -251,6 +402,7 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
                                 entry.flow.getTopicFilters().remove(entry.handle);
                             }
                             entries.remove(entry);
+                            tree.removeFromIdentifierIndex(entry);
                         }
                     }
                 }
@@ -260,17 +412,19 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
         }
 
         @Nullable TopicTreeNode unsubscribe(
-                final @NotNull MqttTopicIterator topicIterator, final @NotNull MqttTopicFilterImpl topicFilter) {
+                final @NotNull MqttTopicIterator topicIterator,
+                final @NotNull MqttTopicFilterImpl topicFilter,
+                final @NotNull MqttSubscribedPublishFlowTree tree) {
 
             if (topicIterator.hasNext()) {
                 return traverseNext(topicIterator);
             }
             if (topicIterator.hasMultiLevelWildcard()) {
-                if (unsubscribe(multiLevelEntries, topicFilter)) {
+                if (unsubscribe(multiLevelEntries, topicFilter, tree)) {
                     multiLevelEntries = null;
                 }
             } else {
-                if (unsubscribe(entries, topicFilter)) {
+                if (unsubscribe(entries, topicFilter, tree)) {
                     entries = null;
                 }
             }
@@ -279,7 +433,9 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
         }
 
         private static boolean unsubscribe(
-                final @Nullable NodeList<TopicTreeEntry> entries, final @NotNull MqttTopicFilterImpl topicFilter) {
+                final @Nullable NodeList<TopicTreeEntry> entries,
+                final @NotNull MqttTopicFilterImpl topicFilter,
+                final @NotNull MqttSubscribedPublishFlowTree tree) {
 
             if (entries != null) {
                 final byte[] topicFilterPrefix = topicFilter.getPrefix();
@@ -293,6 +449,7 @@ public class MqttSubscribedPublishFlowTree implements MqttSubscribedPublishFlows
                             }
                         }
                         entries.remove(entry);
+                        tree.removeFromIdentifierIndex(entry);
                     }
                 }
                 return entries.isEmpty();
@@ -35,15 +35,18 @@ public class MqttSubscribedPublishFlowable extends FlowableWithSingle<Mqtt5Publi
     private final @NotNull MqttSubscribe subscribe;
     private final @NotNull MqttClientConfig clientConfig;
     private final boolean manualAcknowledgement;
+    private final boolean conflate;
 
     public MqttSubscribedPublishFlowable(
             final @NotNull MqttSubscribe subscribe,
             final @NotNull MqttClientConfig clientConfig,
-            final boolean manualAcknowledgement) {
+            final boolean manualAcknowledgement,
+            final boolean conflate) {
 
         this.subscribe = subscribe;
         this.clientConfig = clientConfig;
         this.manualAcknowledgement = manualAcknowledgement;
+        this.conflate = conflate;
     }
 
     @Override
@@ -52,8 +55,8 @@ public class MqttSubscribedPublishFlowable extends FlowableWithSingle<Mqtt5Publi
         final MqttIncomingQosHandler incomingQosHandler = clientComponent.incomingQosHandler();
         final MqttSubscriptionHandler subscriptionHandler = clientComponent.subscriptionHandler();
 
-        final MqttSubscribedPublishFlow flow =
-                new MqttSubscribedPublishFlow(subscriber, clientConfig, incomingQosHandler, manualAcknowledgement);
+        final MqttSubscribedPublishFlow flow = new MqttSubscribedPublishFlow(subscriber, clientConfig,
+                incomingQosHandler, manualAcknowledgement, conflate);
         subscriber.onSubscribe(flow);
         subscriptionHandler.subscribe(subscribe, flow);
     }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBatchResult;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBatchResult;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.internal.disposables.EmptyDisposable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Publishes a batch of Publish messages with a single ack flow.
+ * <p>
+ * In contrast to publishing every message with its own {@link MqttAckSingle}, the whole batch is enqueued to the
+ * {@link MqttOutgoingQosHandler} at once and shares one flow (and so one event loop acquisition and one observer).
+ *
+ * @author Silvio Giebl
+ */
+public class MqttAckBatchSingle extends Single<Mqtt5PublishBatchResult> {
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull MqttPublish @NotNull [] publishes;
+
+    public MqttAckBatchSingle(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttPublish @NotNull [] publishes) {
+
+        this.clientConfig = clientConfig;
+        this.publishes = publishes;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull SingleObserver<? super Mqtt5PublishBatchResult> observer) {
+        if (publishes.length == 0) {
+            observer.onSubscribe(EmptyDisposable.INSTANCE);
+            observer.onSuccess(new MqttPublishBatchResult(new MqttPublishResult[0]));
+        } else if (clientConfig.getState().isConnectedOrReconnect()) {
+            final ClientComponent clientComponent = clientConfig.getClientComponent();
+            final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
+
+            final Flow flow = new Flow(observer, clientConfig, outgoingQosHandler, publishes);
+            final MqttPublishWithFlow[] publishWithFlows = new MqttPublishWithFlow[publishes.length];
+            for (int i = 0; i < publishes.length; i++) {
+                publishWithFlows[i] = new Flow.Entry(publishes[i], flow, i);
+            }
+            observer.onSubscribe(flow);
+            outgoingQosHandler.publish(publishWithFlows);
+        } else {
+            EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
+        }
+    }
+
+    private static class Flow extends MqttAckFlow implements Disposable {
+
+        private final @NotNull SingleObserver<? super Mqtt5PublishBatchResult> observer;
+        private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
+
+        private final @NotNull MqttPublish @NotNull [] publishes;
+        private final @Nullable MqttPublishResult @NotNull [] results;
+        private int acknowledged;
+
+        Flow(
+                final @NotNull SingleObserver<? super Mqtt5PublishBatchResult> observer,
+                final @NotNull MqttClientConfig clientConfig,
+                final @NotNull MqttOutgoingQosHandler outgoingQosHandler,
+                final @NotNull MqttPublish @NotNull [] publishes) {
+
+            super(clientConfig);
+            this.observer = observer;
+            this.outgoingQosHandler = outgoingQosHandler;
+            this.publishes = publishes;
+            results = new MqttPublishResult[publishes.length];
+            init();
+        }
+
+        @CallByThread("Netty EventLoop")
+        void onNext(final int index, final @NotNull MqttPublishResult result) {
+            results[index] = result;
+            if (result.acknowledged()) {
+                acknowledged(1);
+            }
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        void onNext(final @NotNull MqttPublishResult result) {
+            // only called for QoS 2 complete results which are emitted for the PUBREL and not for an Entry
+            final MqttPublish publish = result.getPublish();
+            for (int i = 0; i < publishes.length; i++) {
+                if ((results[i] == null) && (publishes[i] == publish)) {
+                    onNext(i, result);
+                    return;
+                }
+            }
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        void acknowledged(final long acknowledged) {
+            this.acknowledged += acknowledged;
+            if ((this.acknowledged == results.length) && setDone()) {
+                //noinspection NullableProblems all results are set when all publishes are acknowledged
+                observer.onSuccess(new MqttPublishBatchResult(results));
+            }
+            outgoingQosHandler.request(acknowledged);
+        }
+
+        private static class Entry extends MqttPublishWithFlow {
+
+            private final int index;
+
+            Entry(final @NotNull MqttPublish publish, final @NotNull Flow flow, final int index) {
+                super(publish, flow);
+                this.index = index;
+            }
+
+            @CallByThread("Netty EventLoop")
+            @Override
+            void onResult(final @NotNull MqttPublishResult result) {
+                ((Flow) getAckFlow()).onNext(index, result);
+            }
+        }
+    }
+}
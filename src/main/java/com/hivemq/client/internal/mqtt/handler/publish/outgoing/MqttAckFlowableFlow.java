@@ -18,11 +18,9 @@ package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
-import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPublishFlowableAckLink.LinkedFlow;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
 import io.reactivex.internal.util.BackpressureHelper;
-import io.reactivex.plugins.RxJavaPlugins;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscriber;
@@ -30,40 +28,31 @@ import org.reactivestreams.Subscription;
 
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author Silvio Giebl
  */
-class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable {
+class MqttAckFlowableFlow extends MqttAckLinkableFlow implements Subscription, Runnable {
 
     private static final int STATE_NO_NEW_REQUESTS = 0;
     private static final int STATE_NEW_REQUESTS = 1;
     private static final int STATE_BLOCKED = 2;
 
     private final @NotNull Subscriber<? super MqttPublishResult> subscriber;
-    private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
 
     private long requested;
     private final @NotNull AtomicLong newRequested = new AtomicLong();
     private final @NotNull AtomicInteger requestState = new AtomicInteger(STATE_NO_NEW_REQUESTS);
 
-    private volatile long acknowledged;
-    private final @NotNull AtomicLong published = new AtomicLong();
-    private @Nullable Throwable error; // synced over volatile published
-
     private final @NotNull ChunkedArrayQueue<MqttPublishResult> queue = new ChunkedArrayQueue<>(32);
 
-    private final @NotNull AtomicReference<@Nullable LinkedFlow> linkedFlow = new AtomicReference<>();
-
     MqttAckFlowableFlow(
             final @NotNull Subscriber<? super MqttPublishResult> subscriber,
             final @NotNull MqttClientConfig clientConfig,
             final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
 
-        super(clientConfig);
+        super(clientConfig, outgoingQosHandler);
         this.subscriber = subscriber;
-        this.outgoingQosHandler = outgoingQosHandler;
         init();
     }
 
@@ -111,40 +100,12 @@ class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable
         acknowledged(acknowledged);
     }
 
-    @CallByThread("Netty EventLoop")
     @Override
-    void acknowledged(final long newAcknowledged) {
-        if (newAcknowledged > 0) {
-            final long acknowledged = this.acknowledged + newAcknowledged;
-            this.acknowledged = acknowledged;
-            if ((acknowledged == published.get()) && setDone()) {
-                if (error != null) {
-                    subscriber.onError(error);
-                } else {
-                    subscriber.onComplete();
-                }
-            }
-            outgoingQosHandler.request(newAcknowledged);
-        }
-    }
-
-    void onComplete(final long published) {
-        if (!this.published.compareAndSet(0, published)) {
-            return;
-        }
-        if ((acknowledged == published) && setDone()) {
-            subscriber.onComplete();
-        }
-    }
-
-    void onError(final @NotNull Throwable error, final long published) {
-        this.error = error;
-        if (!this.published.compareAndSet(0, published)) {
-            RxJavaPlugins.onError(error);
-            return;
-        }
-        if ((acknowledged == published) && setDone()) {
+    void onDone(final @Nullable Throwable error) {
+        if (error != null) {
             subscriber.onError(error);
+        } else {
+            subscriber.onComplete();
         }
     }
 
@@ -189,19 +150,6 @@ class MqttAckFlowableFlow extends MqttAckFlow implements Subscription, Runnable
         if (requestState.get() == STATE_BLOCKED) {
             eventLoop.execute(this); // clear queue and request unconsumed amount from outgoingQosHandler
         }
-        cancelLink();
-    }
-
-    private void cancelLink() {
-        final LinkedFlow linkedFlow = this.linkedFlow.getAndSet(LinkedFlow.CANCELLED);
-        if (linkedFlow != null) {
-            linkedFlow.cancelLink();
-        }
-    }
-
-    void link(final @NotNull LinkedFlow linkedFlow) {
-        if (!this.linkedFlow.compareAndSet(null, linkedFlow)) {
-            linkedFlow.cancelLink();
-        }
+        super.onCancel();
     }
 }
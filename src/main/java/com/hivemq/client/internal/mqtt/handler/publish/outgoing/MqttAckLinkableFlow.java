@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPublishFlowableAckLink.LinkedFlow;
+import io.reactivex.plugins.RxJavaPlugins;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Ack flow for a stream of publishes that is linked to its source via a {@link MqttPublishFlowableAckLink}.
+ * <p>
+ * The flow is done when the source completed or errored and all published messages are acknowledged.
+ *
+ * @author Silvio Giebl
+ */
+abstract class MqttAckLinkableFlow extends MqttAckFlow {
+
+    private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
+
+    private volatile long acknowledged;
+    private final @NotNull AtomicLong published = new AtomicLong();
+    private @Nullable Throwable error; // synced over volatile published
+
+    private final @NotNull AtomicReference<@Nullable LinkedFlow> linkedFlow = new AtomicReference<>();
+
+    MqttAckLinkableFlow(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+
+        super(clientConfig);
+        this.outgoingQosHandler = outgoingQosHandler;
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    void acknowledged(final long newAcknowledged) {
+        if (newAcknowledged > 0) {
+            final long acknowledged = this.acknowledged + newAcknowledged;
+            this.acknowledged = acknowledged;
+            if ((acknowledged == published.get()) && setDone()) {
+                onDone(error);
+            }
+            outgoingQosHandler.request(newAcknowledged);
+        }
+    }
+
+    void onComplete(final long published) {
+        if (!this.published.compareAndSet(0, published)) {
+            return;
+        }
+        if ((acknowledged == published) && setDone()) {
+            onDone(null);
+        }
+    }
+
+    void onError(final @NotNull Throwable error, final long published) {
+        this.error = error;
+        if (!this.published.compareAndSet(0, published)) {
+            RxJavaPlugins.onError(error);
+            return;
+        }
+        if ((acknowledged == published) && setDone()) {
+            onDone(error);
+        }
+    }
+
+    abstract void onDone(@Nullable Throwable error);
+
+    @Override
+    protected void onCancel() {
+        cancelLink();
+    }
+
+    private void cancelLink() {
+        final LinkedFlow linkedFlow = this.linkedFlow.getAndSet(LinkedFlow.CANCELLED);
+        if (linkedFlow != null) {
+            linkedFlow.cancelLink();
+        }
+    }
+
+    void link(final @NotNull LinkedFlow linkedFlow) {
+        if (!this.linkedFlow.compareAndSet(null, linkedFlow)) {
+            linkedFlow.cancelLink();
+        }
+    }
+}
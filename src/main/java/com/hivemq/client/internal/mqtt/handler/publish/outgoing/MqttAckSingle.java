@@ -23,7 +23,6 @@ import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
-import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.reactivex.SingleObserver;
 import io.reactivex.disposables.Disposable;
@@ -49,11 +48,10 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
         if (clientConfig.getState().isConnectedOrReconnect()) {
             final ClientComponent clientComponent = clientConfig.getClientComponent();
             final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
-            final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
 
             final Flow flow = new Flow(observer, clientConfig, outgoingQosHandler);
             observer.onSubscribe(flow);
-            publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow)));
+            outgoingQosHandler.publish(new MqttPublishWithFlow(publish, flow));
         } else {
             EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
         }
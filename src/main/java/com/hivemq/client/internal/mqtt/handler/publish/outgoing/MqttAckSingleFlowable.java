@@ -50,11 +50,10 @@ public class MqttAckSingleFlowable extends Flowable<Mqtt5PublishResult> {
         if (clientConfig.getState().isConnectedOrReconnect()) {
             final ClientComponent clientComponent = clientConfig.getClientComponent();
             final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
-            final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
 
             final Flow flow = new Flow(subscriber, clientConfig, outgoingQosHandler);
             subscriber.onSubscribe(flow);
-            publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow)));
+            outgoingQosHandler.publish(new MqttPublishWithFlow(publish, flow));
         } else {
             EmptySubscription.error(MqttClientStateExceptions.notConnected(), subscriber);
         }
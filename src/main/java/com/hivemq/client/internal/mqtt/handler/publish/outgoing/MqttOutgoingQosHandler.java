@@ -21,14 +21,18 @@ import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPubRelWithFlow.MqttQos2CompleteWithFlow;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttPubRelWithFlow.MqttQos2IntermediateWithFlow;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubscriptionHandler;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
+import com.hivemq.client.internal.mqtt.message.publish.MqttFilePayload;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult.MqttQos1Result;
@@ -43,6 +47,7 @@ import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
 import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRelBuilder;
 import com.hivemq.client.internal.netty.ContextFuture;
 import com.hivemq.client.internal.netty.DefaultContextPromise;
+import com.hivemq.client.internal.rx.operators.FlowableRoundRobinMerge;
 import com.hivemq.client.internal.util.Ranges;
 import com.hivemq.client.internal.util.UnsignedDataTypes;
 import com.hivemq.client.internal.util.collections.IntIndex;
@@ -50,6 +55,10 @@ import com.hivemq.client.internal.util.collections.NodeList;
 import com.hivemq.client.mqtt.MqttClientState;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
+import com.hivemq.client.mqtt.exceptions.MessageExpiredException;
+import com.hivemq.client.mqtt.exceptions.PublishBufferOverflowException;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishBufferOverflowPolicy;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishStreamMergeMode;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5OutgoingQos2Interceptor;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubAckException;
@@ -60,6 +69,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
 import io.reactivex.Flowable;
 import io.reactivex.FlowableSubscriber;
+import org.jctools.queues.atomic.MpscUnboundedAtomicArrayQueue;
 import org.jctools.queues.atomic.SpscUnboundedAtomicArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -67,7 +77,13 @@ import org.reactivestreams.Subscription;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
 
@@ -82,8 +98,10 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttOutgoingQosHandler.class);
     private static final IntIndex.@NotNull Spec<MqttPubOrRelWithFlow> INDEX_SPEC =
             new IntIndex.Spec<>(x -> x.packetIdentifier);
-    private static final int MAX_CONCURRENT_PUBLISH_FLOWABLES = Integer.MAX_VALUE; // TODO configurable
     private static final boolean QOS_2_COMPLETE_RESULT = false; // TODO configurable
+    private static final int PUBLISH_REJECTED = 0;
+    private static final int PUBLISH_BUFFERED = 1;
+    private static final int PUBLISH_BUFFERED_OVERFLOW = 2;
 
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttPublishFlowables publishFlowables;
@@ -93,7 +111,19 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     //  org.jctools.queues.varhandle.SpscUnboundedVarHandleArrayQueue (VarHandle, faster than this variant).
     private final @NotNull SpscUnboundedAtomicArrayQueue<MqttPublishWithFlow> queue =
             new SpscUnboundedAtomicArrayQueue<>(32);
+    // single publishes enqueued directly by application threads, bypassing the merge of publishFlowables
+    private final @NotNull MpscUnboundedAtomicArrayQueue<MqttPublishWithFlow> ingress =
+            new MpscUnboundedAtomicArrayQueue<>(32);
     private final @NotNull AtomicInteger queuedCounter = new AtomicInteger();
+    // shared ack flow of single unacknowledged publishes, created lazily and released on disconnect
+    private final @NotNull AtomicReference<@Nullable MqttUnacknowledgedFlow> unacknowledgedFlow =
+            new AtomicReference<>();
+    private boolean pollIngressFirst;
+    private long ingressRequests;
+    // producers blocked by Mqtt5PublishBufferOverflowPolicy.BLOCK park until buffer space is released
+    private final @NotNull ConcurrentLinkedQueue<Thread> bufferWaiters = new ConcurrentLinkedQueue<>();
+    private final @NotNull AtomicBoolean trimScheduled = new AtomicBoolean();
+    private final @NotNull Runnable trimTask = this::trimBuffer;
     private final @NotNull NodeList<MqttPubOrRelWithFlow> pending = new NodeList<>();
     private final @NotNull Ranges packetIdentifiers = new Ranges(1, 0);
 
@@ -101,6 +131,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private final @NotNull IntIndex<MqttPubOrRelWithFlow> pendingIndex = new IntIndex<>(INDEX_SPEC);
     private @Nullable MqttPubOrRelWithFlow resendPending;
     private @Nullable MqttPublishWithFlow currentPending;
+    private @Nullable MqttPublishWithFlow currentUnacknowledged;
     private int sendMaximum;
     private @Nullable MqttTopicAliasMapping topicAliasMapping;
 
@@ -125,9 +156,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         sendMaximum = newSendMaximum;
         packetIdentifiers.resize(newSendMaximum);
         if (oldSendMaximum == 0) {
-            publishFlowables.flatMap(
-                            f -> f, true, MAX_CONCURRENT_PUBLISH_FLOWABLES, Math.min(newSendMaximum, Flowable.bufferSize()))
-                    .subscribe(this);
+            mergePublishFlowables(newSendMaximum).subscribe(this);
             assert subscription != null;
             subscription.request(newSendMaximum);
         } else {
@@ -151,6 +180,16 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         super.onSessionStartOrResume(connectionConfig, eventLoop);
     }
 
+    private @NotNull Flowable<MqttPublishWithFlow> mergePublishFlowables(final int sendMaximum) {
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        final int maxConcurrency = advancedConfig.getMaxConcurrentPublishStreams();
+        final int prefetch = Math.min(sendMaximum, advancedConfig.getPublishStreamPrefetch());
+        if (advancedConfig.getPublishStreamMergeMode() == Mqtt5PublishStreamMergeMode.ROUND_ROBIN) {
+            return new FlowableRoundRobinMerge<>(publishFlowables, maxConcurrency, prefetch);
+        }
+        return publishFlowables.flatMap(f -> f, true, maxConcurrency, prefetch);
+    }
+
     @Override
     public void onSubscribe(final @NotNull Subscription subscription) {
         this.subscription = subscription;
@@ -158,12 +197,249 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
     @Override
     public void onNext(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        if (clientConfig.getAdvancedConfig().isEnforceMessageExpiry()) {
+            publishWithFlow.recordEnqueued();
+        }
         queue.offer(publishWithFlow);
         if (queuedCounter.getAndIncrement() == 0) {
             publishWithFlow.getAckFlow().getEventLoop().execute(this);
         }
     }
 
+    /**
+     * Enqueues a single Publish message without merging it into the publish flowables.
+     * <p>
+     * This is the lock-free path for single publishes: the Publish message is offered to a multi-producer queue that
+     * is drained by the event loop. The send maximum is still respected when the queue is drained. As the Publish
+     * message does not consume a request of the merged publish flowables, the request that its ack flow returns when
+     * it is done is not forwarded to the subscription.
+     * <p>
+     * The Publish message is accounted in the publish buffer whose limits and overflow policy are configured in the
+     * {@link MqttClientAdvancedConfig}.
+     *
+     * @param publishWithFlow the Publish message with its ack flow.
+     */
+    void publish(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final int buffered = bufferPublish(publishWithFlow);
+        if (buffered != PUBLISH_REJECTED) {
+            if (clientConfig.getAdvancedConfig().isEnforceMessageExpiry()) {
+                publishWithFlow.recordEnqueued();
+            }
+            ingress.offer(publishWithFlow);
+            final EventLoop eventLoop = publishWithFlow.getAckFlow().getEventLoop();
+            if (queuedCounter.getAndIncrement() == 0) {
+                eventLoop.execute(this);
+            }
+            if (buffered == PUBLISH_BUFFERED_OVERFLOW) {
+                scheduleTrimBuffer(eventLoop);
+            }
+        }
+    }
+
+    /**
+     * Enqueues a single unacknowledged (fire and forget) Publish message, see {@link #publish(MqttPublishWithFlow)}.
+     * <p>
+     * All single unacknowledged Publish messages share one ack flow, so that neither a flow is allocated nor the event
+     * loop is acquired and released per Publish message. The shared flow is released on disconnect, as it holds the
+     * event loop of the client.
+     *
+     * @param publish the Publish message.
+     */
+    void publishUnacknowledged(final @NotNull MqttPublish publish) {
+        MqttUnacknowledgedFlow flow;
+        while ((flow = unacknowledgedFlow.get()) == null) {
+            final MqttUnacknowledgedFlow newFlow = new MqttUnacknowledgedFlow(null, clientConfig, this);
+            if (unacknowledgedFlow.compareAndSet(null, newFlow)) {
+                flow = newFlow;
+                break;
+            }
+            newFlow.cancel(); // releases the event loop again
+        }
+        publish(new MqttPublishWithFlow(publish, flow));
+    }
+
+    /**
+     * Enqueues multiple Publish messages without merging them into the publish flowables, see {@link
+     * #publish(MqttPublishWithFlow)}.
+     *
+     * @param publishWithFlows the Publish messages with their ack flows, must not be empty and must all use the same
+     *                         event loop.
+     */
+    void publish(final @NotNull MqttPublishWithFlow @NotNull [] publishWithFlows) {
+        final boolean enforceMessageExpiry = clientConfig.getAdvancedConfig().isEnforceMessageExpiry();
+        int enqueued = 0;
+        boolean overflow = false;
+        for (final MqttPublishWithFlow publishWithFlow : publishWithFlows) {
+            final int buffered = bufferPublish(publishWithFlow);
+            if (buffered != PUBLISH_REJECTED) {
+                if (enforceMessageExpiry) {
+                    publishWithFlow.recordEnqueued();
+                }
+                ingress.offer(publishWithFlow);
+                enqueued++;
+                overflow |= buffered == PUBLISH_BUFFERED_OVERFLOW;
+            }
+        }
+        final EventLoop eventLoop = publishWithFlows[0].getAckFlow().getEventLoop();
+        if ((enqueued > 0) && (queuedCounter.getAndAdd(enqueued) == 0)) {
+            eventLoop.execute(this);
+        }
+        if (overflow) {
+            scheduleTrimBuffer(eventLoop);
+        }
+    }
+
+    private int bufferPublish(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        if (!advancedConfig.isPublishBufferLimited()) {
+            return PUBLISH_BUFFERED;
+        }
+        final MqttClientStatisticsImpl statistics = clientConfig.getStatistics();
+        final long bytes = getBufferedBytes(publishWithFlow.getPublish());
+        final int maxMessages = advancedConfig.getPublishBufferMaxMessages();
+        final long maxBytes = advancedConfig.getPublishBufferMaxBytes();
+        if (statistics.tryAddBufferedPublish(bytes, maxMessages, maxBytes)) {
+            return PUBLISH_BUFFERED;
+        }
+        if (bytes > maxBytes) {
+            statistics.addRejectedPublishes(1);
+            failBuffer(publishWithFlow,
+                    "Publish message was rejected as its payload is larger than the publish buffer.");
+            return PUBLISH_REJECTED;
+        }
+        final Mqtt5PublishBufferOverflowPolicy overflowPolicy = advancedConfig.getPublishBufferOverflowPolicy();
+        switch (overflowPolicy) {
+            case DROP_NEWEST:
+                statistics.addDroppedPublishes(1);
+                failBuffer(publishWithFlow, "Publish message was dropped as the publish buffer is full.");
+                return PUBLISH_REJECTED;
+            case DROP_OLDEST:
+                statistics.addBufferedPublish(bytes);
+                return PUBLISH_BUFFERED_OVERFLOW;
+            case BLOCK:
+                if (!publishWithFlow.getAckFlow().getEventLoop().inEventLoop()) {
+                    if (awaitBuffer(statistics, bytes, maxMessages, maxBytes,
+                            advancedConfig.getPublishBufferBlockTimeoutMs())) {
+                        if (clientConfig.getState().isConnectedOrReconnect()) {
+                            return PUBLISH_BUFFERED;
+                        }
+                        // the session ended while blocking, the Publish message must not wait for a later connect
+                        statistics.removeBufferedPublish(bytes);
+                        wakeBufferWaiters();
+                    }
+                    if (!clientConfig.getState().isConnectedOrReconnect()) {
+                        failBuffer(publishWithFlow, MqttClientStateExceptions.notConnected());
+                        return PUBLISH_REJECTED;
+                    }
+                }
+                // fallthrough: rejected if blocking is not possible or timed out
+            default:
+                statistics.addRejectedPublishes(1);
+                failBuffer(publishWithFlow, "Publish message was rejected as the publish buffer is full.");
+                return PUBLISH_REJECTED;
+        }
+    }
+
+    /**
+     * Parks the calling thread until the given Publish message fits into the publish buffer. Parking instead of waiting
+     * on a monitor does not pin virtual threads to their carrier thread.
+     *
+     * @param timeoutMs the maximum time to block in milliseconds, 0 for no timeout.
+     * @return whether the Publish message was added to the publish buffer, <code>false</code> if the timeout elapsed,
+     *         the calling thread was interrupted or the client is not connected or reconnecting anymore.
+     */
+    private boolean awaitBuffer(
+            final @NotNull MqttClientStatisticsImpl statistics,
+            final long bytes,
+            final int maxMessages,
+            final long maxBytes,
+            final long timeoutMs) {
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        final Thread thread = Thread.currentThread();
+        while (true) {
+            bufferWaiters.offer(thread);
+            // checked after registering so that buffer space that is released concurrently can not be missed
+            if (statistics.tryAddBufferedPublish(bytes, maxMessages, maxBytes)) {
+                bufferWaiters.remove(thread);
+                return true;
+            }
+            if (!clientConfig.getState().isConnectedOrReconnect()) {
+                bufferWaiters.remove(thread);
+                return false;
+            }
+            if (timeoutMs == 0) {
+                LockSupport.park(this);
+            } else {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    bufferWaiters.remove(thread);
+                    return false;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+            bufferWaiters.remove(thread);
+            if (thread.isInterrupted()) {
+                return false;
+            }
+        }
+    }
+
+    private void wakeBufferWaiters() {
+        for (final Thread waiter : bufferWaiters) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    private void failBuffer(final @NotNull MqttPublishWithFlow publishWithFlow, final @NotNull String message) {
+        failBuffer(publishWithFlow, new PublishBufferOverflowException(message));
+    }
+
+    private void failBuffer(final @NotNull MqttPublishWithFlow publishWithFlow, final @NotNull Throwable cause) {
+        publishWithFlow.getAckFlow().getEventLoop().execute(() -> {
+            // the ack flow returns a request although the Publish message was never enqueued
+            ingressRequests++;
+            publishWithFlow.onResult(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+        });
+    }
+
+    private void scheduleTrimBuffer(final @NotNull EventLoop eventLoop) {
+        if (!trimScheduled.getAndSet(true)) {
+            eventLoop.execute(trimTask);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void trimBuffer() {
+        trimScheduled.set(false);
+        final MqttClientAdvancedConfig advancedConfig = clientConfig.getAdvancedConfig();
+        final MqttClientStatisticsImpl statistics = clientConfig.getStatistics();
+        final int maxMessages = advancedConfig.getPublishBufferMaxMessages();
+        final long maxBytes = advancedConfig.getPublishBufferMaxBytes();
+        int dropped = 0;
+        while ((statistics.getBufferedPublishCount() > maxMessages) ||
+                (statistics.getBufferedPublishBytes() > maxBytes)) {
+            final MqttPublishWithFlow publishWithFlow = pollIngress();
+            if (publishWithFlow == null) {
+                break;
+            }
+            dropped++;
+            final PublishBufferOverflowException cause =
+                    new PublishBufferOverflowException("Publish message was dropped as the publish buffer overflowed.");
+            publishWithFlow.onResult(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+        }
+        if (dropped > 0) {
+            statistics.addDroppedPublishes(dropped);
+            queuedCounter.addAndGet(-dropped);
+        }
+    }
+
+    private static long getBufferedBytes(final @NotNull MqttPublish publish) {
+        final ByteBuffer payload = publish.getRawPayload();
+        final MqttFilePayload filePayload = publish.getRawFilePayload();
+        return ((payload == null) ? 0 : payload.remaining()) + ((filePayload == null) ? 0 : filePayload.getLength());
+    }
+
     @Override
     public void onComplete() {
         LOGGER.error("MqttPublishFlowables is global and must never complete. This must not happen and is a bug.");
@@ -176,6 +452,19 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
     @CallByThread("Netty EventLoop")
     void request(final long n) {
+        final long ingressRequests = this.ingressRequests;
+        if (ingressRequests == 0) {
+            requestSubscription(n);
+        } else if (n > ingressRequests) {
+            this.ingressRequests = 0;
+            requestSubscription(n - ingressRequests);
+        } else {
+            this.ingressRequests -= n;
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void requestSubscription(final long n) {
         assert subscription != null;
 
         final int shrinkRequests = this.shrinkRequests;
@@ -211,23 +500,56 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             resend(ctx, pubOrRelWithFlow);
             written++;
         }
+        final boolean enforceMessageExpiry = clientConfig.getAdvancedConfig().isEnforceMessageExpiry();
+        final long nowNanos = enforceMessageExpiry ? System.nanoTime() : 0;
         int dequeued = 0;
         while ((written < maxWrites) && channel.isWritable()) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
+            final MqttPublishWithFlow publishWithFlow = pollQueued();
             if (publishWithFlow == null) {
                 break;
             }
-            writePublish(ctx, publishWithFlow);
-            written++;
             dequeued++;
+            if (!enforceMessageExpiry || !expire(publishWithFlow, nowNanos)) {
+                writePublish(ctx, publishWithFlow, nowNanos, enforceMessageExpiry);
+                written++;
+            }
         }
+        boolean wasWritable = true;
         if (written > 0) {
-            final boolean wasWritable = channel.isWritable();
+            wasWritable = channel.isWritable();
             ctx.flush();
-            if ((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0) && wasWritable) {
-                channel.eventLoop().execute(this);
+        }
+        if ((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0) && wasWritable) {
+            channel.eventLoop().execute(this);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private @Nullable MqttPublishWithFlow pollQueued() {
+        // alternate between both queues, so neither the publish flowables nor single publishes can starve the other
+        final boolean ingressFirst = pollIngressFirst;
+        pollIngressFirst = !ingressFirst;
+        if (ingressFirst) {
+            final MqttPublishWithFlow publishWithFlow = pollIngress();
+            return (publishWithFlow == null) ? queue.poll() : publishWithFlow;
+        }
+        final MqttPublishWithFlow publishWithFlow = queue.poll();
+        return (publishWithFlow == null) ? pollIngress() : publishWithFlow;
+    }
+
+    @CallByThread("Netty EventLoop")
+    private @Nullable MqttPublishWithFlow pollIngress() {
+        final MqttPublishWithFlow publishWithFlow = ingress.poll();
+        if (publishWithFlow != null) {
+            ingressRequests++;
+            if (clientConfig.getAdvancedConfig().isPublishBufferLimited()) {
+                clientConfig.getStatistics().removeBufferedPublish(getBufferedBytes(publishWithFlow.getPublish()));
+                if (!bufferWaiters.isEmpty()) {
+                    wakeBufferWaiters();
+                }
             }
         }
+        return publishWithFlow;
     }
 
     @Override
@@ -254,40 +576,93 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         }
     }
 
+    /**
+     * Fails the given queued Publish message if its message expiry interval elapsed while it was queued.
+     *
+     * @param publishWithFlow the Publish message with its ack flow.
+     * @param nowNanos        the current {@link System#nanoTime()}.
+     * @return whether the Publish message expired.
+     */
+    private boolean expire(final @NotNull MqttPublishWithFlow publishWithFlow, final long nowNanos) {
+        if (!publishWithFlow.isExpired(nowNanos)) {
+            return false;
+        }
+        clientConfig.getStatistics().addExpiredOutgoingPublishes(1);
+        publishWithFlow.onResult(new MqttPublishResult(publishWithFlow.getPublish(),
+                new MessageExpiredException("Publish message expired before it could be sent.")));
+        return true;
+    }
+
+    /**
+     * Writes the given queued Publish message. If message expiry is enforced, the Publish message is written with its
+     * remaining message expiry interval.
+     *
+     * @param ctx                  the channel handler context.
+     * @param publishWithFlow      the Publish message with its ack flow.
+     * @param nowNanos             the current {@link System#nanoTime()} if message expiry is enforced.
+     * @param enforceMessageExpiry whether message expiry is enforced.
+     */
     private void writePublish(
             final @NotNull ChannelHandlerContext ctx,
-            final @NotNull MqttPublishWithFlow publishWithFlow) {
-        if (publishWithFlow.getPublish().getQos() == MqttQos.AT_MOST_ONCE) {
-            writeQos0Publish(ctx, publishWithFlow);
+            final @NotNull MqttPublishWithFlow publishWithFlow,
+            final long nowNanos,
+            final boolean enforceMessageExpiry) {
+        MqttPublish publish = publishWithFlow.getPublish();
+        if (enforceMessageExpiry) {
+            final long remainingMessageExpiryInterval = publishWithFlow.getRemainingMessageExpiryInterval(nowNanos);
+            if (remainingMessageExpiryInterval != publish.getRawMessageExpiryInterval()) {
+                publish = publish.withMessageExpiryInterval(remainingMessageExpiryInterval);
+            }
+        }
+        if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
+            writeQos0Publish(ctx, publish, publishWithFlow);
         } else {
-            writeQos1Or2Publish(ctx, publishWithFlow);
+            writeQos1Or2Publish(ctx, publish, publishWithFlow);
         }
     }
 
     private void writeQos0Publish(
             final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublish publish,
             final @NotNull MqttPublishWithFlow publishWithFlow) {
-        ctx.write(
-                publishWithFlow.getPublish().createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping),
+        final MqttAckFlow ackFlow = publishWithFlow.getAckFlow();
+        if (ackFlow instanceof MqttUnacknowledgedFlow) {
+            writeUnacknowledgedQos0Publish(ctx, publish, publishWithFlow, (MqttUnacknowledgedFlow) ackFlow);
+            return;
+        }
+        ctx.write(publish.createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping),
                 new DefaultContextPromise<>(ctx.channel(), publishWithFlow)).addListener(this);
     }
 
+    private void writeUnacknowledgedQos0Publish(
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublish publish,
+            final @NotNull MqttPublishWithFlow publishWithFlow,
+            final @NotNull MqttUnacknowledgedFlow ackFlow) {
+        currentUnacknowledged = publishWithFlow;
+        ctx.write(publish.createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping), ctx.voidPromise());
+        // exceptionCaught resets currentUnacknowledged if the write failed
+        final boolean success = currentUnacknowledged != null;
+        currentUnacknowledged = null;
+        ackFlow.onWritten(success);
+    }
+
     @Override
     public void operationComplete(final @NotNull ContextFuture<? extends MqttPublishWithFlow> future) {
         final MqttPublishWithFlow publishWithFlow = future.getContext();
         final MqttPublish publish = publishWithFlow.getPublish();
-        final MqttAckFlow ackFlow = publishWithFlow.getAckFlow();
         final Throwable cause = future.cause();
         if (!(cause instanceof IOException)) {
-            ackFlow.onNext(new MqttPublishResult(publish, cause));
+            publishWithFlow.onResult(new MqttPublishResult(publish, cause));
         } else {
-            ackFlow.onNext(new MqttPublishResult(publish, new ConnectionClosedException(cause)));
+            publishWithFlow.onResult(new MqttPublishResult(publish, new ConnectionClosedException(cause)));
             future.channel().pipeline().fireExceptionCaught(cause);
         }
     }
 
     private void writeQos1Or2Publish(
             final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublish publish,
             final @NotNull MqttPublishWithFlow publishWithFlow) {
         final int packetIdentifier = packetIdentifiers.getId();
         if (packetIdentifier < 0) {
@@ -299,8 +674,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         pending.add(publishWithFlow);
 
         writeQos1Or2Publish(
-                ctx, publishWithFlow.getPublish().createStateful(packetIdentifier, false, topicAliasMapping),
-                publishWithFlow);
+                ctx, publish.createStateful(packetIdentifier, false, topicAliasMapping), publishWithFlow);
     }
 
     private void writeQos1Or2Publish(
@@ -352,7 +726,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
         final Throwable t = (pubAck.getReasonCode().isError()) ?
                 new Mqtt5PubAckException(pubAck, "PUBACK contained an Error Code") : null;
-        publishWithFlow.getAckFlow().onNext(new MqttQos1Result(publish, t, pubAck));
+        publishWithFlow.onResult(new MqttQos1Result(publish, t, pubAck));
     }
 
     private void readPubRec(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRec pubRec) {
@@ -382,7 +756,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             onPubRecError(publish, pubRec);
 
             final Throwable t = new Mqtt5PubRecException(pubRec, "PUBREC contained an Error Code");
-            ackFlow.onNext(new MqttQos2Result(publish, t, pubRec));
+            publishWithFlow.onResult(new MqttQos2Result(publish, t, pubRec));
         } else {
             final MqttPubRel pubRel = buildPubRel(publish, pubRec);
 
@@ -392,7 +766,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
                 final MqttQos2IntermediateWithFlow pubRelWithFlow = new MqttQos2IntermediateWithFlow(pubRel, ackFlow);
                 replacePending(publishWithFlow, pubRelWithFlow);
 
-                ackFlow.onNext(new MqttQos2IntermediateResult(publish, pubRec, pubRelWithFlow));
+                publishWithFlow.onResult(new MqttQos2IntermediateResult(publish, pubRec, pubRelWithFlow));
             }
 
             writePubRel(ctx, pubRel);
@@ -459,16 +833,22 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             packetIdentifiers.resize(sendMaximum);
         }
 
-        if (resendPending != null) {
+        // run stops draining the queues while all packet identifiers are in use, so it is restarted here
+        if ((resendPending != null) || (queuedCounter.get() > 0)) {
             ctx.channel().eventLoop().execute(this);
         }
     }
 
     @Override
     public void exceptionCaught(final @NotNull ChannelHandlerContext ctx, final @NotNull Throwable cause) {
-        if (!(cause instanceof IOException) && (currentPending != null)) {
+        if (currentUnacknowledged != null) {
+            currentUnacknowledged = null; // marks the write of the unacknowledged publish as failed
+            if (cause instanceof IOException) {
+                ctx.fireExceptionCaught(cause);
+            }
+        } else if (!(cause instanceof IOException) && (currentPending != null)) {
             pendingIndex.remove(currentPending.packetIdentifier);
-            currentPending.getAckFlow().onNext(new MqttPublishResult(currentPending.getPublish(), cause));
+            currentPending.onResult(new MqttPublishResult(currentPending.getPublish(), cause));
             completePending(ctx, currentPending);
             currentPending = null;
         } else {
@@ -476,9 +856,25 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         }
     }
 
+    @Override
+    protected void onDisconnectEvent(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttDisconnectEvent disconnectEvent) {
+
+        releaseUnacknowledgedFlow();
+    }
+
+    private void releaseUnacknowledgedFlow() {
+        final MqttUnacknowledgedFlow flow = unacknowledgedFlow.getAndSet(null);
+        if (flow != null) {
+            // publishes that still reference the flow are counted and acknowledged as before
+            flow.cancel();
+        }
+    }
+
     @Override
     public void onSessionEnd(final @NotNull Throwable cause) {
         super.onSessionEnd(cause);
+        releaseUnacknowledgedFlow();
 
         pendingIndex.clear();
         resendPending = null;
@@ -491,7 +887,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             packetIdentifiers.returnId(current.packetIdentifier);
             if (current instanceof MqttPublishWithFlow) {
                 final MqttPublishWithFlow publishWithFlow = (MqttPublishWithFlow) current;
-                current.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+                publishWithFlow.onResult(new MqttPublishResult(publishWithFlow.getPublish(), cause));
             } else if (QOS_2_COMPLETE_RESULT) {
                 final MqttQos2CompleteWithFlow complete = (MqttQos2CompleteWithFlow) current;
                 current.getAckFlow().onNext(new MqttQos2Result(complete.getPublish(), cause, complete.getPubRec()));
@@ -514,7 +910,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private void clearQueued(final @NotNull Throwable cause) {
         int polled = 0;
         while (true) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
+            final MqttPublishWithFlow publishWithFlow = pollQueued();
             if (publishWithFlow == null) {
                 if (queuedCounter.addAndGet(-polled) == 0) {
                     break;
@@ -523,7 +919,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
                     continue;
                 }
             }
-            publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+            publishWithFlow.onResult(new MqttPublishResult(publishWithFlow.getPublish(), cause));
             polled++;
         }
     }
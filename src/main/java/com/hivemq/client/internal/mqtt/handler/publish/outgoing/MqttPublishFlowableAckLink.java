@@ -35,10 +35,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
 
     private final @NotNull Flowable<MqttPublish> source;
-    private final @NotNull MqttAckFlowableFlow ackFlow;
+    private final @NotNull MqttAckLinkableFlow ackFlow;
 
     MqttPublishFlowableAckLink(
-            final @NotNull Flowable<MqttPublish> source, final @NotNull MqttAckFlowableFlow ackFlow) {
+            final @NotNull Flowable<MqttPublish> source, final @NotNull MqttAckLinkableFlow ackFlow) {
 
         this.source = source;
         this.ackFlow = ackFlow;
@@ -66,7 +66,7 @@ public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
         static final int STATE_CANCELLED = 3;
 
         private final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber;
-        private final @NotNull MqttAckFlowableFlow ackFlow;
+        private final @NotNull MqttAckLinkableFlow ackFlow;
         private @Nullable Subscription subscription;
         private final @NotNull AtomicInteger state = new AtomicInteger(STATE_NONE);
         private final @NotNull AtomicInteger requestState = new AtomicInteger(STATE_NONE);
@@ -74,7 +74,7 @@ public class MqttPublishFlowableAckLink extends Flowable<MqttPublishWithFlow> {
 
         AckLinkSubscriber(
                 final @NotNull Subscriber<? super MqttPublishWithFlow> subscriber,
-                final @NotNull MqttAckFlowableFlow ackFlow) {
+                final @NotNull MqttAckLinkableFlow ackFlow) {
 
             this.subscriber = subscriber;
             this.ackFlow = ackFlow;
@@ -16,15 +16,20 @@
 
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
+import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author Silvio Giebl
  */
 class MqttPublishWithFlow extends MqttPubOrRelWithFlow {
 
     private final @NotNull MqttPublish publish;
+    private long enqueuedNanos; // only recorded if message expiry is enforced and the publish has an expiry interval
 
     MqttPublishWithFlow(final @NotNull MqttPublish publish, final @NotNull MqttAckFlow ackFlow) {
         super(ackFlow);
@@ -34,4 +39,46 @@ class MqttPublishWithFlow extends MqttPubOrRelWithFlow {
     @NotNull MqttPublish getPublish() {
         return publish;
     }
+
+    /**
+     * Records the time when the publish is enqueued, must only be called if message expiry is enforced.
+     */
+    void recordEnqueued() {
+        if (publish.getRawMessageExpiryInterval() != MqttPublish.NO_MESSAGE_EXPIRY) {
+            enqueuedNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Checks whether the publish waited longer than its message expiry interval at the given time. A message expiry
+     * interval of <code>0</code> means less than one second, so such a publish only expires after it waited one second.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}.
+     * @return whether the publish expired.
+     */
+    boolean isExpired(final long nowNanos) {
+        final long messageExpiryInterval = publish.getRawMessageExpiryInterval();
+        return (messageExpiryInterval != MqttPublish.NO_MESSAGE_EXPIRY) &&
+                (nowNanos - enqueuedNanos > TimeUnit.SECONDS.toNanos(Math.max(messageExpiryInterval, 1)));
+    }
+
+    /**
+     * Calculates the remaining message expiry interval of the not expired publish at the given time.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}.
+     * @return the remaining message expiry interval in seconds rounded down, {@link MqttPublish#NO_MESSAGE_EXPIRY} if
+     *         the publish does not expire.
+     */
+    long getRemainingMessageExpiryInterval(final long nowNanos) {
+        final long messageExpiryInterval = publish.getRawMessageExpiryInterval();
+        if (messageExpiryInterval == MqttPublish.NO_MESSAGE_EXPIRY) {
+            return MqttPublish.NO_MESSAGE_EXPIRY;
+        }
+        return Math.max(messageExpiryInterval - TimeUnit.NANOSECONDS.toSeconds(nowNanos - enqueuedNanos), 0);
+    }
+
+    @CallByThread("Netty EventLoop")
+    void onResult(final @NotNull MqttPublishResult result) {
+        getAckFlow().onNext(result);
+    }
 }
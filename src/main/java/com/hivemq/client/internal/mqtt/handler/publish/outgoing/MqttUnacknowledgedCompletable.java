@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import io.reactivex.Completable;
+import io.reactivex.CompletableObserver;
+import io.reactivex.Flowable;
+import io.reactivex.internal.disposables.EmptyDisposable;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Publishes a stream of Publish messages without results (fire and forget).
+ * <p>
+ * Completes when the source completed and all its Publish messages are sent (QoS 0) or acknowledged (QoS 1 and 2).
+ * Failures of individual Publish messages are only counted in the client statistics.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttUnacknowledgedCompletable extends Completable {
+
+    public static void publish(final @NotNull MqttClientConfig clientConfig, final @NotNull MqttPublish publish) {
+        if (clientConfig.getState().isConnectedOrReconnect()) {
+            clientConfig.getClientComponent().outgoingQosHandler().publishUnacknowledged(publish);
+        } else {
+            clientConfig.getStatistics().addUnacknowledgedPublishFailures(1);
+        }
+    }
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull Flowable<MqttPublish> publishFlowable;
+
+    public MqttUnacknowledgedCompletable(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull Flowable<MqttPublish> publishFlowable) {
+
+        this.clientConfig = clientConfig;
+        this.publishFlowable = publishFlowable;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull CompletableObserver observer) {
+        if (clientConfig.getState().isConnectedOrReconnect()) {
+            final ClientComponent clientComponent = clientConfig.getClientComponent();
+            final MqttOutgoingQosHandler outgoingQosHandler = clientComponent.outgoingQosHandler();
+            final MqttPublishFlowables publishFlowables = outgoingQosHandler.getPublishFlowables();
+
+            final MqttUnacknowledgedFlow flow = new MqttUnacknowledgedFlow(observer, clientConfig, outgoingQosHandler);
+            observer.onSubscribe(flow);
+            publishFlowables.add(new MqttPublishFlowableAckLink(publishFlowable, flow));
+        } else {
+            EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
+        }
+    }
+}
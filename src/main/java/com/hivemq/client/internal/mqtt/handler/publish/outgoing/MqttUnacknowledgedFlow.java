@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import io.reactivex.CompletableObserver;
+import io.reactivex.disposables.Disposable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Ack flow for unacknowledged (fire and forget) publishes.
+ * <p>
+ * No results are emitted, outcomes are only counted in the {@link MqttClientStatisticsImpl client statistics}. QoS 0
+ * publishes of this flow are written with a void promise, so neither a promise nor a result is allocated for them.
+ * <p>
+ * Single unacknowledged publishes share one long-lived flow without observer per client, see {@link
+ * MqttOutgoingQosHandler#publishUnacknowledged(com.hivemq.client.internal.mqtt.message.publish.MqttPublish)}.
+ *
+ * @author Silvio Giebl
+ */
+class MqttUnacknowledgedFlow extends MqttAckLinkableFlow implements Disposable {
+
+    private final @Nullable CompletableObserver observer;
+    private final @NotNull MqttClientStatisticsImpl statistics;
+
+    MqttUnacknowledgedFlow(
+            final @Nullable CompletableObserver observer,
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+
+        super(clientConfig, outgoingQosHandler);
+        this.observer = observer;
+        statistics = clientConfig.getStatistics();
+        init();
+    }
+
+    @CallByThread("Netty EventLoop")
+    @Override
+    void onNext(final @NotNull MqttPublishResult result) {
+        if (result.getRawError() == null) {
+            statistics.addUnacknowledgedPublishes(1);
+        } else {
+            statistics.addUnacknowledgedPublishFailures(1);
+        }
+        if (result.acknowledged()) {
+            acknowledged(1);
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    void onWritten(final boolean success) {
+        if (success) {
+            statistics.addUnacknowledgedPublishes(1);
+        } else {
+            statistics.addUnacknowledgedPublishFailures(1);
+        }
+        acknowledged(1);
+    }
+
+    @Override
+    void onDone(final @Nullable Throwable error) {
+        if (observer != null) {
+            if (error == null) {
+                observer.onComplete();
+            } else {
+                observer.onError(error);
+            }
+        }
+    }
+}
@@ -16,16 +16,20 @@
 
 package com.hivemq.client.internal.mqtt.ioc;
 
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.handler.MqttChannelInitializer;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttAuthHandler;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttConnectAuthHandler;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttDisconnectOnAuthHandler;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
-import com.hivemq.client.internal.netty.NettyEventLoopProvider;
+import com.hivemq.client.internal.netty.NettyByteBufAllocatorProvider;
 import dagger.Lazy;
 import dagger.Module;
 import dagger.Provides;
 import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.ChannelOption;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -35,8 +39,15 @@ import org.jetbrains.annotations.NotNull;
 abstract class ConnectionModule {
 
     @Provides
-    static @NotNull Bootstrap provideBootstrap(final @NotNull MqttChannelInitializer channelInitializer) {
-        return new Bootstrap().channelFactory(NettyEventLoopProvider.INSTANCE.getChannelFactory())
+    static @NotNull Bootstrap provideBootstrap(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttChannelInitializer channelInitializer) {
+
+        final ByteBufAllocator allocator = NettyByteBufAllocatorProvider.INSTANCE.getAllocator(
+                clientConfig.getExecutorConfig().getRawBufferAllocatorConfig());
+        final ChannelFactory<?> channelFactory =
+                clientConfig.getEventLoopProvider().getChannelFactory(clientConfig.getCurrentTransportConfig());
+        return new Bootstrap().channelFactory(channelFactory)
+                .option(ChannelOption.ALLOCATOR, allocator)
                 .handler(channelInitializer);
     }
 
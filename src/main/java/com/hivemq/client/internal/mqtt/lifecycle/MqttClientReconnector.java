@@ -48,6 +48,7 @@ public class MqttClientReconnector implements Mqtt5ClientReconnector {
     private long delayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DELAY_MS);
     private @NotNull MqttClientTransportConfigImpl transportConfig;
     private @NotNull MqttConnect connect;
+    private final boolean domainSocketSupported;
 
     private boolean afterOnDisconnected;
 
@@ -55,12 +56,14 @@ public class MqttClientReconnector implements Mqtt5ClientReconnector {
             final @NotNull EventLoop eventLoop,
             final int attempts,
             final @NotNull MqttConnect connect,
-            final @NotNull MqttClientTransportConfigImpl transportConfig) {
+            final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final boolean domainSocketSupported) {
 
         this.eventLoop = eventLoop;
         this.attempts = attempts;
         this.connect = connect;
         this.transportConfig = transportConfig;
+        this.domainSocketSupported = domainSocketSupported;
     }
 
     @Override
@@ -158,8 +161,14 @@ public class MqttClientReconnector implements Mqtt5ClientReconnector {
     @Override
     public @NotNull MqttClientReconnector transportConfig(final @Nullable MqttClientTransportConfig transportConfig) {
         checkInEventLoop();
-        this.transportConfig =
+        final MqttClientTransportConfigImpl transportConfigImpl =
                 Checks.notImplemented(transportConfig, MqttClientTransportConfigImpl.class, "Transport config");
+        // the Netty transport of the client is chosen once, so it can not be switched to epoll for a reconnect
+        if ((transportConfigImpl.getRawDomainSocketPath() != null) && !domainSocketSupported) {
+            throw new IllegalArgumentException(
+                    "Unix domain sockets are only supported by the epoll transport which is not used by the client.");
+        }
+        this.transportConfig = transportConfigImpl;
         return this;
     }
 
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.annotations.Immutable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.channels.FileChannel;
+
+/**
+ * Payload of a Publish message that is streamed from a region of a file when the Publish message is sent instead of
+ * being held in memory.
+ * <p>
+ * The region is read with absolute positions, so the position of the file channel is not changed and the payload can
+ * be read again if the Publish message is resent.
+ *
+ * @author Silvio Giebl
+ */
+@Immutable
+public class MqttFilePayload {
+
+    private final @NotNull FileChannel fileChannel;
+    private final long position;
+    private final int length;
+
+    public MqttFilePayload(final @NotNull FileChannel fileChannel, final long position, final int length) {
+        this.fileChannel = fileChannel;
+        this.position = position;
+        this.length = length;
+    }
+
+    public @NotNull FileChannel getFileChannel() {
+        return fileChannel;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttFilePayload)) {
+            return false;
+        }
+        final MqttFilePayload that = (MqttFilePayload) o;
+
+        return fileChannel.equals(that.fileChannel) && (position == that.position) && (length == that.length);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = fileChannel.hashCode();
+        result = 31 * result + Long.hashCode(position);
+        result = 31 * result + length;
+        return result;
+    }
+}
@@ -21,9 +21,11 @@ import com.hivemq.client.internal.checkpoint.Confirmable;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingPublishConfirmable;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasMapping;
 import com.hivemq.client.internal.mqtt.message.MqttMessageWithUserProperties;
 import com.hivemq.client.internal.util.ByteBufferUtil;
+import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.internal.util.StringUtil;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
@@ -31,13 +33,17 @@ import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.client.mqtt.datatypes.MqttUtf8String;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.buffer.ByteBuf;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
@@ -52,6 +58,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     private final @NotNull MqttTopicImpl topic;
     private final @Nullable ByteBuffer payload;
+    private final @Nullable MqttFilePayload filePayload;
     private final @NotNull MqttQos qos;
     private final boolean retain;
     private final long messageExpiryInterval;
@@ -61,6 +68,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
     private final @Nullable ByteBuffer correlationData;
 
     private final @Nullable Confirmable confirmable;
+    private final @Nullable AtomicReference<ByteBuf> payloadBuffer;
 
     public MqttPublish(
             final @NotNull MqttTopicImpl topic,
@@ -75,9 +83,29 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
             final @NotNull MqttUserPropertiesImpl userProperties,
             final @Nullable Confirmable confirmable) {
 
+        this(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType, responseTopic,
+                correlationData, userProperties, confirmable, null, null);
+    }
+
+    public MqttPublish(
+            final @NotNull MqttTopicImpl topic,
+            final @Nullable ByteBuffer payload,
+            final @NotNull MqttQos qos,
+            final boolean retain,
+            final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator,
+            final @Nullable MqttUtf8StringImpl contentType,
+            final @Nullable MqttTopicImpl responseTopic,
+            final @Nullable ByteBuffer correlationData,
+            final @NotNull MqttUserPropertiesImpl userProperties,
+            final @Nullable Confirmable confirmable,
+            final @Nullable ByteBuf payloadBuffer,
+            final @Nullable MqttFilePayload filePayload) {
+
         super(userProperties);
         this.topic = topic;
         this.payload = payload;
+        this.filePayload = filePayload;
         this.qos = qos;
         this.retain = retain;
         this.messageExpiryInterval = messageExpiryInterval;
@@ -86,6 +114,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         this.responseTopic = responseTopic;
         this.correlationData = correlationData;
         this.confirmable = confirmable;
+        this.payloadBuffer = (payloadBuffer == null) ? null : new AtomicReference<>(payloadBuffer);
     }
 
     @Override
@@ -102,6 +131,10 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         return payload;
     }
 
+    public @Nullable MqttFilePayload getRawFilePayload() {
+        return filePayload;
+    }
+
     @Override
     public byte @NotNull [] getPayloadAsBytes() {
         return ByteBufferUtil.copyBytes(payload);
@@ -163,16 +196,55 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         return correlationData;
     }
 
+    public static void acknowledgeBatch(final @NotNull Collection<? extends Mqtt5Publish> publishes) {
+        Checks.notNull(publishes, "Publishes");
+        final ArrayList<Confirmable> confirmables = new ArrayList<>(publishes.size());
+        int i = 0;
+        for (final Mqtt5Publish publish : publishes) {
+            Checks.elementNotNull(publish, "Publish", i++);
+            confirmables.add(Checks.notImplemented(publish, MqttPublish.class, "Publish").getConfirmable());
+        }
+        if (!MqttIncomingPublishConfirmable.confirmBatch(confirmables)) {
+            throw new IllegalStateException("A publish must not be acknowledged more than once");
+        }
+    }
+
     @Override
     public void acknowledge() {
+        if (!getConfirmable().confirm()) {
+            throw new IllegalStateException("A publish must not be acknowledged more than once");
+        }
+    }
+
+    @Override
+    public void acknowledgeCumulatively() {
+        getConfirmable().confirmCumulatively();
+    }
+
+    private @NotNull Confirmable getConfirmable() {
         final Confirmable confirmable = this.confirmable;
         if (confirmable == null) {
             throw new UnsupportedOperationException(
                     "A publish must not be acknowledged if manual acknowledgement is not enabled");
         }
-        if (!confirmable.confirm()) {
-            throw new IllegalStateException("A publish must not be acknowledged more than once");
+        return confirmable;
+    }
+
+    @Override
+    public boolean release() {
+        if (payloadBuffer == null) {
+            return false;
+        }
+        final ByteBuf buffer = payloadBuffer.getAndSet(null);
+        if (buffer == null) {
+            return false;
         }
+        buffer.release();
+        return true;
+    }
+
+    public boolean hasPayloadBuffer() {
+        return payloadBuffer != null;
     }
 
     @Override
@@ -204,12 +276,34 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
 
     public @NotNull MqttPublish withConfirmable(final @NotNull Confirmable confirmable) {
         return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
-                responseTopic, correlationData, getUserProperties(), confirmable);
+                responseTopic, correlationData, getUserProperties(), confirmable, retainedPayloadBuffer(),
+                filePayload);
+    }
+
+    public @NotNull MqttPublish withMessageExpiryInterval(final long messageExpiryInterval) {
+        return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
+                responseTopic, correlationData, getUserProperties(), confirmable, retainedPayloadBuffer(),
+                filePayload);
+    }
+
+    public @NotNull MqttPublish withRetainedPayloadBuffer() {
+        return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
+                responseTopic, correlationData, getUserProperties(), confirmable, retainedPayloadBuffer(),
+                filePayload);
+    }
+
+    private @Nullable ByteBuf retainedPayloadBuffer() {
+        if (payloadBuffer == null) {
+            return null;
+        }
+        final ByteBuf buffer = payloadBuffer.get();
+        return (buffer == null) ? null : buffer.retainedDuplicate();
     }
 
     @Override
     protected @NotNull String toAttributeString() {
-        return "topic=" + topic + ((payload == null) ? "" : ", payload=" + payload.remaining() + "byte") + ", qos=" +
+        return "topic=" + topic + ((payload == null) ? "" : ", payload=" + payload.remaining() + "byte") +
+                ((filePayload == null) ? "" : ", filePayload=" + filePayload.getLength() + "byte") + ", qos=" +
                 qos + ", retain=" + retain + ((messageExpiryInterval == NO_MESSAGE_EXPIRY) ? "" :
                 ", messageExpiryInterval=" + messageExpiryInterval) +
                 ((payloadFormatIndicator == null) ? "" : ", payloadFormatIndicator=" + payloadFormatIndicator) +
@@ -235,7 +329,8 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         final MqttPublish that = (MqttPublish) o;
 
         return that.canEqual(this) && partialEquals(that) && topic.equals(that.topic) &&
-                Objects.equals(payload, that.payload) && (qos == that.qos) && (retain == that.retain) &&
+                Objects.equals(payload, that.payload) && Objects.equals(filePayload, that.filePayload) &&
+                (qos == that.qos) && (retain == that.retain) &&
                 (messageExpiryInterval == that.messageExpiryInterval) &&
                 (payloadFormatIndicator == that.payloadFormatIndicator) &&
                 Objects.equals(contentType, that.contentType) && Objects.equals(responseTopic, that.responseTopic) &&
@@ -251,6 +346,7 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         int result = partialHashCode();
         result = 31 * result + topic.hashCode();
         result = 31 * result + Objects.hashCode(payload);
+        result = 31 * result + Objects.hashCode(filePayload);
         result = 31 * result + qos.hashCode();
         result = 31 * result + Boolean.hashCode(retain);
         result = 31 * result + Long.hashCode(messageExpiryInterval);
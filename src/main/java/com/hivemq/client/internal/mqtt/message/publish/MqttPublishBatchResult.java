@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBatchResult;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttPublishBatchResult implements Mqtt5PublishBatchResult {
+
+    private final @NotNull MqttPublishResult @NotNull [] results;
+    private final int errorCount;
+
+    public MqttPublishBatchResult(final @NotNull MqttPublishResult @NotNull [] results) {
+        this.results = results;
+        int errorCount = 0;
+        for (final MqttPublishResult result : results) {
+            if (result.getRawError() != null) {
+                errorCount++;
+            }
+        }
+        this.errorCount = errorCount;
+    }
+
+    @Override
+    public int size() {
+        return results.length;
+    }
+
+    @Override
+    public @NotNull MqttPublishResult get(final int index) {
+        return results[index];
+    }
+
+    @Override
+    public @NotNull ImmutableList<Mqtt5PublishResult> getResults() {
+        return ImmutableList.<Mqtt5PublishResult>copyOf(results);
+    }
+
+    @Override
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "MqttPublishBatchResult{size=" + results.length + ", errorCount=" + errorCount + '}';
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttPublishBatchResult)) {
+            return false;
+        }
+        final MqttPublishBatchResult that = (MqttPublishBatchResult) o;
+
+        return Arrays.equals(results, that.results);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(results);
+    }
+}
@@ -31,6 +31,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.function.Function;
 
 /**
@@ -40,6 +41,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
     @Nullable MqttTopicImpl topic;
     @Nullable ByteBuffer payload;
+    @Nullable MqttFilePayload filePayload;
     @NotNull MqttQos qos = MqttPublish.DEFAULT_QOS;
     boolean retain;
     long messageExpiryInterval = MqttPublish.NO_MESSAGE_EXPIRY;
@@ -54,6 +56,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
     MqttPublishBuilder(final @NotNull MqttPublish publish) {
         topic = publish.getTopic();
         payload = publish.getRawPayload();
+        filePayload = publish.getRawFilePayload();
         qos = publish.getQos();
         retain = publish.isRetain();
         messageExpiryInterval = publish.getRawMessageExpiryInterval();
@@ -67,6 +70,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
     MqttPublishBuilder(final @NotNull MqttPublishBuilder<?> publishBuilder) {
         topic = publishBuilder.topic;
         payload = publishBuilder.payload;
+        filePayload = publishBuilder.filePayload;
         qos = publishBuilder.qos;
         retain = publishBuilder.retain;
         messageExpiryInterval = publishBuilder.messageExpiryInterval;
@@ -175,11 +179,28 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
         public @NotNull B payload(final byte @Nullable [] payload) {
             this.payload = ByteBufferUtil.wrap(payload);
+            filePayload = null;
             return self();
         }
 
         public @NotNull B payload(final @Nullable ByteBuffer payload) {
             this.payload = ByteBufferUtil.slice(payload);
+            filePayload = null;
+            return self();
+        }
+
+        public @NotNull B payload(final @Nullable FileChannel fileChannel, final long position, final int length) {
+            Checks.notNull(fileChannel, "File channel");
+            if (position < 0) {
+                throw new IllegalArgumentException("File position must not be negative. Found: " + position);
+            }
+            if ((length < 0) || (length > MqttVariableByteInteger.FOUR_BYTES_MAX_VALUE)) {
+                throw new IllegalArgumentException("Payload length must not be negative or exceed the maximum " +
+                        "remaining length of a packet (" + MqttVariableByteInteger.FOUR_BYTES_MAX_VALUE + "). Found: " +
+                        length);
+            }
+            payload = null;
+            filePayload = (length == 0) ? null : new MqttFilePayload(fileChannel, position, length);
             return self();
         }
 
@@ -190,7 +211,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
         public @NotNull MqttPublish build() {
             Checks.notNull(topic, "Topic");
             return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator,
-                    contentType, responseTopic, correlationData, userProperties, null);
+                    contentType, responseTopic, correlationData, userProperties, null, null, filePayload);
         }
     }
 
@@ -254,6 +275,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
         WillBase(final @NotNull MqttPublish publish) {
             super(publish);
+            checkNoFilePayload();
             if (publish instanceof MqttWillPublish) {
                 delayInterval = ((MqttWillPublish) publish).getDelayInterval();
             } else {
@@ -263,6 +285,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
         WillBase(final @NotNull MqttPublishBuilder<?> publishBuilder) {
             super(publishBuilder);
+            checkNoFilePayload();
             if (publishBuilder instanceof WillBase) {
                 delayInterval = ((WillBase<?>) publishBuilder).delayInterval;
             } else {
@@ -280,6 +303,12 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
             return self();
         }
 
+        private void checkNoFilePayload() {
+            if (filePayload != null) {
+                throw new IllegalStateException("A Will Publish must not have a payload that is streamed from a file.");
+            }
+        }
+
         public @NotNull B delayInterval(final long delayInterval) {
             this.delayInterval = Checks.unsignedInt(delayInterval, "Will delay interval");
             return self();
@@ -22,16 +22,20 @@ import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttWillPublish;
+import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3Publish;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5WillPublish;
+import io.netty.buffer.ByteBuf;
 import io.reactivex.functions.Function;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -50,8 +54,18 @@ public class Mqtt3PublishView implements Mqtt3Publish {
             final @NotNull MqttQos qos,
             final boolean retain) {
 
+        return delegate(topic, payload, null, qos, retain);
+    }
+
+    public static @NotNull MqttPublish delegate(
+            final @NotNull MqttTopicImpl topic,
+            final @Nullable ByteBuffer payload,
+            final @Nullable ByteBuf payloadBuffer,
+            final @NotNull MqttQos qos,
+            final boolean retain) {
+
         return new MqttPublish(topic, payload, qos, retain, MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null,
-                MqttUserPropertiesImpl.NO_USER_PROPERTIES, null);
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES, null, payloadBuffer, null);
     }
 
     public static @NotNull MqttStatefulPublish statefulDelegate(
@@ -81,6 +95,17 @@ public class Mqtt3PublishView implements Mqtt3Publish {
                         MqttUserPropertiesImpl.NO_USER_PROPERTIES, Mqtt5WillPublish.DEFAULT_DELAY_INTERVAL));
     }
 
+    public static void acknowledgeBatch(final @NotNull Collection<? extends Mqtt3Publish> publishes) {
+        Checks.notNull(publishes, "Publishes");
+        final ArrayList<MqttPublish> delegates = new ArrayList<>(publishes.size());
+        int i = 0;
+        for (final Mqtt3Publish publish : publishes) {
+            Checks.elementNotNull(publish, "Publish", i++);
+            delegates.add(Checks.notImplemented(publish, Mqtt3PublishView.class, "Publish").getDelegate());
+        }
+        MqttPublish.acknowledgeBatch(delegates);
+    }
+
     public static @NotNull Mqtt3PublishView of(final @NotNull Mqtt5Publish publish) {
         return new Mqtt3PublishView((MqttPublish) publish);
     }
@@ -129,6 +154,16 @@ public class Mqtt3PublishView implements Mqtt3Publish {
         delegate.acknowledge();
     }
 
+    @Override
+    public void acknowledgeCumulatively() {
+        delegate.acknowledgeCumulatively();
+    }
+
+    @Override
+    public boolean release() {
+        return delegate.release();
+    }
+
     @Override
     public Mqtt3PublishViewBuilder.@NotNull Default extend() {
         return new Mqtt3PublishViewBuilder.Default(this);
@@ -46,9 +46,13 @@ import com.hivemq.client.mqtt.mqtt3.message.subscribe.suback.Mqtt3SubAck;
 import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3Unsubscribe;
 import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5MessageException;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -114,6 +118,15 @@ public class Mqtt3BlockingClientView implements Mqtt3BlockingClient {
         return new Mqtt3PublishesView(delegate.publishes(filter, manualAcknowledgement));
     }
 
+    @Override
+    public @NotNull Mqtt3Publishes publishes(
+            final @Nullable MqttGlobalPublishFilter filter, final boolean manualAcknowledgement, final int prefetch) {
+
+        Checks.notNull(filter, "Global publish filter");
+
+        return new Mqtt3PublishesView(delegate.publishes(filter, manualAcknowledgement, prefetch));
+    }
+
     @Override
     public void unsubscribe(final @Nullable Mqtt3Unsubscribe unsubscribe) {
         final MqttUnsubscribe mqttUnsubscribe = MqttChecks.unsubscribe(unsubscribe);
@@ -210,6 +223,41 @@ public class Mqtt3BlockingClientView implements Mqtt3BlockingClient {
             }
         }
 
+        @Override
+        public @NotNull List<Mqtt3Publish> receive(
+                final int maxPublishes, final long timeout, final @Nullable TimeUnit timeUnit)
+                throws InterruptedException {
+
+            try {
+                return toMqtt3(delegate.receive(maxPublishes, timeout, timeUnit));
+            } catch (final RuntimeException e) {
+                throw Mqtt3ExceptionFactory.mapWithStackTrace(e);
+            }
+        }
+
+        @Override
+        public int drainTo(final @Nullable Collection<? super Mqtt3Publish> publishes) {
+            Checks.notNull(publishes, "Publishes");
+
+            final ArrayList<Mqtt5Publish> mqtt5Publishes = new ArrayList<>();
+            final int count;
+            try {
+                count = delegate.drainTo(mqtt5Publishes);
+            } catch (final RuntimeException e) {
+                throw Mqtt3ExceptionFactory.mapWithStackTrace(e);
+            }
+            publishes.addAll(toMqtt3(mqtt5Publishes));
+            return count;
+        }
+
+        private static @NotNull List<Mqtt3Publish> toMqtt3(final @NotNull List<Mqtt5Publish> publishes) {
+            final ArrayList<Mqtt3Publish> mqtt3Publishes = new ArrayList<>(publishes.size());
+            for (int i = 0; i < publishes.size(); i++) {
+                mqtt3Publishes.add(Mqtt3PublishView.of(publishes.get(i)));
+            }
+            return mqtt3Publishes;
+        }
+
         @Override
         public void close() {
             delegate.close();
@@ -24,6 +24,7 @@ import com.hivemq.client.internal.mqtt.message.publish.MqttWillPublish;
 import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishView;
 import com.hivemq.client.mqtt.MqttClientExecutorConfig;
 import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.MqttClientStatistics;
 import com.hivemq.client.mqtt.MqttClientTransportConfig;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.datatypes.MqttClientIdentifier;
@@ -115,4 +116,9 @@ public class Mqtt3ClientConfigView implements Mqtt3ClientConfig {
     public @NotNull Optional<Mqtt3ClientConnectionConfig> getConnectionConfig() {
         return Optional.ofNullable(delegate.getRawConnectionConfig());
     }
+
+    @Override
+    public @NotNull MqttClientStatistics getStatistics() {
+        return delegate.getStatistics();
+    }
 }
@@ -200,6 +200,20 @@ public final class MqttChecks {
         return Checks.notImplemented(publish, MqttPublish.class, "Publish");
     }
 
+    @Contract("null -> fail")
+    public static @NotNull MqttPublish @NotNull [] publishes(
+            final @Nullable Collection<@Nullable ? extends Mqtt5Publish> publishes) {
+
+        Checks.notNull(publishes, "Publishes");
+        final MqttPublish[] mqttPublishes = new MqttPublish[publishes.size()];
+        int i = 0;
+        for (final Mqtt5Publish publish : publishes) {
+            mqttPublishes[i] = publish(Checks.elementNotNull(publish, "Publishes", i));
+            i++;
+        }
+        return mqttPublishes;
+    }
+
     @Contract("null -> fail")
     public static @NotNull MqttPublish publish(final @Nullable Mqtt3Publish publish) {
         return Checks.notImplemented(publish, Mqtt3PublishView.class, "Publish").getDelegate();
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.annotations.ThreadSafe;
+import com.hivemq.client.internal.mqtt.MqttBufferAllocatorConfigImpl;
+import io.netty.buffer.AdaptiveByteBufAllocator;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Provides one shared {@link ByteBufAllocator} per distinct buffer allocator configuration.
+ * <p>
+ * Allocators are never discarded, as pooled allocators are meant to live as long as the application.
+ *
+ * @author Silvio Giebl
+ */
+@ThreadSafe
+public class NettyByteBufAllocatorProvider {
+
+    public static final @NotNull NettyByteBufAllocatorProvider INSTANCE = new NettyByteBufAllocatorProvider();
+
+    private final @NotNull Map<@NotNull MqttBufferAllocatorConfigImpl, @NotNull ByteBufAllocator> allocators =
+            new HashMap<>();
+
+    private NettyByteBufAllocatorProvider() {}
+
+    public @NotNull ByteBufAllocator getAllocator(final @Nullable MqttBufferAllocatorConfigImpl bufferAllocatorConfig) {
+        if (bufferAllocatorConfig == null) {
+            return ByteBufAllocator.DEFAULT;
+        }
+        synchronized (allocators) {
+            return allocators.computeIfAbsent(bufferAllocatorConfig, NettyByteBufAllocatorProvider::createAllocator);
+        }
+    }
+
+    private static @NotNull ByteBufAllocator createAllocator(
+            final @NotNull MqttBufferAllocatorConfigImpl bufferAllocatorConfig) {
+
+        final boolean preferDirect = bufferAllocatorConfig.isPreferDirect();
+        switch (bufferAllocatorConfig.getType()) {
+            case UNPOOLED:
+                return new UnpooledByteBufAllocator(preferDirect);
+            case ADAPTIVE:
+                return new AdaptiveByteBufAllocator(preferDirect);
+            case POOLED:
+            default:
+                return new PooledByteBufAllocator(preferDirect,
+                        orDefault(bufferAllocatorConfig.getRawHeapArenas(),
+                                PooledByteBufAllocator.defaultNumHeapArena()),
+                        orDefault(bufferAllocatorConfig.getRawDirectArenas(),
+                                PooledByteBufAllocator.defaultNumDirectArena()),
+                        orDefault(bufferAllocatorConfig.getRawPageSize(), PooledByteBufAllocator.defaultPageSize()),
+                        orDefault(bufferAllocatorConfig.getRawMaxOrder(), PooledByteBufAllocator.defaultMaxOrder()),
+                        PooledByteBufAllocator.defaultSmallCacheSize(), PooledByteBufAllocator.defaultNormalCacheSize(),
+                        PooledByteBufAllocator.defaultUseCacheForAllThreads());
+        }
+    }
+
+    private static int orDefault(final int value, final int defaultValue) {
+        return (value < 0) ? defaultValue : value;
+    }
+}
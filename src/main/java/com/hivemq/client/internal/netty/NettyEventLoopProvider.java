@@ -20,25 +20,38 @@ import com.hivemq.client.internal.annotations.ThreadSafe;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.util.ClassUtil;
+import com.hivemq.client.mqtt.MqttNettyTransport;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoop;
 import io.netty.channel.MultithreadEventLoopGroup;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
 import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.ThreadPerTaskExecutor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.net.SocketAddress;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * @author Silvio Giebl
@@ -48,79 +61,143 @@ public class NettyEventLoopProvider {
 
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(NettyEventLoopProvider.class);
 
-    public static final @NotNull NettyEventLoopProvider INSTANCE;
+    private static final @NotNull NettyEventLoopProvider NIO =
+            new NettyEventLoopProvider(NioEventLoopGroup::new, NioSocketChannel::new, null, null);
+    private static final @Nullable NettyEventLoopProvider EPOLL =
+            ClassUtil.isAvailable("io.netty.channel.epoll.Epoll") ? EpollHolder.eventLoopProvider() : null;
+    private static final @Nullable NettyEventLoopProvider IO_URING =
+            ClassUtil.isAvailable("io.netty.incubator.channel.uring.IOUring") ? IoUringHolder.eventLoopProvider() :
+                    null;
 
-    static {
-        if (ClassUtil.isAvailable("io.netty.channel.epoll.Epoll")) {
-            INSTANCE = EpollHolder.eventLoopProvider();
-        } else {
-            INSTANCE = nioEventLoopProvider();
-        }
+    private static final @NotNull NettyEventLoopProvider DEFAULT =
+            (IO_URING != null) ? IO_URING : (EPOLL != null) ? EPOLL : NIO;
+
+    public static @NotNull NettyEventLoopProvider of(final @Nullable MqttNettyTransport transport) {
+        return of(transport, false);
     }
 
-    private static NettyEventLoopProvider nioEventLoopProvider() {
-        return new NettyEventLoopProvider(NioEventLoopGroup::new, NioSocketChannel::new);
+    public static @NotNull NettyEventLoopProvider of(
+            final @Nullable MqttNettyTransport transport, final boolean domainSocket) {
+
+        if (transport == null) {
+            // only epoll supports Unix domain sockets
+            return (domainSocket && (EPOLL != null)) ? EPOLL : DEFAULT;
+        }
+        switch (transport) {
+            case IO_URING:
+                if (IO_URING != null) {
+                    return IO_URING;
+                }
+                LOGGER.warn("Netty transport io_uring is not available, falling back to epoll.");
+                // fallthrough
+            case EPOLL:
+                if (EPOLL != null) {
+                    return EPOLL;
+                }
+                LOGGER.warn("Netty transport epoll is not available, falling back to NIO.");
+                // fallthrough
+            default:
+                return NIO;
+        }
     }
 
     private static class EpollHolder {
 
-        private static NettyEventLoopProvider eventLoopProvider() {
+        private static @Nullable NettyEventLoopProvider eventLoopProvider() {
             if (Epoll.isAvailable()) {
-                return new NettyEventLoopProvider(EpollEventLoopGroup::new, EpollSocketChannel::new);
-            } else {
-                return nioEventLoopProvider();
+                return new NettyEventLoopProvider(EpollEventLoopGroup::new, EpollSocketChannel::new,
+                        EpollDomainSocketChannel::new, DomainSocketAddress::new);
             }
+            return null;
         }
     }
 
-    private final @NotNull Map<@Nullable Executor, @NotNull Entry> entries = new HashMap<>();
+    private static class IoUringHolder {
+
+        private static @Nullable NettyEventLoopProvider eventLoopProvider() {
+            if (IOUring.isAvailable()) {
+                return new NettyEventLoopProvider(IOUringEventLoopGroup::new, IOUringSocketChannel::new, null, null);
+            }
+            return null;
+        }
+    }
+
+    private static final @NotNull Object DEFAULT_EXECUTOR_KEY = new Object();
+
+    private final @NotNull ConcurrentHashMap<@NotNull Object, @NotNull Entry> entries = new ConcurrentHashMap<>();
     private final @NotNull BiFunction<Integer, Executor, MultithreadEventLoopGroup> eventLoopGroupFactory;
     private final @NotNull ChannelFactory<?> channelFactory;
+    private final @Nullable ChannelFactory<?> domainSocketChannelFactory;
+    private final @Nullable Function<String, SocketAddress> domainSocketAddressFactory;
 
     private NettyEventLoopProvider(
             final @NotNull BiFunction<Integer, Executor, MultithreadEventLoopGroup> eventLoopGroupFactory,
-            final @NotNull ChannelFactory<?> channelFactory) {
+            final @NotNull ChannelFactory<?> channelFactory,
+            final @Nullable ChannelFactory<?> domainSocketChannelFactory,
+            final @Nullable Function<String, SocketAddress> domainSocketAddressFactory) {
 
         this.eventLoopGroupFactory = eventLoopGroupFactory;
         this.channelFactory = channelFactory;
+        this.domainSocketChannelFactory = domainSocketChannelFactory;
+        this.domainSocketAddressFactory = domainSocketAddressFactory;
     }
 
-    public synchronized @NotNull EventLoop acquireEventLoop(final @Nullable Executor executor, final int threadCount) {
-        Entry entry = entries.get(executor);
-        if (entry == null) {
-            final MultithreadEventLoopGroup eventLoopGroup;
-            if (executor == null) {
-                eventLoopGroup = eventLoopGroupFactory.apply(
-                        threadCount, new ThreadPerTaskExecutor(
-                                new DefaultThreadFactory("com.hivemq.client.mqtt", Thread.MAX_PRIORITY)));
-
-            } else if (executor instanceof MultithreadEventLoopGroup) {
-                eventLoopGroup = (MultithreadEventLoopGroup) executor;
-                if ((threadCount != MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS) &&
-                        (eventLoopGroup.executorCount() != threadCount)) {
-                    LOGGER.warn("Tried to use a different amount of Netty threads for the provided event loop. " +
-                            "Using {} threads instead of {}", eventLoopGroup.executorCount(), threadCount);
-                }
-            } else {
-                eventLoopGroup = eventLoopGroupFactory.apply(threadCount, executor);
+    public @NotNull EventLoop acquireEventLoop(
+            final @Nullable Executor executor, final int threadCount, final int eventLoopIndex) {
+
+        final Object key = key(executor);
+        // fast path without locking the bin of the entry, as all clients with the default executor share one entry
+        Entry entry = entries.get(key);
+        if ((entry != null) && retain(entry, threadCount)) {
+            return entry.acquire(eventLoopIndex);
+        }
+        entry = entries.compute(key, (k, current) -> {
+            if ((current == null) || !retain(current, threadCount)) { // absent or released concurrently
+                return new Entry(createEventLoopGroup(executor, threadCount));
             }
-            entry = new Entry(eventLoopGroup);
-            entries.put(executor, entry);
-        } else {
+            return current;
+        });
+        return entry.acquire(eventLoopIndex);
+    }
+
+    private static boolean retain(final @NotNull Entry entry, final int threadCount) {
+        if (!entry.retain()) {
+            return false;
+        }
+        if ((threadCount != MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS) &&
+                (entry.eventLoops.length != threadCount)) {
+            LOGGER.warn("Tried to use a different amount of Netty threads for the same executor. " +
+                    "Using {} threads instead of {}", entry.eventLoops.length, threadCount);
+        }
+        return true;
+    }
+
+    private @NotNull MultithreadEventLoopGroup createEventLoopGroup(
+            final @Nullable Executor executor, final int threadCount) {
+
+        if (executor == null) {
+            return eventLoopGroupFactory.apply(threadCount,
+                    new ThreadPerTaskExecutor(new DefaultThreadFactory("com.hivemq.client.mqtt", Thread.MAX_PRIORITY)));
+        }
+        if (executor instanceof MultithreadEventLoopGroup) {
+            final MultithreadEventLoopGroup eventLoopGroup = (MultithreadEventLoopGroup) executor;
             if ((threadCount != MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS) &&
-                    (entry.eventLoopGroup.executorCount() != threadCount)) {
-                LOGGER.warn("Tried to use a different amount of Netty threads for the same executor. " +
-                        "Using {} threads instead of {}", entry.eventLoopGroup.executorCount(), threadCount);
+                    (eventLoopGroup.executorCount() != threadCount)) {
+                LOGGER.warn("Tried to use a different amount of Netty threads for the provided event loop. " +
+                        "Using {} threads instead of {}", eventLoopGroup.executorCount(), threadCount);
             }
-            entry.referenceCount++;
+            return eventLoopGroup;
         }
-        return entry.eventLoopGroup.next();
+        return eventLoopGroupFactory.apply(threadCount, executor);
     }
 
-    public synchronized void releaseEventLoop(final @Nullable Executor executor) {
-        final Entry entry = entries.get(executor);
-        if (--entry.referenceCount == 0) {
-            entries.remove(executor);
+    public void releaseEventLoop(final @Nullable Executor executor, final @NotNull EventLoop eventLoop) {
+        final Object key = key(executor);
+        final Entry entry = entries.get(key);
+        entry.release(eventLoop);
+        if (entry.referenceCount.decrementAndGet() == 0) {
+            // a concurrent acquire that still finds the released entry replaces it with a new entry
+            entries.remove(key, entry);
             if (!(executor instanceof MultithreadEventLoopGroup)) {
                 // shutdownGracefully must be the last statement so everything is cleaned up even if it throws
                 entry.eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
@@ -128,17 +205,106 @@ public class NettyEventLoopProvider {
         }
     }
 
+    private static @NotNull Object key(final @Nullable Executor executor) {
+        return (executor == null) ? DEFAULT_EXECUTOR_KEY : executor;
+    }
+
     public @NotNull ChannelFactory<?> getChannelFactory() {
         return channelFactory;
     }
 
+    public @NotNull ChannelFactory<?> getChannelFactory(final @NotNull MqttClientTransportConfigImpl transportConfig) {
+        if (transportConfig.getRawLocalChannelId() != null) {
+            return LocalChannel::new; // local channels are compatible with the event loops of all transports
+        }
+        if ((transportConfig.getRawDomainSocketPath() != null) && (domainSocketChannelFactory != null)) {
+            return domainSocketChannelFactory;
+        }
+        return channelFactory;
+    }
+
+    public boolean isDomainSocketSupported() {
+        return domainSocketAddressFactory != null;
+    }
+
+    public @Nullable SocketAddress getRemoteAddress(final @NotNull MqttClientTransportConfigImpl transportConfig) {
+        final String localChannelId = transportConfig.getRawLocalChannelId();
+        if (localChannelId != null) {
+            return new LocalAddress(localChannelId);
+        }
+        final String domainSocketPath = transportConfig.getRawDomainSocketPath();
+        if (domainSocketPath == null) {
+            return transportConfig.getRemoteAddress();
+        }
+        if (domainSocketAddressFactory == null) {
+            return null;
+        }
+        return domainSocketAddressFactory.apply(domainSocketPath);
+    }
+
+    /**
+     * Assigns event loops either by a pinned index or to the event loop that currently serves the fewest clients.
+     * Loads are counted per acquire and only read approximately, so concurrent acquires never block each other.
+     */
     private static class Entry {
 
         final @NotNull MultithreadEventLoopGroup eventLoopGroup;
-        int referenceCount = 1;
+        final @NotNull EventLoop @NotNull [] eventLoops;
+        private final @NotNull AtomicIntegerArray loads;
+        private final @NotNull AtomicInteger nextIndex = new AtomicInteger();
+        final @NotNull AtomicInteger referenceCount = new AtomicInteger(1); // 0 if released, must not be retained then
 
-        private Entry(final @NotNull MultithreadEventLoopGroup eventLoopGroup) {
+        Entry(final @NotNull MultithreadEventLoopGroup eventLoopGroup) {
             this.eventLoopGroup = eventLoopGroup;
+            eventLoops = new EventLoop[eventLoopGroup.executorCount()];
+            int i = 0;
+            for (final EventExecutor eventExecutor : eventLoopGroup) {
+                eventLoops[i++] = (EventLoop) eventExecutor;
+            }
+            loads = new AtomicIntegerArray(eventLoops.length);
+        }
+
+        boolean retain() {
+            int referenceCount;
+            while ((referenceCount = this.referenceCount.get()) > 0) {
+                if (this.referenceCount.compareAndSet(referenceCount, referenceCount + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @NotNull EventLoop acquire(final int eventLoopIndex) {
+            final int count = eventLoops.length;
+            int index;
+            if (eventLoopIndex >= 0) {
+                index = eventLoopIndex % count;
+            } else {
+                // start at a rotating index so that equally loaded event loops are assigned round-robin
+                index = Math.floorMod(nextIndex.getAndIncrement(), count);
+                int minLoad = loads.get(index);
+                for (int i = 1, j = index; (i < count) && (minLoad > 0); i++) {
+                    if (++j == count) {
+                        j = 0;
+                    }
+                    final int load = loads.get(j);
+                    if (load < minLoad) {
+                        minLoad = load;
+                        index = j;
+                    }
+                }
+            }
+            loads.incrementAndGet(index);
+            return eventLoops[index];
+        }
+
+        void release(final @NotNull EventLoop eventLoop) {
+            for (int i = 0; i < eventLoops.length; i++) {
+                if (eventLoops[i] == eventLoop) {
+                    loads.decrementAndGet(i);
+                    return;
+                }
+            }
         }
     }
 }
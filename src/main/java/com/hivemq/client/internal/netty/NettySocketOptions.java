@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.mqtt.MqttSocketConfigImpl;
+import com.hivemq.client.internal.util.ClassUtil;
+import io.netty.channel.Channel;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannelConfig;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.SocketChannelConfig;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannelConfig;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Applies a socket configuration to a channel. Options that are not supported by the transport of the channel are
+ * ignored.
+ *
+ * @author Silvio Giebl
+ */
+public final class NettySocketOptions {
+
+    private static final boolean EPOLL = ClassUtil.isAvailable("io.netty.channel.epoll.EpollSocketChannel");
+    private static final boolean IO_URING =
+            ClassUtil.isAvailable("io.netty.incubator.channel.uring.IOUringSocketChannel");
+
+    public static void apply(final @NotNull Channel channel, final @NotNull MqttSocketConfigImpl socketConfig) {
+        if (socketConfig.getRawWriteBufferHighWaterMark() >= 0) {
+            channel.config()
+                    .setWriteBufferWaterMark(new WriteBufferWaterMark(socketConfig.getRawWriteBufferLowWaterMark(),
+                            socketConfig.getRawWriteBufferHighWaterMark()));
+        }
+        if (!(channel instanceof SocketChannel)) { // the remaining options only apply to TCP sockets
+            return;
+        }
+        final SocketChannelConfig config = ((SocketChannel) channel).config();
+        config.setKeepAlive(socketConfig.isKeepAlive()).setTcpNoDelay(socketConfig.isTcpNoDelay());
+        if (socketConfig.getRawSendBufferSize() >= 0) {
+            config.setSendBufferSize(socketConfig.getRawSendBufferSize());
+        }
+        if (socketConfig.getRawReceiveBufferSize() >= 0) {
+            config.setReceiveBufferSize(socketConfig.getRawReceiveBufferSize());
+        }
+        if (EPOLL && EpollHolder.apply(channel, socketConfig)) {
+            return;
+        }
+        if (IO_URING) {
+            IoUringHolder.apply(channel, socketConfig);
+        }
+    }
+
+    private static class EpollHolder {
+
+        static boolean apply(final @NotNull Channel channel, final @NotNull MqttSocketConfigImpl socketConfig) {
+            if (!(channel instanceof EpollSocketChannel)) {
+                return false;
+            }
+            final EpollSocketChannelConfig config = ((EpollSocketChannel) channel).config();
+            if (socketConfig.isTcpQuickAck()) {
+                config.setTcpQuickAck(true);
+            }
+            if (socketConfig.getRawTcpNotSentLowAt() >= 0) {
+                config.setTcpNotSentLowAt(socketConfig.getRawTcpNotSentLowAt());
+            }
+            if (socketConfig.getRawBusyPollMicros() >= 0) {
+                config.setSoBusyPoll(socketConfig.getRawBusyPollMicros());
+            }
+            if (socketConfig.getRawTcpUserTimeoutMs() >= 0) {
+                config.setTcpUserTimeout(socketConfig.getRawTcpUserTimeoutMs());
+            }
+            if (socketConfig.isTcpFastOpenConnect()) {
+                config.setTcpFastOpenConnect(true);
+            }
+            return true;
+        }
+    }
+
+    private static class IoUringHolder {
+
+        static void apply(final @NotNull Channel channel, final @NotNull MqttSocketConfigImpl socketConfig) {
+            if (!(channel instanceof IOUringSocketChannel)) {
+                return;
+            }
+            // io_uring does not support SO_BUSY_POLL
+            final IOUringSocketChannelConfig config = ((IOUringSocketChannel) channel).config();
+            if (socketConfig.isTcpQuickAck()) {
+                config.setTcpQuickAck(true);
+            }
+            if (socketConfig.getRawTcpNotSentLowAt() >= 0) {
+                config.setTcpNotSentLowAt(socketConfig.getRawTcpNotSentLowAt());
+            }
+            if (socketConfig.getRawTcpUserTimeoutMs() >= 0) {
+                config.setTcpUserTimeout(socketConfig.getRawTcpUserTimeoutMs());
+            }
+            if (socketConfig.isTcpFastOpenConnect()) {
+                config.setTcpFastOpenConnect(true);
+            }
+        }
+    }
+
+    private NettySocketOptions() {}
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.rx.operators;
+
+import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.internal.queue.SpscArrayQueue;
+import io.reactivex.internal.subscriptions.SubscriptionHelper;
+import io.reactivex.internal.util.AtomicThrowable;
+import io.reactivex.internal.util.BackpressureHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Merges the inner publishers of a source like {@link Flowable#flatMap(io.reactivex.functions.Function, boolean, int,
+ * int) flatMap(f -> f, true, maxConcurrency, prefetch)}, but emits the buffered elements in round-robin order (one
+ * element per inner publisher per round) instead of draining each inner publisher's buffer at once.
+ * <p>
+ * Errors are delayed until the source and all inner publishers have terminated.
+ *
+ * @param <T> the type of the merged elements.
+ * @author Silvio Giebl
+ */
+public class FlowableRoundRobinMerge<T> extends Flowable<T> {
+
+    private final @NotNull Publisher<? extends Publisher<? extends T>> source;
+    private final int maxConcurrency;
+    private final int prefetch;
+
+    public FlowableRoundRobinMerge(
+            final @NotNull Publisher<? extends Publisher<? extends T>> source,
+            final int maxConcurrency,
+            final int prefetch) {
+
+        this.source = source;
+        this.maxConcurrency = maxConcurrency;
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull Subscriber<? super T> subscriber) {
+        source.subscribe(new MergeSubscriber<>(subscriber, maxConcurrency, prefetch));
+    }
+
+    private static class MergeSubscriber<T> extends AtomicInteger
+            implements FlowableSubscriber<Publisher<? extends T>>, Subscription {
+
+        private final @NotNull Subscriber<? super T> subscriber;
+        private final int maxConcurrency;
+        private final int prefetch;
+        private @Nullable Subscription subscription;
+
+        private final @NotNull AtomicLong requested = new AtomicLong();
+        private final @NotNull AtomicThrowable errors = new AtomicThrowable();
+        private final @NotNull ConcurrentLinkedQueue<InnerSubscriber<T>> added = new ConcurrentLinkedQueue<>();
+        private volatile boolean done;
+        private volatile boolean cancelled;
+
+        // only accessed in drain
+        private final @NotNull ArrayList<InnerSubscriber<T>> active = new ArrayList<>();
+        private int index;
+
+        MergeSubscriber(final @NotNull Subscriber<? super T> subscriber, final int maxConcurrency, final int prefetch) {
+            this.subscriber = subscriber;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {
+            this.subscription = subscription;
+            subscriber.onSubscribe(this);
+            subscription.request((maxConcurrency == Integer.MAX_VALUE) ? Long.MAX_VALUE : maxConcurrency);
+        }
+
+        @Override
+        public void onNext(final @NotNull Publisher<? extends T> publisher) {
+            if (cancelled) {
+                return;
+            }
+            final InnerSubscriber<T> inner = new InnerSubscriber<>(this, prefetch);
+            added.offer(inner);
+            publisher.subscribe(inner);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable error) {
+            errors.addThrowable(error);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(final long n) {
+            if (SubscriptionHelper.validate(n)) {
+                BackpressureHelper.add(requested, n);
+                drain();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                assert subscription != null;
+                subscription.cancel();
+                drain();
+            }
+        }
+
+        void drain() {
+            if (getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                for (InnerSubscriber<T> inner; (inner = added.poll()) != null; ) {
+                    active.add(inner);
+                }
+                if (cancelled) {
+                    clear();
+                    return;
+                }
+
+                final long r = requested.get();
+                long e = 0;
+                int completed = 0;
+                boolean emitted = true;
+                while ((e != r) && emitted && !active.isEmpty()) {
+                    emitted = false;
+                    for (int i = 0, size = active.size(); (i < size) && (e != r); i++) {
+                        if (index >= active.size()) {
+                            index = 0;
+                        }
+                        final InnerSubscriber<T> inner = active.get(index);
+                        final boolean innerDone = inner.done;
+                        final T t = inner.queue.poll();
+                        if (t == null) {
+                            if (innerDone) {
+                                active.remove(index);
+                                completed++;
+                            } else {
+                                index++;
+                            }
+                            continue;
+                        }
+                        subscriber.onNext(t);
+                        if (cancelled) {
+                            clear();
+                            return;
+                        }
+                        inner.consumed();
+                        index++;
+                        e++;
+                        emitted = true;
+                    }
+                }
+                if (e == r) {
+                    for (int i = active.size() - 1; i >= 0; i--) {
+                        final InnerSubscriber<T> inner = active.get(i);
+                        if (inner.done && inner.queue.isEmpty()) {
+                            active.remove(i);
+                            if (i < index) {
+                                index--;
+                            }
+                            completed++;
+                        }
+                    }
+                }
+                if (e != 0) {
+                    BackpressureHelper.produced(requested, e);
+                }
+                if ((completed > 0) && (maxConcurrency != Integer.MAX_VALUE)) {
+                    assert subscription != null;
+                    subscription.request(completed);
+                }
+                if (done && active.isEmpty() && added.isEmpty()) {
+                    final Throwable error = errors.terminate();
+                    if (error == null) {
+                        subscriber.onComplete();
+                    } else {
+                        subscriber.onError(error);
+                    }
+                    return;
+                }
+                missed = addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void clear() {
+            for (int i = 0; i < active.size(); i++) {
+                active.get(i).cancel();
+            }
+            active.clear();
+            for (InnerSubscriber<T> inner; (inner = added.poll()) != null; ) {
+                inner.cancel();
+            }
+        }
+    }
+
+    private static class InnerSubscriber<T> extends AtomicReference<Subscription> implements FlowableSubscriber<T> {
+
+        private final @NotNull MergeSubscriber<T> parent;
+        private final int prefetch;
+        private final int limit;
+        final @NotNull SpscArrayQueue<T> queue;
+        volatile boolean done;
+        private int consumed;
+
+        InnerSubscriber(final @NotNull MergeSubscriber<T> parent, final int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            limit = prefetch - (prefetch >> 2);
+            queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {
+            if (SubscriptionHelper.setOnce(this, subscription)) {
+                subscription.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(final @NotNull T t) {
+            if (done) {
+                return;
+            }
+            if (!queue.offer(t)) {
+                SubscriptionHelper.cancel(this);
+                onError(new MissingBackpressureException("Round robin merge queue is full."));
+                return;
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        @Override
+        public void onError(final @NotNull Throwable error) {
+            parent.errors.addThrowable(error);
+            done = true;
+            parent.drain();
+        }
+
+        void consumed() {
+            if (++consumed == limit) {
+                consumed = 0;
+                get().request(limit);
+            }
+        }
+
+        void cancel() {
+            SubscriptionHelper.cancel(this);
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.MqttBufferAllocatorConfigImplBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalInt;
+
+/**
+ * Configuration for the allocator of the buffers that are used by {@link MqttClient MQTT clients} for network
+ * communication and encoding/decoding of MQTT packets.
+ * <p>
+ * Clients with equal buffer allocator configurations share the same allocator.
+ *
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+@DoNotImplement
+public interface MqttBufferAllocatorConfig {
+
+    /**
+     * The default buffer allocator type.
+     */
+    @NotNull MqttBufferAllocatorType DEFAULT_TYPE = MqttBufferAllocatorType.POOLED;
+    /**
+     * By default direct buffers are preferred.
+     */
+    boolean DEFAULT_PREFER_DIRECT = true;
+
+    /**
+     * Creates a builder for a buffer allocator configuration.
+     *
+     * @return the created builder for a buffer allocator configuration.
+     */
+    static @NotNull MqttBufferAllocatorConfigBuilder builder() {
+        return new MqttBufferAllocatorConfigImplBuilder.Default();
+    }
+
+    /**
+     * @return the buffer allocator type.
+     */
+    @NotNull MqttBufferAllocatorType getType();
+
+    /**
+     * @return whether direct buffers are preferred over heap buffers.
+     */
+    boolean isPreferDirect();
+
+    /**
+     * Returns the optional amount of heap arenas of a {@link MqttBufferAllocatorType#POOLED pooled} allocator. If
+     * absent, the default of Netty (network communication framework) is used.
+     *
+     * @return the optional amount of heap arenas.
+     */
+    @NotNull OptionalInt getHeapArenas();
+
+    /**
+     * Returns the optional amount of direct arenas of a {@link MqttBufferAllocatorType#POOLED pooled} allocator. If
+     * absent, the default of Netty (network communication framework) is used.
+     *
+     * @return the optional amount of direct arenas.
+     */
+    @NotNull OptionalInt getDirectArenas();
+
+    /**
+     * Returns the optional page size in bytes of a {@link MqttBufferAllocatorType#POOLED pooled} allocator. If absent,
+     * the default of Netty (network communication framework) is used.
+     *
+     * @return the optional page size in bytes.
+     */
+    @NotNull OptionalInt getPageSize();
+
+    /**
+     * Returns the optional max order of a {@link MqttBufferAllocatorType#POOLED pooled} allocator. The chunk size is
+     * <code>pageSize &lt;&lt; maxOrder</code>. If absent, the default of Netty (network communication framework) is
+     * used.
+     *
+     * @return the optional max order.
+     */
+    @NotNull OptionalInt getMaxOrder();
+
+    /**
+     * Creates a builder for extending this buffer allocator configuration.
+     *
+     * @return the created builder.
+     */
+    @NotNull MqttBufferAllocatorConfigBuilder extend();
+}
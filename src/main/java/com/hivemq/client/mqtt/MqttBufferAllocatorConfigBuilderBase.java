@@ -0,0 +1,94 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Builder base for a {@link MqttBufferAllocatorConfig}.
+ *
+ * @param <B> the type of the builder.
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+@DoNotImplement
+public interface MqttBufferAllocatorConfigBuilderBase<B extends MqttBufferAllocatorConfigBuilderBase<B>> {
+
+    /**
+     * Sets the {@link MqttBufferAllocatorConfig#getType() buffer allocator type}.
+     *
+     * @param type the buffer allocator type.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B type(@NotNull MqttBufferAllocatorType type);
+
+    /**
+     * Sets whether {@link MqttBufferAllocatorConfig#isPreferDirect() direct buffers are preferred}.
+     *
+     * @param preferDirect whether direct buffers are preferred.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B preferDirect(boolean preferDirect);
+
+    /**
+     * Sets the {@link MqttBufferAllocatorConfig#getHeapArenas() amount of heap arenas}.
+     * <p>
+     * It must not be negative.
+     *
+     * @param heapArenas the amount of heap arenas.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B heapArenas(int heapArenas);
+
+    /**
+     * Sets the {@link MqttBufferAllocatorConfig#getDirectArenas() amount of direct arenas}.
+     * <p>
+     * It must not be negative.
+     *
+     * @param directArenas the amount of direct arenas.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B directArenas(int directArenas);
+
+    /**
+     * Sets the {@link MqttBufferAllocatorConfig#getPageSize() page size}.
+     * <p>
+     * It must be a power of 2 and at least 4096.
+     *
+     * @param pageSize the page size in bytes.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B pageSize(int pageSize);
+
+    /**
+     * Sets the {@link MqttBufferAllocatorConfig#getMaxOrder() max order}.
+     * <p>
+     * It must be in the range: [0, 14].
+     *
+     * @param maxOrder the max order.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B maxOrder(int maxOrder);
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Available types of buffer allocators for a {@link MqttBufferAllocatorConfig}.
+ *
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+public enum MqttBufferAllocatorType {
+
+    /**
+     * Allocator that pools buffers in arenas which are divided into chunks of pages.
+     */
+    POOLED,
+    /**
+     * Allocator that allocates a new buffer for every allocation.
+     */
+    UNPOOLED,
+    /**
+     * Allocator that pools buffers and adapts its chunk sizes to the observed allocation sizes.
+     */
+    ADAPTIVE
+}
@@ -56,11 +56,41 @@ public interface MqttClientExecutorConfig {
      */
     @NotNull OptionalInt getNettyThreads();
 
+    /**
+     * Returns the optional user defined transport Netty (network communication framework) will use. If absent, the
+     * first available transport in the order {@link MqttNettyTransport#IO_URING} &rarr; {@link
+     * MqttNettyTransport#EPOLL} &rarr; {@link MqttNettyTransport#NIO} is used.
+     *
+     * @return the optional user defined transport for Netty.
+     * @since 1.4
+     */
+    @NotNull Optional<MqttNettyTransport> getNettyTransport();
+
+    /**
+     * Returns the optional index of the Netty (network communication framework) event loop the client is pinned to.
+     * Clients that are pinned to the same index share the same thread. If absent, the client is assigned to the event
+     * loop that currently serves the fewest clients whenever it connects.
+     *
+     * @return the optional index of the Netty event loop the client is pinned to.
+     * @since 1.4
+     */
+    @NotNull OptionalInt getNettyEventLoopIndex();
+
     /**
      * @return the {@link Scheduler} used for executing application specific code, such as callbacks.
      */
     @NotNull Scheduler getApplicationScheduler();
 
+    /**
+     * Returns the optional configuration of the allocator of the buffers used for network communication and
+     * encoding/decoding of MQTT packets. If absent, the default allocator of Netty (network communication framework)
+     * is used.
+     *
+     * @return the optional buffer allocator configuration.
+     * @since 1.4
+     */
+    @NotNull Optional<MqttBufferAllocatorConfig> getBufferAllocatorConfig();
+
     /**
      * Creates a builder for extending this executor configuration.
      *
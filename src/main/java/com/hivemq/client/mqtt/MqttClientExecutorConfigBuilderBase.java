@@ -54,6 +54,35 @@ public interface MqttClientExecutorConfigBuilderBase<B extends MqttClientExecuto
     @CheckReturnValue
     @NotNull B nettyThreads(int nettyThreads);
 
+    /**
+     * Sets the optional user defined {@link MqttClientExecutorConfig#getNettyTransport() transport Netty} (network
+     * communication framework) will use.
+     * <p>
+     * If the transport is not available, Netty falls back to the next available transport in the order {@link
+     * MqttNettyTransport#IO_URING} &rarr; {@link MqttNettyTransport#EPOLL} &rarr; {@link MqttNettyTransport#NIO}.
+     *
+     * @param nettyTransport the user defined transport for Netty or <code>null</code> to use the first available
+     *                       transport.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B nettyTransport(@Nullable MqttNettyTransport nettyTransport);
+
+    /**
+     * Sets the optional {@link MqttClientExecutorConfig#getNettyEventLoopIndex() index of the Netty event loop}
+     * (network communication framework) the client is pinned to.
+     * <p>
+     * It must not be negative. If it is greater than or equal to the amount of Netty threads, the index modulo the
+     * amount of Netty threads is used.
+     *
+     * @param nettyEventLoopIndex the index of the Netty event loop.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B nettyEventLoopIndex(int nettyEventLoopIndex);
+
     /**
      * Sets the {@link MqttClientExecutorConfig#getApplicationScheduler() scheduler used for executing application
      * specific code}.
@@ -63,4 +92,28 @@ public interface MqttClientExecutorConfigBuilderBase<B extends MqttClientExecuto
      */
     @CheckReturnValue
     @NotNull B applicationScheduler(@NotNull Scheduler applicationScheduler);
+
+    /**
+     * Sets the optional {@link MqttClientExecutorConfig#getBufferAllocatorConfig() buffer allocator configuration}.
+     *
+     * @param bufferAllocatorConfig the buffer allocator configuration or <code>null</code> to use the default
+     *                              allocator.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B bufferAllocatorConfig(@Nullable MqttBufferAllocatorConfig bufferAllocatorConfig);
+
+    /**
+     * Fluent counterpart of {@link #bufferAllocatorConfig(MqttBufferAllocatorConfig)}.
+     * <p>
+     * Calling {@link MqttBufferAllocatorConfigBuilder.Nested#applyBufferAllocatorConfig()} on the returned builder has
+     * the effect of extending the current buffer allocator configuration.
+     *
+     * @return the fluent builder for the buffer allocator configuration.
+     * @see #bufferAllocatorConfig(MqttBufferAllocatorConfig)
+     * @since 1.4
+     */
+    @CheckReturnValue
+    MqttBufferAllocatorConfigBuilder.@NotNull Nested<? extends B> bufferAllocatorConfig();
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+
+/**
+ * Statistics of an {@link MqttClient}.
+ * <p>
+ * All counters are cumulative for the lifetime of the client unless stated otherwise and can be read from any thread.
+ *
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+@DoNotImplement
+public interface MqttClientStatistics {
+
+    /**
+     * Returns the count of unacknowledged (fire and forget) Publish messages that were written to a connection.
+     * <p>
+     * QoS 0 Publish messages are counted when they are written to the channel pipeline of the connection, not when they
+     * are flushed to the network. If the connection fails while flushing, they are still counted here and not as
+     * failures.
+     *
+     * @return the count of unacknowledged (fire and forget) Publish messages that were written to a connection.
+     */
+    long getUnacknowledgedPublishCount();
+
+    /**
+     * @return the count of unacknowledged (fire and forget) Publish messages that could not be sent, for example
+     *         because the client was not connected or the Publish message could not be encoded.
+     */
+    long getUnacknowledgedPublishFailureCount();
+
+    /**
+     * Returns the current count of Publish messages that are buffered while they are waiting to be sent.
+     * <p>
+     * Buffered Publish messages are only counted if the buffer is limited.
+     *
+     * @return the current count of buffered Publish messages.
+     * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#getPublishBufferMaxMessages()
+     */
+    int getBufferedPublishCount();
+
+    /**
+     * Returns the current sum of the payload sizes of the Publish messages that are buffered while they are waiting to
+     * be sent.
+     * <p>
+     * Buffered Publish messages are only counted if the buffer is limited.
+     *
+     * @return the current amount of payload bytes of buffered Publish messages.
+     * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#getPublishBufferMaxBytes()
+     */
+    long getBufferedPublishBytes();
+
+    /**
+     * @return the count of Publish messages that were dropped because the buffer of Publish messages overflowed.
+     * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishBufferOverflowPolicy#DROP_NEWEST
+     * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishBufferOverflowPolicy#DROP_OLDEST
+     */
+    long getDroppedPublishCount();
+
+    /**
+     * @return the count of Publish messages that were rejected because the buffer of Publish messages overflowed.
+     * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishBufferOverflowPolicy#FAIL
+     * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishBufferOverflowPolicy#BLOCK
+     */
+    long getRejectedPublishCount();
+
+    /**
+     * @return the count of incoming QoS 0 Publish messages that were replaced by a newer Publish message with the same
+     *         Topic before they were consumed by a conflating subscriber.
+     * @see com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5SubscribeBuilder.Publishes.Args#conflate(boolean)
+     */
+    long getConflatedIncomingPublishCount();
+
+    /**
+     * @return the count of incoming QoS 0 Publish messages that were dropped because the buffer of incoming QoS 0
+     *         Publish messages overflowed.
+     * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#getIncomingQos0BufferOverflowPolicy()
+     */
+    long getDroppedIncomingQos0PublishCount();
+
+    /**
+     * @return the count of incoming Publish messages that were not delivered to at least one subscriber because their
+     *         message expiry interval elapsed while they were queued.
+     * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#isEnforceMessageExpiry()
+     */
+    long getExpiredIncomingPublishCount();
+
+    /**
+     * @return the count of outgoing Publish messages that were not sent because their message expiry interval elapsed
+     *         while they were waiting to be sent.
+     * @see com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig#isEnforceMessageExpiry()
+     */
+    long getExpiredOutgoingPublishCount();
+}
@@ -65,6 +65,32 @@ public interface MqttClientTransportConfig {
      */
     @NotNull Optional<InetSocketAddress> getLocalAddress();
 
+    /**
+     * Returns the optional path of the Unix domain socket to connect to. If present, the connection is established via
+     * the Unix domain socket instead of TCP. The {@link #getServerAddress() server address} is still used as the
+     * logical address of the server, for example for TLS host name verification and the WebSocket URI.
+     * <p>
+     * Unix domain sockets require the {@link MqttNettyTransport#EPOLL epoll} transport. If it is not available, the
+     * connect fails without triggering an automatic reconnect.
+     *
+     * @return the optional path of the Unix domain socket.
+     * @since 1.4
+     */
+    @NotNull Optional<String> getDomainSocketPath();
+
+    /**
+     * Returns the optional id of the in-JVM address to connect to. If present, the connection is established via a
+     * Netty (network communication framework) local channel to a server in the same JVM that is bound to a local
+     * address with this id, bypassing the network stack of the operating system. The {@link #getServerAddress() server
+     * address} is still used as the logical address of the server.
+     * <p>
+     * Local channels are supported by all {@link MqttNettyTransport transports}.
+     *
+     * @return the optional id of the in-JVM address.
+     * @since 1.4
+     */
+    @NotNull Optional<String> getLocalChannelId();
+
     /**
      * @return the optional secure transport configuration.
      */
@@ -81,6 +107,12 @@ public interface MqttClientTransportConfig {
      */
     @NotNull Optional<MqttProxyConfig> getProxyConfig();
 
+    /**
+     * @return the socket configuration.
+     * @since 1.4
+     */
+    @NotNull MqttSocketConfig getSocketConfig();
+
     /**
      * @return the timeout for connecting the socket to the server in milliseconds.
      * @since 1.2
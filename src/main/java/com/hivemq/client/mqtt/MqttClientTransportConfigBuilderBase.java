@@ -115,6 +115,32 @@ public interface MqttClientTransportConfigBuilderBase<B extends MqttClientTransp
     @CheckReturnValue
     @NotNull B localPort(int port);
 
+    /**
+     * Sets the optional {@link MqttClientTransportConfig#getDomainSocketPath() path of the Unix domain socket} to
+     * connect to.
+     *
+     * <p>
+     * Setting a path removes a previously set {@link #localChannelId(String) local channel id}.
+     *
+     * @param path the path of the Unix domain socket or <code>null</code> to connect via TCP.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B domainSocketPath(@Nullable String path);
+
+    /**
+     * Sets the optional {@link MqttClientTransportConfig#getLocalChannelId() id of the in-JVM address} to connect to.
+     * <p>
+     * Setting an id removes a previously set {@link #domainSocketPath(String) domain socket path}.
+     *
+     * @param id the id of the in-JVM address or <code>null</code> to connect via the network.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B localChannelId(@Nullable String id);
+
     /**
      * Sets the {@link MqttClientTransportConfig#getSslConfig() secure transport configuration} to the default
      * configuration.
@@ -203,6 +229,29 @@ public interface MqttClientTransportConfigBuilderBase<B extends MqttClientTransp
     @CheckReturnValue
     MqttProxyConfigBuilder.@NotNull Nested<? extends B> proxyConfig();
 
+    /**
+     * Sets the {@link MqttClientTransportConfig#getSocketConfig() socket configuration}.
+     *
+     * @param socketConfig the socket configuration.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B socketConfig(@NotNull MqttSocketConfig socketConfig);
+
+    /**
+     * Fluent counterpart of {@link #socketConfig(MqttSocketConfig)}.
+     * <p>
+     * Calling {@link MqttSocketConfigBuilder.Nested#applySocketConfig()} on the returned builder has the effect of
+     * extending the current socket configuration.
+     *
+     * @return the fluent builder for the socket configuration.
+     * @see #socketConfig(MqttSocketConfig)
+     * @since 1.4
+     */
+    @CheckReturnValue
+    MqttSocketConfigBuilder.@NotNull Nested<? extends B> socketConfig();
+
     /**
      * Sets the {@link MqttClientTransportConfig#getSocketConnectTimeoutMs() timeout for connecting the socket to the
      * server}.
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Available transports of Netty (network communication framework) for a {@link MqttClientExecutorConfig}.
+ * <p>
+ * If a transport is not available (because its optional module is not on the classpath or it is not supported by the
+ * operating system), the next transport in the order {@link #IO_URING} &rarr; {@link #EPOLL} &rarr; {@link #NIO} is
+ * used instead.
+ *
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+public enum MqttNettyTransport {
+
+    /**
+     * Linux io_uring transport, requires the io-uring module and a recent Linux kernel.
+     */
+    IO_URING,
+    /**
+     * Linux epoll transport, requires the epoll module.
+     */
+    EPOLL,
+    /**
+     * Java NIO transport, available on all platforms.
+     */
+    NIO
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.MqttSocketConfigImplBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.OptionalInt;
+
+/**
+ * Configuration for the socket options of the network connection of {@link MqttClient MQTT clients}.
+ * <p>
+ * Options that are not supported by the transport of Netty (network communication framework) in use are ignored. The
+ * options {@link #isTcpQuickAck() TCP_QUICKACK}, {@link #getTcpNotSentLowAt() TCP_NOTSENT_LOWAT}, {@link
+ * #getTcpUserTimeoutMs() TCP_USER_TIMEOUT} and {@link #isTcpFastOpenConnect() TCP Fast Open connect} are only
+ * supported by the {@link MqttNettyTransport#EPOLL epoll} and {@link MqttNettyTransport#IO_URING io_uring} transports,
+ * {@link #getBusyPollMicros() SO_BUSY_POLL} only by the {@link MqttNettyTransport#EPOLL epoll} transport.
+ *
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+@DoNotImplement
+public interface MqttSocketConfig {
+
+    /**
+     * By default Nagle's algorithm is disabled (TCP_NODELAY).
+     */
+    boolean DEFAULT_TCP_NO_DELAY = true;
+    /**
+     * By default TCP keep alive is enabled (SO_KEEPALIVE).
+     */
+    boolean DEFAULT_KEEP_ALIVE = true;
+
+    /**
+     * Creates a builder for a socket configuration.
+     *
+     * @return the created builder for a socket configuration.
+     */
+    static @NotNull MqttSocketConfigBuilder builder() {
+        return new MqttSocketConfigImplBuilder.Default();
+    }
+
+    /**
+     * @return whether Nagle's algorithm is disabled (TCP_NODELAY).
+     */
+    boolean isTcpNoDelay();
+
+    /**
+     * @return whether TCP keep alive is enabled (SO_KEEPALIVE).
+     */
+    boolean isKeepAlive();
+
+    /**
+     * Returns the optional size of the socket send buffer in bytes (SO_SNDBUF). If absent, the default of the operating
+     * system is used.
+     *
+     * @return the optional size of the socket send buffer in bytes.
+     */
+    @NotNull OptionalInt getSendBufferSize();
+
+    /**
+     * Returns the optional size of the socket receive buffer in bytes (SO_RCVBUF). If absent, the default of the
+     * operating system is used.
+     *
+     * @return the optional size of the socket receive buffer in bytes.
+     */
+    @NotNull OptionalInt getReceiveBufferSize();
+
+    /**
+     * Returns the optional low water mark of the outbound buffer in bytes. If the amount of pending outbound bytes
+     * falls below the low water mark after it exceeded the {@link #getWriteBufferHighWaterMark() high water mark}, the
+     * connection becomes writable again. If absent, the default of Netty (network communication framework) is used.
+     *
+     * @return the optional low water mark of the outbound buffer in bytes.
+     */
+    @NotNull OptionalInt getWriteBufferLowWaterMark();
+
+    /**
+     * Returns the optional high water mark of the outbound buffer in bytes. If the amount of pending outbound bytes
+     * exceeds the high water mark, the connection becomes unwritable. If absent, the default of Netty (network
+     * communication framework) is used.
+     *
+     * @return the optional high water mark of the outbound buffer in bytes.
+     */
+    @NotNull OptionalInt getWriteBufferHighWaterMark();
+
+    /**
+     * @return whether TCP acknowledgements are sent immediately instead of delayed (TCP_QUICKACK).
+     */
+    boolean isTcpQuickAck();
+
+    /**
+     * Returns the optional limit of unsent bytes in the socket send buffer (TCP_NOTSENT_LOWAT). If absent, the default
+     * of the operating system is used.
+     *
+     * @return the optional limit of unsent bytes in bytes.
+     */
+    @NotNull OptionalInt getTcpNotSentLowAt();
+
+    /**
+     * Returns the optional time in microseconds to busy poll the network device queue on blocking receives
+     * (SO_BUSY_POLL). If absent, busy polling is disabled.
+     *
+     * @return the optional busy poll time in microseconds.
+     */
+    @NotNull OptionalInt getBusyPollMicros();
+
+    /**
+     * Returns the optional time in milliseconds that transmitted data may remain unacknowledged before the connection
+     * is closed (TCP_USER_TIMEOUT). If absent, the default of the operating system is used.
+     *
+     * @return the optional TCP user timeout in milliseconds.
+     */
+    @NotNull OptionalInt getTcpUserTimeoutMs();
+
+    /**
+     * @return whether TCP Fast Open is used when connecting (TCP_FASTOPEN_CONNECT).
+     */
+    boolean isTcpFastOpenConnect();
+
+    /**
+     * Creates a builder for extending this socket configuration.
+     *
+     * @return the created builder.
+     */
+    @NotNull MqttSocketConfigBuilder extend();
+}
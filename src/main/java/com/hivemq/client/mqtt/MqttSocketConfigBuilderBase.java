@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builder base for a {@link MqttSocketConfig}.
+ *
+ * @param <B> the type of the builder.
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+@DoNotImplement
+public interface MqttSocketConfigBuilderBase<B extends MqttSocketConfigBuilderBase<B>> {
+
+    /**
+     * Sets whether {@link MqttSocketConfig#isTcpNoDelay() Nagle's algorithm is disabled}.
+     *
+     * @param tcpNoDelay whether Nagle's algorithm is disabled.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B tcpNoDelay(boolean tcpNoDelay);
+
+    /**
+     * Sets whether {@link MqttSocketConfig#isKeepAlive() TCP keep alive is enabled}.
+     *
+     * @param keepAlive whether TCP keep alive is enabled.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B keepAlive(boolean keepAlive);
+
+    /**
+     * Sets the {@link MqttSocketConfig#getSendBufferSize() size of the socket send buffer}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param sendBufferSize the size of the socket send buffer in bytes.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B sendBufferSize(int sendBufferSize);
+
+    /**
+     * Sets the {@link MqttSocketConfig#getReceiveBufferSize() size of the socket receive buffer}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param receiveBufferSize the size of the socket receive buffer in bytes.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B receiveBufferSize(int receiveBufferSize);
+
+    /**
+     * Sets the {@link MqttSocketConfig#getWriteBufferLowWaterMark() low} and {@link
+     * MqttSocketConfig#getWriteBufferHighWaterMark() high} water marks of the outbound buffer.
+     * <p>
+     * The low water mark must not be negative and must not be greater than the high water mark.
+     *
+     * @param low  the low water mark in bytes.
+     * @param high the high water mark in bytes.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B writeBufferWaterMark(int low, int high);
+
+    /**
+     * Sets whether {@link MqttSocketConfig#isTcpQuickAck() TCP acknowledgements are sent immediately}.
+     *
+     * @param tcpQuickAck whether TCP acknowledgements are sent immediately.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B tcpQuickAck(boolean tcpQuickAck);
+
+    /**
+     * Sets the {@link MqttSocketConfig#getTcpNotSentLowAt() limit of unsent bytes in the socket send buffer}.
+     * <p>
+     * It must not be negative.
+     *
+     * @param tcpNotSentLowAt the limit of unsent bytes in bytes.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B tcpNotSentLowAt(int tcpNotSentLowAt);
+
+    /**
+     * Sets the {@link MqttSocketConfig#getBusyPollMicros() time to busy poll the network device queue}.
+     * <p>
+     * The time in microseconds must be in the range: [0, {@link Integer#MAX_VALUE}].
+     *
+     * @param time     the busy poll time or <code>0</code> to disable busy polling.
+     * @param timeUnit the time unit of the given time (this time only supports microsecond precision).
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B busyPoll(long time, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets the {@link MqttSocketConfig#getTcpUserTimeoutMs() time that transmitted data may remain unacknowledged}.
+     * <p>
+     * The timeout in milliseconds must be in the range: [0, {@link Integer#MAX_VALUE}].
+     *
+     * @param timeout  the TCP user timeout or <code>0</code> to use the default of the operating system.
+     * @param timeUnit the time unit of the given timeout (this timeout only supports millisecond precision).
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B tcpUserTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets whether {@link MqttSocketConfig#isTcpFastOpenConnect() TCP Fast Open is used when connecting}.
+     *
+     * @param tcpFastOpenConnect whether TCP Fast Open is used when connecting.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B tcpFastOpenConnect(boolean tcpFastOpenConnect);
+}
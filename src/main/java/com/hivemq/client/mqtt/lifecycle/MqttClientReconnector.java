@@ -220,9 +220,15 @@ public interface MqttClientReconnector {
 
     /**
      * Sets a different transport configuration the client will try to reconnect with.
+     * <p>
+     * The Netty transport of the client is chosen when the client is built. A transport configuration with a {@link
+     * MqttClientTransportConfig#getDomainSocketPath() Unix domain socket path} is therefore only accepted if the client
+     * uses the epoll transport, for example because it was built with a domain socket path or with the epoll transport.
      *
      * @param transportConfig the transport configuration the client will try to reconnect with.
      * @return this reconnector.
+     * @throws IllegalArgumentException if the transport configuration uses a Unix domain socket but the client does
+     *                                  not use the epoll transport.
      */
     @NotNull MqttClientReconnector transportConfig(@NotNull MqttClientTransportConfig transportConfig);
 
@@ -31,6 +31,8 @@ import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3Unsubscribe;
 import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3UnsubscribeBuilder;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -120,6 +122,28 @@ public interface Mqtt3BlockingClient extends Mqtt3Client {
      */
     @NotNull Mqtt3Publishes publishes(@NotNull MqttGlobalPublishFilter filter, boolean manualAcknowledgement);
 
+    /**
+     * Globally consumes all incoming Publish messages matching the given filter.
+     * <p>
+     * Up to <code>prefetch</code> Publish messages are requested in advance and queued in the returned {@link
+     * Mqtt3Publishes} instance, so that receiving does not need a round trip for every single message. Prefetched
+     * messages that are not received before the {@link Mqtt3Publishes} instance is closed are discarded and
+     * released. With manual acknowledgement, discarded QoS 1 and 2 messages are acknowledged on close, so that they do
+     * not hold back the acknowledgements of following messages. Up to <code>prefetch</code> messages can therefore be
+     * lost on close, so a prefetch of 1 should be used if this is not acceptable.
+     *
+     * @param filter                the filter with which all incoming Publish messages are filtered.
+     * @param manualAcknowledgement whether the Publish messages are acknowledged manually.
+     * @param prefetch              the maximum amount of Publish messages that are queued before they are received,
+     *                              must be at least 1.
+     * @return a {@link Mqtt3Publishes} instance that can be used to receive the Publish messages on the calling
+     *         thread.
+     * @see #publishes(MqttGlobalPublishFilter, boolean)
+     * @since 1.4
+     */
+    @NotNull Mqtt3Publishes publishes(
+            @NotNull MqttGlobalPublishFilter filter, boolean manualAcknowledgement, int prefetch);
+
     /**
      * Unsubscribes this client with the given Unsubscribe message.
      *
@@ -215,6 +239,37 @@ public interface Mqtt3BlockingClient extends Mqtt3Client {
          */
         @NotNull Optional<Mqtt3Publish> receiveNow();
 
+        /**
+         * Receives up to the given amount of incoming Publish messages.
+         * <ul>
+         *   <li>Returns immediately if there are already Publish messages queued in this {@link Mqtt3Publishes}
+         *     instance.
+         *   <li>Otherwise blocks the calling thread until at least one Publish message is received or the given timeout
+         *     applies.
+         * </ul>
+         *
+         * @param maxPublishes the maximum amount of Publish messages to receive, must be at least 1.
+         * @param timeout      the time to wait for a Publish message to be received.
+         * @param timeUnit     the time unit of the timeout parameter.
+         * @return the received Publish messages in the order they were received, or an empty list if no Publish
+         *         message was received in the given timeout period.
+         * @throws InterruptedException if the calling thread is interrupted while waiting for a Publish message to be
+         *                              received.
+         * @since 1.4
+         */
+        @NotNull List<Mqtt3Publish> receive(int maxPublishes, long timeout, @NotNull TimeUnit timeUnit)
+                throws InterruptedException;
+
+        /**
+         * Adds all Publish messages that are already queued in this {@link Mqtt3Publishes} instance to the given
+         * collection without blocking.
+         *
+         * @param publishes the collection to add the queued Publish messages to.
+         * @return the amount of Publish messages that were added.
+         * @since 1.4
+         */
+        int drainTo(@NotNull Collection<? super Mqtt3Publish> publishes);
+
         @Override
         void close();
     }
@@ -17,6 +17,7 @@
 package com.hivemq.client.mqtt.mqtt3.message.publish;
 
 import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishView;
 import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishViewBuilder;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.datatypes.MqttTopic;
@@ -25,6 +26,7 @@ import com.hivemq.client.mqtt.mqtt3.message.Mqtt3MessageType;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -52,6 +54,22 @@ public interface Mqtt3Publish extends Mqtt3Message {
         return new Mqtt3PublishViewBuilder.Default();
     }
 
+    /**
+     * Acknowledges the given Publish messages. Acknowledgements are grouped per subscriber (flow) and the resulting
+     * acknowledgements are sent in one network flush per subscriber.
+     * <p>
+     * If one of the messages is already acknowledged, the other messages are still acknowledged before the exception
+     * is thrown.
+     *
+     * @param publishes the Publish messages to acknowledge.
+     * @throws UnsupportedOperationException if manual acknowledgement is not enabled for one of the messages.
+     * @throws IllegalStateException         if one of the messages is acknowledged more than once.
+     * @since 1.4
+     */
+    static void acknowledgeBatch(final @NotNull Collection<? extends Mqtt3Publish> publishes) {
+        Mqtt3PublishView.acknowledgeBatch(publishes);
+    }
+
     /**
      * @return the topic of this Publish message.
      */
@@ -86,6 +104,30 @@ public interface Mqtt3Publish extends Mqtt3Message {
      */
     void acknowledge();
 
+    /**
+     * Acknowledges this Publish message and all Publish messages that were emitted before it to the same subscriber
+     * (flow) and are not acknowledged yet, similar to committing an offset.
+     * <p>
+     * The resulting acknowledgements are sent in one network flush. In contrast to {@link #acknowledge()},
+     * acknowledging a message that is already acknowledged is allowed.
+     *
+     * @throws UnsupportedOperationException if manual acknowledgement is not enabled.
+     * @since 1.4
+     */
+    void acknowledgeCumulatively();
+
+    /**
+     * Releases the network buffer that the payload of this Publish message refers to if zero copy of incoming
+     * payloads is enabled. The payload must not be accessed after this Publish message is released.
+     * <p>
+     * Calling this method more than once or on a Publish message that does not refer to a network buffer has no
+     * effect.
+     *
+     * @return whether a network buffer was released by this call.
+     * @since 1.4
+     */
+    boolean release();
+
     @Override
     default @NotNull Mqtt3MessageType getType() {
         return Mqtt3MessageType.PUBLISH;
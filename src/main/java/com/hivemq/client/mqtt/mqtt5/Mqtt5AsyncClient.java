@@ -25,6 +25,7 @@ import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBatchResult;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
 import com.hivemq.client.mqtt.mqtt5.message.subscribe.Mqtt5Subscribe;
@@ -35,9 +36,12 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Asynchronous API of an {@link Mqtt5Client} based on futures and callbacks.
@@ -203,6 +207,48 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
     @CheckReturnValue
     Mqtt5SubscribeAndCallbackBuilder.@NotNull Start subscribeWith();
 
+    /**
+     * Subscribes this client with the given Subscribe message and consumes the incoming Publish messages matching the
+     * subscriptions of the Subscribe message in batches with a callback.
+     * <p>
+     * A batch contains the Publish messages that were received during the same network read cycle, but at most the
+     * given maximum batch size. The callback is executed once per batch which saves a handoff to the application
+     * thread per Publish message.
+     *
+     * @param subscribe    the Subscribe messages sent to the broker.
+     * @param callback     the callback for consuming batches of the incoming Publish messages matching the
+     *                     subscriptions of the Subscribe message.
+     * @param maxBatchSize the maximum amount of Publish messages in a batch, must be positive.
+     * @return see {@link #subscribe(Mqtt5Subscribe)}.
+     * @see #subscribeBatched(Mqtt5Subscribe, Consumer, int, Executor)
+     * @since 1.4
+     */
+    @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeBatched(
+            @NotNull Mqtt5Subscribe subscribe,
+            @NotNull Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback,
+            int maxBatchSize);
+
+    /**
+     * Subscribes this client with the given Subscribe message and consumes the incoming Publish messages matching the
+     * subscriptions of the Subscribe message in batches with a callback.
+     * <p>
+     * The future is completed and the callback is executed on the given executor.
+     *
+     * @param subscribe    the Subscribe messages sent to the broker.
+     * @param callback     the callback for consuming batches of the incoming Publish messages matching the
+     *                     subscriptions of the Subscribe message.
+     * @param maxBatchSize the maximum amount of Publish messages in a batch, must be positive.
+     * @param executor     the executor where the future is completed and the callback is executed on.
+     * @return see {@link #subscribe(Mqtt5Subscribe)}.
+     * @see #subscribeBatched(Mqtt5Subscribe, Consumer, int)
+     * @since 1.4
+     */
+    @NotNull CompletableFuture<@NotNull Mqtt5SubAck> subscribeBatched(
+            @NotNull Mqtt5Subscribe subscribe,
+            @NotNull Consumer<@NotNull List<@NotNull Mqtt5Publish>> callback,
+            int maxBatchSize,
+            @NotNull Executor executor);
+
     /**
      * Globally consumes all incoming Publish messages matching the given filter.
      *
@@ -322,6 +368,40 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
     @CheckReturnValue
     Mqtt5PublishBuilder.@NotNull Send<CompletableFuture<Mqtt5PublishResult>> publishWith();
 
+    /**
+     * Publishes the given batch of Publish messages.
+     * <p>
+     * The Publish messages are handed to the client at once and are sent in the iteration order of the given
+     * collection. In contrast to calling {@link #publish(Mqtt5Publish)} for every Publish message, only one aggregated
+     * result is provided for the whole batch.
+     *
+     * @param publishes the batch of Publish messages sent to the broker.
+     * @return a {@link CompletableFuture} which
+     *         <ul>
+     *           <li>completes normally with the {@link Mqtt5PublishBatchResult} when every Publish message of the
+     *             batch was published or has failed (the result for each Publish message is accessible by its index,
+     *             errors are provided by {@link Mqtt5PublishResult#getError()}) or
+     *           <li>completes exceptionally if an error occurred before the Publish messages were handed to the
+     *             client, for example if the client is not connected.
+     *         </ul>
+     * @since 1.4
+     */
+    @NotNull CompletableFuture<@NotNull Mqtt5PublishBatchResult> publishAll(
+            @NotNull Collection<? extends @NotNull Mqtt5Publish> publishes);
+
+    /**
+     * Publishes the given Publish message without providing a result (fire and forget).
+     * <p>
+     * In contrast to {@link #publish(Mqtt5Publish)}, no {@link CompletableFuture} and no {@link Mqtt5PublishResult} is
+     * created. A Publish message with QoS 0 is written to the connection without waiting for the write to complete. The
+     * count of sent and failed Publish messages is provided by the {@link com.hivemq.client.mqtt.MqttClientStatistics
+     * client statistics}. If the client is not connected, the Publish message is counted as failed.
+     *
+     * @param publish the Publish message sent to the broker.
+     * @since 1.4
+     */
+    void publishUnacknowledged(@NotNull Mqtt5Publish publish);
+
     /**
      * Re-authenticates this client.
      *
@@ -467,6 +547,55 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
                  */
                 @CheckReturnValue
                 @NotNull Ex manualAcknowledgement(boolean manualAcknowledgement);
+
+                /**
+                 * Sets the amount of callbacks for the matching Publish messages that may be executed concurrently on
+                 * the {@link #executor(Executor) executor}.
+                 * <p>
+                 * Publish messages with the same {@link #orderingKey(Function) ordering key} are still consumed in
+                 * order, Publish messages with different keys may be consumed concurrently. Acknowledgements (also
+                 * {@link #manualAcknowledgement(boolean) manual} ones) are still sent to the broker in the order
+                 * required by the MQTT specification. Defaults to <code>1</code> which consumes all Publish messages
+                 * sequentially. An executor must be set if the parallelism is greater than <code>1</code>.
+                 *
+                 * @param parallelism the amount of concurrently executed callbacks, must be positive and not greater
+                 *                    than <code>4096</code>.
+                 * @return the builder.
+                 * @since 1.4
+                 */
+                @CheckReturnValue
+                @NotNull Ex parallelism(int parallelism);
+
+                /**
+                 * Sets the function that extracts the ordering key of the matching Publish messages if the {@link
+                 * #parallelism(int) parallelism} is greater than <code>1</code>.
+                 * <p>
+                 * Publish messages with equal keys are consumed in order. Defaults to the topic of the Publish
+                 * messages.
+                 *
+                 * @param keyExtractor the function that extracts the ordering key of a Publish message.
+                 * @return the builder.
+                 * @see #orderingKeyTopicLevels(int)
+                 * @since 1.4
+                 */
+                @CheckReturnValue
+                @NotNull Ex orderingKey(@NotNull Function<? super Mqtt5Publish, ?> keyExtractor);
+
+                /**
+                 * Uses the given amount of leading topic levels of the matching Publish messages as ordering key if
+                 * the {@link #parallelism(int) parallelism} is greater than <code>1</code>.
+                 * <p>
+                 * For example with 2 topic levels, Publish messages with the topics <code>site/a/temperature</code>
+                 * and <code>site/a/humidity</code> are consumed in order, but concurrently to Publish messages with
+                 * the topic <code>site/b/temperature</code>.
+                 *
+                 * @param levels the amount of leading topic levels used as ordering key, must be positive.
+                 * @return the builder.
+                 * @see #orderingKey(Function)
+                 * @since 1.4
+                 */
+                @CheckReturnValue
+                @NotNull Ex orderingKeyTopicLevels(int levels);
             }
         }
     }
@@ -38,6 +38,8 @@ import io.reactivex.Flowable;
 import io.reactivex.Single;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 /**
  * Reactive API of an {@link Mqtt5Client}.
  *
@@ -219,6 +221,44 @@ public interface Mqtt5RxClient extends Mqtt5Client {
     @CheckReturnValue
     Mqtt5SubscribeBuilder.Publishes.@NotNull Start<FlowableWithSingle<Mqtt5Publish, Mqtt5SubAck>> subscribePublishesWith();
 
+    /**
+     * Creates a {@link FlowableWithSingle} for subscribing this client with the given Subscribe message that emits the
+     * incoming Publish messages in batches.
+     * <p>
+     * Same as {@link #subscribePublishes(Mqtt5Subscribe)}, but the incoming Publish messages matching the subscriptions
+     * of the Subscribe message are collected into lists which are handed off to the application at once. A batch
+     * contains the Publish messages that were received during the same network read cycle, but at most the given
+     * maximum batch size.
+     *
+     * @param subscribe    the Subscribe message sent to the broker during subscribe.
+     * @param maxBatchSize the maximum amount of Publish messages in a batch, must be positive.
+     * @return the {@link FlowableWithSingle} which emits the SubAck message as the single and first element and then
+     *         emits batches of the Publish messages, see {@link #subscribePublishes(Mqtt5Subscribe)}.
+     * @see #subscribePublishesBatched(Mqtt5Subscribe, int, boolean)
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull FlowableWithSingle<List<Mqtt5Publish>, Mqtt5SubAck> subscribePublishesBatched(
+            @NotNull Mqtt5Subscribe subscribe, int maxBatchSize);
+
+    /**
+     * Creates a {@link FlowableWithSingle} for subscribing this client with the given Subscribe message that emits the
+     * incoming Publish messages in batches.
+     * <p>
+     * Same as {@link #subscribePublishesBatched(Mqtt5Subscribe, int)}, but allows to acknowledge the Publish messages
+     * manually, see {@link #subscribePublishes(Mqtt5Subscribe, boolean)}.
+     *
+     * @param subscribe             the Subscribe message sent to the broker during subscribe.
+     * @param maxBatchSize          the maximum amount of Publish messages in a batch, must be positive.
+     * @param manualAcknowledgement whether the Publish messages are acknowledged manually.
+     * @return see {@link #subscribePublishesBatched(Mqtt5Subscribe, int)}.
+     * @see #subscribePublishesBatched(Mqtt5Subscribe, int)
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull FlowableWithSingle<List<Mqtt5Publish>, Mqtt5SubAck> subscribePublishesBatched(
+            @NotNull Mqtt5Subscribe subscribe, int maxBatchSize, boolean manualAcknowledgement);
+
     /**
      * Creates a {@link Flowable} for globally consuming all incoming Publish messages matching the given filter.
      * <p>
@@ -317,6 +357,30 @@ public interface Mqtt5RxClient extends Mqtt5Client {
     @CheckReturnValue
     @NotNull Flowable<Mqtt5PublishResult> publish(@NotNull Flowable<Mqtt5Publish> publishFlowable);
 
+    /**
+     * Creates a {@link Completable} for publishing the Publish messages emitted by the given {@link Flowable} without
+     * providing results (fire and forget).
+     * <p>
+     * In contrast to {@link #publish(Flowable)}, no {@link Mqtt5PublishResult} is created for a Publish message. Publish
+     * messages with QoS 0 are written to the connection without waiting for the write to complete. The count of sent
+     * and failed Publish messages is provided by the {@link com.hivemq.client.mqtt.MqttClientStatistics client
+     * statistics}. Calling this method does not start publishing yet. When subscribing (in terms of Reactive Streams) to
+     * the returned {@link Completable} the client subscribes (in terms of Reactive Streams) to the given
+     * {@link Flowable}.
+     *
+     * @param publishFlowable the source of the Publish messages to publish.
+     * @return the {@link Completable} which
+     *         <ul>
+     *           <li>completes if the given {@link Flowable} completes, but not before all Publish messages were sent
+     *             (QoS 0) or acknowledged (QoS 1 and 2), or
+     *           <li>errors with the same exception if the given {@link Flowable} errors, but not before all Publish
+     *             messages were sent or acknowledged.
+     *         </ul>
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull Completable publishUnacknowledged(@NotNull Flowable<Mqtt5Publish> publishFlowable);
+
     /**
      * Creates a {@link Completable} for re-authenticating this client.
      * <p>
@@ -31,6 +31,67 @@ import org.jetbrains.annotations.Nullable;
 @DoNotImplement
 public interface Mqtt5ClientAdvancedConfig {
 
+    /**
+     * The default maximum amount of concurrent publish streams (unlimited).
+     *
+     * @since 1.4
+     */
+    int DEFAULT_MAX_CONCURRENT_PUBLISH_STREAMS = Integer.MAX_VALUE;
+    /**
+     * The default amount of publishes requested in advance per publish stream.
+     *
+     * @since 1.4
+     */
+    int DEFAULT_PUBLISH_STREAM_PREFETCH = 128;
+    /**
+     * The default write coalescing threshold (write coalescing is disabled).
+     *
+     * @since 1.4
+     */
+    int DEFAULT_WRITE_COALESCING_THRESHOLD = 0;
+    /**
+     * The default maximum size of a write coalescing buffer in bytes.
+     *
+     * @since 1.4
+     */
+    int DEFAULT_WRITE_COALESCING_MAX_SIZE = 8192;
+    /**
+     * The default maximum amount of buffered Publish messages (unlimited).
+     *
+     * @since 1.4
+     */
+    int DEFAULT_PUBLISH_BUFFER_MAX_MESSAGES = Integer.MAX_VALUE;
+    /**
+     * The default maximum amount of payload bytes of buffered Publish messages (unlimited).
+     *
+     * @since 1.4
+     */
+    long DEFAULT_PUBLISH_BUFFER_MAX_BYTES = Long.MAX_VALUE;
+    /**
+     * The default timeout in milliseconds for blocking until a Publish message fits into the publish buffer.
+     *
+     * @since 1.4
+     */
+    long DEFAULT_PUBLISH_BUFFER_BLOCK_TIMEOUT_MS = 10_000;
+    /**
+     * The default size of the incoming topic cache (the cache is disabled).
+     *
+     * @since 1.4
+     */
+    int DEFAULT_INCOMING_TOPIC_CACHE_SIZE = 0;
+    /**
+     * The default maximum amount of buffered incoming QoS 0 Publish messages.
+     *
+     * @since 1.4
+     */
+    int DEFAULT_INCOMING_QOS_0_BUFFER_MAX_MESSAGES = 65_535;
+    /**
+     * The default maximum amount of payload bytes of buffered incoming QoS 0 Publish messages (unlimited).
+     *
+     * @since 1.4
+     */
+    long DEFAULT_INCOMING_QOS_0_BUFFER_MAX_BYTES = Long.MAX_VALUE;
+
     /**
      * Creates a builder for an advanced configuration.
      *
@@ -58,6 +119,198 @@ public interface Mqtt5ClientAdvancedConfig {
      */
     @Nullable Mqtt5ClientInterceptors getInterceptors();
 
+    /**
+     * Returns the maximum amount of publish streams (for example <code>publish(Flowable)</code> calls) that are
+     * merged into the outgoing publish flow at the same time. Further streams wait until a stream completes.
+     * <p>
+     * The default is {@link #DEFAULT_MAX_CONCURRENT_PUBLISH_STREAMS} (unlimited).
+     *
+     * @return the maximum amount of concurrent publish streams.
+     * @since 1.4
+     */
+    int getMaxConcurrentPublishStreams();
+
+    /**
+     * Returns the amount of publishes that are requested in advance from each concurrent publish stream. The
+     * effective prefetch is additionally limited by the send maximum of the current connection.
+     * <p>
+     * The default is {@link #DEFAULT_PUBLISH_STREAM_PREFETCH}.
+     *
+     * @return the amount of publishes requested in advance per publish stream.
+     * @since 1.4
+     */
+    int getPublishStreamPrefetch();
+
+    /**
+     * Returns the strategy for merging the concurrent publish streams.
+     * <p>
+     * The default is {@link Mqtt5PublishStreamMergeMode#FIFO}.
+     *
+     * @return the strategy for merging the concurrent publish streams.
+     * @since 1.4
+     */
+    @NotNull Mqtt5PublishStreamMergeMode getPublishStreamMergeMode();
+
+    /**
+     * Returns the encoded size in bytes up to which consecutive MQTT packets are coalesced into one shared buffer until
+     * the next flush, instead of being written as separate buffers. Larger packets and packets with a direct payload
+     * are always written as separate buffers.
+     * <p>
+     * The default is {@link #DEFAULT_WRITE_COALESCING_THRESHOLD} (write coalescing is disabled).
+     *
+     * @return the write coalescing threshold in bytes, <code>0</code> if write coalescing is disabled.
+     * @since 1.4
+     */
+    int getWriteCoalescingThreshold();
+
+    /**
+     * Returns the maximum size in bytes of a buffer that coalesced MQTT packets are written to.
+     * <p>
+     * The default is {@link #DEFAULT_WRITE_COALESCING_MAX_SIZE}.
+     *
+     * @return the maximum size of a write coalescing buffer in bytes.
+     * @since 1.4
+     */
+    int getWriteCoalescingMaxSize();
+
+    /**
+     * Returns whether the payload of incoming Publish messages is exposed without copying it out of the network buffer
+     * it was received in.
+     * <p>
+     * If enabled, every received {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish Mqtt5Publish} holds
+     * a reference to the network buffer that must be released by calling {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#release() Mqtt5Publish#release()} as soon as the payload
+     * is not used anymore. Publish messages delivered to a callback of the async API are released automatically after
+     * the callback returns. The payload must not be accessed after the Publish message is released.
+     * <p>
+     * The default is <code>false</code> (the payload is copied).
+     *
+     * @return whether the payload of incoming Publish messages is not copied.
+     * @since 1.4
+     */
+    boolean isZeroCopyIncomingPayload();
+
+    /**
+     * Returns the maximum amount of Publish messages that are buffered while they are waiting to be sent, for example
+     * while the client is reconnecting or the send maximum of the server is reached.
+     * <p>
+     * The buffer contains the Publish messages of single publish calls. Publish messages of publish streams are not
+     * buffered as they are requested from the stream only when they can be sent.
+     * <p>
+     * If the limit is reached, the {@link #getPublishBufferOverflowPolicy() overflow policy} is applied. The default
+     * is {@link #DEFAULT_PUBLISH_BUFFER_MAX_MESSAGES} (unlimited).
+     *
+     * @return the maximum amount of buffered Publish messages.
+     * @since 1.4
+     */
+    int getPublishBufferMaxMessages();
+
+    /**
+     * Returns the maximum sum of the payload sizes of the Publish messages that are buffered while they are waiting to
+     * be sent, see {@link #getPublishBufferMaxMessages()}.
+     * <p>
+     * If the limit is reached, the {@link #getPublishBufferOverflowPolicy() overflow policy} is applied. A Publish
+     * message with a payload larger than the limit is always rejected. The default is {@link
+     * #DEFAULT_PUBLISH_BUFFER_MAX_BYTES} (unlimited).
+     *
+     * @return the maximum amount of payload bytes of buffered Publish messages.
+     * @since 1.4
+     */
+    long getPublishBufferMaxBytes();
+
+    /**
+     * Returns the policy that is applied if a Publish message does not fit into the buffer of Publish messages that are
+     * waiting to be sent.
+     * <p>
+     * The default is {@link Mqtt5PublishBufferOverflowPolicy#FAIL}.
+     *
+     * @return the policy that is applied if the buffer of Publish messages overflows.
+     * @since 1.4
+     */
+    @NotNull Mqtt5PublishBufferOverflowPolicy getPublishBufferOverflowPolicy();
+
+    /**
+     * Returns the maximum time a producing thread is blocked until its Publish message fits into the buffer of Publish
+     * messages that are waiting to be sent, if the {@link #getPublishBufferOverflowPolicy() overflow policy} is {@link
+     * Mqtt5PublishBufferOverflowPolicy#BLOCK}.
+     * <p>
+     * If the timeout elapses, the Publish message is rejected like with {@link Mqtt5PublishBufferOverflowPolicy#FAIL}.
+     * The default is {@link #DEFAULT_PUBLISH_BUFFER_BLOCK_TIMEOUT_MS}, <code>0</code> means no timeout.
+     *
+     * @return the timeout for blocking until a Publish message fits into the publish buffer in milliseconds.
+     * @since 1.4
+     */
+    long getPublishBufferBlockTimeoutMs();
+
+    /**
+     * Returns the maximum amount of Topic Names of incoming Publish messages that are cached per connection.
+     * <p>
+     * If enabled, a Topic Name that was already received on the same connection is not validated and allocated again.
+     * Instead, the same immutable {@link com.hivemq.client.mqtt.datatypes.MqttTopic MqttTopic} instance is reused.
+     * This reduces the decoding cost if messages are received repeatedly on a limited set of topics. If the cache is
+     * full, entries that were not used recently are evicted.
+     * <p>
+     * The default is {@link #DEFAULT_INCOMING_TOPIC_CACHE_SIZE} (the cache is disabled).
+     *
+     * @return the maximum amount of cached Topic Names of incoming Publish messages, 0 if the cache is disabled.
+     * @since 1.4
+     */
+    int getIncomingTopicCacheSize();
+
+    /**
+     * Returns the maximum amount of incoming QoS 0 Publish messages that are buffered while they are waiting to be
+     * consumed by subscribers without demand.
+     * <p>
+     * If the limit is reached, the {@link #getIncomingQos0BufferOverflowPolicy() overflow policy} is applied. The
+     * default is {@link #DEFAULT_INCOMING_QOS_0_BUFFER_MAX_MESSAGES}.
+     *
+     * @return the maximum amount of buffered incoming QoS 0 Publish messages.
+     * @since 1.4
+     */
+    int getIncomingQos0BufferMaxMessages();
+
+    /**
+     * Returns the maximum sum of the payload sizes of the incoming QoS 0 Publish messages that are buffered while they
+     * are waiting to be consumed, see {@link #getIncomingQos0BufferMaxMessages()}.
+     * <p>
+     * If the limit is reached, the {@link #getIncomingQos0BufferOverflowPolicy() overflow policy} is applied. The
+     * default is {@link #DEFAULT_INCOMING_QOS_0_BUFFER_MAX_BYTES} (unlimited).
+     *
+     * @return the maximum amount of payload bytes of buffered incoming QoS 0 Publish messages.
+     * @since 1.4
+     */
+    long getIncomingQos0BufferMaxBytes();
+
+    /**
+     * Returns the policy that is applied if an incoming QoS 0 Publish message does not fit into the buffer of incoming
+     * QoS 0 Publish messages that are waiting to be consumed.
+     * <p>
+     * The default is {@link Mqtt5IncomingQos0BufferOverflowPolicy#DROP_OLDEST}.
+     *
+     * @return the policy that is applied if the buffer of incoming QoS 0 Publish messages overflows.
+     * @since 1.4
+     */
+    @NotNull Mqtt5IncomingQos0BufferOverflowPolicy getIncomingQos0BufferOverflowPolicy();
+
+    /**
+     * Returns whether the client enforces the message expiry interval of Publish messages that are queued by the
+     * client.
+     * <p>
+     * If enabled, incoming Publish messages that are waiting to be consumed by subscribers without demand are not
+     * delivered anymore after their message expiry interval elapsed. Outgoing Publish messages that are waiting to be
+     * sent, for example while the client is disconnected, are not sent anymore after their message expiry interval
+     * elapsed, and are sent with the remaining message expiry interval rounded down otherwise. A message expiry interval
+     * of <code>0</code> is treated as less than one second, so such a message is still delivered or sent if it waited
+     * less than one second. Expired messages are counted in the {@link com.hivemq.client.mqtt.MqttClientStatistics
+     * client statistics}.
+     * <p>
+     * The default is <code>false</code>.
+     *
+     * @return whether the client enforces the message expiry interval of queued Publish messages.
+     * @since 1.4
+     */
+    boolean isEnforceMessageExpiry();
+
     /**
      * Creates a builder for extending this advanced configuration.
      *
@@ -23,6 +23,8 @@ import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Builder base for a {@link Mqtt5ClientAdvancedConfig}.
  *
@@ -72,4 +74,193 @@ public interface Mqtt5ClientAdvancedConfigBuilderBase<B extends Mqtt5ClientAdvan
      */
     @CheckReturnValue
     Mqtt5ClientInterceptorsBuilder.@NotNull Nested<? extends B> interceptors();
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getMaxConcurrentPublishStreams() maximum amount of concurrent publish
+     * streams}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param maxConcurrentPublishStreams the maximum amount of concurrent publish streams.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B maxConcurrentPublishStreams(int maxConcurrentPublishStreams);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getPublishStreamPrefetch() amount of publishes requested in advance
+     * per publish stream}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param publishStreamPrefetch the amount of publishes requested in advance per publish stream.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B publishStreamPrefetch(int publishStreamPrefetch);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getPublishStreamMergeMode() strategy for merging the concurrent
+     * publish streams}.
+     *
+     * @param publishStreamMergeMode the strategy for merging the concurrent publish streams.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B publishStreamMergeMode(@NotNull Mqtt5PublishStreamMergeMode publishStreamMergeMode);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getWriteCoalescingThreshold() write coalescing threshold}.
+     * <p>
+     * It must not be negative, <code>0</code> disables write coalescing.
+     *
+     * @param writeCoalescingThreshold the write coalescing threshold in bytes.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B writeCoalescingThreshold(int writeCoalescingThreshold);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getWriteCoalescingMaxSize() maximum size of a write coalescing
+     * buffer}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param writeCoalescingMaxSize the maximum size of a write coalescing buffer in bytes.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B writeCoalescingMaxSize(int writeCoalescingMaxSize);
+
+    /**
+     * Sets whether {@link Mqtt5ClientAdvancedConfig#isZeroCopyIncomingPayload() the payload of incoming Publish
+     * messages is not copied}.
+     *
+     * @param zeroCopyIncomingPayload whether the payload of incoming Publish messages is not copied.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B zeroCopyIncomingPayload(boolean zeroCopyIncomingPayload);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getPublishBufferMaxMessages() maximum amount of buffered Publish
+     * messages}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param publishBufferMaxMessages the maximum amount of buffered Publish messages.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B publishBufferMaxMessages(int publishBufferMaxMessages);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getPublishBufferMaxBytes() maximum amount of payload bytes of buffered
+     * Publish messages}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param publishBufferMaxBytes the maximum amount of payload bytes of buffered Publish messages.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B publishBufferMaxBytes(long publishBufferMaxBytes);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getPublishBufferOverflowPolicy() policy that is applied if the buffer
+     * of Publish messages overflows}.
+     *
+     * @param publishBufferOverflowPolicy the policy that is applied if the buffer of Publish messages overflows.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B publishBufferOverflowPolicy(@NotNull Mqtt5PublishBufferOverflowPolicy publishBufferOverflowPolicy);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getPublishBufferBlockTimeoutMs() timeout for blocking until a Publish
+     * message fits into the publish buffer}.
+     * <p>
+     * The timeout in milliseconds must not be negative.
+     *
+     * @param timeout  the timeout for blocking until a Publish message fits into the publish buffer or <code>0</code>
+     *                 to disable the timeout.
+     * @param timeUnit the time unit of the given timeout (this timeout only supports millisecond precision).
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B publishBufferBlockTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingTopicCacheSize() maximum amount of cached Topic Names of
+     * incoming Publish messages}.
+     * <p>
+     * It must not be negative, 0 disables the cache.
+     *
+     * @param incomingTopicCacheSize the maximum amount of cached Topic Names of incoming Publish messages.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B incomingTopicCacheSize(int incomingTopicCacheSize);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingQos0BufferMaxMessages() maximum amount of buffered incoming
+     * QoS 0 Publish messages}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param incomingQos0BufferMaxMessages the maximum amount of buffered incoming QoS 0 Publish messages.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos0BufferMaxMessages(int incomingQos0BufferMaxMessages);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingQos0BufferMaxBytes() maximum amount of payload bytes of
+     * buffered incoming QoS 0 Publish messages}.
+     * <p>
+     * It must be greater than 0.
+     *
+     * @param incomingQos0BufferMaxBytes the maximum amount of payload bytes of buffered incoming QoS 0 Publish
+     *                                   messages.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos0BufferMaxBytes(long incomingQos0BufferMaxBytes);
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getIncomingQos0BufferOverflowPolicy() policy that is applied if the
+     * buffer of incoming QoS 0 Publish messages overflows}.
+     *
+     * @param incomingQos0BufferOverflowPolicy the policy that is applied if the buffer of incoming QoS 0 Publish
+     *                                         messages overflows.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B incomingQos0BufferOverflowPolicy(
+            @NotNull Mqtt5IncomingQos0BufferOverflowPolicy incomingQos0BufferOverflowPolicy);
+
+    /**
+     * Sets whether the client {@link Mqtt5ClientAdvancedConfig#isEnforceMessageExpiry() enforces the message expiry
+     * interval of queued Publish messages}.
+     *
+     * @param enforceMessageExpiry whether the client enforces the message expiry interval of queued Publish messages.
+     * @return the builder.
+     * @since 1.4
+     */
+    @CheckReturnValue
+    @NotNull B enforceMessageExpiry(boolean enforceMessageExpiry);
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+/**
+ * Policies for handling an incoming QoS 0 Publish message that does not fit into the buffer of incoming QoS 0 Publish
+ * messages that are waiting to be consumed.
+ *
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+public enum Mqtt5IncomingQos0BufferOverflowPolicy {
+
+    /**
+     * The new Publish message is buffered and the oldest buffered Publish messages are dropped until the limits of the
+     * buffer are met again. The dropped Publish messages are counted in the client statistics.
+     */
+    DROP_OLDEST,
+    /**
+     * The new Publish message is dropped. It is counted in the client statistics.
+     */
+    DROP_NEWEST,
+    /**
+     * The client disconnects with the Reason Code {@link
+     * com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode#QUOTA_EXCEEDED QUOTA_EXCEEDED}. The
+     * new Publish message is counted as dropped in the client statistics.
+     */
+    DISCONNECT
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+/**
+ * Policies for handling a Publish message that does not fit into the buffer of Publish messages that are waiting to be
+ * sent.
+ * <p>
+ * Publish messages that are removed from the buffer because of an overflow complete with a {@link
+ * com.hivemq.client.mqtt.exceptions.PublishBufferOverflowException PublishBufferOverflowException}.
+ *
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+public enum Mqtt5PublishBufferOverflowPolicy {
+
+    /**
+     * The new Publish message is rejected. It is counted as rejected in the client statistics.
+     */
+    FAIL,
+    /**
+     * The new Publish message is dropped. It is counted as dropped in the client statistics.
+     */
+    DROP_NEWEST,
+    /**
+     * The new Publish message is buffered and the oldest buffered Publish messages are dropped until the limits of the
+     * buffer are met again. The dropped Publish messages are counted as dropped in the client statistics.
+     */
+    DROP_OLDEST,
+    /**
+     * The producing thread is blocked until the new Publish message fits into the buffer, at most for the {@link
+     * Mqtt5ClientAdvancedConfig#getPublishBufferBlockTimeoutMs() block timeout}. If the timeout elapses, the producing
+     * thread is the event loop of the client or is interrupted, the new Publish message is rejected like with {@link
+     * #FAIL}.
+     */
+    BLOCK
+}
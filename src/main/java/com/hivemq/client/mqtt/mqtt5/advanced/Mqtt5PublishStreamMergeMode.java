@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced;
+
+/**
+ * Strategies for merging the concurrent publish streams of a client into the outgoing publish flow.
+ *
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+public enum Mqtt5PublishStreamMergeMode {
+
+    /**
+     * Publishes are forwarded in the order they become available. A stream that has many publishes buffered is drained
+     * before the next stream is considered.
+     */
+    FIFO,
+    /**
+     * Publishes are taken from the concurrent streams in turn, one publish per stream per round, so a single busy
+     * stream can not starve the others.
+     */
+    ROUND_ROBIN
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.message.publish;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Aggregated result for a batch of {@link Mqtt5Publish MQTT 5 Publish messages} sent by the client.
+ * <p>
+ * The result is provided when every Publish message of the batch is delivered or has failed. The individual results
+ * are in the same order as the Publish messages of the batch.
+ *
+ * @author Silvio Giebl
+ * @since 1.4
+ */
+@DoNotImplement
+public interface Mqtt5PublishBatchResult {
+
+    /**
+     * @return the count of Publish messages in the batch.
+     */
+    int size();
+
+    /**
+     * Returns the result for the Publish message at the given index of the batch.
+     *
+     * @param index the index of the Publish message in the batch.
+     * @return the result for the Publish message at the given index.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @NotNull Mqtt5PublishResult get(int index);
+
+    /**
+     * @return the results for all Publish messages of the batch, in the same order as the Publish messages.
+     */
+    @NotNull List<@NotNull Mqtt5PublishResult> getResults();
+
+    /**
+     * @return the count of Publish messages of the batch that were not successfully delivered, see {@link
+     *         Mqtt5PublishResult#getError()}.
+     */
+    int getErrorCount();
+}
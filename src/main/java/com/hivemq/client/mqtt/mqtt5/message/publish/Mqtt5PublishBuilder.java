@@ -20,6 +20,8 @@ import com.hivemq.client.annotations.CheckReturnValue;
 import com.hivemq.client.annotations.DoNotImplement;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.channels.FileChannel;
+
 /**
  * Builder for a {@link Mqtt5Publish}.
  *
@@ -52,6 +54,24 @@ public interface Mqtt5PublishBuilder extends Mqtt5PublishBuilderBase<Mqtt5Publis
         @CheckReturnValue
         Mqtt5WillPublishBuilder.@NotNull Complete asWill();
 
+        /**
+         * Sets the payload to a region of a file that is streamed when the Publish message is sent instead of being
+         * held in memory. On a plain TCP connection the region is transferred without copying it into user space.
+         * <p>
+         * The file channel must stay open until the Publish message is acknowledged (QoS 1 and 2) or sent (QoS 0), as
+         * the region is read again if the Publish message is resent. The region is read with absolute positions, so
+         * the position of the file channel is not changed. {@link Mqtt5Publish#getPayload()} of the built Publish
+         * message is empty. The payload can not be used for a Will Publish message.
+         *
+         * @param fileChannel the file channel to read the payload from.
+         * @param position    the position of the payload in the file.
+         * @param length      the length of the payload in bytes.
+         * @return the builder.
+         * @since 1.4
+         */
+        @CheckReturnValue
+        Mqtt5PublishBuilder.@NotNull Complete payload(@NotNull FileChannel fileChannel, long position, int length);
+
         /**
          * Builds the {@link Mqtt5Publish}.
          *
@@ -84,6 +104,25 @@ public interface Mqtt5PublishBuilder extends Mqtt5PublishBuilderBase<Mqtt5Publis
              * @return the result when the built {@link Mqtt5Publish} is applied to the parent.
              */
             @NotNull P applyPublish();
+
+            /**
+             * Sets the payload to a region of a file that is streamed when the Publish message is sent instead of
+             * being held in memory. On a plain TCP connection the region is transferred without copying it into user
+             * space.
+             * <p>
+             * The file channel must stay open until the Publish message is acknowledged (QoS 1 and 2) or sent (QoS 0),
+             * as the region is read again if the Publish message is resent. The region is read with absolute
+             * positions, so the position of the file channel is not changed. {@link Mqtt5Publish#getPayload()} of the
+             * built Publish message is empty. The payload can not be used for a Will Publish message.
+             *
+             * @param fileChannel the file channel to read the payload from.
+             * @param position    the position of the payload in the file.
+             * @param length      the length of the payload in bytes.
+             * @return the builder.
+             * @since 1.4
+             */
+            @CheckReturnValue
+            Nested.@NotNull Complete<P> payload(@NotNull FileChannel fileChannel, long position, int length);
         }
     }
 
@@ -108,6 +147,25 @@ public interface Mqtt5PublishBuilder extends Mqtt5PublishBuilderBase<Mqtt5Publis
              * @return the result when the built {@link Mqtt5Publish} is sent by the parent.
              */
             @NotNull P send();
+
+            /**
+             * Sets the payload to a region of a file that is streamed when the Publish message is sent instead of
+             * being held in memory. On a plain TCP connection the region is transferred without copying it into user
+             * space.
+             * <p>
+             * The file channel must stay open until the Publish message is acknowledged (QoS 1 and 2) or sent (QoS 0),
+             * as the region is read again if the Publish message is resent. The region is read with absolute
+             * positions, so the position of the file channel is not changed. {@link Mqtt5Publish#getPayload()} of the
+             * built Publish message is empty. The payload can not be used for a Will Publish message.
+             *
+             * @param fileChannel the file channel to read the payload from.
+             * @param position    the position of the payload in the file.
+             * @param length      the length of the payload in bytes.
+             * @return the builder.
+             * @since 1.4
+             */
+            @CheckReturnValue
+            Send.@NotNull Complete<P> payload(@NotNull FileChannel fileChannel, long position, int length);
         }
     }
 }
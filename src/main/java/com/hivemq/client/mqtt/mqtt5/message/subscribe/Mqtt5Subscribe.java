@@ -28,6 +28,11 @@ import java.util.List;
 
 /**
  * MQTT 5 Subscribe message. This message is translated from and to an MQTT 5 SUBSCRIBE packet.
+ * <p>
+ * If the broker supports subscription identifiers, incoming Publish messages are delivered to the subscriptions named
+ * by the subscription identifiers the broker sends. Overlapping subscriptions therefore receive the same messages as
+ * without subscription identifiers, unless the broker sends a separate Publish message per matching subscription. In
+ * this case each of these Publish messages is only delivered to the subscriptions it names.
  *
  * @author Silvio Giebl
  * @since 1.0
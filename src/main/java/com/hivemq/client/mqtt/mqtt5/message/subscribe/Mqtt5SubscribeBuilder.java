@@ -207,6 +207,24 @@ public interface Mqtt5SubscribeBuilder extends Mqtt5SubscribeBuilderBase<Mqtt5Su
             @CheckReturnValue
             @NotNull Args<P> manualAcknowledgement(boolean manualAcknowledgement);
 
+            /**
+             * Sets whether the matching QoS 0 Publish messages are conflated by their Topic while the subscriber has no
+             * demand.
+             * <p>
+             * If enabled, a queued QoS 0 Publish message that was not consumed yet is replaced by a newer QoS 0 Publish
+             * message with the same Topic. A slow subscriber therefore always catches up with the latest message per
+             * Topic instead of consuming outdated messages. QoS 1 and 2 Publish messages are never conflated.
+             * <p>
+             * The count of conflated Publish messages is available via {@link
+             * com.hivemq.client.mqtt.MqttClientStatistics#getConflatedIncomingPublishCount()}.
+             *
+             * @param conflate whether the matching QoS 0 Publish messages are conflated by their Topic.
+             * @return the builder.
+             * @since 1.4
+             */
+            @CheckReturnValue
+            @NotNull Args<P> conflate(boolean conflate);
+
             /**
              * Builds the {@link Mqtt5Subscribe} and applies it and additional arguments to the parent.
              *
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.Flowable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttBlockingClientPublishesTest {
+
+    private final @NotNull AtomicLong requested = new AtomicLong();
+    private @Nullable Subscriber<? super Mqtt5Publish> subscriber;
+
+    private @NotNull MqttBlockingClient.MqttPublishes publishes(final int prefetch) {
+        return publishes(false, prefetch);
+    }
+
+    private @NotNull MqttBlockingClient.MqttPublishes publishes(
+            final boolean manualAcknowledgement, final int prefetch) {
+
+        return new MqttBlockingClient.MqttPublishes(Flowable.fromPublisher(s -> {
+            subscriber = s;
+            s.onSubscribe(new Subscription() {
+                @Override
+                public void request(final long n) {
+                    requested.addAndGet(n);
+                }
+
+                @Override
+                public void cancel() {}
+            });
+        }), manualAcknowledgement, prefetch);
+    }
+
+    private void emit(final int count) {
+        assertNotNull(subscriber);
+        for (int i = 0; i < count; i++) {
+            subscriber.onNext(new MqttPublishBuilder.Default().topic("topic/" + i).build());
+        }
+    }
+
+    @Test
+    void receive_prefetch_requestsWindowAndReplenishes() throws InterruptedException {
+        final MqttBlockingClient.MqttPublishes publishes = publishes(8);
+        assertEquals(8, requested.get());
+        emit(8);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("topic/" + i, publishes.receive().getTopic().toString());
+        }
+        assertEquals(8, requested.get());
+        publishes.receive();
+        assertEquals(14, requested.get());
+        publishes.close();
+    }
+
+    @Test
+    void receive_prefetchOne_requestsOneByOne() throws InterruptedException {
+        final MqttBlockingClient.MqttPublishes publishes = publishes(1);
+        assertEquals(1, requested.get());
+        emit(1);
+        assertTrue(publishes.receiveNow().isPresent());
+        assertEquals(2, requested.get());
+        assertFalse(publishes.receiveNow().isPresent());
+        publishes.close();
+    }
+
+    @Test
+    void close_releasesPrefetchedAndLatePublishes() {
+        final MqttBlockingClient.MqttPublishes publishes = publishes(4);
+        assertNotNull(subscriber);
+        final Mqtt5Publish prefetched = mock(Mqtt5Publish.class);
+        final Mqtt5Publish late = mock(Mqtt5Publish.class);
+        subscriber.onNext(prefetched);
+        publishes.close();
+        verify(prefetched).release();
+        subscriber.onNext(late);
+        verify(late).release();
+        verify(prefetched, never()).acknowledge();
+    }
+
+    @Test
+    void close_manualAcknowledgement_acknowledgesOnlyNotReceivedPublishes() throws InterruptedException {
+        final MqttBlockingClient.MqttPublishes publishes = publishes(true, 4);
+        assertNotNull(subscriber);
+        final Mqtt5Publish received = mock(Mqtt5Publish.class);
+        final Mqtt5Publish prefetched = mock(Mqtt5Publish.class);
+        subscriber.onNext(received);
+        subscriber.onNext(prefetched);
+        assertSame(received, publishes.receive());
+        publishes.close();
+        verify(prefetched).acknowledge();
+        verify(prefetched).release();
+        verify(received, never()).acknowledge();
+    }
+
+    @Test
+    void receive_batch() throws InterruptedException {
+        final MqttBlockingClient.MqttPublishes publishes = publishes(16);
+        emit(10);
+
+        final List<Mqtt5Publish> batch = publishes.receive(4, 1, TimeUnit.SECONDS);
+        assertEquals(4, batch.size());
+        assertEquals("topic/0", batch.get(0).getTopic().toString());
+        assertEquals("topic/3", batch.get(3).getTopic().toString());
+
+        final List<Mqtt5Publish> rest = new ArrayList<>();
+        assertEquals(6, publishes.drainTo(rest));
+        assertEquals("topic/4", rest.get(0).getTopic().toString());
+        assertEquals(0, publishes.drainTo(rest));
+
+        assertTrue(publishes.receive(4, 10, TimeUnit.MILLISECONDS).isEmpty());
+        assertFalse(publishes.receive(10, TimeUnit.MILLISECONDS).isPresent());
+        publishes.close();
+    }
+
+    @Test
+    void receive_blocked_wokenUpByOnNext() throws Exception {
+        final MqttBlockingClient.MqttPublishes publishes = publishes(4);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Mqtt5Publish> future = executor.submit(() -> publishes.receive());
+            Thread.sleep(50);
+            assertFalse(future.isDone());
+            emit(1);
+            assertEquals("topic/0", future.get(1, TimeUnit.SECONDS).getTopic().toString());
+        } finally {
+            executor.shutdownNow();
+            publishes.close();
+        }
+    }
+
+    @Test
+    void receive_blocked_close_throws() throws Exception {
+        final MqttBlockingClient.MqttPublishes publishes = publishes(4);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Optional<Mqtt5Publish>> future =
+                    executor.submit(() -> publishes.receive(10, TimeUnit.SECONDS));
+            Thread.sleep(50);
+            publishes.close();
+            final ExecutionException exception =
+                    assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof CancellationException);
+            assertThrows(CancellationException.class, publishes::receiveNow);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void receive_blocked_interrupted() throws Exception {
+        final MqttBlockingClient.MqttPublishes publishes = publishes(4);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Mqtt5Publish> future = executor.submit(() -> publishes.receive());
+            Thread.sleep(50);
+            future.cancel(true);
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+            emit(1);
+            assertTrue(publishes.receiveNow().isPresent());
+        } finally {
+            publishes.close();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttBufferAllocatorConfig;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalInt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttBufferAllocatorConfigImplTest {
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttBufferAllocatorConfigImpl.class)
+                .suppress(Warning.STRICT_INHERITANCE)
+                .withNonnullFields("type")
+                .verify();
+    }
+
+    @Test
+    void builder_default() {
+        final MqttBufferAllocatorConfig config = MqttBufferAllocatorConfig.builder().build();
+
+        assertEquals(MqttBufferAllocatorConfig.DEFAULT_TYPE, config.getType());
+        assertEquals(MqttBufferAllocatorConfig.DEFAULT_PREFER_DIRECT, config.isPreferDirect());
+        assertEquals(OptionalInt.empty(), config.getHeapArenas());
+        assertEquals(OptionalInt.empty(), config.getDirectArenas());
+        assertEquals(OptionalInt.empty(), config.getPageSize());
+        assertEquals(OptionalInt.empty(), config.getMaxOrder());
+    }
+
+    @Test
+    void builder_extend() {
+        final MqttBufferAllocatorConfig config =
+                MqttBufferAllocatorConfig.builder().heapArenas(0).directArenas(2).pageSize(4096).maxOrder(9).build();
+
+        assertEquals(config, config.extend().build());
+        assertEquals(OptionalInt.of(2), config.getDirectArenas());
+        assertEquals(OptionalInt.of(4096), config.getPageSize());
+    }
+
+    @Test
+    void builder_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> MqttBufferAllocatorConfig.builder().heapArenas(-1));
+        assertThrows(IllegalArgumentException.class, () -> MqttBufferAllocatorConfig.builder().pageSize(4095));
+        assertThrows(IllegalArgumentException.class, () -> MqttBufferAllocatorConfig.builder().pageSize(6144));
+        assertThrows(IllegalArgumentException.class, () -> MqttBufferAllocatorConfig.builder().maxOrder(15));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5BlockingClient;
+import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
+import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAckReasonCode;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.*;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalServerChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttClientLocalChannelTest {
+
+    @Test
+    void connect_viaLocalChannel() throws InterruptedException {
+        final CountDownLatch closed = new CountDownLatch(1);
+        final EventLoopGroup serverGroup = new DefaultEventLoopGroup(1);
+        try {
+            final Channel serverChannel = new ServerBootstrap().group(serverGroup)
+                    .channel(LocalServerChannel.class)
+                    .childHandler(new ConnAckHandler(closed))
+                    .bind(new LocalAddress("mqtt-local-test"))
+                    .sync()
+                    .channel();
+
+            final Mqtt5BlockingClient client = MqttClient.builder()
+                    .identifier("local-test")
+                    .useMqttVersion5()
+                    .transportConfig()
+                    .localChannelId("mqtt-local-test")
+                    .applyTransportConfig()
+                    .buildBlocking();
+            final Mqtt5ConnAck connAck = client.connect();
+            assertEquals(Mqtt5ConnAckReasonCode.SUCCESS, connAck.getReasonCode());
+            client.disconnect();
+
+            assertTrue(closed.await(10, TimeUnit.SECONDS));
+            serverChannel.close().sync();
+        } finally {
+            serverGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static class ConnAckHandler extends ChannelInboundHandlerAdapter {
+
+        private final @NotNull CountDownLatch closed;
+        private boolean connAckSent;
+
+        ConnAckHandler(final @NotNull CountDownLatch closed) {
+            this.closed = closed;
+        }
+
+        @Override
+        public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
+            ((ByteBuf) msg).release();
+            if (!connAckSent) {
+                connAckSent = true;
+                ctx.writeAndFlush(Unpooled.wrappedBuffer(new byte[]{0x20, 0x03, 0x00, 0x00, 0x00}));
+            }
+        }
+
+        @Override
+        public void channelInactive(final @NotNull ChannelHandlerContext ctx) {
+            closed.countDown();
+        }
+    }
+}
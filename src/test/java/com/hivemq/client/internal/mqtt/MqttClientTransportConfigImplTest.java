@@ -37,7 +37,7 @@ class MqttClientTransportConfigImplTest {
 
         EqualsVerifier.forClass(MqttClientTransportConfigImpl.class)
                 .suppress(Warning.STRICT_INHERITANCE)
-                .withNonnullFields("serverAddress")
+                .withNonnullFields("serverAddress", "socketConfig")
                 .withPrefabValues(KeyManagerFactory.class, kmf1, kmf2)
                 .withPrefabValues(TrustManagerFactory.class, tmf1, tmf2)
                 .verify();
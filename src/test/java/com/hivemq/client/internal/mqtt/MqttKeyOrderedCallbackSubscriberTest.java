@@ -0,0 +1,185 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttKeyOrderedCallbackSubscriberTest {
+
+    @Test
+    void onNext_sameKey_consumedInOrder() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final int count = 1000;
+            final Map<String, List<Integer>> consumed = new HashMap<>();
+            final CountDownLatch latch = new CountDownLatch(4 * count);
+            final AtomicLong requested = new AtomicLong();
+            final MqttKeyOrderedCallbackSubscriber subscriber =
+                    new MqttKeyOrderedCallbackSubscriber(publish -> {
+                        final String topic = publish.getTopic().toString();
+                        final int value = Integer.parseInt(
+                                new String(publish.getPayloadAsBytes(), StandardCharsets.UTF_8));
+                        synchronized (consumed) {
+                            consumed.computeIfAbsent(topic, k -> new ArrayList<>()).add(value);
+                        }
+                        latch.countDown();
+                    }, executor, 4, Mqtt5Publish::getTopic);
+            subscriber.onSubscribe(new RequestCountingSubscription(requested));
+            assertEquals(4 * MqttKeyOrderedCallbackSubscriber.LANE_PREFETCH, requested.get());
+
+            for (int i = 0; i < count; i++) {
+                for (final String topic : new String[]{"a", "b", "c", "d"}) {
+                    subscriber.onNext(publish(topic, i));
+                }
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertEquals(4, consumed.size());
+            for (final List<Integer> values : consumed.values()) {
+                assertEquals(count, values.size());
+                for (int i = 0; i < count; i++) {
+                    assertEquals(i, values.get(i));
+                }
+            }
+            assertEquals(4 * MqttKeyOrderedCallbackSubscriber.LANE_PREFETCH + 4 * count, requested.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void onNext_differentKeys_consumedConcurrently() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final CountDownLatch bothRunning = new CountDownLatch(2);
+            final MqttKeyOrderedCallbackSubscriber subscriber = new MqttKeyOrderedCallbackSubscriber(publish -> {
+                bothRunning.countDown();
+                try {
+                    bothRunning.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException ignored) {
+                }
+            }, executor, 2, publish -> publish.getTopic().toString().equals("a") ? 0 : 1);
+            subscriber.onSubscribe(new RequestCountingSubscription(new AtomicLong()));
+
+            subscriber.onNext(publish("a", 0));
+            subscriber.onNext(publish("b", 0));
+            assertTrue(bothRunning.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void onNext_manyLanes_requestNotCalledConcurrently() throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final int count = 2000;
+            final CountDownLatch latch = new CountDownLatch(count);
+            final AtomicInteger inRequest = new AtomicInteger();
+            final AtomicBoolean concurrentRequest = new AtomicBoolean();
+            final AtomicLong requested = new AtomicLong();
+            final MqttKeyOrderedCallbackSubscriber subscriber =
+                    new MqttKeyOrderedCallbackSubscriber(publish -> latch.countDown(), executor, 8,
+                            Mqtt5Publish::getTopic);
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(final long n) {
+                    if (inRequest.getAndIncrement() != 0) {
+                        concurrentRequest.set(true);
+                    }
+                    requested.addAndGet(n);
+                    Thread.yield();
+                    inRequest.decrementAndGet();
+                }
+
+                @Override
+                public void cancel() {}
+            });
+
+            for (int i = 0; i < count; i++) {
+                subscriber.onNext(publish("topic" + (i % 8), i));
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+            assertFalse(concurrentRequest.get());
+            assertEquals(8 * MqttKeyOrderedCallbackSubscriber.LANE_PREFETCH + count, requested.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void topicLevelsKey() {
+        final Function<Mqtt5Publish, Object> key = MqttKeyOrderedCallbackSubscriber.topicLevelsKey(2);
+        assertEquals("site/a", key.apply(publish("site/a/temperature", 0)));
+        assertEquals("site/a", key.apply(publish("site/a/humidity", 0)));
+        assertEquals("site/a", key.apply(publish("site/a", 0)));
+        assertEquals("site", key.apply(publish("site", 0)));
+        assertEquals("/a", key.apply(publish("/a/b", 0)));
+    }
+
+    private static @NotNull Mqtt5Publish publish(final @NotNull String topic, final int value) {
+        return new MqttPublishBuilder.Default().topic(topic)
+                .payload(Integer.toString(value).getBytes(StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private static class RequestCountingSubscription implements Subscription {
+
+        private final @NotNull AtomicLong requested;
+
+        RequestCountingSubscription(final @NotNull AtomicLong requested) {
+            this.requested = requested;
+        }
+
+        @Override
+        public void request(final long n) {
+            requested.addAndGet(n);
+        }
+
+        @Override
+        public void cancel() {}
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.mqtt.MqttClientTransportConfig;
+import com.hivemq.client.mqtt.MqttSocketConfig;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttSocketConfigImplTest {
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttSocketConfigImpl.class).suppress(Warning.STRICT_INHERITANCE).verify();
+    }
+
+    @Test
+    void builder_default() {
+        final MqttSocketConfig config = MqttSocketConfig.builder().build();
+
+        assertEquals(MqttSocketConfigImpl.DEFAULT, config);
+        assertEquals(MqttSocketConfig.DEFAULT_TCP_NO_DELAY, config.isTcpNoDelay());
+        assertEquals(MqttSocketConfig.DEFAULT_KEEP_ALIVE, config.isKeepAlive());
+        assertEquals(OptionalInt.empty(), config.getSendBufferSize());
+        assertEquals(OptionalInt.empty(), config.getReceiveBufferSize());
+        assertEquals(OptionalInt.empty(), config.getWriteBufferLowWaterMark());
+        assertEquals(OptionalInt.empty(), config.getWriteBufferHighWaterMark());
+        assertFalse(config.isTcpQuickAck());
+        assertEquals(OptionalInt.empty(), config.getTcpNotSentLowAt());
+        assertEquals(OptionalInt.empty(), config.getBusyPollMicros());
+        assertEquals(OptionalInt.empty(), config.getTcpUserTimeoutMs());
+        assertFalse(config.isTcpFastOpenConnect());
+        assertEquals(config, MqttClientTransportConfig.builder().build().getSocketConfig());
+    }
+
+    @Test
+    void builder_extend() {
+        final MqttSocketConfig config = MqttSocketConfig.builder()
+                .sendBufferSize(1 << 20)
+                .writeBufferWaterMark(32 * 1024, 64 * 1024)
+                .tcpQuickAck(true)
+                .busyPoll(50, TimeUnit.MICROSECONDS)
+                .tcpUserTimeout(5, TimeUnit.SECONDS)
+                .build();
+
+        assertEquals(config, config.extend().build());
+        assertEquals(OptionalInt.of(1 << 20), config.getSendBufferSize());
+        assertEquals(OptionalInt.of(32 * 1024), config.getWriteBufferLowWaterMark());
+        assertEquals(OptionalInt.of(64 * 1024), config.getWriteBufferHighWaterMark());
+        assertTrue(config.isTcpQuickAck());
+        assertEquals(OptionalInt.of(50), config.getBusyPollMicros());
+        assertEquals(OptionalInt.of(5_000), config.getTcpUserTimeoutMs());
+    }
+
+    @Test
+    void transportConfig_nested() {
+        final MqttClientTransportConfig transportConfig =
+                MqttClientTransportConfig.builder().socketConfig().receiveBufferSize(4096).applySocketConfig().build();
+
+        assertEquals(OptionalInt.of(4096), transportConfig.getSocketConfig().getReceiveBufferSize());
+        assertEquals(transportConfig, transportConfig.extend().build());
+    }
+
+    @Test
+    void builder_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> MqttSocketConfig.builder().sendBufferSize(0));
+        assertThrows(IllegalArgumentException.class, () -> MqttSocketConfig.builder().writeBufferWaterMark(2, 1));
+        assertThrows(IllegalArgumentException.class, () -> MqttSocketConfig.builder().writeBufferWaterMark(-1, 1));
+        assertThrows(IllegalArgumentException.class, () -> MqttSocketConfig.builder().tcpNotSentLowAt(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> MqttSocketConfig.builder().busyPoll(Long.MAX_VALUE, TimeUnit.MICROSECONDS));
+    }
+}
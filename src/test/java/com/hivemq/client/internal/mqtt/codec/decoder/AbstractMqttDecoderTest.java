@@ -101,12 +101,17 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void createChannel() {
-        createChannel(false);
+        createChannel(false, false, 0);
     }
 
-    private void createChannel(final boolean validatePayloadFormat) {
-        final MqttClientAdvancedConfig advancedConfig =
-                new MqttClientAdvancedConfigBuilder.Default().validatePayloadFormat(validatePayloadFormat).build();
+    protected void createChannel(
+            final boolean validatePayloadFormat, final boolean zeroCopyPayload, final int topicCacheSize) {
+
+        final MqttClientAdvancedConfig advancedConfig = new MqttClientAdvancedConfigBuilder.Default()
+                .validatePayloadFormat(validatePayloadFormat)
+                .zeroCopyIncomingPayload(zeroCopyPayload)
+                .incomingTopicCacheSize(topicCacheSize)
+                .build();
         final MqttClientConfig clientConfig = new MqttClientConfig(
                 MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"), MqttClientTransportConfigImpl.DEFAULT,
                 MqttClientExecutorConfigImpl.DEFAULT, advancedConfig,
@@ -117,7 +122,15 @@ public abstract class AbstractMqttDecoderTest {
     }
 
     protected void validatePayloadFormat() {
-        createChannel(true);
+        createChannel(true, false, 0);
+    }
+
+    protected void zeroCopyPayload() {
+        createChannel(false, true, 0);
+    }
+
+    protected void topicCache(final int topicCacheSize) {
+        createChannel(false, false, topicCacheSize);
     }
 
     public static @NotNull MqttPingRespDecoder createPingRespDecoder() {
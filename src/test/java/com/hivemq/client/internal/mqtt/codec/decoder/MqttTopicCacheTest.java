@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.decoder;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicCacheTest {
+
+    @Test
+    void decode_notCached_createsTopic() {
+        final MqttTopicCache cache = new MqttTopicCache(4);
+        final ByteBuf byteBuf = buffer("a/b", "rest");
+
+        final MqttTopicImpl topic = cache.decode(byteBuf, 3);
+
+        assertNotNull(topic);
+        assertEquals("a/b", topic.toString());
+        assertEquals(3, byteBuf.readerIndex());
+        byteBuf.release();
+    }
+
+    @Test
+    void decode_cached_returnsSameInstance() {
+        final MqttTopicCache cache = new MqttTopicCache(4);
+
+        final MqttTopicImpl topic1 = decode(cache, "a/b");
+        final ByteBuf byteBuf = buffer("a/b", "rest");
+        final MqttTopicImpl topic2 = cache.decode(byteBuf, 3);
+
+        assertSame(topic1, topic2);
+        assertEquals(3, byteBuf.readerIndex());
+        byteBuf.release();
+    }
+
+    @Test
+    void decode_differentTopics_differentInstances() {
+        final MqttTopicCache cache = new MqttTopicCache(4);
+
+        final MqttTopicImpl topic1 = decode(cache, "a/b");
+        final MqttTopicImpl topic2 = decode(cache, "a/c");
+        final MqttTopicImpl topic3 = decode(cache, "a/bc");
+
+        assertNotNull(topic1);
+        assertNotNull(topic2);
+        assertNotNull(topic3);
+        assertEquals("a/c", topic2.toString());
+        assertEquals("a/bc", topic3.toString());
+        assertSame(topic1, decode(cache, "a/b"));
+        assertSame(topic2, decode(cache, "a/c"));
+        assertSame(topic3, decode(cache, "a/bc"));
+    }
+
+    @Test
+    void decode_invalid_returnsNullAndIsNotCached() {
+        final MqttTopicCache cache = new MqttTopicCache(4);
+
+        assertNull(decode(cache, "a/+"));
+        assertNull(decode(cache, "a/#"));
+        assertNull(decode(cache, "a/+"));
+    }
+
+    @Test
+    void decode_full_evictsNotRecentlyUsed() {
+        final MqttTopicCache cache = new MqttTopicCache(1);
+
+        final MqttTopicImpl topic1 = decode(cache, "a");
+        final MqttTopicImpl topic2 = decode(cache, "b");
+
+        assertNotNull(topic1);
+        assertNotNull(topic2);
+        assertNotSame(topic2, decode(cache, "a"));
+    }
+
+    @Test
+    void decode_full_keepsRecentlyUsed() {
+        final MqttTopicCache cache = new MqttTopicCache(4);
+        final MqttTopicImpl[] topics = new MqttTopicImpl[4];
+        for (int i = 0; i < 4; i++) {
+            topics[i] = decode(cache, "topic" + i);
+        }
+        for (int i = 0; i < 3; i++) {
+            assertSame(topics[i], decode(cache, "topic" + i));
+        }
+
+        decode(cache, "other");
+
+        for (int i = 0; i < 3; i++) {
+            assertSame(topics[i], decode(cache, "topic" + i));
+        }
+        assertNotSame(topics[3], decode(cache, "topic3"));
+    }
+
+    @Test
+    void decode_sizeRoundedUpToPowerOf2() {
+        final MqttTopicCache cache = new MqttTopicCache(3);
+        final MqttTopicImpl[] topics = new MqttTopicImpl[4];
+        for (int i = 0; i < 4; i++) {
+            topics[i] = decode(cache, "topic" + i);
+        }
+        for (int i = 0; i < 4; i++) {
+            assertSame(topics[i], decode(cache, "topic" + i));
+        }
+    }
+
+    private static MqttTopicImpl decode(final @NotNull MqttTopicCache cache, final @NotNull String topic) {
+        final ByteBuf byteBuf = buffer(topic, "");
+        try {
+            return cache.decode(byteBuf, byteBuf.readableBytes());
+        } finally {
+            byteBuf.release();
+        }
+    }
+
+    private static @NotNull ByteBuf buffer(final @NotNull String topic, final @NotNull String rest) {
+        return Unpooled.directBuffer()
+                .writeBytes(topic.getBytes(StandardCharsets.UTF_8))
+                .writeBytes(rest.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -67,6 +67,57 @@ class Mqtt3PublishDecoderTest extends AbstractMqtt3DecoderTest {
 
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2})
+    void decode_zeroCopyPayload(final int qos) throws Exception {
+        zeroCopyPayload();
+        final String payload = "Hallo World!";
+
+        final ByteBuf byteBuf = createWellformedPublish(false, qos, false, "topic".getBytes(), payload.getBytes());
+        channel.writeInbound(byteBuf);
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        assertArrayEquals(payload.getBytes(), publishInternal.stateless().getPayloadAsBytes());
+        assertEquals(1, byteBuf.refCnt());
+
+        assertTrue(publishInternal.stateless().release());
+        assertEquals(0, byteBuf.refCnt());
+        assertFalse(publishInternal.stateless().release());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2})
+    void decode_topicCache_sameTopicReused(final int qos) throws Exception {
+        topicCache(16);
+
+        channel.writeInbound(createWellformedPublish(false, qos, false, "a/b".getBytes(), "1".getBytes()));
+        final MqttStatefulPublish publish1 = channel.readInbound();
+        channel.writeInbound(createWellformedPublish(false, qos, false, "a/c".getBytes(), "2".getBytes()));
+        final MqttStatefulPublish publish2 = channel.readInbound();
+        channel.writeInbound(createWellformedPublish(false, qos, false, "a/b".getBytes(), "3".getBytes()));
+        final MqttStatefulPublish publish3 = channel.readInbound();
+        assertNotNull(publish1);
+        assertNotNull(publish2);
+        assertNotNull(publish3);
+
+        assertEquals("a/b", publish1.stateless().getTopic().toString());
+        assertEquals("a/c", publish2.stateless().getTopic().toString());
+        assertSame(publish1.stateless().getTopic(), publish3.stateless().getTopic());
+        assertArrayEquals("3".getBytes(), publish3.stateless().getPayloadAsBytes());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0x2b, 0x23})
+    void decode_topicCache_INVALID_TOPIC(final int invalidLetter) throws Exception {
+        topicCache(16);
+        final byte[] topic = "beispieltopic".getBytes();
+        topic[3] = (byte) invalidLetter;
+        channel.writeInbound(createWellformedPublish(false, 1, false, topic, "example".getBytes()));
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNull(publishInternal);
+        assertFalse(channel.isOpen());
+    }
+
     @ParameterizedTest
     @CsvSource({
             "true, false , 0", "false, false , 0", // all qos=0 combinations
@@ -1205,6 +1205,206 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         decodeNok(encoded, PROTOCOL_ERROR);
     }
 
+    @Test
+    void decode_topicCache_sameTopicReused() {
+        topicCache(16);
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                9,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1
+        };
+        final MqttPublish publish1 = decode(encoded);
+        encoded[6] = 'X';
+        final MqttPublish publish2 = decode(encoded);
+        encoded[6] = 'p';
+        encoded[10] = 2;
+        final MqttPublish publish3 = decode(encoded);
+
+        assertEquals("topic", publish1.getTopic().toString());
+        assertEquals("toXic", publish2.getTopic().toString());
+        assertSame(publish1.getTopic(), publish3.getTopic());
+        assertArrayEquals(new byte[]{2}, publish3.getPayloadAsBytes());
+    }
+
+    @Test
+    void decode_topicCache_topicAlias() {
+        topicCache(16);
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                11,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                3,
+                //     topic alias
+                0x23, 0, 1
+        };
+        final MqttPublish publish1 = decode(encoded);
+        final byte[] encodedAlias = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                6,
+                // variable header
+                //   topic name
+                0, 0,
+                //   properties
+                3,
+                //     topic alias
+                0x23, 0, 1
+        };
+        final MqttPublish publish2 = decode(encodedAlias);
+
+        assertEquals("topic", publish1.getTopic().toString());
+        assertSame(publish1.getTopic(), publish2.getTopic());
+    }
+
+    @Test
+    void decode_topicCache_topicNameInvalidStringLength_returnsNull() {
+        topicCache(16);
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                3,
+                // variable header
+                //   topic name
+                0, 5, 't'
+        };
+        decodeNok(encoded, TOPIC_NAME_INVALID);
+    }
+
+    @Test
+    void decode_zeroCopyPayload() {
+        zeroCopyPayload();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                11,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1, 2, 3
+        };
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        byteBuf.writeBytes(encoded);
+        channel.writeInbound(byteBuf);
+
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        final MqttPublish publish = publishInternal.stateless();
+        assertTrue(publish.hasPayloadBuffer());
+        assertArrayEquals(new byte[]{1, 2, 3}, publish.getPayloadAsBytes());
+        assertEquals(1, byteBuf.refCnt());
+
+        assertTrue(publish.release());
+        assertEquals(0, byteBuf.refCnt());
+        assertFalse(publish.release());
+    }
+
+    @Test
+    void decode_zeroCopyPayload_retainedPerDelivery() {
+        zeroCopyPayload();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                11,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0,
+                // payload
+                1, 2, 3
+        };
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        byteBuf.writeBytes(encoded);
+        channel.writeInbound(byteBuf);
+
+        final MqttStatefulPublish publishInternal = channel.readInbound();
+        assertNotNull(publishInternal);
+        final MqttPublish publish = publishInternal.stateless();
+        final MqttPublish delivered = publish.withRetainedPayloadBuffer();
+        assertEquals(publish, delivered);
+
+        assertTrue(publish.release());
+        assertEquals(1, byteBuf.refCnt());
+        assertArrayEquals(new byte[]{1, 2, 3}, delivered.getPayloadAsBytes());
+        assertTrue(delivered.release());
+        assertEquals(0, byteBuf.refCnt());
+    }
+
+    @Test
+    void decode_zeroCopyPayload_noPayload() {
+        zeroCopyPayload();
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                8,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0
+        };
+
+        final MqttPublish publish = decode(encoded);
+        assertFalse(publish.getPayload().isPresent());
+        assertFalse(publish.hasPayloadBuffer());
+        assertFalse(publish.release());
+    }
+
+    @Test
+    void decode_zeroCopyPayload_payloadUtf8NotWellFormed_released() {
+        createChannel(true, true, 0);
+        final byte[] encoded = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                11,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                2,
+                //     payload format indicator
+                0x01, 1,
+                // payload
+                (byte) 0xFF
+        };
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        byteBuf.writeBytes(encoded);
+        channel.writeInbound(byteBuf);
+
+        assertNull(channel.readInbound());
+        assertEquals(0, byteBuf.refCnt());
+    }
+
     @NotNull
     private MqttPublish decode(final byte @NotNull [] encoded) {
         return decodeInternal(encoded).stateless();
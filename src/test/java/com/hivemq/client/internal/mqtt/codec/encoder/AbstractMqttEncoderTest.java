@@ -18,9 +18,11 @@ package com.hivemq.client.internal.mqtt.codec.encoder;
 
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.embedded.EmbeddedChannel;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.AfterEach;
@@ -35,6 +37,7 @@ public abstract class AbstractMqttEncoderTest {
 
     private final @NotNull MqttMessageEncoders messageEncoders;
     private final boolean connected;
+    private final @NotNull MqttClientAdvancedConfig advancedConfig;
 
     @SuppressWarnings("NullabilityAnnotations")
     protected EmbeddedChannel channel;
@@ -42,8 +45,17 @@ public abstract class AbstractMqttEncoderTest {
     protected MqttEncoder encoder;
 
     protected AbstractMqttEncoderTest(final @NotNull MqttMessageEncoders messageEncoders, final boolean connected) {
+        this(messageEncoders, connected, MqttClientAdvancedConfig.DEFAULT);
+    }
+
+    protected AbstractMqttEncoderTest(
+            final @NotNull MqttMessageEncoders messageEncoders,
+            final boolean connected,
+            final @NotNull MqttClientAdvancedConfig advancedConfig) {
+
         this.messageEncoders = messageEncoders;
         this.connected = connected;
+        this.advancedConfig = advancedConfig;
     }
 
     @BeforeEach
@@ -57,7 +69,8 @@ public abstract class AbstractMqttEncoderTest {
     }
 
     private void createChannel() {
-        channel = new EmbeddedChannel(encoder = new MqttEncoder(messageEncoders));
+        encoder = new MqttEncoder(messageEncoders, advancedConfig, ByteBufAllocator.DEFAULT, false);
+        channel = new EmbeddedChannel(encoder);
         if (connected) {
             connected(MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT);
         }
@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
 
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.codec.encoder.AbstractMqttEncoderTest;
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoders;
 import org.jetbrains.annotations.NotNull;
@@ -28,4 +29,12 @@ abstract class AbstractMqtt5EncoderTest extends AbstractMqttEncoderTest {
     AbstractMqtt5EncoderTest(final @NotNull MqttMessageEncoders messageEncoders, final boolean connected) {
         super(messageEncoders, connected);
     }
+
+    AbstractMqtt5EncoderTest(
+            final @NotNull MqttMessageEncoders messageEncoders,
+            final boolean connected,
+            final @NotNull MqttClientAdvancedConfig advancedConfig) {
+
+        super(messageEncoders, connected, advancedConfig);
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoder;
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoders;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class Mqtt5EncoderFilePayloadTest extends AbstractMqtt5EncoderTest {
+
+    private static final int FILE_SIZE = 20_000;
+
+    @TempDir
+    @SuppressWarnings("NullabilityAnnotations")
+    Path tempDir;
+    private final byte @NotNull [] fileContent = new byte[FILE_SIZE];
+    @SuppressWarnings("NullabilityAnnotations")
+    private FileChannel fileChannel;
+
+    Mqtt5EncoderFilePayloadTest() {
+        super(new MqttMessageEncoders() {{
+            encoders[Mqtt5MessageType.PUBLISH.getCode()] = new Mqtt5PublishEncoder();
+        }}, true);
+    }
+
+    @BeforeEach
+    void setUpFile() throws IOException {
+        for (int i = 0; i < FILE_SIZE; i++) {
+            fileContent[i] = (byte) i;
+        }
+        final Path file = tempDir.resolve("payload");
+        Files.write(file, fileContent);
+        fileChannel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    @AfterEach
+    void tearDownFile() throws IOException {
+        fileChannel.close();
+    }
+
+    @Test
+    void encode_filePayload_chunked() throws IOException {
+        final int length = FILE_SIZE - 10;
+        final ChannelFuture future = channel.writeAndFlush(publish(10, length));
+
+        assertTrue(future.isSuccess());
+        assertNotNull(channel.pipeline().get(MqttEncoder.CHUNKED_WRITE_HANDLER_NAME));
+        final byte[] header = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length (19998)
+                (byte) 0x9E, (byte) 0x9C, 0x01,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                0
+        };
+        final byte[] expected = new byte[header.length + length];
+        System.arraycopy(header, 0, expected, 0, header.length);
+        System.arraycopy(fileContent, 10, expected, header.length, length);
+        assertArrayEquals(expected, readAllOutbound());
+        assertEquals(0, fileChannel.position());
+        assertTrue(fileChannel.isOpen());
+    }
+
+    @Test
+    void encode_filePayload_resend() {
+        final MqttStatefulPublish publish = publish(0, 100);
+        channel.writeAndFlush(publish);
+        final byte[] first = readAllOutbound();
+        channel.writeAndFlush(publish);
+        final byte[] second = readAllOutbound();
+
+        assertArrayEquals(first, second);
+        assertArrayEquals(Arrays.copyOfRange(fileContent, 0, 100),
+                Arrays.copyOfRange(second, second.length - 100, second.length));
+    }
+
+    @Test
+    void encode_filePayload_endOfFile_closesChannel() {
+        final ChannelFuture future = channel.writeAndFlush(publish(FILE_SIZE - 10, 100));
+
+        assertTrue(future.cause() instanceof EOFException);
+        assertFalse(channel.isOpen());
+    }
+
+    private @NotNull MqttStatefulPublish publish(final long position, final int length) {
+        final MqttPublish publish =
+                new MqttPublishBuilder.Default().topic("topic").payload(fileChannel, position, length).build();
+        return publish.createStateful(MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0, false, DEFAULT_NO_TOPIC_ALIAS,
+                DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    private byte @NotNull [] readAllOutbound() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuf buf;
+        while ((buf = channel.readOutbound()) != null) {
+            final byte[] bytes = new byte[buf.readableBytes()];
+            buf.readBytes(bytes);
+            out.write(bytes, 0, bytes.length);
+            buf.release();
+        }
+        return out.toByteArray();
+    }
+}
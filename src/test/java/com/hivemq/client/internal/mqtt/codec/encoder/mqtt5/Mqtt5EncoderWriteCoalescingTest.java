@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
+
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoders;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelFuture;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.channels.ClosedChannelException;
+
+import static com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl.NO_USER_PROPERTIES;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class Mqtt5EncoderWriteCoalescingTest extends AbstractMqtt5EncoderTest {
+
+    Mqtt5EncoderWriteCoalescingTest() {
+        super(new MqttMessageEncoders() {{
+            encoders[Mqtt5MessageType.PUBACK.getCode()] = new Mqtt5PubAckEncoder();
+        }}, true, new MqttClientAdvancedConfigBuilder.Default().writeCoalescingThreshold(16)
+                .writeCoalescingMaxSize(10)
+                .build());
+    }
+
+    @Test
+    void coalesce_untilFlush() {
+        final ChannelFuture future1 = channel.write(pubAck(1));
+        final ChannelFuture future2 = channel.write(pubAck(2));
+        assertFalse(future1.isDone());
+        assertFalse(future2.isDone());
+
+        channel.flush();
+        assertOutbound(new byte[]{0x40, 2, 0, 1, 0x40, 2, 0, 2});
+        assertNull(channel.readOutbound());
+        assertTrue(future1.isSuccess());
+        assertTrue(future2.isSuccess());
+    }
+
+    @Test
+    void coalesce_maxSize() {
+        channel.write(pubAck(1));
+        channel.write(pubAck(2));
+        channel.write(pubAck(3));
+        channel.flush();
+
+        assertOutbound(new byte[]{0x40, 2, 0, 1, 0x40, 2, 0, 2});
+        assertOutbound(new byte[]{0x40, 2, 0, 3});
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void coalesce_largePacketKeepsOrder() {
+        final MqttPubAck largePubAck = new MqttPubAck(2, Mqtt5PubAckReasonCode.SUCCESS,
+                MqttUtf8StringImpl.of("reason string"), NO_USER_PROPERTIES);
+        channel.write(pubAck(1));
+        channel.write(largePubAck);
+        channel.write(pubAck(3));
+        channel.flush();
+
+        assertOutbound(new byte[]{0x40, 2, 0, 1});
+        final ByteBuf large = channel.readOutbound();
+        assertEquals(22, large.readableBytes());
+        large.release();
+        assertOutbound(new byte[]{0x40, 2, 0, 3});
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void coalesce_close_failsPromises() {
+        final ChannelFuture future1 = channel.write(pubAck(1));
+        final ChannelFuture future2 = channel.write(pubAck(2));
+        channel.close();
+
+        assertTrue(future1.cause() instanceof ClosedChannelException);
+        assertTrue(future2.cause() instanceof ClosedChannelException);
+        assertNull(channel.readOutbound());
+    }
+
+    private static @NotNull MqttPubAck pubAck(final int packetIdentifier) {
+        return new MqttPubAck(packetIdentifier, Mqtt5PubAckReasonCode.SUCCESS, null, NO_USER_PROPERTIES);
+    }
+
+    private void assertOutbound(final byte @NotNull [] expected) {
+        final ByteBuf actual = channel.readOutbound();
+        try {
+            final byte[] actualBytes = new byte[actual.readableBytes()];
+            actual.readBytes(actualBytes);
+            assertArrayEquals(expected, actualBytes);
+        } finally {
+            actual.release();
+        }
+    }
+}
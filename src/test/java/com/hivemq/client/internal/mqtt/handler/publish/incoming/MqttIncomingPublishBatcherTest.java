@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAckReasonCode;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishBatcherTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttIncomingPublishFlows incomingPublishFlows = new MqttIncomingPublishFlows();
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingQosHandler incomingQosHandler;
+
+    @BeforeEach
+    void setUp() {
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        when(clientConfig.getStatistics()).thenReturn(new MqttClientStatisticsImpl());
+        when(clientConfig.getAdvancedConfig()).thenReturn(MqttClientAdvancedConfig.DEFAULT);
+        incomingQosHandler = new MqttIncomingQosHandler(clientConfig, incomingPublishFlows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void batch_emittedAfterReadCycle() {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = subscribe(10);
+        subscriber.request(10);
+        channel.runPendingTasks();
+
+        publishQos0("1");
+        publishQos0("2");
+        subscriber.assertValueCount(0);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(1);
+        assertBatch(subscriber.values().get(0), "1", "2");
+    }
+
+    @Test
+    void batch_emittedWhenFull() {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = subscribe(3);
+        subscriber.request(10);
+        channel.runPendingTasks();
+
+        for (int i = 1; i <= 5; i++) {
+            publishQos0(Integer.toString(i));
+        }
+        subscriber.assertValueCount(1);
+        assertBatch(subscriber.values().get(0), "1", "2", "3");
+        channel.runPendingTasks();
+        subscriber.assertValueCount(2);
+        assertBatch(subscriber.values().get(1), "4", "5");
+    }
+
+    @Test
+    void batch_respectsDemand() {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = subscribe(2);
+
+        publishQos0("1");
+        publishQos0("2");
+        publishQos0("3");
+        channel.runPendingTasks();
+        subscriber.assertValueCount(0);
+
+        subscriber.request(1);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(1);
+        assertBatch(subscriber.values().get(0), "1", "2");
+
+        subscriber.request(1);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(2);
+        assertBatch(subscriber.values().get(1), "3");
+    }
+
+    @Test
+    void batch_completesAfterPendingBatch() {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = subscribe(5);
+        subscriber.request(1);
+        channel.runPendingTasks();
+
+        publishQos0("1");
+        channel.runPendingTasks();
+        publishQos0("2");
+        incomingPublishFlows.clear(new RuntimeException());
+        channel.runPendingTasks();
+        subscriber.assertValueCount(1);
+        subscriber.assertNotTerminated();
+
+        subscriber.request(1);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(2);
+        assertBatch(subscriber.values().get(1), "2");
+        subscriber.assertError(RuntimeException.class);
+    }
+
+    private @NotNull TestSubscriber<List<Mqtt5Publish>> subscribe(final int maxBatchSize) {
+        final TestSubscriber<List<Mqtt5Publish>> subscriber = new TestSubscriber<>(0);
+        final MqttIncomingPublishBatcher batcher = new MqttIncomingPublishBatcher(subscriber, maxBatchSize);
+        final MqttSubscribedPublishFlow flow =
+                new MqttSubscribedPublishFlow(batcher, clientConfig, incomingQosHandler, false, false);
+        batcher.onSubscribe(flow);
+        flow.init();
+        final MqttSubscribe subscribe = new MqttSubscribeBuilder.Default().topicFilter("#").build();
+        incomingPublishFlows.subscribe(subscribe, 1, flow);
+        incomingPublishFlows.subAck(subscribe, 1, ImmutableList.of(Mqtt5SubAckReasonCode.GRANTED_QOS_0));
+        return subscriber;
+    }
+
+    private void publishQos0(final @NotNull String payload) {
+        final MqttStatefulPublish publish = new MqttPublishBuilder.Default().topic("a")
+                .qos(MqttQos.AT_MOST_ONCE)
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .build()
+                .createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, DEFAULT_NO_TOPIC_ALIAS,
+                        DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        incomingQosHandler.incomingPublishService.onPublishQos0(new MqttStatefulPublishWithFlows(publish));
+    }
+
+    private static void assertBatch(final @NotNull List<Mqtt5Publish> batch, final @NotNull String... payloads) {
+        assertEquals(payloads.length, batch.size());
+        for (int i = 0; i < payloads.length; i++) {
+            assertEquals(payloads[i], new String(batch.get(i).getPayloadAsBytes(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,540 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5IncomingQos0BufferOverflowPolicy;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAckReasonCode;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishServiceTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttClientStatisticsImpl statistics = new MqttClientStatisticsImpl();
+    private final @NotNull MqttIncomingPublishFlows incomingPublishFlows = new MqttIncomingPublishFlows();
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingQosHandler incomingQosHandler;
+    @SuppressWarnings("NullabilityAnnotations")
+    private MqttIncomingPublishService incomingPublishService;
+
+    @BeforeEach
+    void setUp() {
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        when(clientConfig.getStatistics()).thenReturn(statistics);
+        createService(MqttClientAdvancedConfig.DEFAULT);
+    }
+
+    private void createService(final @NotNull MqttClientAdvancedConfig advancedConfig) {
+        when(clientConfig.getAdvancedConfig()).thenReturn(advancedConfig);
+        incomingQosHandler = new MqttIncomingQosHandler(clientConfig, incomingPublishFlows);
+        incomingPublishService = incomingQosHandler.incomingPublishService;
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void onPublishQos0_conflate_replacesQueuedPublishWithSameTopic() {
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", true);
+
+        publishQos0("a", "1");
+        publishQos0("b", "1");
+        publishQos0("a", "2");
+        publishQos0("a", "3");
+        assertEquals(2, statistics.getConflatedIncomingPublishCount());
+
+        subscriber.request(10);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(2);
+        assertPublish(subscriber.values().get(0), "b", "1");
+        assertPublish(subscriber.values().get(1), "a", "3");
+    }
+
+    @Test
+    void onPublishQos0_conflate_notAppliedWhileDemand() {
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", true);
+        subscriber.request(2);
+        channel.runPendingTasks();
+
+        publishQos0("a", "1");
+        publishQos0("a", "2");
+        publishQos0("a", "3");
+        publishQos0("a", "4");
+        assertEquals(1, statistics.getConflatedIncomingPublishCount());
+
+        subscriber.request(10);
+        channel.runPendingTasks();
+        final List<Mqtt5Publish> values = subscriber.values();
+        assertEquals(3, values.size());
+        assertPublish(values.get(0), "a", "1");
+        assertPublish(values.get(1), "a", "2");
+        assertPublish(values.get(2), "a", "4");
+    }
+
+    @Test
+    void onPublishQos0_noConflate_deliversAll() {
+        final TestSubscriber<Mqtt5Publish> conflating = subscribe("a", true);
+        final TestSubscriber<Mqtt5Publish> notConflating = subscribe("+", false);
+
+        publishQos0("a", "1");
+        publishQos0("a", "2");
+        publishQos0("a", "3");
+        assertEquals(2, statistics.getConflatedIncomingPublishCount());
+
+        conflating.request(10);
+        notConflating.request(10);
+        channel.runPendingTasks();
+        conflating.assertValueCount(1);
+        assertPublish(conflating.values().get(0), "a", "3");
+        notConflating.assertValueCount(3);
+        assertPublish(notConflating.values().get(0), "a", "1");
+        assertPublish(notConflating.values().get(1), "a", "2");
+        assertPublish(notConflating.values().get(2), "a", "3");
+    }
+
+    @Test
+    void onPublishQos0_conflate_afterConsumedNotConflated() {
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", true);
+
+        publishQos0("a", "1");
+        subscriber.request(1);
+        channel.runPendingTasks();
+        publishQos0("a", "2");
+        assertEquals(0, statistics.getConflatedIncomingPublishCount());
+
+        subscriber.request(1);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(2);
+        assertPublish(subscriber.values().get(0), "a", "1");
+        assertPublish(subscriber.values().get(1), "a", "2");
+    }
+
+    @Test
+    void onPublishQos0_bufferMaxMessages_dropOldest() {
+        createService(new MqttClientAdvancedConfigBuilder.Default().incomingQos0BufferMaxMessages(2).build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false);
+
+        assertTrue(publishQos0("a", "1"));
+        assertTrue(publishQos0("a", "2"));
+        assertTrue(publishQos0("a", "3"));
+        assertTrue(publishQos0("a", "4"));
+        assertEquals(2, statistics.getDroppedIncomingQos0PublishCount());
+
+        subscriber.request(10);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(2);
+        assertPublish(subscriber.values().get(0), "a", "3");
+        assertPublish(subscriber.values().get(1), "a", "4");
+    }
+
+    @Test
+    void onPublishQos0_bufferMaxMessages_dropNewest() {
+        createService(new MqttClientAdvancedConfigBuilder.Default().incomingQos0BufferMaxMessages(2)
+                .incomingQos0BufferOverflowPolicy(Mqtt5IncomingQos0BufferOverflowPolicy.DROP_NEWEST)
+                .build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false);
+
+        assertTrue(publishQos0("a", "1"));
+        assertTrue(publishQos0("a", "2"));
+        assertTrue(publishQos0("a", "3"));
+        assertEquals(1, statistics.getDroppedIncomingQos0PublishCount());
+
+        subscriber.request(10);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(2);
+        assertPublish(subscriber.values().get(0), "a", "1");
+        assertPublish(subscriber.values().get(1), "a", "2");
+    }
+
+    @Test
+    void onPublishQos0_bufferMaxMessages_disconnect() {
+        createService(new MqttClientAdvancedConfigBuilder.Default().incomingQos0BufferMaxMessages(1)
+                .incomingQos0BufferOverflowPolicy(Mqtt5IncomingQos0BufferOverflowPolicy.DISCONNECT)
+                .build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false);
+
+        assertTrue(publishQos0("a", "1"));
+        assertFalse(publishQos0("a", "2"));
+        assertEquals(1, statistics.getDroppedIncomingQos0PublishCount());
+
+        subscriber.request(10);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(1);
+        assertPublish(subscriber.values().get(0), "a", "1");
+    }
+
+    @Test
+    void onPublishQos0_bufferMaxBytes_dropOldest() {
+        createService(new MqttClientAdvancedConfigBuilder.Default().incomingQos0BufferMaxBytes(10).build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false);
+
+        assertTrue(publishQos0("a", "1234"));
+        assertTrue(publishQos0("b", "5678"));
+        assertTrue(publishQos0("c", "90ab"));
+        assertEquals(1, statistics.getDroppedIncomingQos0PublishCount());
+        assertTrue(publishQos0("d", "0123456789a"));
+        assertEquals(2, statistics.getDroppedIncomingQos0PublishCount());
+
+        subscriber.request(10);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(2);
+        assertPublish(subscriber.values().get(0), "b", "5678");
+        assertPublish(subscriber.values().get(1), "c", "90ab");
+    }
+
+    @Test
+    void onPublishQos0_bufferMaxBytes_releasedOnDelivery() {
+        createService(new MqttClientAdvancedConfigBuilder.Default().incomingQos0BufferMaxBytes(8)
+                .incomingQos0BufferOverflowPolicy(Mqtt5IncomingQos0BufferOverflowPolicy.DROP_NEWEST)
+                .build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false);
+
+        assertTrue(publishQos0("a", "1234"));
+        assertTrue(publishQos0("a", "5678"));
+        subscriber.request(2);
+        channel.runPendingTasks();
+        assertTrue(publishQos0("a", "90ab"));
+        assertTrue(publishQos0("a", "cdef"));
+        assertEquals(0, statistics.getDroppedIncomingQos0PublishCount());
+
+        subscriber.request(10);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(4);
+    }
+
+    @Test
+    void onPublish_slowFlowDoesNotDelayFastFlow() {
+        final TestSubscriber<Mqtt5Publish> slow = subscribe("#", false);
+        final TestSubscriber<Mqtt5Publish> fast = subscribe("a", false);
+
+        for (int i = 0; i < 100; i++) {
+            publishQos0("b", Integer.toString(i));
+        }
+        for (int i = 0; i < 10; i++) {
+            publishQos0("a", Integer.toString(i));
+            if ((i % 2) == 1) {
+                fast.request(2);
+                channel.runPendingTasks();
+            }
+        }
+        fast.assertValueCount(10);
+        for (int i = 0; i < 10; i++) {
+            assertPublish(fast.values().get(i), "a", Integer.toString(i));
+        }
+        slow.assertValueCount(0);
+
+        slow.request(200);
+        channel.runPendingTasks();
+        slow.assertValueCount(110);
+        for (int i = 0; i < 100; i++) {
+            assertPublish(slow.values().get(i), "b", Integer.toString(i));
+        }
+        for (int i = 0; i < 10; i++) {
+            assertPublish(slow.values().get(100 + i), "a", Integer.toString(i));
+        }
+    }
+
+    @Test
+    void onPublish_cancelledFlowReleasesPendingPublishes() {
+        final TestSubscriber<Mqtt5Publish> cancelled = subscribe("#", false);
+        final TestSubscriber<Mqtt5Publish> other = subscribe("#", false);
+
+        publishQos0("a", "1");
+        publishQos0("a", "2");
+        cancelled.cancel();
+        channel.runPendingTasks();
+        publishQos0("a", "3");
+
+        other.request(10);
+        channel.runPendingTasks();
+        other.assertValueCount(3);
+        cancelled.assertValueCount(0);
+        assertTrue(publishQos0("a", "4"));
+        other.assertValueCount(4);
+    }
+
+    @Test
+    void onPublish_enforceMessageExpiry_skipsExpiredPublishes() {
+        createService(new MqttClientAdvancedConfigBuilder.Default().enforceMessageExpiry(true).build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false);
+
+        final MqttStatefulPublishWithFlows expired = publishQos0("a", "1", 10);
+        publishQos0("a", "2", 10);
+        publishQos0("a", "3");
+        expired.receivedNanos -= TimeUnit.SECONDS.toNanos(10); // waited the full message expiry interval
+
+        subscriber.request(10);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(2);
+        assertPublish(subscriber.values().get(0), "a", "2");
+        assertPublish(subscriber.values().get(1), "a", "3");
+        assertEquals(1, statistics.getExpiredIncomingPublishCount());
+    }
+
+    @Test
+    void onPublish_enforceMessageExpiry_zeroIntervalDeliveredWithDemand() {
+        createService(new MqttClientAdvancedConfigBuilder.Default().enforceMessageExpiry(true).build());
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false);
+        subscriber.request(10);
+        channel.runPendingTasks();
+
+        publishQos0("a", "1", 0);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(1);
+        assertPublish(subscriber.values().get(0), "a", "1");
+        assertEquals(0, statistics.getExpiredIncomingPublishCount());
+    }
+
+    @Test
+    void onPublish_enforceMessageExpiry_expiredQos1AcknowledgedForManualAcknowledgement()
+            throws InterruptedException {
+        createService(new MqttClientAdvancedConfigBuilder.Default().enforceMessageExpiry(true).build());
+        connect();
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false, true);
+
+        publishQos1(1, "a", "1", 0);
+        publishQos1(2, "a", "2");
+        Thread.sleep(1_100);
+
+        subscriber.request(10);
+        channel.runPendingTasks();
+        subscriber.assertValueCount(1);
+        assertPubAck(1, channel.readOutbound());
+        assertNull(channel.readOutbound());
+        subscriber.values().get(0).acknowledge();
+        channel.runPendingTasks();
+        assertPubAck(2, channel.readOutbound());
+        assertEquals(1, statistics.getExpiredIncomingPublishCount());
+    }
+
+    @Test
+    void acknowledgeCumulatively_acknowledgesPreviousPublishesWithOneFlush() {
+        final AtomicInteger flushes = connect();
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false, true);
+        subscriber.request(10);
+        channel.runPendingTasks();
+        publishQos1(1, "a", "1");
+        publishQos1(2, "a", "2");
+        publishQos1(3, "a", "3");
+        subscriber.assertValueCount(3);
+        assertNull(channel.readOutbound());
+
+        flushes.set(0);
+        subscriber.values().get(1).acknowledgeCumulatively();
+        channel.runPendingTasks();
+        assertEquals(1, flushes.get());
+        assertPubAck(1, channel.readOutbound());
+        assertPubAck(2, channel.readOutbound());
+        assertNull(channel.readOutbound());
+
+        subscriber.values().get(2).acknowledge();
+        channel.runPendingTasks();
+        assertPubAck(3, channel.readOutbound());
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void acknowledgeCumulatively_doesNotAcknowledgeIndividuallyAcknowledgedPublishesTwice() {
+        connect();
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false, true);
+        subscriber.request(10);
+        channel.runPendingTasks();
+        publishQos1(1, "a", "1");
+        publishQos1(2, "a", "2");
+        publishQos1(3, "a", "3");
+
+        subscriber.values().get(1).acknowledge();
+        subscriber.values().get(2).acknowledgeCumulatively();
+        channel.runPendingTasks();
+        assertPubAck(1, channel.readOutbound());
+        assertPubAck(2, channel.readOutbound());
+        assertPubAck(3, channel.readOutbound());
+        assertNull(channel.readOutbound());
+
+        subscriber.values().get(2).acknowledgeCumulatively();
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+        assertThrows(IllegalStateException.class, () -> subscriber.values().get(0).acknowledge());
+    }
+
+    @Test
+    void acknowledgeBatch_acknowledgesInReceiveOrderWithOneFlush() {
+        final AtomicInteger flushes = connect();
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false, true);
+        subscriber.request(10);
+        channel.runPendingTasks();
+        publishQos1(1, "a", "1");
+        publishQos1(2, "a", "2");
+        publishQos1(3, "a", "3");
+        final List<Mqtt5Publish> values = subscriber.values();
+
+        flushes.set(0);
+        Mqtt5Publish.acknowledgeBatch(Arrays.asList(values.get(2), values.get(0), values.get(1)));
+        channel.runPendingTasks();
+        assertEquals(1, flushes.get());
+        assertPubAck(1, channel.readOutbound());
+        assertPubAck(2, channel.readOutbound());
+        assertPubAck(3, channel.readOutbound());
+        assertNull(channel.readOutbound());
+        assertThrows(IllegalStateException.class, () -> Mqtt5Publish.acknowledgeBatch(values));
+    }
+
+    @Test
+    void acknowledgeBatch_notManualAcknowledgement_throws() {
+        connect();
+        final TestSubscriber<Mqtt5Publish> subscriber = subscribe("#", false);
+        subscriber.request(10);
+        channel.runPendingTasks();
+        publishQos1(1, "a", "1");
+        channel.readOutbound();
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> Mqtt5Publish.acknowledgeBatch(subscriber.values()));
+        assertThrows(UnsupportedOperationException.class, () -> subscriber.values().get(0).acknowledgeCumulatively());
+    }
+
+    private @NotNull TestSubscriber<Mqtt5Publish> subscribe(final @NotNull String topicFilter, final boolean conflate) {
+        return subscribe(topicFilter, conflate, false);
+    }
+
+    private @NotNull TestSubscriber<Mqtt5Publish> subscribe(
+            final @NotNull String topicFilter, final boolean conflate, final boolean manualAcknowledgement) {
+
+        final TestSubscriber<Mqtt5Publish> subscriber = new TestSubscriber<>(0);
+        final MqttSubscribedPublishFlow flow = new MqttSubscribedPublishFlow(subscriber, clientConfig,
+                incomingQosHandler, manualAcknowledgement, conflate);
+        subscriber.onSubscribe(flow);
+        final MqttSubscribe subscribe = new MqttSubscribeBuilder.Default().topicFilter(topicFilter).build();
+        incomingPublishFlows.subscribe(subscribe, 1, flow);
+        incomingPublishFlows.subAck(subscribe, 1, ImmutableList.of(Mqtt5SubAckReasonCode.GRANTED_QOS_0));
+        return subscriber;
+    }
+
+    private @NotNull MqttStatefulPublishWithFlows publishQos0(
+            final @NotNull String topic, final @NotNull String payload, final long messageExpiryInterval) {
+
+        final MqttStatefulPublish publish = new MqttPublishBuilder.Default().topic(topic)
+                .qos(MqttQos.AT_MOST_ONCE)
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .messageExpiryInterval(messageExpiryInterval)
+                .build()
+                .createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, DEFAULT_NO_TOPIC_ALIAS,
+                        DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        final MqttStatefulPublishWithFlows publishWithFlows = new MqttStatefulPublishWithFlows(publish);
+        assertTrue(incomingPublishService.onPublishQos0(publishWithFlows));
+        return publishWithFlows;
+    }
+
+    private boolean publishQos0(final @NotNull String topic, final @NotNull String payload) {
+        final MqttStatefulPublish publish = new MqttPublishBuilder.Default().topic(topic)
+                .qos(MqttQos.AT_MOST_ONCE)
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .build()
+                .createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, DEFAULT_NO_TOPIC_ALIAS,
+                        DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        return incomingPublishService.onPublishQos0(new MqttStatefulPublishWithFlows(publish));
+    }
+
+    private @NotNull AtomicInteger connect() {
+        final AtomicInteger flushes = new AtomicInteger();
+        channel.pipeline().addLast(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void flush(final @NotNull ChannelHandlerContext ctx) {
+                flushes.incrementAndGet();
+                ctx.flush();
+            }
+        });
+        channel.pipeline().addLast(incomingQosHandler);
+        final MqttClientConnectionConfig connectionConfig = mock(MqttClientConnectionConfig.class);
+        when(connectionConfig.getReceiveMaximum()).thenReturn(10);
+        incomingQosHandler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+        return flushes;
+    }
+
+    private void publishQos1(final int packetIdentifier, final @NotNull String topic, final @NotNull String payload) {
+        final MqttStatefulPublish publish = new MqttPublishBuilder.Default().topic(topic)
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .build()
+                .createStateful(packetIdentifier, false, DEFAULT_NO_TOPIC_ALIAS, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        channel.writeInbound(publish);
+    }
+
+    private void publishQos1(
+            final int packetIdentifier,
+            final @NotNull String topic,
+            final @NotNull String payload,
+            final long messageExpiryInterval) {
+
+        final MqttStatefulPublish publish = new MqttPublishBuilder.Default().topic(topic)
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .payload(payload.getBytes(StandardCharsets.UTF_8))
+                .messageExpiryInterval(messageExpiryInterval)
+                .build()
+                .createStateful(packetIdentifier, false, DEFAULT_NO_TOPIC_ALIAS, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        channel.writeInbound(publish);
+    }
+
+    private static void assertPubAck(final int packetIdentifier, final @Nullable Object message) {
+        assertTrue(message instanceof MqttPubAck);
+        assertEquals(packetIdentifier, ((MqttPubAck) message).getPacketIdentifier());
+    }
+
+    private static void assertPublish(
+            final @NotNull Mqtt5Publish publish, final @NotNull String topic, final @NotNull String payload) {
+
+        assertEquals(topic, publish.getTopic().toString());
+        assertEquals(payload, new String(publish.getPayloadAsBytes(), StandardCharsets.UTF_8));
+    }
+}
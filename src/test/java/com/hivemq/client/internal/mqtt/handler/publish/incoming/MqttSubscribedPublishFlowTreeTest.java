@@ -18,10 +18,16 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscriptionBuilder;
+import com.hivemq.client.internal.util.collections.ImmutableIntList;
 import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
@@ -153,4 +159,144 @@ class MqttSubscribedPublishFlowTreeTest extends MqttSubscribedPublishFlowsTest {
 
         assertTrue(flows.getSubscriptions().isEmpty());
     }
+
+    @Test
+    void findMatching_subscriptionIdentifiers_onlyIdentifiedFlows() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/#", 1);
+        final MqttSubscribedPublishFlow flow2 = subscribe("a/+", 2);
+        final MqttSubscribedPublishFlow flow3 = subscribe("+/b", 3);
+
+        final MqttStatefulPublishWithFlows byTree = newPublishWithFlows("a/b");
+        flows.findMatching(byTree);
+        assertEquals(ImmutableSet.of(flow1, flow2, flow3), toSet(byTree));
+
+        final MqttStatefulPublishWithFlows byIdentifiers = newPublishWithFlows("a/b", ImmutableIntList.of(1, 3));
+        flows.findMatching(byIdentifiers);
+        assertTrue(byIdentifiers.subscriptionFound);
+        assertEquals(ImmutableSet.of(flow1, flow3), toSet(byIdentifiers));
+    }
+
+    @Test
+    void findMatching_subscriptionIdentifiers_multipleTopicFilters_flowAddedOnce() {
+        final MqttSubscribedPublishFlow flow = mockSubscriptionFlow("flow");
+        flows.subscribe(new MqttSubscriptionBuilder.Default().topicFilter("a/#").build(), 1, flow);
+        flows.subscribe(new MqttSubscriptionBuilder.Default().topicFilter("a/+").build(), 1, flow);
+        flows.subscribe(new MqttSubscriptionBuilder.Default().topicFilter("c").build(), 1, flow);
+
+        final MqttStatefulPublishWithFlows publishWithFlows = newPublishWithFlows("a/b", ImmutableIntList.of(1));
+        flows.findMatching(publishWithFlows);
+        assertTrue(publishWithFlows.subscriptionFound);
+        assertEquals(1, publishWithFlows.size());
+    }
+
+    @Test
+    void findMatching_unknownSubscriptionIdentifier_fallsBackToTree() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/#", 1);
+        final MqttSubscribedPublishFlow flow2 = subscribe("a/+", 2);
+
+        final MqttStatefulPublishWithFlows publishWithFlows = newPublishWithFlows("a/b", ImmutableIntList.of(1, 5));
+        flows.findMatching(publishWithFlows);
+        assertTrue(publishWithFlows.subscriptionFound);
+        assertEquals(ImmutableSet.of(flow1, flow2), toSet(publishWithFlows));
+    }
+
+    @Test
+    void findMatching_subscriptionIdentifiers_noFlow() {
+        flows.subscribe(new MqttSubscriptionBuilder.Default().topicFilter("a/#").build(), 1, null);
+
+        final MqttStatefulPublishWithFlows publishWithFlows = newPublishWithFlows("a/b", ImmutableIntList.of(1));
+        flows.findMatching(publishWithFlows);
+        assertTrue(publishWithFlows.subscriptionFound);
+        assertTrue(publishWithFlows.isEmpty());
+    }
+
+    @Test
+    void findMatching_subscriptionIdentifiers_replacedTopicFilter_sameFlowsAsTree() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/+", 1);
+        final MqttSubscribedPublishFlow flow2 = subscribe("a/+", 2);
+
+        final MqttStatefulPublishWithFlows byTree = newPublishWithFlows("a/b");
+        flows.findMatching(byTree);
+        assertEquals(ImmutableSet.of(flow1, flow2), toSet(byTree));
+
+        final MqttStatefulPublishWithFlows byIdentifiers = newPublishWithFlows("a/b", ImmutableIntList.of(2));
+        flows.findMatching(byIdentifiers);
+        assertTrue(byIdentifiers.subscriptionFound);
+        assertEquals(ImmutableSet.of(flow1, flow2), toSet(byIdentifiers));
+
+        final MqttStatefulPublishWithFlows byBothIdentifiers = newPublishWithFlows("a/b", ImmutableIntList.of(1, 2));
+        flows.findMatching(byBothIdentifiers);
+        assertEquals(2, byBothIdentifiers.size());
+    }
+
+    @Test
+    void findMatching_unidentifiedSubscription_fallsBackToTree() {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/#", 1);
+        final MqttSubscribedPublishFlow flow2 =
+                subscribe("a/+", MqttStatefulSubscribe.DEFAULT_NO_SUBSCRIPTION_IDENTIFIER);
+
+        final MqttStatefulPublishWithFlows publishWithFlows = newPublishWithFlows("a/b", ImmutableIntList.of(1));
+        flows.findMatching(publishWithFlows);
+        assertEquals(ImmutableSet.of(flow1, flow2), toSet(publishWithFlows));
+    }
+
+    @Test
+    void findMatching_subscriptionIdentifierWithManyTopicFilters_fallsBackToTree() {
+        final MqttSubscribedPublishFlow flow1 = mockSubscriptionFlow("flow1");
+        for (int i = 0; i < 9; i++) {
+            flows.subscribe(new MqttSubscriptionBuilder.Default().topicFilter("a/" + i).build(), 1, flow1);
+        }
+        final MqttSubscribedPublishFlow flow2 = subscribe("a/+", 2);
+
+        final MqttStatefulPublishWithFlows publishWithFlows = newPublishWithFlows("a/0", ImmutableIntList.of(1));
+        flows.findMatching(publishWithFlows);
+        assertEquals(ImmutableSet.of(flow1, flow2), toSet(publishWithFlows));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"unsubscribe", "remove", "clear"})
+    void findMatching_subscriptionIdentifiers_removedFromIndex(final @NotNull String removeOperation) {
+        final MqttSubscribedPublishFlow flow1 = subscribe("a/#", 1);
+        subscribe("a/+", 2);
+        final MqttTopicFilterImpl topicFilter = MqttTopicFilterImpl.of("a/+");
+        switch (removeOperation) {
+            case "unsubscribe":
+                flows.unsubscribe(topicFilter);
+                break;
+            case "remove":
+                flows.suback(topicFilter, 2, true);
+                break;
+            case "clear":
+                flows.clear(new Exception());
+                break;
+            default:
+                fail();
+        }
+
+        final MqttStatefulPublishWithFlows publishWithFlows = newPublishWithFlows("a/b", ImmutableIntList.of(2));
+        flows.findMatching(publishWithFlows);
+        if (removeOperation.equals("clear")) {
+            assertFalse(publishWithFlows.subscriptionFound);
+        } else {
+            // identifier 2 is unknown, so the tree is used and finds the remaining subscription
+            assertTrue(publishWithFlows.subscriptionFound);
+            assertEquals(ImmutableSet.of(flow1), toSet(publishWithFlows));
+        }
+    }
+
+    private @NotNull MqttSubscribedPublishFlow subscribe(final @NotNull String topicFilter, final int identifier) {
+        final MqttSubscription subscription = new MqttSubscriptionBuilder.Default().topicFilter(topicFilter).build();
+        final MqttSubscribedPublishFlow flow = mockSubscriptionFlow(topicFilter);
+        flows.subscribe(subscription, identifier, flow);
+        flows.suback(subscription.getTopicFilter(), identifier, false);
+        return flow;
+    }
+
+    private static @NotNull MqttStatefulPublishWithFlows newPublishWithFlows(
+            final @NotNull String topic, final @NotNull ImmutableIntList subscriptionIdentifiers) {
+
+        return new MqttStatefulPublishWithFlows(new MqttPublishBuilder.Default().topic(topic)
+                .build()
+                .createStateful(1, false, MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS, subscriptionIdentifiers));
+    }
 }
@@ -801,7 +801,7 @@ abstract class MqttSubscribedPublishFlowsTest {
                         MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS));
     }
 
-    private static @NotNull MqttSubscribedPublishFlow mockSubscriptionFlow(final @NotNull String name) {
+    static @NotNull MqttSubscribedPublishFlow mockSubscriptionFlow(final @NotNull String name) {
         final MqttSubscribedPublishFlow flow = mock(MqttSubscribedPublishFlow.class);
         final HandleList<MqttTopicFilterImpl> topicFilters = new HandleList<>();
         when(flow.getTopicFilters()).thenReturn(topicFilters);
@@ -809,7 +809,7 @@ abstract class MqttSubscribedPublishFlowsTest {
         return flow;
     }
 
-    private <E> @NotNull ImmutableSet<E> toSet(final @NotNull HandleList<E> list) {
+    static <E> @NotNull ImmutableSet<E> toSet(final @NotNull HandleList<E> list) {
         final ImmutableSet.Builder<E> builder = ImmutableSet.builder();
         for (HandleList.Handle<E> h = list.getFirst(); h != null; h = h.getNext()) {
             builder.add(h.getElement());
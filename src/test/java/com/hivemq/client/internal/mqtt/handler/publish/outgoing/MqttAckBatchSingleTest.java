@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBatchResult;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.observers.TestObserver;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl.NO_USER_PROPERTIES;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttAckBatchSingleTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig);
+
+    @BeforeEach
+    void setUp() {
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        when(clientConfig.getState()).thenReturn(MqttClientState.CONNECTED);
+        when(clientConfig.getAdvancedConfig()).thenReturn(MqttClientAdvancedConfig.DEFAULT);
+        when(clientConfig.getStatistics()).thenReturn(new MqttClientStatisticsImpl());
+        final ClientComponent clientComponent = mock(ClientComponent.class);
+        when(clientComponent.outgoingQosHandler()).thenReturn(handler);
+        when(clientConfig.getClientComponent()).thenReturn(clientComponent);
+
+        channel.pipeline().addLast(MqttOutgoingQosHandler.NAME, handler);
+        final MqttClientConnectionConfig connectionConfig = new MqttClientConnectionConfig(
+                MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false, null, 10,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 100,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true, true,
+                channel);
+        handler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void publishAll_resultsByIndex_independentOfAcknowledgementOrder() {
+        final MqttPublish[] publishes = {
+                publish("topic/0", MqttQos.AT_LEAST_ONCE), publish("topic/1", MqttQos.AT_MOST_ONCE),
+                publish("topic/2", MqttQos.AT_LEAST_ONCE), publish("topic/3", MqttQos.AT_LEAST_ONCE),
+        };
+        final TestObserver<Mqtt5PublishBatchResult> observer =
+                new MqttAckBatchSingle(clientConfig, publishes).test();
+        channel.runPendingTasks();
+
+        final List<MqttStatefulPublish> written = new ArrayList<>();
+        for (MqttStatefulPublish publish; (publish = channel.readOutbound()) != null; ) {
+            written.add(publish);
+        }
+        assertEquals(4, written.size());
+        for (int i = 0; i < 4; i++) {
+            assertSame(publishes[i], written.get(i).stateless());
+        }
+        observer.assertNotComplete();
+
+        channel.writeInbound(pubAck(written.get(3).getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS));
+        channel.writeInbound(
+                pubAck(written.get(2).getPacketIdentifier(), Mqtt5PubAckReasonCode.NOT_AUTHORIZED));
+        observer.assertNotComplete();
+        channel.writeInbound(pubAck(written.get(0).getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS));
+
+        observer.assertComplete();
+        final Mqtt5PublishBatchResult result = observer.values().get(0);
+        assertEquals(4, result.size());
+        assertEquals(1, result.getErrorCount());
+        for (int i = 0; i < 4; i++) {
+            final Mqtt5PublishResult publishResult = result.get(i);
+            assertSame(publishes[i], publishResult.getPublish());
+            assertSame(publishResult, result.getResults().get(i));
+            assertEquals(i == 2, publishResult.getError().isPresent());
+        }
+    }
+
+    @Test
+    void publishAll_empty() {
+        final TestObserver<Mqtt5PublishBatchResult> observer =
+                new MqttAckBatchSingle(clientConfig, new MqttPublish[0]).test();
+
+        observer.assertComplete();
+        assertEquals(0, observer.values().get(0).size());
+        assertTrue(observer.values().get(0).getResults().isEmpty());
+    }
+
+    @Test
+    void publishAll_notConnected() {
+        when(clientConfig.getState()).thenReturn(MqttClientState.DISCONNECTED);
+
+        new MqttAckBatchSingle(clientConfig, new MqttPublish[]{publish("topic", MqttQos.AT_MOST_ONCE)}).test()
+                .assertError(MqttClientStateException.class);
+    }
+
+    private static @NotNull MqttPublish publish(final @NotNull String topic, final @NotNull MqttQos qos) {
+        return new MqttPublish(MqttTopicImpl.of(topic), ByteBuffer.wrap(new byte[]{1, 2, 3}), qos, false,
+                MqttPublish.NO_MESSAGE_EXPIRY, Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null,
+                NO_USER_PROPERTIES, null);
+    }
+
+    private static @NotNull MqttPubAck pubAck(final int packetIdentifier, final @NotNull Mqtt5PubAckReasonCode code) {
+        return new MqttPubAck(packetIdentifier, code, null, NO_USER_PROPERTIES);
+    }
+}
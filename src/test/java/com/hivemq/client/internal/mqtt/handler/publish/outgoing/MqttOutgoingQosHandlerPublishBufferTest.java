@@ -0,0 +1,346 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttFilePayload;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.MessageExpiredException;
+import com.hivemq.client.mqtt.exceptions.PublishBufferOverflowException;
+import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5PublishBufferOverflowPolicy;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl.NO_USER_PROPERTIES;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the limits and overflow policies of the publish buffer of the {@link MqttOutgoingQosHandler} while the client
+ * is offline (no session is started, so buffered publishes are kept until the session starts).
+ *
+ * @author Silvio Giebl
+ */
+class MqttOutgoingQosHandlerPublishBufferTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttClientStatisticsImpl statistics = new MqttClientStatisticsImpl();
+    private final @NotNull MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig);
+    private final @NotNull Map<String, MqttPublishResult> results = new HashMap<>();
+    private final @NotNull MqttAckFlow ackFlow;
+
+    MqttOutgoingQosHandlerPublishBufferTest() {
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        ackFlow = new MqttAckFlow(clientConfig) {
+            @Override
+            void onNext(final @NotNull MqttPublishResult result) {
+                results.put(result.getPublish().getTopic().toString(), result);
+                handler.request(1);
+            }
+
+            @Override
+            void acknowledged(final long acknowledged) {}
+        };
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(clientConfig.getState()).thenReturn(MqttClientState.DISCONNECTED_RECONNECT);
+        when(clientConfig.isRepublishIfSessionExpired()).thenReturn(true);
+        when(clientConfig.getStatistics()).thenReturn(statistics);
+        channel.pipeline().addLast(MqttOutgoingQosHandler.NAME, handler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void publish_unlimited_buffersAllWithoutAccounting() {
+        configure(new MqttClientAdvancedConfigBuilder.Default().build());
+
+        publish(5);
+        assertEquals(0, statistics.getBufferedPublishCount());
+        assertEquals(0, statistics.getBufferedPublishBytes());
+
+        startSession();
+        assertWritten(0, 5);
+        assertEquals(0, statistics.getBufferedPublishCount());
+        assertEquals(0, statistics.getBufferedPublishBytes());
+    }
+
+    @Test
+    void publish_fail_rejectsNewest() {
+        configure(new MqttClientAdvancedConfigBuilder.Default().publishBufferMaxMessages(3).build());
+
+        publish(5);
+        assertEquals(3, statistics.getBufferedPublishCount());
+        assertOverflow("topic/3");
+        assertOverflow("topic/4");
+        assertEquals(2, statistics.getRejectedPublishCount());
+        assertEquals(0, statistics.getDroppedPublishCount());
+
+        startSession();
+        assertWritten(0, 3);
+        assertEquals(0, statistics.getBufferedPublishCount());
+    }
+
+    @Test
+    void publish_dropNewest_maxBytes() {
+        configure(new MqttClientAdvancedConfigBuilder.Default().publishBufferMaxBytes(10)
+                .publishBufferOverflowPolicy(Mqtt5PublishBufferOverflowPolicy.DROP_NEWEST)
+                .build());
+
+        publish(5);
+        assertEquals(3, statistics.getBufferedPublishCount());
+        assertEquals(9, statistics.getBufferedPublishBytes());
+        assertOverflow("topic/3");
+        assertOverflow("topic/4");
+        assertEquals(0, statistics.getRejectedPublishCount());
+        assertEquals(2, statistics.getDroppedPublishCount());
+
+        startSession();
+        assertWritten(0, 3);
+    }
+
+    @Test
+    void publish_dropOldest() {
+        configure(new MqttClientAdvancedConfigBuilder.Default().publishBufferMaxMessages(3)
+                .publishBufferOverflowPolicy(Mqtt5PublishBufferOverflowPolicy.DROP_OLDEST)
+                .build());
+
+        publish(5);
+        assertEquals(3, statistics.getBufferedPublishCount());
+        assertOverflow("topic/0");
+        assertOverflow("topic/1");
+        assertEquals(0, statistics.getRejectedPublishCount());
+        assertEquals(2, statistics.getDroppedPublishCount());
+
+        startSession();
+        assertWritten(2, 5);
+        assertEquals(0, statistics.getBufferedPublishCount());
+    }
+
+    @Test
+    void publish_block_onEventLoop_rejects() {
+        configure(new MqttClientAdvancedConfigBuilder.Default().publishBufferMaxMessages(3)
+                .publishBufferOverflowPolicy(Mqtt5PublishBufferOverflowPolicy.BLOCK)
+                .build());
+
+        // the embedded event loop always reports the calling thread as the event loop
+        publish(4);
+        assertEquals(3, statistics.getBufferedPublishCount());
+        assertOverflow("topic/3");
+        assertEquals(1, statistics.getRejectedPublishCount());
+
+        startSession();
+        assertWritten(0, 3);
+    }
+
+    @Test
+    void publish_block_timeout_rejects() throws InterruptedException {
+        configure(new MqttClientAdvancedConfigBuilder.Default().publishBufferMaxMessages(1)
+                .publishBufferOverflowPolicy(Mqtt5PublishBufferOverflowPolicy.BLOCK)
+                .publishBufferBlockTimeout(50, TimeUnit.MILLISECONDS)
+                .build());
+        final DefaultEventLoop eventLoop = new DefaultEventLoop();
+        try {
+            when(clientConfig.acquireEventLoop()).thenReturn(eventLoop);
+            final CountDownLatch rejected = new CountDownLatch(1);
+            final MqttAckFlow blockingAckFlow = new MqttAckFlow(clientConfig) {
+                @Override
+                void onNext(final @NotNull MqttPublishResult result) {
+                    if (result.getRawError() instanceof PublishBufferOverflowException) {
+                        rejected.countDown();
+                    }
+                }
+
+                @Override
+                void acknowledged(final long acknowledged) {}
+            };
+
+            handler.publish(new MqttPublishWithFlow(publish("topic/0"), blockingAckFlow));
+            final long start = System.nanoTime();
+            handler.publish(new MqttPublishWithFlow(publish("topic/1"), blockingAckFlow));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertTrue(rejected.await(1, TimeUnit.SECONDS));
+            assertEquals(1, statistics.getBufferedPublishCount());
+            assertEquals(1, statistics.getRejectedPublishCount());
+        } finally {
+            eventLoop.shutdownGracefully();
+        }
+    }
+
+    @Test
+    void publish_payloadLargerThanMaxBytes_rejected() {
+        configure(new MqttClientAdvancedConfigBuilder.Default().publishBufferMaxBytes(2)
+                .publishBufferOverflowPolicy(Mqtt5PublishBufferOverflowPolicy.DROP_OLDEST)
+                .build());
+
+        publish(1);
+        assertEquals(0, statistics.getBufferedPublishCount());
+        assertOverflow("topic/0");
+        assertEquals(1, statistics.getRejectedPublishCount());
+    }
+
+    @Test
+    void publish_filePayload_countedAgainstMaxBytes() {
+        configure(new MqttClientAdvancedConfigBuilder.Default().publishBufferMaxBytes(100).build());
+
+        handler.publish(new MqttPublishWithFlow(filePublish("topic/0", 60), ackFlow));
+        assertEquals(60, statistics.getBufferedPublishBytes());
+        handler.publish(new MqttPublishWithFlow(filePublish("topic/1", 200), ackFlow));
+        assertOverflow("topic/1");
+        assertEquals(1, statistics.getRejectedPublishCount());
+    }
+
+    @Test
+    void publish_enforceMessageExpiry_dropsExpiredAndDecrementsRemaining() throws InterruptedException {
+        configure(new MqttClientAdvancedConfigBuilder.Default().enforceMessageExpiry(true).build());
+
+        handler.publish(new MqttPublishWithFlow(publish("topic/0", 1), ackFlow));
+        handler.publish(new MqttPublishWithFlow(publish("topic/1", 100), ackFlow));
+        handler.publish(new MqttPublishWithFlow(publish("topic/2", MqttPublish.NO_MESSAGE_EXPIRY), ackFlow));
+        channel.runPendingTasks();
+        Thread.sleep(1_100);
+
+        startSession();
+        // waited the full message expiry interval, so expired and not sent with a message expiry interval of 0
+        final MqttPublishResult expired = results.get("topic/0");
+        assertNotNull(expired);
+        assertTrue(expired.getRawError() instanceof MessageExpiredException);
+        assertEquals(1, statistics.getExpiredOutgoingPublishCount());
+
+        final MqttStatefulPublish publish1 = channel.readOutbound();
+        assertEquals("topic/1", publish1.stateless().getTopic().toString());
+        final long remaining = publish1.stateless().getRawMessageExpiryInterval();
+        assertTrue((remaining >= 98) && (remaining <= 99), "remaining message expiry interval " + remaining);
+        final MqttStatefulPublish publish2 = channel.readOutbound();
+        assertEquals(MqttPublish.NO_MESSAGE_EXPIRY, publish2.stateless().getRawMessageExpiryInterval());
+        assertNull(channel.readOutbound());
+        assertNull(results.get("topic/1").getRawError());
+    }
+
+    @Test
+    void publish_enforceMessageExpiry_zeroIntervalSentImmediately() {
+        configure(new MqttClientAdvancedConfigBuilder.Default().enforceMessageExpiry(true).build());
+
+        handler.publish(new MqttPublishWithFlow(publish("topic/0", 0), ackFlow));
+        channel.runPendingTasks();
+
+        startSession();
+        final MqttStatefulPublish publish = channel.readOutbound();
+        assertNotNull(publish);
+        assertEquals(0, publish.stateless().getRawMessageExpiryInterval());
+        assertEquals(0, statistics.getExpiredOutgoingPublishCount());
+    }
+
+    @Test
+    void publish_messageExpiryNotEnforced_sendsOriginalInterval() {
+        configure(new MqttClientAdvancedConfigBuilder.Default().build());
+
+        handler.publish(new MqttPublishWithFlow(publish("topic/0", 100), ackFlow));
+        channel.runPendingTasks();
+
+        startSession();
+        final MqttStatefulPublish publish = channel.readOutbound();
+        assertEquals(100, publish.stateless().getRawMessageExpiryInterval());
+        assertEquals(0, statistics.getExpiredOutgoingPublishCount());
+    }
+
+    private void configure(final @NotNull MqttClientAdvancedConfig advancedConfig) {
+        when(clientConfig.getAdvancedConfig()).thenReturn(advancedConfig);
+    }
+
+    private void publish(final int count) {
+        for (int i = 0; i < count; i++) {
+            handler.publish(new MqttPublishWithFlow(publish("topic/" + i), ackFlow));
+        }
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+    }
+
+    private void startSession() {
+        final MqttClientConnectionConfig connectionConfig = new MqttClientConnectionConfig(
+                MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false, null, 10,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true, true,
+                channel);
+        handler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+        channel.runPendingTasks();
+    }
+
+    private void assertWritten(final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final MqttStatefulPublish publish = channel.readOutbound();
+            assertNotNull(publish);
+            assertEquals("topic/" + i, publish.stateless().getTopic().toString());
+            final MqttPublishResult result = results.get("topic/" + i);
+            assertNotNull(result);
+            assertNull(result.getRawError());
+        }
+        assertNull(channel.readOutbound());
+    }
+
+    private void assertOverflow(final @NotNull String topic) {
+        final MqttPublishResult result = results.get(topic);
+        assertNotNull(result);
+        assertTrue(result.getRawError() instanceof PublishBufferOverflowException);
+    }
+
+    private static @NotNull MqttPublish filePublish(final @NotNull String topic, final int length) {
+        return new MqttPublish(MqttTopicImpl.of(topic), null, MqttQos.AT_MOST_ONCE, false,
+                MqttPublish.NO_MESSAGE_EXPIRY, Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null,
+                NO_USER_PROPERTIES, null, null, new MqttFilePayload(mock(FileChannel.class), 0, length));
+    }
+
+    private static @NotNull MqttPublish publish(final @NotNull String topic) {
+        return publish(topic, MqttPublish.NO_MESSAGE_EXPIRY);
+    }
+
+    private static @NotNull MqttPublish publish(final @NotNull String topic, final long messageExpiryInterval) {
+        return new MqttPublish(MqttTopicImpl.of(topic), ByteBuffer.wrap(new byte[]{1, 2, 3}), MqttQos.AT_MOST_ONCE,
+                false, messageExpiryInterval, Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null,
+                NO_USER_PROPERTIES, null);
+    }
+}
@@ -18,15 +18,20 @@ package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.Flowable;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
@@ -70,21 +75,8 @@ class MqttOutgoingQosHandlerTest {
     private static void drainAndAssertFifo(final int sendMaximum) {
         final EmbeddedChannel channel = new EmbeddedChannel();
         try {
-            final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
-            // route every flow's event loop to the channel's, so the run() scheduled by onNext executes
-            // deterministically via runPendingTasks() on the same single thread
-            when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
-
-            final MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig);
-            channel.pipeline().addLast(MqttOutgoingQosHandler.NAME, handler);
-
-            // real connection config (matches AbstractMqttEncoderTest); no send topic alias mapping
-            final MqttClientConnectionConfig connectionConfig = new MqttClientConnectionConfig(
-                    MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false, null, 10,
-                    MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, sendMaximum,
-                    MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true, true,
-                    channel);
-            handler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+            final MqttClientConfig clientConfig = mockClientConfig(channel);
+            final MqttOutgoingQosHandler handler = startHandler(clientConfig, channel, sendMaximum);
 
             final List<MqttPublishResult> acked = new ArrayList<>();
             final MqttAckFlow ackFlow = new MqttAckFlow(clientConfig) {
@@ -128,10 +120,192 @@ class MqttOutgoingQosHandlerTest {
         }
     }
 
+    @Test
+    void publish_drains_directly_enqueued_qos0_publishes_in_fifo_order() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        try {
+            final MqttClientConfig clientConfig = mockClientConfig(channel);
+            final MqttOutgoingQosHandler handler = startHandler(clientConfig, channel, SMALL_SEND_MAXIMUM);
+            final List<MqttPublishResult> acked = new ArrayList<>();
+            final MqttAckFlow ackFlow = new RequestingAckFlow(clientConfig, handler, acked);
+
+            handler.publish(new MqttPublishWithFlow(qos0Publish("topic/0"), ackFlow));
+            final MqttPublishWithFlow[] publishWithFlows = new MqttPublishWithFlow[PUBLISH_COUNT - 1];
+            for (int i = 1; i < PUBLISH_COUNT; i++) {
+                publishWithFlows[i - 1] = new MqttPublishWithFlow(qos0Publish("topic/" + i), ackFlow);
+            }
+            handler.publish(publishWithFlows);
+            channel.runPendingTasks();
+
+            for (int i = 0; i < PUBLISH_COUNT; i++) {
+                final MqttStatefulPublish written = channel.readOutbound();
+                assertNotNull(written);
+                assertEquals("topic/" + i, written.stateless().getTopic().toString());
+            }
+            assertNull(channel.readOutbound());
+            assertEquals(PUBLISH_COUNT, acked.size());
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void publish_directly_enqueued_publishes_do_not_add_requests_to_publish_flowables() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        try {
+            final MqttClientConfig clientConfig = mockClientConfig(channel);
+            final MqttOutgoingQosHandler handler = startHandler(clientConfig, channel, SMALL_SEND_MAXIMUM);
+            final List<MqttPublishResult> acked = new ArrayList<>();
+
+            final MqttAckFlow directAckFlow = new RequestingAckFlow(clientConfig, handler, acked);
+            for (int i = 0; i < PUBLISH_COUNT; i++) {
+                handler.publish(new MqttPublishWithFlow(qos0Publish("direct/" + i), directAckFlow));
+            }
+            channel.runPendingTasks();
+            for (int i = 0; i < PUBLISH_COUNT; i++) {
+                assertNotNull(channel.readOutbound());
+            }
+            assertNull(channel.readOutbound());
+
+            // the stream does not return requests, so only the initial send maximum requests may be emitted
+            final MqttAckFlow streamAckFlow = new MqttAckFlow(clientConfig) {
+                @Override
+                void onNext(final @NotNull MqttPublishResult result) {
+                    acked.add(result);
+                }
+
+                @Override
+                void acknowledged(final long acknowledged) {}
+            };
+            final MqttPublishWithFlow[] publishWithFlows = new MqttPublishWithFlow[PUBLISH_COUNT];
+            for (int i = 0; i < PUBLISH_COUNT; i++) {
+                publishWithFlows[i] = new MqttPublishWithFlow(qos0Publish("stream/" + i), streamAckFlow);
+            }
+            handler.getPublishFlowables().add(Flowable.fromArray(publishWithFlows));
+            channel.runPendingTasks();
+
+            for (int i = 0; i < SMALL_SEND_MAXIMUM; i++) {
+                final MqttStatefulPublish written = channel.readOutbound();
+                assertNotNull(written);
+                assertEquals("stream/" + i, written.stateless().getTopic().toString());
+            }
+            assertNull(channel.readOutbound());
+            assertEquals(PUBLISH_COUNT + SMALL_SEND_MAXIMUM, acked.size());
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    @Test
+    void publish_qos1_moreThanSendMaximum_drainedAsPacketIdentifiersAreReturned() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        try {
+            final MqttClientConfig clientConfig = mockClientConfig(channel);
+            final MqttOutgoingQosHandler handler = startHandler(clientConfig, channel, SMALL_SEND_MAXIMUM);
+            final List<MqttPublishResult> acked = new ArrayList<>();
+            final MqttAckFlow ackFlow = new RequestingAckFlow(clientConfig, handler, acked);
+
+            handler.publish(new MqttPublishWithFlow(qos1Publish("topic/0"), ackFlow));
+            final MqttPublishWithFlow[] publishWithFlows = new MqttPublishWithFlow[PUBLISH_COUNT - 1];
+            for (int i = 1; i < PUBLISH_COUNT; i++) {
+                publishWithFlows[i - 1] = new MqttPublishWithFlow(qos1Publish("topic/" + i), ackFlow);
+            }
+            handler.publish(publishWithFlows);
+            channel.runPendingTasks();
+
+            // all packet identifiers are in use after send maximum publishes
+            final List<MqttStatefulPublish> written = new ArrayList<>();
+            for (int i = 0; i < SMALL_SEND_MAXIMUM; i++) {
+                written.add(channel.readOutbound());
+            }
+            assertNull(channel.readOutbound());
+
+            for (int i = 0; i < PUBLISH_COUNT; i++) {
+                final MqttStatefulPublish publish = written.get(i);
+                assertNotNull(publish, "publish " + i + " was not written");
+                assertEquals("topic/" + i, publish.stateless().getTopic().toString());
+                channel.writeInbound(new MqttPubAck(
+                        publish.getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS, null, NO_USER_PROPERTIES));
+                channel.runPendingTasks();
+                assertEquals(i + 1, acked.size());
+                // the returned packet identifier lets exactly one more publish be written
+                if (i + SMALL_SEND_MAXIMUM < PUBLISH_COUNT) {
+                    written.add(channel.readOutbound());
+                }
+                assertNull(channel.readOutbound());
+            }
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    private static @NotNull MqttClientConfig mockClientConfig(final @NotNull EmbeddedChannel channel) {
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        // route every flow's event loop to the channel's, so the run() scheduled by onNext executes
+        // deterministically via runPendingTasks() on the same single thread
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        when(clientConfig.getAdvancedConfig()).thenReturn(MqttClientAdvancedConfig.DEFAULT);
+        when(clientConfig.getStatistics()).thenReturn(new MqttClientStatisticsImpl());
+        return clientConfig;
+    }
+
+    private static @NotNull MqttOutgoingQosHandler startHandler(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull EmbeddedChannel channel,
+            final int sendMaximum) {
+
+        final MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig);
+        channel.pipeline().addLast(MqttOutgoingQosHandler.NAME, handler);
+
+        // real connection config (matches AbstractMqttEncoderTest); no send topic alias mapping
+        final MqttClientConnectionConfig connectionConfig = new MqttClientConnectionConfig(
+                MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false, null, 10,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, sendMaximum,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true, true,
+                channel);
+        handler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+        return handler;
+    }
+
     private static @NotNull MqttPublish qos0Publish(final @NotNull String topic) {
         return new MqttPublish(
                 MqttTopicImpl.of(topic), ByteBuffer.wrap(new byte[]{1, 2, 3}), MqttQos.AT_MOST_ONCE, false,
                 MqttPublish.NO_MESSAGE_EXPIRY, Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null,
                 NO_USER_PROPERTIES, null);
     }
+
+    private static @NotNull MqttPublish qos1Publish(final @NotNull String topic) {
+        return new MqttPublish(
+                MqttTopicImpl.of(topic), ByteBuffer.wrap(new byte[]{1, 2, 3}), MqttQos.AT_LEAST_ONCE, false,
+                MqttPublish.NO_MESSAGE_EXPIRY, Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null,
+                NO_USER_PROPERTIES, null);
+    }
+
+    /**
+     * Ack flow that returns a request to the handler for every result, like the ack flows of the client do.
+     */
+    private static class RequestingAckFlow extends MqttAckFlow {
+
+        private final @NotNull MqttOutgoingQosHandler handler;
+        private final @NotNull List<MqttPublishResult> acked;
+
+        RequestingAckFlow(
+                final @NotNull MqttClientConfig clientConfig,
+                final @NotNull MqttOutgoingQosHandler handler,
+                final @NotNull List<MqttPublishResult> acked) {
+
+            super(clientConfig);
+            this.handler = handler;
+            this.acked = acked;
+        }
+
+        @Override
+        void onNext(final @NotNull MqttPublishResult result) {
+            acked.add(result);
+            handler.request(1);
+        }
+
+        @Override
+        void acknowledged(final long acknowledged) {}
+    }
 }
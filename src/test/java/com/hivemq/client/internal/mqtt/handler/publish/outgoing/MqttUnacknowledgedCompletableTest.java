@@ -0,0 +1,169 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientStatisticsImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.EncoderException;
+import io.reactivex.Flowable;
+import io.reactivex.observers.TestObserver;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl.NO_USER_PROPERTIES;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttUnacknowledgedCompletableTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttClientStatisticsImpl statistics = new MqttClientStatisticsImpl();
+    private final @NotNull MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig);
+
+    @BeforeEach
+    void setUp() {
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        when(clientConfig.getState()).thenReturn(MqttClientState.CONNECTED);
+        when(clientConfig.getAdvancedConfig()).thenReturn(MqttClientAdvancedConfig.DEFAULT);
+        when(clientConfig.getStatistics()).thenReturn(statistics);
+        final ClientComponent clientComponent = mock(ClientComponent.class);
+        when(clientComponent.outgoingQosHandler()).thenReturn(handler);
+        when(clientConfig.getClientComponent()).thenReturn(clientComponent);
+
+        // fails the write like the encoder does if a message can not be encoded
+        channel.pipeline().addLast(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(
+                    final @NotNull ChannelHandlerContext ctx,
+                    final @NotNull Object msg,
+                    final @NotNull ChannelPromise promise) {
+
+                if (((MqttStatefulPublish) msg).stateless().getTopic().toString().equals("fail")) {
+                    throw new EncoderException("too large");
+                }
+                ctx.write(msg, promise);
+            }
+        });
+        channel.pipeline().addLast(MqttOutgoingQosHandler.NAME, handler);
+        final MqttClientConnectionConfig connectionConfig = new MqttClientConnectionConfig(
+                MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false, null, 10,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 100,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, MqttQos.EXACTLY_ONCE, true, true, true, true,
+                channel);
+        handler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void publishUnacknowledged_flowable() {
+        final TestObserver<Void> observer = new MqttUnacknowledgedCompletable(clientConfig,
+                Flowable.range(0, 10).map(i -> publish("topic/" + i))).test();
+        channel.runPendingTasks();
+
+        for (int i = 0; i < 10; i++) {
+            final MqttStatefulPublish publish = channel.readOutbound();
+            assertEquals("topic/" + i, publish.stateless().getTopic().toString());
+        }
+        assertNull(channel.readOutbound());
+        observer.assertComplete();
+        assertEquals(10, statistics.getUnacknowledgedPublishCount());
+        assertEquals(0, statistics.getUnacknowledgedPublishFailureCount());
+    }
+
+    @Test
+    void publishUnacknowledged_writeFailure_countedAndConnectionNotAffected() {
+        final TestObserver<Void> observer = new MqttUnacknowledgedCompletable(clientConfig,
+                Flowable.just(publish("topic/0"), publish("fail"), publish("topic/1"))).test();
+        channel.runPendingTasks();
+
+        assertEquals("topic/0", ((MqttStatefulPublish) channel.readOutbound()).stateless().getTopic().toString());
+        assertEquals("topic/1", ((MqttStatefulPublish) channel.readOutbound()).stateless().getTopic().toString());
+        assertNull(channel.readOutbound());
+        observer.assertComplete();
+        assertEquals(2, statistics.getUnacknowledgedPublishCount());
+        assertEquals(1, statistics.getUnacknowledgedPublishFailureCount());
+        channel.checkException();
+        assertTrue(channel.isActive());
+    }
+
+    @Test
+    void publishUnacknowledged_single() {
+        MqttUnacknowledgedCompletable.publish(clientConfig, publish("topic"));
+        channel.runPendingTasks();
+
+        assertEquals("topic", ((MqttStatefulPublish) channel.readOutbound()).stateless().getTopic().toString());
+        assertEquals(1, statistics.getUnacknowledgedPublishCount());
+    }
+
+    @Test
+    void publishUnacknowledged_single_sharesFlow() {
+        MqttUnacknowledgedCompletable.publish(clientConfig, publish("topic/0"));
+        MqttUnacknowledgedCompletable.publish(clientConfig, publish("topic/1"));
+        channel.runPendingTasks();
+
+        assertEquals("topic/0", ((MqttStatefulPublish) channel.readOutbound()).stateless().getTopic().toString());
+        assertEquals("topic/1", ((MqttStatefulPublish) channel.readOutbound()).stateless().getTopic().toString());
+        assertEquals(2, statistics.getUnacknowledgedPublishCount());
+        verify(clientConfig, times(1)).acquireEventLoop();
+        verify(clientConfig, never()).releaseEventLoop();
+    }
+
+    @Test
+    void publishUnacknowledged_single_notConnected() {
+        when(clientConfig.getState()).thenReturn(MqttClientState.DISCONNECTED);
+
+        MqttUnacknowledgedCompletable.publish(clientConfig, publish("topic"));
+        channel.runPendingTasks();
+
+        assertNull(channel.readOutbound());
+        assertEquals(0, statistics.getUnacknowledgedPublishCount());
+        assertEquals(1, statistics.getUnacknowledgedPublishFailureCount());
+    }
+
+    private static @NotNull MqttPublish publish(final @NotNull String topic) {
+        return new MqttPublish(MqttTopicImpl.of(topic), ByteBuffer.wrap(new byte[]{1, 2, 3}), MqttQos.AT_MOST_ONCE,
+                false, MqttPublish.NO_MESSAGE_EXPIRY, Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null,
+                NO_USER_PROPERTIES, null);
+    }
+}
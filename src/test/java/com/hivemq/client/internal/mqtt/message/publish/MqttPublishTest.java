@@ -20,6 +20,10 @@ import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,7 +38,7 @@ class MqttPublishTest {
     void equals() {
         EqualsVerifier.forClass(MqttPublish.class)
                 .withNonnullFields("topic", "qos", "userProperties")
-                .withIgnoredFields("confirmable")
+                .withIgnoredFields("confirmable", "payloadBuffer")
                 .withRedefinedSubclass(MqttWillPublish.class)
                 .verify();
     }
@@ -64,4 +68,43 @@ class MqttPublishTest {
         };
         assertAll(IntStream.range(0, 16).mapToObj(i -> executable).parallel());
     }
+
+    @Test
+    void filePayload() throws IOException {
+        try (final FileChannel fileChannel = FileChannel.open(Files.createTempFile("payload", null),
+                StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE)) {
+
+            final MqttPublish publish =
+                    new MqttPublishBuilder.Default().topic("topic").payload(fileChannel, 10, 100).build();
+            assertEquals(new MqttFilePayload(fileChannel, 10, 100), publish.getRawFilePayload());
+            assertFalse(publish.getPayload().isPresent());
+
+            final MqttPublish overwritten = publish.extend().payload(new byte[]{1}).build();
+            assertNull(overwritten.getRawFilePayload());
+            assertTrue(overwritten.getPayload().isPresent());
+        }
+    }
+
+    @Test
+    void filePayload_invalid() throws IOException {
+        try (final FileChannel fileChannel = FileChannel.open(Files.createTempFile("payload", null),
+                StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE)) {
+
+            final MqttPublishBuilder.Default builder = new MqttPublishBuilder.Default().topic("topic");
+            assertThrows(IllegalArgumentException.class, () -> builder.payload(fileChannel, -1, 100));
+            assertThrows(IllegalArgumentException.class, () -> builder.payload(fileChannel, 0, -1));
+            assertThrows(IllegalArgumentException.class, () -> builder.payload(fileChannel, 0, 268_435_456));
+        }
+    }
+
+    @Test
+    void filePayload_asWill_throws() throws IOException {
+        try (final FileChannel fileChannel = FileChannel.open(Files.createTempFile("payload", null),
+                StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE)) {
+
+            final MqttPublish publish =
+                    new MqttPublishBuilder.Default().topic("topic").payload(fileChannel, 0, 100).build();
+            assertThrows(IllegalStateException.class, publish::asWill);
+        }
+    }
 }
@@ -29,7 +29,7 @@ class MqttWillPublishTest {
     void equals() {
         EqualsVerifier.forClass(MqttWillPublish.class)
                 .withNonnullFields("topic", "qos", "userProperties")
-                .withIgnoredFields("confirmable")
+                .withIgnoredFields("confirmable", "payloadBuffer")
                 .withRedefinedSuperclass()
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
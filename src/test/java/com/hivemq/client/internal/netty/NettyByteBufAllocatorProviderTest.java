@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.mqtt.MqttBufferAllocatorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttBufferAllocatorConfigImplBuilder;
+import com.hivemq.client.mqtt.MqttBufferAllocatorType;
+import io.netty.buffer.AdaptiveByteBufAllocator;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class NettyByteBufAllocatorProviderTest {
+
+    @Test
+    void getAllocator_default() {
+        assertSame(ByteBufAllocator.DEFAULT, NettyByteBufAllocatorProvider.INSTANCE.getAllocator(null));
+    }
+
+    @Test
+    void getAllocator_type() {
+        assertTrue(NettyByteBufAllocatorProvider.INSTANCE.getAllocator(
+                new MqttBufferAllocatorConfigImplBuilder.Default().type(MqttBufferAllocatorType.UNPOOLED)
+                        .build()) instanceof UnpooledByteBufAllocator);
+        assertTrue(NettyByteBufAllocatorProvider.INSTANCE.getAllocator(
+                new MqttBufferAllocatorConfigImplBuilder.Default().type(MqttBufferAllocatorType.ADAPTIVE)
+                        .build()) instanceof AdaptiveByteBufAllocator);
+    }
+
+    @Test
+    void getAllocator_pooled() {
+        final ByteBufAllocator allocator = NettyByteBufAllocatorProvider.INSTANCE.getAllocator(
+                new MqttBufferAllocatorConfigImplBuilder.Default().heapArenas(1)
+                        .directArenas(2)
+                        .pageSize(4096)
+                        .maxOrder(3)
+                        .build());
+
+        assertTrue(allocator instanceof PooledByteBufAllocator);
+        final PooledByteBufAllocator pooledAllocator = (PooledByteBufAllocator) allocator;
+        assertEquals(1, pooledAllocator.metric().numHeapArenas());
+        assertEquals(2, pooledAllocator.metric().numDirectArenas());
+        assertEquals(4096 << 3, pooledAllocator.metric().chunkSize());
+    }
+
+    @Test
+    void getAllocator_sharedForEqualConfigs() {
+        final MqttBufferAllocatorConfigImpl config1 =
+                new MqttBufferAllocatorConfigImplBuilder.Default().directArenas(1).build();
+        final MqttBufferAllocatorConfigImpl config2 =
+                new MqttBufferAllocatorConfigImplBuilder.Default().directArenas(1).build();
+        final MqttBufferAllocatorConfigImpl config3 =
+                new MqttBufferAllocatorConfigImplBuilder.Default().directArenas(3).build();
+
+        final ByteBufAllocator allocator = NettyByteBufAllocatorProvider.INSTANCE.getAllocator(config1);
+        assertSame(allocator, NettyByteBufAllocatorProvider.INSTANCE.getAllocator(config2));
+        assertNotSame(allocator, NettyByteBufAllocatorProvider.INSTANCE.getAllocator(config3));
+    }
+}
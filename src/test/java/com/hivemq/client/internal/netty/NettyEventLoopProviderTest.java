@@ -0,0 +1,197 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImplBuilder;
+import com.hivemq.client.mqtt.MqttNettyTransport;
+import io.netty.channel.Channel;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoop;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDomainSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.unix.DomainSocketAddress;
+import io.netty.util.concurrent.EventExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class NettyEventLoopProviderTest {
+
+    @Test
+    void of_nio() {
+        final Channel channel = NettyEventLoopProvider.of(MqttNettyTransport.NIO).getChannelFactory().newChannel();
+        assertTrue(channel instanceof NioSocketChannel);
+    }
+
+    @Test
+    void of_epoll_fallsBackToNioIfNotAvailable() {
+        final Channel channel = NettyEventLoopProvider.of(MqttNettyTransport.EPOLL).getChannelFactory().newChannel();
+        assertTrue(Epoll.isAvailable() ? channel instanceof EpollSocketChannel : channel instanceof NioSocketChannel);
+    }
+
+    @Test
+    void of_sameProviderForSameTransport() {
+        assertSame(
+                NettyEventLoopProvider.of(MqttNettyTransport.NIO), NettyEventLoopProvider.of(MqttNettyTransport.NIO));
+        assertSame(NettyEventLoopProvider.of(null), NettyEventLoopProvider.of(null));
+    }
+
+    @Test
+    void acquireEventLoop_leastLoaded() {
+        final DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(3);
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.of(MqttNettyTransport.NIO);
+        try {
+            final Set<EventLoop> eventLoops = new HashSet<>();
+            for (int i = 0; i < 3; i++) {
+                eventLoops.add(provider.acquireEventLoop(eventLoopGroup, 0, -1));
+            }
+            assertEquals(3, eventLoops.size());
+
+            final EventLoop released = eventLoops.iterator().next();
+            provider.releaseEventLoop(eventLoopGroup, released);
+            assertSame(released, provider.acquireEventLoop(eventLoopGroup, 0, -1));
+
+            for (final EventLoop eventLoop : eventLoops) {
+                provider.releaseEventLoop(eventLoopGroup, eventLoop);
+            }
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    void acquireEventLoop_concurrentAcquireAndRelease() throws InterruptedException {
+        final DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(2);
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.of(MqttNettyTransport.NIO);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final Set<EventExecutor> groupEventLoops = new HashSet<>();
+            eventLoopGroup.forEach(groupEventLoops::add);
+            final CountDownLatch done = new CountDownLatch(8);
+            final AtomicReference<Throwable> error = new AtomicReference<>();
+            for (int t = 0; t < 8; t++) {
+                executor.execute(() -> {
+                    try {
+                        for (int i = 0; i < 1000; i++) {
+                            final EventLoop eventLoop = provider.acquireEventLoop(eventLoopGroup, 0, -1);
+                            assertTrue(groupEventLoops.contains(eventLoop));
+                            provider.releaseEventLoop(eventLoopGroup, eventLoop);
+                        }
+                    } catch (final Throwable e) {
+                        error.set(e);
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertNull(error.get());
+
+            // all references were released, so the entry is created again
+            final EventLoop eventLoop = provider.acquireEventLoop(eventLoopGroup, 0, -1);
+            assertTrue(groupEventLoops.contains(eventLoop));
+            provider.releaseEventLoop(eventLoopGroup, eventLoop);
+        } finally {
+            executor.shutdownNow();
+            eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    void acquireEventLoop_pinned() {
+        final DefaultEventLoopGroup eventLoopGroup = new DefaultEventLoopGroup(3);
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.of(MqttNettyTransport.NIO);
+        try {
+            final Iterator<EventExecutor> iterator = eventLoopGroup.iterator();
+            iterator.next();
+            final EventExecutor second = iterator.next();
+
+            final EventLoop eventLoop1 = provider.acquireEventLoop(eventLoopGroup, 0, 1);
+            final EventLoop eventLoop2 = provider.acquireEventLoop(eventLoopGroup, 0, 4);
+            assertSame(second, eventLoop1);
+            assertSame(second, eventLoop2);
+
+            provider.releaseEventLoop(eventLoopGroup, eventLoop1);
+            provider.releaseEventLoop(eventLoopGroup, eventLoop2);
+        } finally {
+            eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    void domainSocket_epoll() {
+        assumeTrue(Epoll.isAvailable());
+        final MqttClientTransportConfigImpl transportConfig =
+                new MqttClientTransportConfigImplBuilder.Default().domainSocketPath("/tmp/mqtt.sock").build();
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.of(null, true);
+
+        assertSame(NettyEventLoopProvider.of(MqttNettyTransport.EPOLL), provider);
+        final Channel channel = provider.getChannelFactory(transportConfig).newChannel();
+        try {
+            assertTrue(channel instanceof EpollDomainSocketChannel);
+        } finally {
+            channel.unsafe().closeForcibly();
+        }
+        assertEquals(new DomainSocketAddress("/tmp/mqtt.sock"), provider.getRemoteAddress(transportConfig));
+        assertTrue(provider.isDomainSocketSupported());
+    }
+
+    @Test
+    void domainSocket_notSupportedByNio() {
+        final MqttClientTransportConfigImpl transportConfig =
+                new MqttClientTransportConfigImplBuilder.Default().domainSocketPath("/tmp/mqtt.sock").build();
+        final NettyEventLoopProvider provider = NettyEventLoopProvider.of(MqttNettyTransport.NIO, true);
+
+        assertNull(provider.getRemoteAddress(transportConfig));
+        assertFalse(provider.isDomainSocketSupported());
+        assertEquals(MqttClientTransportConfigImpl.DEFAULT.getRemoteAddress(),
+                provider.getRemoteAddress(MqttClientTransportConfigImpl.DEFAULT));
+    }
+
+    @Test
+    void localChannel_supportedByAllTransports() {
+        final MqttClientTransportConfigImpl transportConfig =
+                new MqttClientTransportConfigImplBuilder.Default().domainSocketPath("/tmp/mqtt.sock")
+                        .localChannelId("mqtt")
+                        .build();
+        assertFalse(transportConfig.getDomainSocketPath().isPresent());
+
+        for (final MqttNettyTransport transport : MqttNettyTransport.values()) {
+            final NettyEventLoopProvider provider = NettyEventLoopProvider.of(transport);
+            assertTrue(provider.getChannelFactory(transportConfig).newChannel() instanceof LocalChannel);
+            assertEquals(new LocalAddress("mqtt"), provider.getRemoteAddress(transportConfig));
+        }
+    }
+}
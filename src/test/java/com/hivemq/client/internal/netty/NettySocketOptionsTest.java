@@ -0,0 +1,77 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.mqtt.MqttSocketConfigImplBuilder;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannelConfig;
+import io.netty.channel.socket.SocketChannelConfig;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class NettySocketOptionsTest {
+
+    @Test
+    void apply_nio_appliesSupportedAndIgnoresTransportSpecificOptions() {
+        final NioSocketChannel channel = new NioSocketChannel();
+        try {
+            NettySocketOptions.apply(channel, new MqttSocketConfigImplBuilder.Default().tcpNoDelay(false)
+                    .writeBufferWaterMark(1024, 2048)
+                    .tcpQuickAck(true)
+                    .busyPoll(50, TimeUnit.MICROSECONDS)
+                    .tcpFastOpenConnect(true)
+                    .build());
+
+            final SocketChannelConfig config = channel.config();
+            assertFalse(config.isTcpNoDelay());
+            assertTrue(config.isKeepAlive());
+            assertEquals(1024, config.getWriteBufferLowWaterMark());
+            assertEquals(2048, config.getWriteBufferHighWaterMark());
+        } finally {
+            channel.unsafe().closeForcibly();
+        }
+    }
+
+    @Test
+    void apply_epoll_appliesTransportSpecificOptions() {
+        assumeTrue(Epoll.isAvailable());
+        final EpollSocketChannel channel = new EpollSocketChannel();
+        try {
+            NettySocketOptions.apply(channel, new MqttSocketConfigImplBuilder.Default().tcpQuickAck(true)
+                    .tcpNotSentLowAt(16 * 1024)
+                    .busyPoll(50, TimeUnit.MICROSECONDS)
+                    .tcpUserTimeout(5, TimeUnit.SECONDS)
+                    .build());
+
+            final EpollSocketChannelConfig config = channel.config();
+            assertTrue(config.isTcpQuickAck());
+            assertEquals(16 * 1024, config.getTcpNotSentLowAt());
+            assertEquals(5_000, config.getTcpUserTimeout());
+        } finally {
+            channel.unsafe().closeForcibly();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.rx.operators;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class FlowableRoundRobinMergeTest {
+
+    @Test
+    void roundRobin() {
+        final Flowable<Flowable<Integer>> source =
+                Flowable.just(Flowable.just(1, 2, 3, 4), Flowable.just(11, 12), Flowable.just(21, 22, 23));
+        final TestSubscriber<Integer> testSubscriber =
+                new FlowableRoundRobinMerge<>(source, Integer.MAX_VALUE, 16).test(0);
+
+        testSubscriber.assertNoValues();
+        testSubscriber.requestMore(5);
+        testSubscriber.assertValues(1, 11, 21, 2, 12);
+        testSubscriber.assertNotComplete();
+        testSubscriber.requestMore(Long.MAX_VALUE);
+        testSubscriber.assertValues(1, 11, 21, 2, 12, 22, 3, 23, 4);
+        testSubscriber.assertComplete();
+    }
+
+    @Test
+    void maxConcurrency() {
+        final PublishProcessor<Integer> inner1 = PublishProcessor.create();
+        final PublishProcessor<Integer> inner2 = PublishProcessor.create();
+        final PublishProcessor<Integer> inner3 = PublishProcessor.create();
+        final TestSubscriber<Integer> testSubscriber =
+                new FlowableRoundRobinMerge<>(Flowable.fromIterable(Arrays.asList(inner1, inner2, inner3)), 2,
+                        16).test();
+
+        assertTrue(inner1.hasSubscribers());
+        assertTrue(inner2.hasSubscribers());
+        assertFalse(inner3.hasSubscribers());
+
+        inner1.onNext(1);
+        inner2.onNext(2);
+        inner1.onComplete();
+        assertTrue(inner3.hasSubscribers());
+
+        inner3.onNext(3);
+        inner2.onComplete();
+        inner3.onComplete();
+        testSubscriber.assertResult(1, 2, 3);
+    }
+
+    @Test
+    void prefetch() {
+        final PublishProcessor<Integer> inner = PublishProcessor.create();
+        final TestSubscriber<Integer> testSubscriber =
+                new FlowableRoundRobinMerge<>(Flowable.just(inner), Integer.MAX_VALUE, 4).test(0);
+
+        assertTrue(inner.offer(1));
+        assertTrue(inner.offer(2));
+        assertTrue(inner.offer(3));
+        assertTrue(inner.offer(4));
+        assertFalse(inner.offer(5));
+
+        testSubscriber.requestMore(3);
+        testSubscriber.assertValues(1, 2, 3);
+        assertTrue(inner.offer(5));
+        assertTrue(inner.offer(6));
+        assertTrue(inner.offer(7));
+        assertFalse(inner.offer(8));
+    }
+
+    @Test
+    void delayErrors() {
+        final IllegalStateException error = new IllegalStateException();
+        final Flowable<Flowable<Integer>> source =
+                Flowable.just(Flowable.error(error), Flowable.just(1, 2));
+        final TestSubscriber<Integer> testSubscriber =
+                new FlowableRoundRobinMerge<>(source, Integer.MAX_VALUE, 16).test();
+
+        testSubscriber.assertFailure(IllegalStateException.class, 1, 2);
+    }
+
+    @Test
+    void cancel() {
+        final PublishProcessor<Integer> inner = PublishProcessor.create();
+        final TestSubscriber<Integer> testSubscriber =
+                new FlowableRoundRobinMerge<>(Flowable.just(inner).concatWith(Flowable.never()), Integer.MAX_VALUE,
+                        16).test();
+
+        inner.onNext(1);
+        testSubscriber.cancel();
+        assertFalse(inner.hasSubscribers());
+        testSubscriber.assertValues(1);
+        testSubscriber.assertNotTerminated();
+    }
+}